@@ -16,6 +16,7 @@ package org.apache.geode.cache.benchmark;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.stream.IntStream;
 
 import org.apache.geode.cache.Cache;
@@ -32,9 +33,11 @@ import org.apache.geode.cache.query.internal.index.AbstractIndex;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
 @Fork(10)
@@ -52,6 +55,40 @@ public class RegionOperationBenchmark {
     }
   }
 
+  /**
+   * A partitioned region keeps its values serialized, so each put serializes its value into a
+   * blob. Run with the gc profiler, which the build enables, to see the bytes allocated per put.
+   */
+  @State(Scope.Benchmark)
+  public static class PartitionedCacheState {
+    /**
+     * The length of the values, below and above the size of the buffer each thread reuses to
+     * serialize blobs
+     */
+    @Param({"100", "100000"})
+    private int valueLength;
+
+    private Cache cache;
+
+    private Region region;
+
+    private String value;
+
+    @Setup
+    public void setup() {
+      cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+      region = cache.createRegionFactory(RegionShortcut.PARTITION).create("region");
+      char[] chars = new char[valueLength];
+      Arrays.fill(chars, 'v');
+      value = new String(chars);
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+    }
+  }
+
   @Benchmark
   @Warmup(iterations = 20)
   @Measurement(iterations = 20)
@@ -59,4 +96,11 @@ public class RegionOperationBenchmark {
       QueryInvocationTargetException, FunctionDomainException {
     return state.region.put("key", "value");
   }
+
+  @Benchmark
+  @Warmup(iterations = 20)
+  @Measurement(iterations = 20)
+  public Object putSerialized(PartitionedCacheState state) {
+    return state.region.put("key", state.value);
+  }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Date;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.PdxSerializerObject;
+import org.apache.geode.internal.Version;
+import org.apache.geode.pdx.ReflectionBasedAutoSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares serializing and deserializing an object with the ReflectionBasedAutoSerializer through
+ * the generated serializer of its class and through its field wrappers.
+ */
+@Fork(3)
+public class AutoSerializationBenchmark {
+
+  private static final String TRADE_PATTERN = ".*AutoSerializationBenchmark\\$Trade";
+
+  @State(Scope.Benchmark)
+  public static class CacheState {
+    /**
+     * true to serialize through the field wrappers, false to use the generated serializer
+     */
+    @Param({"false", "true"})
+    private String disableGeneratedSerializers;
+
+    private Cache cache;
+
+    private Trade trade;
+
+    private byte[] serializedTrade;
+
+    @Setup
+    public void setup() throws IOException {
+      // read when the first class is auto-serialized, and each value runs in its own fork
+      System.setProperty(
+          DistributionConfig.GEMFIRE_PREFIX + "autopdx.disableGeneratedSerializers",
+          disableGeneratedSerializers);
+      cache = new CacheFactory().set("mcast-port", "0").set("locators", "")
+          .setPdxSerializer(new ReflectionBasedAutoSerializer(TRADE_PATTERN))
+          .setPdxReadSerialized(false).create();
+      trade = new Trade(42);
+      // the first serialization defines the PDX type
+      toBytes(trade);
+      serializedTrade = toBytes(trade);
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public byte[] serialize(CacheState state) throws IOException {
+    return toBytes(state.trade);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public Object deserialize(CacheState state) throws IOException, ClassNotFoundException {
+    return DataSerializer
+        .readObject(new DataInputStream(new ByteArrayInputStream(state.serializedTrade)));
+  }
+
+  private static byte[] toBytes(Object value) throws IOException {
+    HeapDataOutputStream out = new HeapDataOutputStream(Version.CURRENT);
+    DataSerializer.writeObject(value, out);
+    return out.toByteArray();
+  }
+
+  public static class Trade implements PdxSerializerObject {
+    private long id;
+    private int quantity;
+    private double price;
+    private boolean buy;
+    private char side;
+    private Date tradeDate;
+    private String symbol;
+    private String account;
+    private Object venue;
+    private long[] fills;
+
+    public Trade() {}
+
+    Trade(int seed) {
+      this.id = seed;
+      this.quantity = seed * 100;
+      this.price = seed * 1.25;
+      this.buy = true;
+      this.side = 'B';
+      this.tradeDate = new Date(seed);
+      this.symbol = "GEODE";
+      this.account = "account-" + seed;
+      this.venue = "venue";
+      this.fills = new long[] {seed, seed + 1, seed + 2};
+    }
+  }
+}
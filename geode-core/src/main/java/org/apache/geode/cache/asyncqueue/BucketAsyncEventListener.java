@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.asyncqueue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An <code>AsyncEventListener</code> that receives each batch of an <code>AsyncEventQueue</code>
+ * grouped by the bucket of the partitioned region its events were made on. Write-behind listeners
+ * can use it to write each group with a single bulk operation. <br>
+ * The values of the events are not deserialized until {@link AsyncEvent#getDeserializedValue()}
+ * is called, so a listener that writes them as they are can use
+ * {@link AsyncEvent#getSerializedValue()} without deserializing them at all.
+ *
+ * @since Geode 1.3
+ */
+public interface BucketAsyncEventListener extends AsyncEventListener {
+
+  /**
+   * The bucket id of the events of a batch that were not made on a partitioned region, and of all
+   * the events of a serial <code>AsyncEventQueue</code>
+   */
+  public static final int NO_BUCKET = -1;
+
+  /**
+   * Process a batch of <code>AsyncEvent</code>s grouped by bucket. This method is called instead of
+   * {@link #processEvents(List)} for each batch delivered by the <code>AsyncEventQueue</code>.
+   *
+   * @param eventsByBucket The events of the batch keyed by the id of the bucket they were made on,
+   *        or {@link #NO_BUCKET}. The buckets are in the order in which their first event was
+   *        queued, and the events of each bucket are in the order in which they were queued.
+   *
+   * @return boolean True represents whether the events were successfully processed, false
+   *         otherwise.
+   */
+  public boolean processBucketEvents(Map<Integer, List<AsyncEvent>> eventsByBucket);
+
+  /**
+   * Batches of an <code>AsyncEventQueue</code> are delivered to
+   * {@link #processBucketEvents(Map)} instead, so by default this method processes the given events
+   * as a single group of events with no bucket.
+   */
+  @Override
+  default boolean processEvents(List<AsyncEvent> events) {
+    return processBucketEvents(Collections.singletonMap(NO_BUCKET, events));
+  }
+}
@@ -98,7 +98,30 @@ public class AsyncEventQueueStats extends GatewaySenderStats {
             f.createIntCounter(SYNCHRONIZATION_EVENTS_ENQUEUED,
                 "Number of synchronization events added to the event queue.", "operations"),
             f.createIntCounter(SYNCHRONIZATION_EVENTS_PROVIDED,
-                "Number of synchronization events provided to other members.", "operations"),});
+                "Number of synchronization events provided to other members.", "operations"),
+            f.createIntGauge(BATCHES_IN_FLIGHT,
+                "Number of batches sent to receivers and not acknowledged yet.", "operations"),
+            f.createIntCounter(BATCHES_ACKNOWLEDGED,
+                "Number of batches acknowledged by receivers.", "operations"),
+            f.createLongCounter(BATCH_ACKNOWLEDGEMENT_TIME,
+                "Total time between sending batches and receiving their acknowledgements.",
+                "nanoseconds", false),
+            f.createLongCounter(UNCOMPRESSED_BATCH_BYTES,
+                "Total size of the events of compressed batches before they were compressed.",
+                "bytes"),
+            f.createLongCounter(COMPRESSED_BATCH_BYTES,
+                "Total size of the events of compressed batches after they were compressed.",
+                "bytes"),
+            f.createIntCounter(BUCKET_BATCHES_DISTRIBUTED,
+                "Number of groups of events of the same bucket delivered to listeners.",
+                "operations"),
+            f.createIntGauge(ADAPTIVE_BATCH_SIZE,
+                "Number of events chosen by adaptive batching for the next batch.", "operations"),
+            f.createIntCounter(EVENTS_PEEKED, "Number of events peeked from the event queue.",
+                "operations"),
+            f.createLongCounter(EVENTS_PEEKED_QUEUE_TIME,
+                "Total time peeked events spent in the event queue before they were peeked.",
+                "milliseconds"),});
 
     // Initialize id fields
     eventsReceivedId = type.nameToId(EVENTS_RECEIVED);
@@ -129,6 +152,15 @@ public class AsyncEventQueueStats extends GatewaySenderStats {
     loadBalanceTimeId = type.nameToId(LOAD_BALANCE_TIME);
     synchronizationEventsEnqueuedId = type.nameToId(SYNCHRONIZATION_EVENTS_ENQUEUED);
     synchronizationEventsProvidedId = type.nameToId(SYNCHRONIZATION_EVENTS_PROVIDED);
+    batchesInFlightId = type.nameToId(BATCHES_IN_FLIGHT);
+    batchesAcknowledgedId = type.nameToId(BATCHES_ACKNOWLEDGED);
+    batchAcknowledgementTimeId = type.nameToId(BATCH_ACKNOWLEDGEMENT_TIME);
+    uncompressedBatchBytesId = type.nameToId(UNCOMPRESSED_BATCH_BYTES);
+    compressedBatchBytesId = type.nameToId(COMPRESSED_BATCH_BYTES);
+    bucketBatchesDistributedId = type.nameToId(BUCKET_BATCHES_DISTRIBUTED);
+    adaptiveBatchSizeId = type.nameToId(ADAPTIVE_BATCH_SIZE);
+    eventsPeekedId = type.nameToId(EVENTS_PEEKED);
+    eventsPeekedQueueTimeId = type.nameToId(EVENTS_PEEKED_QUEUE_TIME);
   }
 
   /**
@@ -20,9 +20,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,8 +48,20 @@ import org.apache.geode.pdx.internal.PdxInstanceImpl;
 public class AttributeDescriptor {
   private final String _name;
   private final MethodInvocationAuthorizer _methodInvocationAuthorizer;
-  /** cache for remembering the correct Member for a class and attribute */
-  private static final ConcurrentMap<List, Member> _localCache = new ConcurrentHashMap();
+  /**
+   * cache for remembering the correct Member for a class and attribute. The members of each class
+   * are kept with the class so that finding them does not allocate a key for every object read.
+   */
+  private static final ClassValue<ConcurrentMap<String, Object>> _localCache =
+      new ClassValue<ConcurrentMap<String, Object>>() {
+        @Override
+        protected ConcurrentMap<String, Object> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  /** cached in place of a Member for an attribute that the class does not have */
+  private static final Object NO_MEMBER = new Object();
 
 
 
@@ -142,24 +152,25 @@ public class AttributeDescriptor {
 
     // mapping: public field (same name), method (getAttribute()),
     // method (attribute())
-    List key = new ArrayList();
-    key.add(targetClass);
-    key.add(_name);
-
-    Member m = _localCache.computeIfAbsent(key, k -> {
+    Object m = _localCache.get(targetClass).computeIfAbsent(_name, k -> {
       Member member = getReadField(targetClass);
-      return member == null ? getReadMethod(targetClass) : member;
+      if (member == null) {
+        member = getReadMethod(targetClass);
+      }
+      if (member == null) {
+        return NO_MEMBER;
+      }
+      // override security for nonpublic derived classes with public members
+      ((AccessibleObject) member).setAccessible(true);
+      return member;
     });
 
-    if (m == null) {
+    if (m == NO_MEMBER) {
       throw new NameNotFoundException(
           LocalizedStrings.AttributeDescriptor_NO_PUBLIC_ATTRIBUTE_NAMED_0_WAS_FOUND_IN_CLASS_1
               .toLocalizedString(new Object[] {_name, targetClass.getName()}));
     }
-
-    // override security for nonpublic derived classes with public members
-    ((AccessibleObject) m).setAccessible(true);
-    return m;
+    return (Member) m;
   }
 
 
@@ -47,6 +47,16 @@ import org.apache.geode.pdx.internal.PdxString;
 public class CompiledComparison extends AbstractCompiledValue
     implements Negatable, OQLLexerTokenTypes, Indexable {
 
+  /**
+   * If greater than zero, an equality condition is passed over for index lookup when its results
+   * are more than this many times larger than the estimated results of a range condition or
+   * RangeJunction on another index, as they are for an equality on a low cardinality attribute.
+   * Zero, the default, always prefers the equality. Set by gemfire.Query.RANGE_PREFERENCE_RATIO;
+   * only tests change it at runtime.
+   */
+  public static int rangePreferenceRatio =
+      Integer.getInteger(RANGE_PREFERENCE_RATIO_PROP_STR, RANGE_PREFERENCE_RATIO_DEFAULT);
+
   // persistent inst vars
   public final CompiledValue _left;
   public final CompiledValue _right;
@@ -791,13 +801,19 @@ public class CompiledComparison extends AbstractCompiledValue
             // Asif: Give preference to range as I am assuming that range will fetch less data
             // as compared to NOT EQUALs
             isThisBetter = false;
+          } else {
+            isThisBetter = !isMuchLarger(thisSize, thatSize);
           }
           break;
         case TOK_LE:
         case TOK_LT:
         case TOK_GE:
         case TOK_GT:
-          // Give preference to this rather than that as this is more deterministic
+          // Give preference to this rather than that as this is more deterministic, unless this
+          // is an equality fetching far more data, e.g. on a low cardinality attribute
+          if (this._operator == TOK_EQ) {
+            isThisBetter = !isMuchLarger(thisSize, thatSize);
+          }
           break;
         default:
           throw new IllegalArgumentException("The operator type =" + thatOperator + " is unknown");
@@ -806,6 +822,9 @@ public class CompiledComparison extends AbstractCompiledValue
       // This is a inequality. If that is true the priority goes to equality & Not Equality & Range
       switch (thatOperator) {
         case TOK_EQ:
+          // Give preference to equality unless it fetches far more data than this range
+          isThisBetter = isMuchLarger(thatSize, thisSize);
+          break;
         case TOK_NE:
         case TOK_NE_ALT:
         case LITERAL_and:
@@ -827,6 +846,23 @@ public class CompiledComparison extends AbstractCompiledValue
     return isThisBetter;
   }
 
+  /**
+   * Returns true if ranges may be preferred over equalities for index lookup, see
+   * {@link #rangePreferenceRatio}.
+   */
+  static boolean isRangePreferenceEnabled() {
+    return rangePreferenceRatio > 0;
+  }
+
+  /**
+   * Returns true if the exact size of an equality lookup is so much larger than the estimated size
+   * of a range lookup, a single condition or a RangeJunction, that the range should be used
+   * instead.
+   */
+  static boolean isMuchLarger(int equalitySize, int rangeSize) {
+    return isRangePreferenceEnabled() && equalitySize > (long) rangeSize * rangePreferenceRatio;
+  }
+
 }
 
 // IndexInfo was removed from here to its own file.
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.geode.cache.query.internal.parse.GemFireAST;
+import org.apache.geode.distributed.internal.DistributionConfig;
+
+/**
+ * Keeps the parse trees of the queries most recently created by a cache, keyed by query string, so
+ * that creating the same query again does not parse it again. Each query still compiles its own
+ * tree of CompiledValues from the parse tree, because compiled queries keep state of their
+ * execution (for example the order by attributes and the iterators of a select) and so can not
+ * be shared between concurrent executions. Compiling a parse tree does not change it.
+ * <p>
+ * A parse tree does not depend on the regions of the cache, so it stays valid when regions are
+ * created or destroyed.
+ *
+ * @since Geode 1.3
+ */
+public class CompiledQueryCache {
+
+  /** the maximum number of parsed queries kept per cache; zero disables the cache */
+  public static final int MAX_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "Query.COMPILED_QUERY_CACHE_SIZE", 1000);
+
+  private final Map<String, GemFireAST> queries;
+
+  public CompiledQueryCache(int maxSize) {
+    this.queries = new LinkedHashMap<String, GemFireAST>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, GemFireAST> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the parse tree of the given query string, or null if it is not cached.
+   */
+  public synchronized GemFireAST get(String queryString) {
+    return this.queries.get(queryString);
+  }
+
+  public synchronized void put(String queryString, GemFireAST parsedQuery) {
+    this.queries.put(queryString, parsedQuery);
+  }
+
+  public synchronized void clear() {
+    this.queries.clear();
+  }
+
+  public synchronized int size() {
+    return this.queries.size();
+  }
+}
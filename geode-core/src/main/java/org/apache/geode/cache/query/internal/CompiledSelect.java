@@ -63,9 +63,10 @@ public class CompiledSelect extends AbstractCompiledValue {
   private boolean count;
   // limits the SelectResults by the number specified.
   private CompiledValue limit;
-  // counts the no of results satisfying where condition for
-  // count(*) non-distinct queries where no indexes are used.
-  private int countStartQueryResult = 0;
+  // context key of the no of results satisfying where condition for
+  // count(*) non-distinct queries where no indexes are used. It is kept in the
+  // execution context as one CompiledSelect can be evaluated concurrently.
+  private static final String COUNT_START_QUERY_RESULT = "CountStartQueryResult";
 
   protected List<CompiledValue> groupBy = null;
   // Are not serialized and are recreated when compiling the query
@@ -593,6 +594,7 @@ public class CompiledSelect extends AbstractCompiledValue {
         if (this.count) {
           SelectResults res = result;
 
+          int countStartQueryResult = getCountStartQueryResult(context);
           if ((this.distinct || evalAsFilters || countStartQueryResult == 0)) {
             // Retrun results as it is as distinct is applied
             // at coordinator node for PR queries.
@@ -818,7 +820,7 @@ public class CompiledSelect extends AbstractCompiledValue {
       if (this.whereClause == null && iterators.size() == 1 && isCount() && !isDistinct()
           && sr instanceof QRegion) {
         QRegion qr = (QRegion) sr;
-        countStartQueryResult = qr.getRegion().size();
+        setCountStartQueryResult(context, qr.getRegion().size());
         return 1;
       }
 
@@ -972,7 +974,7 @@ public class CompiledSelect extends AbstractCompiledValue {
       // Shobhit: If it's a 'COUNT' query and no End processing required Like for 'DISTINCT'
       // we can directly keep count in ResultSet and ResultBag is good enough for that.
       results = new ResultsBag(new ObjectTypeImpl(Integer.class), 1, context.getCachePerfStats());
-      countStartQueryResult = 0;
+      setCountStartQueryResult(context, 0);
       return results;
     }
 
@@ -1190,10 +1192,9 @@ public class CompiledSelect extends AbstractCompiledValue {
       // Shobhit: Add count value to the counter for this select expression.
       // Don't care about Order By for count(*).
       if (isCount() && !this.distinct) {
-        // Counter is local to CompileSelect and not available in ResultSet
-        // until
-        // the end of evaluate call to this CompiledSelect object.
-        this.countStartQueryResult++;
+        // Counter is local to the execution of this CompiledSelect and not available in
+        // ResultSet until the end of evaluate call to this CompiledSelect object.
+        setCountStartQueryResult(context, getCountStartQueryResult(context) + 1);
         occurence = 1;
       } else {
         // if order by is present
@@ -1506,6 +1507,14 @@ public class CompiledSelect extends AbstractCompiledValue {
     return limitValue;
   }
 
+  private int getCountStartQueryResult(ExecutionContext context) {
+    return (Integer) context.cacheGet(COUNT_START_QUERY_RESULT, 0);
+  }
+
+  private void setCountStartQueryResult(ExecutionContext context, int count) {
+    context.cachePut(COUNT_START_QUERY_RESULT, count);
+  }
+
   private static class NullIteratorException extends Exception {
 
   }
@@ -51,6 +51,9 @@ public interface CompiledValue {
   String INDEX_INFO = "index_info";
   int indexThresholdSize =
       Integer.getInteger(INDX_THRESHOLD_PROP_STR, INDEX_RESULT_THRESHOLD_DEFAULT);
+  int RANGE_PREFERENCE_RATIO_DEFAULT = 0;
+  String RANGE_PREFERENCE_RATIO_PROP_STR =
+      DistributionConfig.GEMFIRE_PREFIX + "Query.RANGE_PREFERENCE_RATIO";
   String RESULT_TYPE = "result_type";
   String PROJ_ATTRIB = "projection";
   String ORDERBY_ATTRIB = "orderby";
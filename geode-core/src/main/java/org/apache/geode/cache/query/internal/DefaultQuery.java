@@ -48,6 +48,7 @@ import org.apache.geode.cache.query.RegionNotFoundException;
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.TypeMismatchException;
 import org.apache.geode.cache.query.internal.cq.InternalCqQuery;
+import org.apache.geode.cache.query.internal.parse.GemFireAST;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.NanoTimer;
 import org.apache.geode.internal.cache.BucketRegion;
@@ -250,6 +251,16 @@ public class DefaultQuery implements Query {
         }
       };
 
+  /**
+   * Removes the calling thread's caches of the fields and methods not found in any Pdx version.
+   * Threads that evaluate query expressions outside of a query execution, for example to populate
+   * an index, call this before they are reused for other work.
+   */
+  public static void clearPdxClassMaps() {
+    pdxClassToFieldsMap.remove();
+    pdxClassToMethodsMap.remove();
+  }
+
   public static void setPdxClasstoMethodsmap(Map<String, Set<String>> map) {
     pdxClassToMethodsMap.set(map);
   }
@@ -266,15 +277,32 @@ public class DefaultQuery implements Query {
    */
   public DefaultQuery(String queryString, InternalCache cache, boolean isForRemote) {
     this.queryString = queryString;
+    CompiledQueryCache parsedQueries =
+        isForRemote || cache == null || CompiledQueryCache.MAX_SIZE <= 0 ? null
+            : cache.getCompiledQueryCache();
+    GemFireAST parsedQuery = parsedQueries == null ? null : parsedQueries.get(queryString);
+    if (parsedQuery != null) {
+      cache.getCachePerfStats().incQueryCompilationCacheHits();
+    } else {
+      long startTime = CachePerfStats.getStatTime();
+      parsedQuery = QCompiler.parseQuery(queryString);
+      if (parsedQueries != null) {
+        cache.getCachePerfStats().endQueryCompilation(startTime);
+        parsedQueries.put(queryString, parsedQuery);
+      }
+    }
+    // every query compiles its own tree, since a compiled query keeps state of its execution
     QCompiler compiler = new QCompiler();
-    this.compiledQuery = compiler.compileQuery(queryString);
-    CompiledSelect cs = getSimpleSelect();
-    if (cs != null && !isForRemote && (cs.isGroupBy() || cs.isOrderBy())) {
-      QueryExecutionContext ctx = new QueryExecutionContext(null, cache);
-      try {
-        cs.computeDependencies(ctx);
-      } catch (QueryException qe) {
-        throw new QueryInvalidException("", qe);
+    this.compiledQuery = compiler.compileQuery(parsedQuery);
+    if (this.compiledQuery instanceof CompiledSelect && !isForRemote) {
+      CompiledSelect cs = (CompiledSelect) this.compiledQuery;
+      if (cs.isGroupBy() || cs.isOrderBy()) {
+        QueryExecutionContext ctx = new QueryExecutionContext(null, cache);
+        try {
+          cs.computeDependencies(ctx);
+        } catch (QueryException qe) {
+          throw new QueryInvalidException("", qe);
+        }
       }
     }
     this.traceOn = compiler.isTraceRequested() || QUERY_VERBOSE;
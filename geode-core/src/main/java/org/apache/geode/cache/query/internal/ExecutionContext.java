@@ -92,6 +92,7 @@ public class ExecutionContext {
   private boolean distinct = false;
   private Object currentProjectionField = null;
   private boolean isPRQueryNode = false;
+  private MethodInvocationAuthorizer methodInvocationAuthorizer;
 
   /**
    * Param specialIteratorVar name of special variable to use to denote the current iteration
@@ -298,6 +299,18 @@ public class ExecutionContext {
     return this.cache;
   }
 
+  /**
+   * Returns the authorizer for the methods invoked by the query. It is looked up once per
+   * execution instead of for every attribute read.
+   */
+  public MethodInvocationAuthorizer getMethodInvocationAuthorizer() {
+    if (this.methodInvocationAuthorizer == null) {
+      this.methodInvocationAuthorizer =
+          this.cache.getQueryService().getMethodInvocationAuthorizer();
+    }
+    return this.methodInvocationAuthorizer;
+  }
+
   private CompiledValue resolveImplicitPath(String name) throws AmbiguousNameException {
     CompiledValue result = resolveImplicitOperationName(name, 0, false);
     return (result == null) ? null : new CompiledPath(result, name);
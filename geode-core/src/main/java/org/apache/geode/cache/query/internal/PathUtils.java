@@ -73,7 +73,7 @@ public class PathUtils {
     }
     try {
       return new AttributeDescriptor(
-          context.getCache().getQueryService().getMethodInvocationAuthorizer(), attribute)
+          context.getMethodInvocationAuthorizer(), attribute)
               .read(target);
     } catch (NameNotFoundException nfe) {
       if (DefaultQueryService.QUERY_HETEROGENEOUS_OBJECTS
@@ -113,7 +113,7 @@ public class PathUtils {
     for (int i = 1; i < types.length; i++) {
       ObjectType currentType = types[i - 1];
       Member member = new AttributeDescriptor(
-          context.getCache().getQueryService().getMethodInvocationAuthorizer(), pathArray[i - 1])
+          context.getMethodInvocationAuthorizer(), pathArray[i - 1])
               .getReadMember(currentType.resolveClass());
 
       if (member instanceof Field)
@@ -171,7 +171,7 @@ public class PathUtils {
             member = clazz.getMethod(stepStr, (Class[]) null);
           } else {
             member = new AttributeDescriptor(
-                context.getCache().getQueryService().getMethodInvocationAuthorizer(), stepStr)
+                context.getMethodInvocationAuthorizer(), stepStr)
                     .getReadMember(clazz);
           }
           if (member instanceof Field) {
@@ -71,6 +71,14 @@ public class QCompiler implements OQLLexerTokenTypes {
    * compile the string into a Query (returns the root CompiledValue)
    */
   public CompiledValue compileQuery(String oqlSource) {
+    return compileQuery(parseQuery(oqlSource));
+  }
+
+  /**
+   * Parses the given query. Compiling the returned tree does not change it, so it can be compiled
+   * any number of times, concurrently, each time with a new QCompiler.
+   */
+  public static GemFireAST parseQuery(String oqlSource) {
     try {
       OQLLexer lexer = new OQLLexer(new StringReader(oqlSource));
       OQLParser parser = new OQLParser(lexer);
@@ -78,8 +86,21 @@ public class QCompiler implements OQLLexerTokenTypes {
       // operators in the grammer proper
       parser.setASTNodeClass("org.apache.geode.cache.query.internal.parse.ASTUnsupported");
       parser.queryProgram();
-      GemFireAST n = (GemFireAST) parser.getAST();
-      n.compile(this);
+      return (GemFireAST) parser.getAST();
+    } catch (Exception ex) { // This is to make sure that we are wrapping any antlr exception with
+                             // GemFire Exception.
+      throw new QueryInvalidException(
+          LocalizedStrings.QCompiler_SYNTAX_ERROR_IN_QUERY_0.toLocalizedString(ex.getMessage()),
+          ex);
+    }
+  }
+
+  /**
+   * Compiles a query parsed by {@link #parseQuery} into a new tree of CompiledValues.
+   */
+  public CompiledValue compileQuery(GemFireAST parsedQuery) {
+    try {
+      parsedQuery.compile(this);
     } catch (Exception ex) { // This is to make sure that we are wrapping any antlr exception with
                              // GemFire Exception.
       throw new QueryInvalidException(
@@ -122,7 +122,9 @@ public class RangeJunction extends AbstractGroupOrRangeJunction {
     int thatOperator = comparedTo.getOperator();
     switch (thatOperator) {
       case TOK_EQ:
-        isThisBetter = false;
+        // Give preference to equality unless it fetches far more data than this range
+        isThisBetter = CompiledComparison.isRangePreferenceEnabled()
+            && CompiledComparison.isMuchLarger(comparedTo.getSizeEstimate(context), thisSize);
         break;
       case TOK_NE:
       case TOK_NE_ALT:
@@ -517,9 +519,30 @@ public class RangeJunction extends AbstractGroupOrRangeJunction {
     Support.assertionFailed("Should not have come here");
   }
 
-  public int getSizeEstimate(ExecutionContext context) {
-    // TODO:Asif:Try to estimate better
-    return RANGE_SIZE_ESTIMATE;
+  public int getSizeEstimate(ExecutionContext context) throws FunctionDomainException,
+      TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
+    if (!CompiledComparison.isRangePreferenceEnabled()) {
+      // TODO:Asif:Try to estimate better
+      return RANGE_SIZE_ESTIMATE;
+    }
+    // The junction fetches no more than its most selective bounding condition
+    int estimate = -1;
+    for (CompiledValue operand : _operands) {
+      if (!(operand instanceof CompiledComparison)) {
+        continue;
+      }
+      CompiledComparison condition = (CompiledComparison) operand;
+      int operator = condition.getOperator();
+      if (operator == TOK_NE || operator == TOK_NE_ALT
+          || condition.getIndexInfo(context) == null) {
+        continue;
+      }
+      int size = condition.getSizeEstimate(context);
+      if (estimate == -1 || size < estimate) {
+        estimate = size;
+      }
+    }
+    return estimate == -1 ? RANGE_SIZE_ESTIMATE : estimate;
   }
 
   /*
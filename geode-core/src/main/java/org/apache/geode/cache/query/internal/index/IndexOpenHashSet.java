@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static it.unimi.dsi.fastutil.HashCommon.arraySize;
+import static it.unimi.dsi.fastutil.HashCommon.maxFill;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+/**
+ * The set of region entries that an index key with many entries maps to. The entries are kept in
+ * a single open addressing array, so each entry costs one or two array slots rather than the node
+ * of a concurrent hash set. This matters most for attributes with few distinct values, where
+ * nearly every entry of the region is in one of these sets.
+ * <p>
+ * Updates are synchronized on the set. Reads do not lock, and iterators are weakly consistent: they
+ * walk the array as it was when they were created. Removed entries leave a token in their slot
+ * rather than moving the entries that follow them, so that a concurrent reader never misses an
+ * entry that stays in the set. The tokens are dropped when the array is rehashed.
+ *
+ * @since Geode 1.3
+ */
+public class IndexOpenHashSet extends AbstractSet {
+
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private static final int MIN_CAPACITY = 16;
+
+  /** The token left in the slot of a removed entry */
+  private static final Object REMOVED = new Object();
+
+  private volatile Object[] table;
+
+  private volatile int size;
+
+  /** The number of slots that hold the removed token */
+  private int removedTokens;
+
+  /** The number of used and removed slots above which the array is rehashed */
+  private int maxFill;
+
+  public IndexOpenHashSet(int expectedSize) {
+    setTable(newTable(expectedSize));
+  }
+
+  private static Object[] newTable(int expectedSize) {
+    return new Object[arraySize(Math.max(expectedSize, MIN_CAPACITY), LOAD_FACTOR)];
+  }
+
+  private void setTable(Object[] table) {
+    this.maxFill = maxFill(table.length, LOAD_FACTOR);
+    this.removedTokens = 0;
+    this.table = table;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o != null && indexOf(this.table, o) >= 0;
+  }
+
+  @Override
+  public synchronized boolean add(Object e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    Object[] table = this.table;
+    int mask = table.length - 1;
+    int pos = HashCommon.mix(e.hashCode()) & mask;
+    int removedSlot = -1;
+    Object curr;
+    while ((curr = table[pos]) != null) {
+      if (curr == REMOVED) {
+        if (removedSlot < 0) {
+          removedSlot = pos;
+        }
+      } else if (curr.equals(e)) {
+        return false;
+      }
+      pos = (pos + 1) & mask;
+    }
+    if (removedSlot >= 0) {
+      table[removedSlot] = e;
+      this.removedTokens--;
+    } else {
+      table[pos] = e;
+    }
+    this.size++;
+    if (this.size + this.removedTokens > this.maxFill) {
+      rehash();
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized boolean remove(Object o) {
+    if (o == null) {
+      return false;
+    }
+    Object[] table = this.table;
+    int pos = indexOf(table, o);
+    if (pos < 0) {
+      return false;
+    }
+    table[pos] = REMOVED;
+    this.size--;
+    this.removedTokens++;
+    if (table.length > MIN_CAPACITY && this.size < this.maxFill / 4) {
+      // Give back the memory of a set that has been mostly emptied
+      rehash();
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized void clear() {
+    setTable(newTable(MIN_CAPACITY));
+    this.size = 0;
+  }
+
+  @Override
+  public Iterator iterator() {
+    return new IndexOpenHashSetIterator(this.table);
+  }
+
+  /**
+   * Returns the slot of the given entry in the given array, or -1 if it is not in the array.
+   */
+  private static int indexOf(Object[] table, Object o) {
+    int mask = table.length - 1;
+    int pos = HashCommon.mix(o.hashCode()) & mask;
+    Object curr;
+    while ((curr = table[pos]) != null) {
+      if (curr != REMOVED && curr.equals(o)) {
+        return pos;
+      }
+      pos = (pos + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Copies the entries into a new array sized for the current number of entries, which drops the
+   * removed tokens. Readers of the old array keep reading it.
+   */
+  private void rehash() {
+    Object[] table = newTable(this.size);
+    int mask = table.length - 1;
+    for (Object e : this.table) {
+      if (e != null && e != REMOVED) {
+        int pos = HashCommon.mix(e.hashCode()) & mask;
+        while (table[pos] != null) {
+          pos = (pos + 1) & mask;
+        }
+        table[pos] = e;
+      }
+    }
+    setTable(table);
+  }
+
+  // for internal testing only
+  int getCapacity() {
+    return this.table.length;
+  }
+
+  private class IndexOpenHashSetIterator implements Iterator {
+    private final Object[] table;
+    private int pos;
+    private Object next;
+    private Object current;
+
+    private IndexOpenHashSetIterator(Object[] table) {
+      this.table = table;
+      advance();
+    }
+
+    private void advance() {
+      this.next = null;
+      while (this.pos < this.table.length) {
+        Object e = this.table[this.pos++];
+        if (e != null && e != REMOVED) {
+          this.next = e;
+          return;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.next != null;
+    }
+
+    @Override
+    public Object next() {
+      if (this.next == null) {
+        throw new NoSuchElementException();
+      }
+      this.current = this.next;
+      advance();
+      return this.current;
+    }
+
+    @Override
+    public void remove() {
+      if (this.current == null) {
+        throw new IllegalStateException();
+      }
+      IndexOpenHashSet.this.remove(this.current);
+      this.current = null;
+    }
+  }
+}
@@ -75,7 +75,7 @@ public class MemoryIndexStore implements IndexStore {
   private boolean indexOnValues;
 
   // Used as a place holder for an indexkey collection for when a thread is about to change
-  // the collection from index elem to concurrent hash set. Solution for #47475 where
+  // the collection from index elem to open hash set. Solution for #47475 where
   // we could be missing removes due to different threads grabbing occurences of the same
   // index elem (or collection), one would transition and addAll to a new collection,
   // while the other would execute a remove on the index elem.
@@ -168,12 +168,12 @@ public class MemoryIndexStore implements IndexStore {
           if (DefaultQuery.testHook != null) {
             DefaultQuery.testHook.doTestHook("COMPLETE_TRANSITION_FROM_REGION_ENTRY_TO_ELEMARRAY");
           }
-        } else if (regionEntries instanceof IndexConcurrentHashSet) {
+        } else if (regionEntries instanceof IndexOpenHashSet) {
           // This synchronized is for avoiding conflcts with remove of
-          // ConcurrentHashSet when set size becomes zero during
+          // IndexOpenHashSet when set size becomes zero during
           // basicRemoveMapping();
           synchronized (regionEntries) {
-            ((IndexConcurrentHashSet) regionEntries).add(re);
+            ((IndexOpenHashSet) regionEntries).add(re);
           }
           if (regionEntries != this.valueToEntriesMap.get(indexKey)) {
             retry = true;
@@ -182,8 +182,8 @@ public class MemoryIndexStore implements IndexStore {
           IndexElemArray elemArray = (IndexElemArray) regionEntries;
           synchronized (elemArray) {
             if (elemArray.size() >= IndexManager.INDEX_ELEMARRAY_THRESHOLD) {
-              IndexConcurrentHashSet set =
-                  new IndexConcurrentHashSet(IndexManager.INDEX_ELEMARRAY_THRESHOLD + 20, 0.75f, 1);
+              IndexOpenHashSet set =
+                  new IndexOpenHashSet(IndexManager.INDEX_ELEMARRAY_THRESHOLD + 20);
               // Replace first so that we are sure that the set is placed in
               // index then we should add old elements in the new set.
 
@@ -210,9 +210,9 @@ public class MemoryIndexStore implements IndexStore {
                   // with the TRANSITIONING TOKEN and synchronization of changing collection types
                   // we should then just go from RE to CHS and completely remove the Elem Array.
                   region.getCache().getLogger().warning(
-                      "Unable to transition from index elem to concurrent hash set.  Index needs to be recreated");
+                      "Unable to transition from index elem to open hash set.  Index needs to be recreated");
                   throw new IndexMaintenanceException(
-                      "Unable to transition from index elem to concurrent hash set.  Index needs to be recreated");
+                      "Unable to transition from index elem to open hash set.  Index needs to be recreated");
                 }
                 if (DefaultQuery.testHook != null) {
                   DefaultQuery.testHook
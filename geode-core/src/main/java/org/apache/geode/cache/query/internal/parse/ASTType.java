@@ -55,11 +55,14 @@ public class ASTType extends GemFireAST {
     super.compile(compiler);
 
     Assert.assertTrue(this.javaType != null ^ this.typeName != null);
+    // resolve the type name for this compilation only, so that the parsed query can be compiled
+    // again
+    ObjectType type = this.javaType;
     if (this.typeName != null) {
-      this.javaType = compiler.resolveType(this.typeName);
+      type = compiler.resolveType(this.typeName);
     }
 
-    compiler.push(this.javaType);
+    compiler.push(type);
   }
 
 
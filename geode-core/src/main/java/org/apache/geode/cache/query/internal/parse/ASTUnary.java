@@ -49,8 +49,10 @@ public class ASTUnary extends GemFireAST {
           || tokenType == OQLLexerTokenTypes.NUM_FLOAT
           || tokenType == OQLLexerTokenTypes.NUM_DOUBLE) {
         Support.Assert(child.getNextSibling() == null);
-        child.setText('-' + child.getText());
-        child.compile(compiler);
+        // compile a negated copy of the literal so that the parsed query is not changed
+        ASTLiteral negated = new ASTLiteral();
+        negated.initialize(tokenType, '-' + child.getText());
+        negated.compile(compiler);
       } else {
         super.compile(compiler);
         compiler.unaryMinus();
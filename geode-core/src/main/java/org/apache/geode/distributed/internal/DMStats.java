@@ -141,6 +141,12 @@ public interface DMStats {
 
   public void incBatchFlushTime(long start);
 
+  /**
+   * Increments the number of socket writes of batched messages by one and the number of batched
+   * messages by the number of messages sent in that write.
+   */
+  public void incBatchWrites(int messages);
+
   /**
    * Increments the total number of nanoseconds spent scheduling messages to be processed.
    */
@@ -473,6 +479,34 @@ public interface DMStats {
    */
   public void incAsyncConflatedMsgs();
 
+  /**
+   * @since Geode 1.3
+   */
+  public long getAsyncQueueWindow();
+
+  /**
+   * @since Geode 1.3
+   */
+  public void incAsyncQueueWindow(long inc);
+
+  /**
+   * @since Geode 1.3
+   */
+  public long getAsyncThrottledWrites();
+
+  /**
+   * @since Geode 1.3
+   */
+  public long getAsyncThrottleTime();
+
+  /**
+   * Increments the number of writes that waited for an async queue to drain and the time, in
+   * nanoseconds, they waited.
+   *
+   * @since Geode 1.3
+   */
+  public void incAsyncThrottledWrites(long throttleTime);
+
   /**
    * @since GemFire 4.2.2
    */
@@ -997,11 +997,9 @@ public class DistributionManager implements DM {
                 }
               }
             };
-            Thread thread = new Thread(group, r,
+            return VirtualThreads.newThread(VirtualThreads.WAITING_EXECUTOR, group, r,
                 LocalizedStrings.DistributionManager_POOLED_WAITING_MESSAGE_PROCESSOR
                     .toLocalizedString() + (next++));
-            thread.setDaemon(true);
-            return thread;
           }
         };
         BlockingQueue poolQueue;
@@ -1116,9 +1114,8 @@ public class DistributionManager implements DM {
                 }
               }
             };
-            Thread thread = new Thread(group, r, "Function Execution Processor" + (next++));
-            thread.setDaemon(true);
-            return thread;
+            return VirtualThreads.newThread(VirtualThreads.FUNCTION_EXECUTION_EXECUTOR, group, r,
+                "Function Execution Processor" + (next++));
           }
         };
 
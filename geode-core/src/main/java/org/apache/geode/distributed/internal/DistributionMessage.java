@@ -410,8 +410,10 @@ public abstract class DistributionMessage implements DataSerializableFixedID, Cl
    * Schedule this message's process() method in a thread determined by getExecutor()
    */
   protected void schedule(final DistributionManager dm) {
+    // the pooled readers of shared connections must not block on a message, see ReaderSelector
     boolean inlineProcess = DistributionManager.INLINE_PROCESS
-        && getProcessorType() == DistributionManager.SERIAL_EXECUTOR && !isPreciousThread();
+        && getProcessorType() == DistributionManager.SERIAL_EXECUTOR && !isPreciousThread()
+        && !Connection.isSelectedReaderThread();
 
     boolean forceInline = this.acker != null || getInlineProcess() || Connection.isDominoThread();
 
@@ -146,6 +146,8 @@ public class DistributionStats implements DMStats {
   private final static int batchCopyTimeId;
   private final static int batchWaitTimeId;
   private final static int batchFlushTimeId;
+  private final static int batchWritesId;
+  private final static int batchedMessagesId;
 
   private final static int threadOwnedReceiversId;
   private final static int threadOwnedReceiversId2;
@@ -178,6 +180,9 @@ public class DistributionStats implements DMStats {
   private static final int asyncQueuedMsgsId;
   private static final int asyncDequeuedMsgsId;
   private static final int asyncConflatedMsgsId;
+  private static final int asyncQueueWindowId;
+  private static final int asyncThrottledWritesId;
+  private static final int asyncThrottleTimeId;
 
   private static final int asyncThreadsId;
   private static final int asyncThreadInProgressId;
@@ -356,6 +361,12 @@ public class DistributionStats implements DMStats {
         "The total number of queued messages that have been removed from the queue and successfully sent.";
     final String asyncConflatedMsgsDesc =
         "The total number of queued conflated messages used for asynchronous queues.";
+    final String asyncQueueWindowDesc =
+        "The current sum of the flow control windows, in bytes, of the asynchronous queues in use. A window is the number of bytes its receiver drains in p2p.flowControlTargetDelay milliseconds.";
+    final String asyncThrottledWritesDesc =
+        "The total number of times a thread waited for an asynchronous queue to drain below its flow control window.";
+    final String asyncThrottleTimeDesc =
+        "The total amount of time, in nanoseconds, threads waited for asynchronous queues to drain below their flow control windows.";
 
     final String asyncThreadsDesc = "Total number of asynchronous message queue threads.";
     final String asyncThreadInProgressDesc =
@@ -596,6 +607,11 @@ public class DistributionStats implements DMStats {
         f.createLongCounter("batchFlushTime",
             "Total amount of time, in nanoseconds, spent flushing batched messages to the network",
             "nanoseconds"),
+        f.createLongCounter("batchWrites",
+            "Total number of socket writes done to send batched messages", "operations"),
+        f.createLongCounter("batchedMessages",
+            "Total number of messages sent in batches. Divide by batchWrites to get the average number of messages coalesced into each write.",
+            "messages"),
 
         f.createIntGauge("asyncSocketWritesInProgress",
             "Current number of non-blocking socket write calls in progress.", "writes"),
@@ -631,6 +647,9 @@ public class DistributionStats implements DMStats {
         f.createLongCounter("asyncQueuedMsgs", asyncQueuedMsgsDesc, "msgs"),
         f.createLongCounter("asyncDequeuedMsgs", asyncDequeuedMsgsDesc, "msgs"),
         f.createLongCounter("asyncConflatedMsgs", asyncConflatedMsgsDesc, "msgs"),
+        f.createLongGauge("asyncQueueWindow", asyncQueueWindowDesc, "bytes"),
+        f.createLongCounter("asyncThrottledWrites", asyncThrottledWritesDesc, "operations"),
+        f.createLongCounter("asyncThrottleTime", asyncThrottleTimeDesc, "nanoseconds", false),
 
         f.createIntGauge("asyncThreads", asyncThreadsDesc, "threads"),
         f.createIntGauge("asyncThreadInProgress", asyncThreadInProgressDesc, "operations"),
@@ -841,6 +860,8 @@ public class DistributionStats implements DMStats {
     batchCopyTimeId = type.nameToId("batchCopyTime");
     batchWaitTimeId = type.nameToId("batchWaitTime");
     batchFlushTimeId = type.nameToId("batchFlushTime");
+    batchWritesId = type.nameToId("batchWrites");
+    batchedMessagesId = type.nameToId("batchedMessages");
 
     asyncSocketWritesInProgressId = type.nameToId("asyncSocketWritesInProgress");
     asyncSocketWritesId = type.nameToId("asyncSocketWrites");
@@ -862,6 +883,9 @@ public class DistributionStats implements DMStats {
     asyncQueuedMsgsId = type.nameToId("asyncQueuedMsgs");
     asyncDequeuedMsgsId = type.nameToId("asyncDequeuedMsgs");
     asyncConflatedMsgsId = type.nameToId("asyncConflatedMsgs");
+    asyncQueueWindowId = type.nameToId("asyncQueueWindow");
+    asyncThrottledWritesId = type.nameToId("asyncThrottledWrites");
+    asyncThrottleTimeId = type.nameToId("asyncThrottleTime");
 
     asyncThreadsId = type.nameToId("asyncThreads");
     asyncThreadInProgressId = type.nameToId("asyncThreadInProgress");
@@ -1741,6 +1765,27 @@ public class DistributionStats implements DMStats {
     stats.incLong(asyncConflatedMsgsId, 1);
   }
 
+  public long getAsyncQueueWindow() {
+    return stats.getLong(asyncQueueWindowId);
+  }
+
+  public void incAsyncQueueWindow(long inc) {
+    stats.incLong(asyncQueueWindowId, inc);
+  }
+
+  public long getAsyncThrottledWrites() {
+    return stats.getLong(asyncThrottledWritesId);
+  }
+
+  public long getAsyncThrottleTime() {
+    return stats.getLong(asyncThrottleTimeId);
+  }
+
+  public void incAsyncThrottledWrites(long throttleTime) {
+    stats.incLong(asyncThrottledWritesId, 1);
+    stats.incLong(asyncThrottleTimeId, throttleTime);
+  }
+
   public int getAsyncThreads() {
     return stats.getInt(asyncThreadsId);
   }
@@ -2068,6 +2113,19 @@ public class DistributionStats implements DMStats {
     }
   }
 
+  public void incBatchWrites(int messages) {
+    stats.incLong(batchWritesId, 1);
+    stats.incLong(batchedMessagesId, messages);
+  }
+
+  public long getBatchWrites() {
+    return stats.getLong(batchWritesId);
+  }
+
+  public long getBatchedMessages() {
+    return stats.getLong(batchedMessagesId);
+  }
+
   public void incUcastRetransmits() {
     stats.incInt(ucastRetransmitsId, 1);
   }
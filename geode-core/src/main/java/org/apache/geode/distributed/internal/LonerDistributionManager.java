@@ -583,6 +583,9 @@ public class LonerDistributionManager implements DM {
     @Override
     public void incBatchFlushTime(long start) {}
 
+    @Override
+    public void incBatchWrites(int messages) {}
+
     @Override
     public void incUcastWriteBytes(int bytesWritten) {}
 
@@ -731,6 +734,27 @@ public class LonerDistributionManager implements DM {
     @Override
     public void incAsyncConflatedMsgs() {}
 
+    @Override
+    public long getAsyncQueueWindow() {
+      return 0;
+    }
+
+    @Override
+    public void incAsyncQueueWindow(long inc) {}
+
+    @Override
+    public long getAsyncThrottledWrites() {
+      return 0;
+    }
+
+    @Override
+    public long getAsyncThrottleTime() {
+      return 0;
+    }
+
+    @Override
+    public void incAsyncThrottledWrites(long throttleTime) {}
+
     @Override
     public int getAsyncThreads() {
       return 0;
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.InternalGemFireError;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Creates the threads of some of the distribution manager's message processing executors. If
+ * DistributionManager.USE_VIRTUAL_THREADS is set and the JVM supports virtual threads (Java 21 or
+ * later) then the executors named by DistributionManager.VIRTUAL_THREAD_EXECUTORS get virtual
+ * threads, so message handlers that block on replies or locks no longer tie up a platform thread.
+ * All other executors, and all executors when the JVM does not support virtual threads, get
+ * ordinary daemon threads.
+ * <p>
+ * Before Java 24 a virtual thread that blocks while holding a monitor pins its carrier thread, and
+ * enough pinned virtual threads starve the carrier pool. Message processing enters synchronized
+ * blocks that wait or do socket I/O in many places (bucket creation, distributed locks, function
+ * result senders), so on those JVMs no executor gets virtual threads unless it is named in
+ * VIRTUAL_THREAD_EXECUTORS by someone who has checked that its messages do not block while
+ * holding a monitor. On Java 24 and later, where monitors no longer pin, the waiting and function
+ * execution executors get virtual threads by default. The serial executors never do, and every
+ * executor keeps its maximum thread count.
+ * <p>
+ * Virtual threads are always daemon threads and can not be put in a ThreadGroup, so the group is
+ * installed as their uncaught exception handler instead.
+ *
+ * @since Geode 1.3
+ */
+public class VirtualThreads {
+  private static final Logger logger = LogService.getLogger();
+
+  public static final String USE_VIRTUAL_THREADS_PROPERTY =
+      "DistributionManager.USE_VIRTUAL_THREADS";
+
+  public static final String VIRTUAL_THREAD_EXECUTORS_PROPERTY =
+      "DistributionManager.VIRTUAL_THREAD_EXECUTORS";
+
+  /** The name of the waiting pool in VIRTUAL_THREAD_EXECUTORS */
+  public static final String WAITING_EXECUTOR = "waiting";
+
+  /** The name of the function execution pool in VIRTUAL_THREAD_EXECUTORS */
+  public static final String FUNCTION_EXECUTION_EXECUTOR = "functionExecution";
+
+  /** The executors that get virtual threads by default where monitors do not pin */
+  private static final String DEFAULT_EXECUTORS =
+      WAITING_EXECUTOR + "," + FUNCTION_EXECUTION_EXECUTOR;
+
+  /** The first Java version in which a virtual thread blocked in a monitor does not pin */
+  private static final int NON_PINNING_JAVA_VERSION = 24;
+
+  /** Thread.ofVirtual(), or null if this JVM does not have virtual threads */
+  private static final Method OF_VIRTUAL;
+  /** Thread.Builder.name(String) */
+  private static final Method BUILDER_NAME;
+  /** Thread.Builder.uncaughtExceptionHandler(UncaughtExceptionHandler) */
+  private static final Method BUILDER_UNCAUGHT_EXCEPTION_HANDLER;
+  /** Thread.Builder.unstarted(Runnable) */
+  private static final Method BUILDER_UNSTARTED;
+
+  static {
+    Method ofVirtual = null;
+    Method name = null;
+    Method uncaughtExceptionHandler = null;
+    Method unstarted = null;
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      name = builderClass.getMethod("name", String.class);
+      uncaughtExceptionHandler =
+          builderClass.getMethod("uncaughtExceptionHandler", Thread.UncaughtExceptionHandler.class);
+      unstarted = builderClass.getMethod("unstarted", Runnable.class);
+    } catch (ClassNotFoundException | NoSuchMethodException ignore) {
+      ofVirtual = null;
+    }
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = name;
+    BUILDER_UNCAUGHT_EXCEPTION_HANDLER = uncaughtExceptionHandler;
+    BUILDER_UNSTARTED = unstarted;
+  }
+
+  private static final VirtualThreads INSTANCE =
+      new VirtualThreads(Boolean.getBoolean(USE_VIRTUAL_THREADS_PROPERTY),
+          System.getProperty(VIRTUAL_THREAD_EXECUTORS_PROPERTY), getJavaVersion());
+
+  /** The executors that get virtual threads */
+  private final Set<String> executors;
+
+  VirtualThreads(boolean useVirtualThreads, String executorNames, int javaVersion) {
+    if (!useVirtualThreads) {
+      this.executors = Collections.emptySet();
+      return;
+    }
+    if (!isSupported()) {
+      logger.warn("{} is set but this JVM does not support virtual threads. Using platform threads.",
+          USE_VIRTUAL_THREADS_PROPERTY);
+      this.executors = Collections.emptySet();
+      return;
+    }
+    if (executorNames == null) {
+      if (javaVersion < NON_PINNING_JAVA_VERSION) {
+        logger.warn(
+            "{} is set but {} does not name any executors. Blocking in a monitor pins virtual threads in this JVM, so platform threads are used.",
+            USE_VIRTUAL_THREADS_PROPERTY, VIRTUAL_THREAD_EXECUTORS_PROPERTY);
+        this.executors = Collections.emptySet();
+        return;
+      }
+      executorNames = DEFAULT_EXECUTORS;
+    }
+    Set<String> names = new HashSet<>();
+    for (String executorName : executorNames.split(",")) {
+      if (!executorName.trim().isEmpty()) {
+        names.add(executorName.trim());
+      }
+    }
+    this.executors = Collections.unmodifiableSet(names);
+  }
+
+  /**
+   * Returns true if this JVM supports virtual threads.
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Returns true if the given executor runs on virtual threads.
+   */
+  public static boolean isEnabled(String executor) {
+    return INSTANCE.isEnabledFor(executor);
+  }
+
+  /**
+   * Creates an unstarted message processing thread for the given executor. It is a virtual thread
+   * if virtual threads are enabled for the executor; otherwise it is a daemon thread in the given
+   * group.
+   */
+  public static Thread newThread(String executor, ThreadGroup group, Runnable runnable,
+      String name) {
+    return INSTANCE.createThread(executor, group, runnable, name);
+  }
+
+  boolean isEnabledFor(String executor) {
+    return this.executors.contains(executor);
+  }
+
+  Thread createThread(String executor, ThreadGroup group, Runnable runnable, String name) {
+    if (isEnabledFor(executor)) {
+      return newVirtualThread(group, runnable, name);
+    }
+    Thread thread = new Thread(group, runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static Thread newVirtualThread(ThreadGroup group, Runnable runnable, String name) {
+    try {
+      Object builder = OF_VIRTUAL.invoke(null);
+      builder = BUILDER_NAME.invoke(builder, name);
+      if (group != null) {
+        builder = BUILDER_UNCAUGHT_EXCEPTION_HANDLER.invoke(builder, group);
+      }
+      return (Thread) BUILDER_UNSTARTED.invoke(builder, runnable);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new InternalGemFireError("Unable to create virtual thread " + name, e);
+    }
+  }
+
+  /**
+   * Returns the feature version of this JVM, e.g. 8 for Java 1.8 and 21 for Java 21.
+   */
+  private static int getJavaVersion() {
+    String version = System.getProperty("java.specification.version", "1.8");
+    if (version.startsWith("1.")) {
+      version = version.substring(2);
+    }
+    try {
+      return Integer.parseInt(version);
+    } catch (NumberFormatException ignore) {
+      return 8;
+    }
+  }
+}
@@ -2388,9 +2388,7 @@ public abstract class InternalDataSerializer extends DataSerializer implements D
       throws IOException, ClassNotFoundException {
     Class c = readClass(in);
     try {
-      Constructor init = c.getConstructor(new Class[0]);
-      init.setAccessible(true);
-      Object o = init.newInstance(new Object[0]);
+      Object o = NoArgConstructors.newInstance(c);
       Assert.assertTrue(o instanceof DataSerializable);
       invokeFromData(o, in);
 
@@ -2415,9 +2413,7 @@ public abstract class InternalDataSerializer extends DataSerializer implements D
       throws IOException, ClassNotFoundException {
     Class c = readClass(in);
     try {
-      Constructor init = c.getConstructor(new Class[0]);
-      init.setAccessible(true);
-      Object o = init.newInstance(new Object[0]);
+      Object o = NoArgConstructors.newInstance(c);
 
       invokeFromData(o, in);
 
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates instances of deserialized classes with their public no-argument constructor. The
+ * constructor of each class is looked up once and kept as a method handle attached to the class,
+ * so deserializing an object no longer looks up, copies and access checks its constructor
+ * reflectively. Classes whose constructor can not be invoked through a method handle, for example
+ * abstract classes, are instantiated reflectively so that the same exceptions are thrown as
+ * before.
+ *
+ * @since Geode 1.3
+ */
+public class NoArgConstructors {
+
+  private static final MethodType OBJECT_TYPE = MethodType.methodType(Object.class);
+
+  private static final ClassValue<MethodHandle> CONSTRUCTORS = new ClassValue<MethodHandle>() {
+    @Override
+    protected MethodHandle computeValue(Class<?> type) {
+      if (Modifier.isAbstract(type.getModifiers())) {
+        return null;
+      }
+      try {
+        Constructor<?> constructor = type.getConstructor();
+        constructor.setAccessible(true);
+        return MethodHandles.lookup().unreflectConstructor(constructor).asType(OBJECT_TYPE);
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        return null;
+      }
+    }
+  };
+
+  private NoArgConstructors() {
+    // static methods only
+  }
+
+  /**
+   * Returns a new instance of the given class created with its public no-argument constructor.
+   * Exceptions are the same as those of {@link Constructor#newInstance}; in particular an exception
+   * thrown by the constructor is wrapped in an {@link InvocationTargetException}.
+   */
+  public static Object newInstance(Class<?> type) throws NoSuchMethodException,
+      InstantiationException, IllegalAccessException, InvocationTargetException {
+    MethodHandle constructor = CONSTRUCTORS.get(type);
+    if (constructor == null) {
+      Constructor<?> init = type.getConstructor();
+      init.setAccessible(true);
+      return init.newInstance();
+    }
+    try {
+      return (Object) constructor.invokeExact();
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+}
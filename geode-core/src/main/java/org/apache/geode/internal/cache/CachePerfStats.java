@@ -76,6 +76,9 @@ public class CachePerfStats {
   protected final static int queryResultsHashCollisionsId;
   protected final static int queryResultsHashCollisionProbeTimeId;
   protected final static int partitionedRegionQueryRetriesId;
+  protected final static int queryCompilationsId;
+  protected final static int queryCompilationTimeId;
+  protected final static int queryCompilationCacheHitsId;
 
   protected static final int txSuccessLifeTimeId;
   protected static final int txFailedLifeTimeId;
@@ -238,6 +241,10 @@ public class CachePerfStats {
         "Total time spent probing the hashtable in an OQL result set due to hash code collisions, includes reads, writes, and rehashes";
     final String partitionedRegionOQLQueryRetriesDesc =
         "Total number of times an OQL Query on a Partitioned Region had to be retried";
+    final String queryCompilationsDesc = "Total number of times a query string has been parsed";
+    final String queryCompilationTimeDesc = "Total time spent parsing query strings";
+    final String queryCompilationCacheHitsDesc =
+        "Total number of times a query was created from an already parsed query string";
     final String txSuccessLifeTimeDesc =
         "The total amount of time, in nanoseconds, spent in a transaction before a successful commit. The time measured starts at transaction begin and ends when commit is called.";
     final String txFailedLifeTimeDesc =
@@ -414,6 +421,11 @@ public class CachePerfStats {
                 queryResultsHashCollisionProbeTimeDesc, "nanoseconds"),
             f.createLongCounter("partitionedRegionQueryRetries",
                 partitionedRegionOQLQueryRetriesDesc, "retries"),
+            f.createIntCounter("queryCompilations", queryCompilationsDesc, "operations"),
+            f.createLongCounter("queryCompilationTime", queryCompilationTimeDesc, "nanoseconds",
+                false),
+            f.createIntCounter("queryCompilationCacheHits", queryCompilationCacheHitsDesc,
+                "operations"),
 
             f.createIntCounter("txCommits", txCommitsDesc, "commits"),
             f.createIntCounter("txCommitChanges", txCommitChangesDesc, "changes"),
@@ -558,6 +570,9 @@ public class CachePerfStats {
     queryResultsHashCollisionsId = type.nameToId("queryResultsHashCollisions");
     queryResultsHashCollisionProbeTimeId = type.nameToId("queryResultsHashCollisionProbeTime");
     partitionedRegionQueryRetriesId = type.nameToId("partitionedRegionQueryRetries");
+    queryCompilationsId = type.nameToId("queryCompilations");
+    queryCompilationTimeId = type.nameToId("queryCompilationTime");
+    queryCompilationCacheHitsId = type.nameToId("queryCompilationCacheHits");
 
     txSuccessLifeTimeId = type.nameToId("txSuccessLifeTime");
     txFailedLifeTimeId = type.nameToId("txFailedLifeTime");
@@ -1181,6 +1196,25 @@ public class CachePerfStats {
     stats.incInt(queryResultsHashCollisionsId, 1);
   }
 
+  public void endQueryCompilation(long start) {
+    stats.incInt(queryCompilationsId, 1);
+    if (enableClockStats) {
+      stats.incLong(queryCompilationTimeId, getStatTime() - start);
+    }
+  }
+
+  public void incQueryCompilationCacheHits() {
+    stats.incInt(queryCompilationCacheHitsId, 1);
+  }
+
+  public int getQueryCompilations() {
+    return stats.getInt(queryCompilationsId);
+  }
+
+  public int getQueryCompilationCacheHits() {
+    return stats.getInt(queryCompilationCacheHitsId);
+  }
+
   public int getTxCommits() {
     return stats.getInt(txCommitsId);
   }
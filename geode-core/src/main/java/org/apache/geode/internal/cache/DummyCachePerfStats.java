@@ -316,6 +316,12 @@ public class DummyCachePerfStats extends CachePerfStats {
   @Override
   public void endQueryExecution(long executionTime) {}
 
+  @Override
+  public void endQueryCompilation(long start) {}
+
+  @Override
+  public void incQueryCompilationCacheHits() {}
+
   @Override
   public int getTxCommits() {
     return 0;
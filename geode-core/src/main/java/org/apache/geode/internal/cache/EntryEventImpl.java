@@ -2788,6 +2788,14 @@ public class EntryEventImpl
     }
   }
 
+  /**
+   * Returns false if this event must not own an off-heap value, because
+   * {@link #disallowOffHeapValues} has been called on it, or if it has already been released.
+   */
+  public boolean isOffHeapOk() {
+    return this.offHeapOk;
+  }
+
   /**
    * This copies the off-heap new and/or old value to the heap. As a result the current off-heap
    * new/old will be released.
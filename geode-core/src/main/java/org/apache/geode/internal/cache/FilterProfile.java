@@ -173,6 +173,9 @@ public class FilterProfile implements DataSerializableFixedID {
   /** CQs that are registered on the remote node **/
   private final CopyOnWriteHashMap<String, ServerCQ> cqs = new CopyOnWriteHashMap<>();
 
+  /** The index of the predicates of the CQs of this profile, kept by the CQ service */
+  private transient volatile Object cqPredicateIndex;
+
   /* the ID of the member that this profile describes */
   private DistributedMember memberID;
 
@@ -777,6 +780,18 @@ public class FilterProfile implements DataSerializableFixedID {
     return this.cqs;
   }
 
+  /**
+   * Returns the index of the predicates of the CQs of this profile, or null if the CQ service has
+   * not built one.
+   */
+  public Object getCqPredicateIndex() {
+    return this.cqPredicateIndex;
+  }
+
+  public void setCqPredicateIndex(Object cqPredicateIndex) {
+    this.cqPredicateIndex = cqPredicateIndex;
+  }
+
   /**
    * does this profile contain any continuous queries?
    */
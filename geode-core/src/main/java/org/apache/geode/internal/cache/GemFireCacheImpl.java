@@ -137,6 +137,7 @@ import org.apache.geode.cache.client.internal.PoolImpl;
 import org.apache.geode.cache.control.ResourceManager;
 import org.apache.geode.cache.execute.FunctionService;
 import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.internal.CompiledQueryCache;
 import org.apache.geode.cache.query.internal.DefaultQuery;
 import org.apache.geode.cache.query.internal.DefaultQueryService;
 import org.apache.geode.cache.query.internal.QueryMonitor;
@@ -534,6 +535,9 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
 
   private final Object queryMonitorLock = new Object();
 
+  private final CompiledQueryCache compiledQueryCache =
+      new CompiledQueryCache(CompiledQueryCache.MAX_SIZE);
+
   private final PersistentMemberManager persistentMemberManager;
 
   private ClientMetadataService clientMetadataService = null;
@@ -4464,6 +4468,11 @@ public class GemFireCacheImpl implements InternalCache, InternalClientCache, Has
     return this.queryMonitorDisabledForLowMem;
   }
 
+  @Override
+  public CompiledQueryCache getCompiledQueryCache() {
+    return this.compiledQueryCache;
+  }
+
   /**
    * Returns the QueryMonitor instance based on system property MAX_QUERY_EXECUTION_TIME.
    * 
@@ -39,6 +39,7 @@ import org.apache.geode.cache.asyncqueue.AsyncEventQueue;
 import org.apache.geode.cache.asyncqueue.internal.AsyncEventQueueImpl;
 import org.apache.geode.cache.client.internal.ClientMetadataService;
 import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.internal.CompiledQueryCache;
 import org.apache.geode.cache.query.internal.InternalQueryService;
 import org.apache.geode.cache.query.internal.QueryMonitor;
 import org.apache.geode.cache.query.internal.cq.CqService;
@@ -250,6 +251,8 @@ public interface InternalCache extends Cache, Extensible<Cache>, CacheTime {
 
   QueryMonitor getQueryMonitor();
 
+  CompiledQueryCache getCompiledQueryCache();
+
   void close(String reason, Throwable systemFailureCause, boolean keepAlive, boolean keepDS);
 
   JmxManagerAdvisor getJmxManagerAdvisor();
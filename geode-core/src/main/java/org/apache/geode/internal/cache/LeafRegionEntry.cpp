@@ -36,6 +36,9 @@ import java.util.UUID;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 #endif
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+#if defined(OFFHEAP) && defined(KEY_OBJECT)
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+#endif
 #if defined(VERSIONED)
 import org.apache.geode.cache.EntryEvent;
 #endif
@@ -84,7 +87,11 @@ import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Ha
  * Do not modify this class. It was generated. Instead modify LeafRegionEntry.cpp and then run
  * ./dev-tools/generateRegionEntryClasses.sh (it must be run from the top level directory).
  */
-public class LEAF_CLASS extends PARENT_CLASS {
+public class LEAF_CLASS extends PARENT_CLASS
+#if defined(OFFHEAP) && defined(KEY_OBJECT)
+    implements OffHeapKeyRegionEntry
+#endif
+    {
   public LEAF_CLASS  (RegionEntryContext context, KEY_TYPE key, 
 #ifdef OFFHEAP
       @Retained
@@ -107,6 +114,9 @@ public class LEAF_CLASS extends PARENT_CLASS {
 #endif
 #if defined(KEY_OBJECT)
     this.key = key;
+#ifdef OFFHEAP
+    OffHeapRegionEntryHelper.storeKeyOffHeapIfNeeded(this);
+#endif
 #elif defined(KEY_INT)
     this.key = key;
 #elif defined(KEY_LONG)
@@ -645,11 +655,36 @@ public class LEAF_CLASS extends PARENT_CLASS {
   
   // key code
 #ifdef KEY_OBJECT
+#ifdef OFFHEAP
+  /**
+   * Either the key itself or the StoredObject holding its serialized form once it has been moved
+   * off heap. All access done using keyUpdater or OffHeapRegionEntryHelper.
+   */
+  private volatile Object key;
+  private final static AtomicReferenceFieldUpdater<LEAF_CLASS, Object> keyUpdater = AtomicReferenceFieldUpdater.newUpdater(LEAF_CLASS.class, Object.class, "key");
+  @Override
+  public Object getKey() {
+    return OffHeapRegionEntryHelper.getKey(this);
+  }
+  @Override
+  public Object getKeyField() {
+    return this.key;
+  }
+  @Override
+  public boolean setKeyField(Object expectedKey, Object newKey) {
+    return keyUpdater.compareAndSet(this, expectedKey, newKey);
+  }
+  @Override
+  public boolean isKeyEqual(Object k) {
+    return OffHeapRegionEntryHelper.isKeyEqual(this, k);
+  }
+#else
   private final Object key;
   @Override
   public Object getKey() {
     return this.key;
   }
+#endif
 
 #elif defined(KEY_INT)
   private final int key;
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+/**
+ * An off-heap RegionEntry whose key can also be stored off heap. The key field holds either the
+ * key itself or the {@link org.apache.geode.internal.offheap.StoredObject} that contains the
+ * serialized key. The key is moved off heap and back onto the heap by
+ * {@link org.apache.geode.internal.offheap.OffHeapRegionEntryHelper}.
+ *
+ * @since Geode 1.3
+ */
+public interface OffHeapKeyRegionEntry extends OffHeapRegionEntry {
+  /**
+   * @return the key or the StoredObject holding the serialized key
+   */
+  public Object getKeyField();
+
+  /**
+   * Atomically changes the key field from expectedKey to newKey.
+   *
+   * @return true if the key field was changed
+   */
+  public boolean setKeyField(Object expectedKey, Object newKey);
+}
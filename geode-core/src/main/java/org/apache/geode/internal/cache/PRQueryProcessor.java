@@ -63,7 +63,10 @@ import org.apache.geode.internal.logging.LogService;
 /**
  * This class takes the responsibility of executing the query on a data store for the buckets
  * specified in bucketList. It contains a {@code PRQueryExecutor} thread-pool executor that takes a
- * {@code Callable} task identified by {@code PartitionedRegion}, queryString and bucketId.
+ * {@code Callable} task identified by {@code PartitionedRegion}, queryString and a slice of the
+ * buckets. Each slice produces its own partial results, including partial aggregates, which are
+ * merged with the results of the other slices and members by the query coordinator just like the
+ * results of different members.
  * 
  * The QueryTasks add results directly to a results queue. The BucketQueryResult is used not only to
  * indicate completion, and holds an exception if there one occurred while processing a query.
@@ -132,7 +135,7 @@ public class PRQueryProcessor {
     // ((IndexTrackingQueryObserver)observer).setIndexInfo(resultCollector.getIndexInfoMap());
     // }
 
-    if (NUM_THREADS > 1 || TEST_NUM_THREADS > 1) {
+    if (getNumThreads() > 1 && this._bucketsToQuery.size() > 1) {
       executeWithThreadPool(resultCollector);
     } else {
       executeSequentially(resultCollector, this._bucketsToQuery);
@@ -210,7 +213,7 @@ public class PRQueryProcessor {
     }
 
     if (execService == null || execService.isShutdown() || execService.isTerminated()) {
-      this._prds.partitionedRegion.checkReadiness();
+      this.pr.checkReadiness();
     }
 
     if (reattemptNeeded) {
@@ -413,14 +416,38 @@ public class PRQueryProcessor {
   }
 
   private List buildCallableTaskList(Collection<Collection> resultsColl) {
+    // Ordered results are merged per bucket, just like when the buckets are queried sequentially
+    CompiledSelect cs = this.query.getSimpleSelect();
+    boolean perBucket = cs != null && cs.isOrderBy();
+    boolean pdxReadSerialized = DefaultQuery.getPdxReadSerialized();
     List callableTasks = new ArrayList();
-    for (Iterator itr = _bucketsToQuery.iterator(); itr.hasNext();) {
-      Integer bId = (Integer) itr.next();
-      callableTasks.add(new QueryTask(this.query, this.parameters, _prds, bId, resultsColl));
+    for (List<Integer> slice : splitBuckets(this._bucketsToQuery,
+        perBucket ? this._bucketsToQuery.size() : getNumThreads())) {
+      callableTasks.add(
+          new QueryTask(this.query, this.parameters, _prds, slice, resultsColl, pdxReadSerialized));
     }
     return callableTasks;
   }
 
+  /**
+   * Splits the buckets into at most numSlices slices of nearly equal size.
+   */
+  static List<List<Integer>> splitBuckets(List<Integer> buckets, int numSlices) {
+    int slices = Math.min(numSlices, buckets.size());
+    List<List<Integer>> result = new ArrayList<>(slices);
+    int start = 0;
+    for (int i = 0; i < slices; i++) {
+      int end = start + (buckets.size() - start) / (slices - i);
+      result.add(new ArrayList<>(buckets.subList(start, end)));
+      start = end;
+    }
+    return result;
+  }
+
+  private static int getNumThreads() {
+    return TEST_NUM_THREADS > 1 ? TEST_NUM_THREADS : NUM_THREADS;
+  }
+
   public boolean isIndexUsed() {
     return isIndexUsedForLocalQuery;
   }
@@ -471,8 +498,7 @@ public class PRQueryProcessor {
      */
     static synchronized void initializeExecutorService() {
       if (execService == null || execService.isShutdown() || execService.isTerminated()) {
-        int numThreads = (TEST_NUM_THREADS > 1 ? TEST_NUM_THREADS : NUM_THREADS);
-        execService = Executors.newFixedThreadPool(numThreads);
+        execService = Executors.newFixedThreadPool(getNumThreads());
       }
     }
   }
@@ -520,8 +546,8 @@ public class PRQueryProcessor {
   }
 
   /**
-   * Implementation of call-able task to execute query on a bucket region. This task will be
-   * generated by the PRQueryProcessor.
+   * Implementation of call-able task to execute query on a slice of the bucket regions. This task
+   * will be generated by the PRQueryProcessor.
    * 
    */
   @SuppressWarnings("synthetic-access")
@@ -529,21 +555,26 @@ public class PRQueryProcessor {
     private final DefaultQuery query;
     private final Object[] parameters;
     private final PartitionedRegionDataStore _prDs;
-    private final Integer _bucketId;
+    private final List<Integer> _bucketIds;
     private final Collection<Collection> resultColl;
+    private final boolean pdxReadSerialized;
 
     public QueryTask(DefaultQuery query, Object[] parameters, PartitionedRegionDataStore prDS,
-        Integer bucketId, final Collection<Collection> rColl) {
+        List<Integer> bucketIds, final Collection<Collection> rColl, boolean pdxReadSerialized) {
       this.query = query;
       this._prDs = prDS;
-      this._bucketId = bucketId;
+      this._bucketIds = bucketIds;
       this.resultColl = rColl;
       this.parameters = parameters;
+      this.pdxReadSerialized = pdxReadSerialized;
     }
 
     public Object call() throws Exception {
-      BucketQueryResult bukResult = new BucketQueryResult(this._bucketId);
+      BucketQueryResult bukResult = new BucketQueryResult(this._bucketIds);
       boolean retry = false;
+      // the caller may read pdx values serialized, e.g. for a query from a remote member
+      boolean previousPdxReadSerialized = DefaultQuery.getPdxReadSerialized();
+      DefaultQuery.setPdxReadSerialized(this.pdxReadSerialized);
       try {
         // Add indexInfo of this thread to result collector
         QueryObserver observer = QueryObserverHolder.getInstance();
@@ -551,10 +582,9 @@ public class PRQueryProcessor {
           // ((IndexTrackingQueryObserver)observer).setIndexInfo(resultColl.getIndexInfoMap());
         }
 
-        List<Integer> bucketList = Collections.singletonList(this._bucketId);
         ExecutionContext context =
             new QueryExecutionContext(this.parameters, pr.getCache(), this.query);
-        context.setBucketList(bucketList);
+        context.setBucketList(this._bucketIds);
         executeQueryOnBuckets(this.resultColl, context);
         // executeSequentially(this.resultColl, bucketList);
         // success
@@ -565,6 +595,8 @@ public class PRQueryProcessor {
         bukResult.setException(e);
       } catch (CacheRuntimeException cre) {
         bukResult.setException(cre);
+      } finally {
+        DefaultQuery.setPdxReadSerialized(previousPdxReadSerialized);
       }
       // Exception
       return bukResult;
@@ -576,12 +608,12 @@ public class PRQueryProcessor {
      */
     private class BucketQueryResult {
 
-      private int _buk;
+      private List<Integer> _buks;
       private Exception _ex = null;
       public boolean retry = false;
 
-      public BucketQueryResult(int bukId) {
-        this._buk = bukId;
+      public BucketQueryResult(List<Integer> bukIds) {
+        this._buks = bukIds;
       }
 
       public Exception getException() {
@@ -596,8 +628,8 @@ public class PRQueryProcessor {
         this._ex = e;
       }
 
-      public Integer getBucketId() {
-        return valueOf(this._buk);
+      public List<Integer> getBucketIds() {
+        return this._buks;
       }
 
       public boolean isReattemptNeeded() {
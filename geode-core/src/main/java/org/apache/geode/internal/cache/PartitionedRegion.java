@@ -32,20 +32,26 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 
 import org.apache.logging.log4j.Logger;
@@ -291,6 +297,14 @@ public class PartitionedRegion extends LocalRegion
   static final boolean DISABLE_SECONDARY_BUCKET_ACK =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disablePartitionedRegionBucketAck");
 
+  /**
+   * The number of threads that create and populate the indexes of the local buckets. With one
+   * thread, the default, the buckets are indexed one after the other by the thread creating the
+   * index. Not final so that tests can change it.
+   */
+  public static int INDEX_CREATION_THREADS = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "PartitionedRegion.INDEX_CREATION_THREADS", 1);
+
   /**
    * A debug flag used for testing calculation of starting bucket id
    */
@@ -8478,8 +8492,9 @@ public class PartitionedRegion extends LocalRegion
 
   private boolean populateEmptyIndexes(Set<Index> indexes,
       HashMap<String, Exception> exceptionsMap) {
-    boolean throwException = false;
+    AtomicBoolean throwException = new AtomicBoolean();
     if (getDataStore() != null && indexes.size() > 0) {
+      List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
       Set localBuckets = getDataStore().getAllLocalBuckets();
       Iterator it = localBuckets.iterator();
       while (it.hasNext()) {
@@ -8489,17 +8504,111 @@ public class PartitionedRegion extends LocalRegion
         if (bucket == null) {
           continue;
         }
-        IndexManager bucketIndexManager = IndexUtils.getIndexManager(bucket, true);
-        Set<Index> bucketIndexes = getBucketIndexesForPRIndexes(bucket, indexes);
-        try {
-          bucketIndexManager.populateIndexes(bucketIndexes);
-        } catch (MultiIndexCreationException ex) {
-          exceptionsMap.putAll(ex.getExceptionsMap());
-          throwException = true;
+        tasks.add(() -> {
+          IndexManager bucketIndexManager = IndexUtils.getIndexManager(bucket, true);
+          Set<Index> bucketIndexes = getBucketIndexesForPRIndexes(bucket, indexes);
+          try {
+            bucketIndexManager.populateIndexes(bucketIndexes);
+          } catch (MultiIndexCreationException ex) {
+            synchronized (exceptionsMap) {
+              exceptionsMap.putAll(ex.getExceptionsMap());
+            }
+            throwException.set(true);
+          }
+          return null;
+        });
+      }
+      try {
+        invokeBucketIndexTasks(tasks);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        if (e instanceof InterruptedException) {
+          Thread.currentThread().interrupt();
         }
+        for (Index index : indexes) {
+          exceptionsMap.put(index.getName(), e);
+        }
+        throwException.set(true);
+      }
+    }
+    return throwException.get();
+  }
+
+  /**
+   * Runs the given tasks, each of which indexes one local bucket, and waits for all of them to
+   * complete. Every bucket has its own index manager, so indexing a bucket only holds back the
+   * updates of that bucket. If {@link #INDEX_CREATION_THREADS} is more than one then up to that
+   * many threads run the tasks: the calling thread and helpers from the distribution manager's
+   * waiting pool. The helpers take the calling thread's pdx read serialized setting and clear the
+   * query thread locals they fill before going back to the pool. The first exception thrown by a
+   * task is thrown once all tasks have completed.
+   */
+  private void invokeBucketIndexTasks(List<Callable<Void>> tasks) throws Exception {
+    int numHelpers = Math.min(INDEX_CREATION_THREADS, tasks.size()) - 1;
+    if (numHelpers <= 0) {
+      for (Callable<Void> task : tasks) {
+        task.call();
+      }
+      return;
+    }
+    final Queue<Callable<Void>> queue = new ConcurrentLinkedQueue<Callable<Void>>(tasks);
+    final CountDownLatch completed = new CountDownLatch(tasks.size());
+    final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    final boolean readSerialized = DefaultQuery.getPdxReadSerialized();
+    ExecutorService executor = getDistributionManager().getWaitingThreadPool();
+    for (int i = 0; i < numHelpers; i++) {
+      try {
+        executor.execute(() -> {
+          boolean oldReadSerialized = DefaultQuery.getPdxReadSerialized();
+          DefaultQuery.setPdxReadSerialized(readSerialized);
+          try {
+            runBucketIndexTasks(queue, completed, failure);
+          } finally {
+            DefaultQuery.setPdxReadSerialized(oldReadSerialized);
+            DefaultQuery.clearPdxClassMaps();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // the calling thread runs the tasks the helpers would have run
+        break;
+      }
+    }
+    // tasks are only taken from the queue by threads that run them, so the calling thread
+    // can always finish the tasks no helper has started
+    runBucketIndexTasks(queue, completed, failure);
+    completed.await();
+    Throwable t = failure.get();
+    if (t instanceof Error) {
+      throw (Error) t;
+    } else if (t != null) {
+      throw (Exception) t;
+    }
+  }
+
+  private static void runBucketIndexTasks(Queue<Callable<Void>> queue, CountDownLatch completed,
+      AtomicReference<Throwable> failure) {
+    Callable<Void> task;
+    while ((task = queue.poll()) != null) {
+      try {
+        task.call();
+      } catch (VirtualMachineError err) {
+        SystemFailure.initiateFailure(err);
+        // If this ever returns, rethrow the error. We're poisoned
+        // now, so don't let this thread continue.
+        throw err;
+      } catch (Throwable t) {
+        // Whenever you catch Error or Throwable, you must also
+        // catch VirtualMachineError (see above). However, there is
+        // _still_ a possibility that you are dealing with a cascading
+        // error condition, so you also need to check to see if the JVM
+        // is still usable:
+        SystemFailure.checkFailure();
+        failure.compareAndSet(null, t);
+      } finally {
+        completed.countDown();
       }
     }
-    return throwException;
   }
 
   private Set<Index> getBucketIndexesForPRIndexes(Region bucket, Set<Index> indexes) {
@@ -9592,6 +9701,7 @@ public class PartitionedRegion extends LocalRegion
       if (!it.hasNext()) {
         parIndex.setPopulated(true);
       }
+      List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
       while (it.hasNext()) {
         Map.Entry entry = (Map.Entry) it.next();
         Region bucket = (Region) entry.getValue();
@@ -9600,23 +9710,36 @@ public class PartitionedRegion extends LocalRegion
           continue;
         }
 
-        ExecutionContext externalContext = new ExecutionContext(null, cache);
-        externalContext.setBucketRegion(PartitionedRegion.this, (BucketRegion) bucket);
-        IndexManager indMng = IndexUtils.getIndexManager(bucket, true);
-        try {
-          Index bucketIndex = indMng.createIndex(indexName, indexType, indexedExpression,
-              fromClause, imports, externalContext, parIndex, loadEntries);
-          // parIndex.addToBucketIndexes(bucketIndex);
-        } catch (IndexNameConflictException ince) {
-          if (!remotelyOriginated) {
-            throw ince;
-          }
-        } catch (IndexExistsException iee) {
-          if (!remotelyOriginated) {
-            throw iee;
+        tasks.add(() -> {
+          ExecutionContext externalContext = new ExecutionContext(null, cache);
+          externalContext.setBucketRegion(PartitionedRegion.this, (BucketRegion) bucket);
+          IndexManager indMng = IndexUtils.getIndexManager(bucket, true);
+          try {
+            indMng.createIndex(indexName, indexType, indexedExpression, fromClause, imports,
+                externalContext, parIndex, loadEntries);
+          } catch (IndexNameConflictException ince) {
+            if (!remotelyOriginated) {
+              throw ince;
+            }
+          } catch (IndexExistsException iee) {
+            if (!remotelyOriginated) {
+              throw iee;
+            }
           }
-        }
+          return null;
+        });
       } // End of bucket list
+      try {
+        invokeBucketIndexTasks(tasks);
+      } catch (IndexNameConflictException | IndexExistsException | IndexCreationException
+          | RuntimeException e) {
+        throw e;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IndexCreationException(e.getMessage(), e);
+      } catch (Exception e) {
+        throw new IndexCreationException(e.getMessage(), e);
+      }
       parIndex.markValid(true);
       return parIndex;
     }
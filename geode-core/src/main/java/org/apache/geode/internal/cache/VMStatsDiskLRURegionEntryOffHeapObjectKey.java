@@ -22,6 +22,8 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.apache.geode.internal.cache.lru.EnableLRU;
 
 import org.apache.geode.internal.cache.persistence.DiskRecoveryStore;
@@ -56,7 +58,8 @@ import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Ha
  * Do not modify this class. It was generated. Instead modify LeafRegionEntry.cpp and then run
  * ./dev-tools/generateRegionEntryClasses.sh (it must be run from the top level directory).
  */
-public class VMStatsDiskLRURegionEntryOffHeapObjectKey extends VMStatsDiskLRURegionEntryOffHeap {
+public class VMStatsDiskLRURegionEntryOffHeapObjectKey extends VMStatsDiskLRURegionEntryOffHeap
+    implements OffHeapKeyRegionEntry {
   public VMStatsDiskLRURegionEntryOffHeapObjectKey(RegionEntryContext context, Object key,
 
       @Retained
@@ -80,6 +83,8 @@ public class VMStatsDiskLRURegionEntryOffHeapObjectKey extends VMStatsDiskLRUReg
 
     this.key = key;
 
+    OffHeapRegionEntryHelper.storeKeyOffHeapIfNeeded(this);
+
   }
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -483,13 +488,35 @@ public class VMStatsDiskLRURegionEntryOffHeapObjectKey extends VMStatsDiskLRUReg
 
   // key code
 
-  private final Object key;
+  /**
+   * Either the key itself or the StoredObject holding its serialized form once it has been moved
+   * off heap. All access done using keyUpdater or OffHeapRegionEntryHelper.
+   */
+  private volatile Object key;
+  private final static AtomicReferenceFieldUpdater<VMStatsDiskLRURegionEntryOffHeapObjectKey, Object> keyUpdater =
+      AtomicReferenceFieldUpdater.newUpdater(VMStatsDiskLRURegionEntryOffHeapObjectKey.class,
+          Object.class, "key");
 
   @Override
   public Object getKey() {
+    return OffHeapRegionEntryHelper.getKey(this);
+  }
+
+  @Override
+  public Object getKeyField() {
     return this.key;
   }
 
+  @Override
+  public boolean setKeyField(Object expectedKey, Object newKey) {
+    return keyUpdater.compareAndSet(this, expectedKey, newKey);
+  }
+
+  @Override
+  public boolean isKeyEqual(Object k) {
+    return OffHeapRegionEntryHelper.isKeyEqual(this, k);
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
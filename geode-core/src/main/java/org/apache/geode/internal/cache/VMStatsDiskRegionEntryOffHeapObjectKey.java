@@ -22,6 +22,8 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.apache.geode.internal.cache.lru.EnableLRU;
 
 import org.apache.geode.internal.cache.persistence.DiskRecoveryStore;
@@ -53,7 +55,8 @@ import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Ha
  * Do not modify this class. It was generated. Instead modify LeafRegionEntry.cpp and then run
  * ./dev-tools/generateRegionEntryClasses.sh (it must be run from the top level directory).
  */
-public class VMStatsDiskRegionEntryOffHeapObjectKey extends VMStatsDiskRegionEntryOffHeap {
+public class VMStatsDiskRegionEntryOffHeapObjectKey extends VMStatsDiskRegionEntryOffHeap
+    implements OffHeapKeyRegionEntry {
   public VMStatsDiskRegionEntryOffHeapObjectKey(RegionEntryContext context, Object key,
 
       @Retained
@@ -77,6 +80,8 @@ public class VMStatsDiskRegionEntryOffHeapObjectKey extends VMStatsDiskRegionEnt
 
     this.key = key;
 
+    OffHeapRegionEntryHelper.storeKeyOffHeapIfNeeded(this);
+
   }
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -365,13 +370,35 @@ public class VMStatsDiskRegionEntryOffHeapObjectKey extends VMStatsDiskRegionEnt
 
   // key code
 
-  private final Object key;
+  /**
+   * Either the key itself or the StoredObject holding its serialized form once it has been moved
+   * off heap. All access done using keyUpdater or OffHeapRegionEntryHelper.
+   */
+  private volatile Object key;
+  private final static AtomicReferenceFieldUpdater<VMStatsDiskRegionEntryOffHeapObjectKey, Object> keyUpdater =
+      AtomicReferenceFieldUpdater.newUpdater(VMStatsDiskRegionEntryOffHeapObjectKey.class,
+          Object.class, "key");
 
   @Override
   public Object getKey() {
+    return OffHeapRegionEntryHelper.getKey(this);
+  }
+
+  @Override
+  public Object getKeyField() {
     return this.key;
   }
 
+  @Override
+  public boolean setKeyField(Object expectedKey, Object newKey) {
+    return keyUpdater.compareAndSet(this, expectedKey, newKey);
+  }
+
+  @Override
+  public boolean isKeyEqual(Object k) {
+    return OffHeapRegionEntryHelper.isKeyEqual(this, k);
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -22,6 +22,8 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.apache.geode.internal.InternalStatisticsDisabledException;
 
 import org.apache.geode.internal.offheap.OffHeapRegionEntryHelper;
@@ -49,7 +51,8 @@ import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Ha
  * Do not modify this class. It was generated. Instead modify LeafRegionEntry.cpp and then run
  * ./dev-tools/generateRegionEntryClasses.sh (it must be run from the top level directory).
  */
-public class VMStatsRegionEntryOffHeapObjectKey extends VMStatsRegionEntryOffHeap {
+public class VMStatsRegionEntryOffHeapObjectKey extends VMStatsRegionEntryOffHeap
+    implements OffHeapKeyRegionEntry {
   public VMStatsRegionEntryOffHeapObjectKey(RegionEntryContext context, Object key,
 
       @Retained
@@ -72,6 +75,8 @@ public class VMStatsRegionEntryOffHeapObjectKey extends VMStatsRegionEntryOffHea
 
     this.key = key;
 
+    OffHeapRegionEntryHelper.storeKeyOffHeapIfNeeded(this);
+
   }
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -276,13 +281,35 @@ public class VMStatsRegionEntryOffHeapObjectKey extends VMStatsRegionEntryOffHea
 
   // key code
 
-  private final Object key;
+  /**
+   * Either the key itself or the StoredObject holding its serialized form once it has been moved
+   * off heap. All access done using keyUpdater or OffHeapRegionEntryHelper.
+   */
+  private volatile Object key;
+  private final static AtomicReferenceFieldUpdater<VMStatsRegionEntryOffHeapObjectKey, Object> keyUpdater =
+      AtomicReferenceFieldUpdater.newUpdater(VMStatsRegionEntryOffHeapObjectKey.class, Object.class,
+          "key");
 
   @Override
   public Object getKey() {
+    return OffHeapRegionEntryHelper.getKey(this);
+  }
+
+  @Override
+  public Object getKeyField() {
     return this.key;
   }
 
+  @Override
+  public boolean setKeyField(Object expectedKey, Object newKey) {
+    return keyUpdater.compareAndSet(this, expectedKey, newKey);
+  }
+
+  @Override
+  public boolean isKeyEqual(Object k) {
+    return OffHeapRegionEntryHelper.isKeyEqual(this, k);
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -22,6 +22,8 @@ import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.apache.geode.internal.cache.lru.EnableLRU;
 
 import org.apache.geode.internal.cache.persistence.DiskRecoveryStore;
@@ -54,7 +56,8 @@ import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap.Ha
  * Do not modify this class. It was generated. Instead modify LeafRegionEntry.cpp and then run
  * ./dev-tools/generateRegionEntryClasses.sh (it must be run from the top level directory).
  */
-public class VMThinDiskLRURegionEntryOffHeapObjectKey extends VMThinDiskLRURegionEntryOffHeap {
+public class VMThinDiskLRURegionEntryOffHeapObjectKey extends VMThinDiskLRURegionEntryOffHeap
+    implements OffHeapKeyRegionEntry {
   public VMThinDiskLRURegionEntryOffHeapObjectKey(RegionEntryContext context, Object key,
 
       @Retained
@@ -78,6 +81,8 @@ public class VMThinDiskLRURegionEntryOffHeapObjectKey extends VMThinDiskLRURegio
 
     this.key = key;
 
+    OffHeapRegionEntryHelper.storeKeyOffHeapIfNeeded(this);
+
   }
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
@@ -399,13 +404,35 @@ public class VMThinDiskLRURegionEntryOffHeapObjectKey extends VMThinDiskLRURegio
 
   // key code
 
-  private final Object key;
+  /**
+   * Either the key itself or the StoredObject holding its serialized form once it has been moved
+   * off heap. All access done using keyUpdater or OffHeapRegionEntryHelper.
+   */
+  private volatile Object key;
+  private final static AtomicReferenceFieldUpdater<VMThinDiskLRURegionEntryOffHeapObjectKey, Object> keyUpdater =
+      AtomicReferenceFieldUpdater.newUpdater(VMThinDiskLRURegionEntryOffHeapObjectKey.class,
+          Object.class, "key");
 
   @Override
   public Object getKey() {
+    return OffHeapRegionEntryHelper.getKey(this);
+  }
+
+  @Override
+  public Object getKeyField() {
     return this.key;
   }
 
+  @Override
+  public boolean setKeyField(Object expectedKey, Object newKey) {
+    return keyUpdater.compareAndSet(this, expectedKey, newKey);
+  }
+
+  @Override
+  public boolean isKeyEqual(Object k) {
+    return OffHeapRegionEntryHelper.isKeyEqual(this, k);
+  }
+
 
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
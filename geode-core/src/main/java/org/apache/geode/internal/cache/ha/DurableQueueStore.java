@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.ha;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.tier.sockets.CacheClientProxyStats;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * A store of the serialized values of the events in a durable client's queue, kept in a
+ * memory-mapped file so that they do not take up heap while the client is disconnected. The file
+ * is made up of segments, and values are appended to the current segment in the order in which
+ * they are queued, so they are read back sequentially when the client reconnects and its queue is
+ * dispatched. Only the {@link StoredValue} of each value, which holds its segment, offset and
+ * length, is kept on heap.
+ * <p>
+ * Each segment counts the values in it that have not been released. Once a segment has no live
+ * values it is reused, the lowest free segment first, and free segments at the end of the file are
+ * unmapped and cut off the file, so the file shrinks again as the queue is drained.
+ *
+ * @since Geode 1.3
+ */
+public class DurableQueueStore {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The size of each memory-mapped segment of the file. Values larger than this are kept on heap.
+   */
+  public static final int SEGMENT_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "DurableQueueStore.SEGMENT_SIZE", 16 << 20);
+
+  private final File file;
+
+  private final RandomAccessFile randomAccessFile;
+
+  private final FileChannel channel;
+
+  private final CacheClientProxyStats stats;
+
+  /** The segments of the file, in order */
+  private final List<Segment> segments = new ArrayList<>();
+
+  /** The indexes of the segments that have no live values, other than the current one */
+  private final TreeSet<Integer> freeSegments = new TreeSet<>();
+
+  /** The values that have been stored and not released */
+  private final Set<StoredValue> storedValues = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /** The segment the next value is written to, or null if no value has been stored yet */
+  private Segment current;
+
+  private long bytesStored;
+
+  private boolean closed;
+
+  /**
+   * Creates a store in a new file in the given directory.
+   *
+   * @param stats The statistics of the client whose queue this store is for, or null
+   */
+  public DurableQueueStore(File directory, String name, CacheClientProxyStats stats)
+      throws IOException {
+    if (!directory.exists() && !directory.mkdirs() && !directory.isDirectory()) {
+      throw new IOException("Could not create directory " + directory);
+    }
+    this.file = File.createTempFile("durableQueue-" + name.replaceAll("[^A-Za-z0-9_.-]", "_"),
+        ".dqs", directory);
+    this.randomAccessFile = new RandomAccessFile(this.file, "rw");
+    this.channel = this.randomAccessFile.getChannel();
+    this.stats = stats;
+  }
+
+  /**
+   * Appends the given bytes to the current segment, or to the lowest free segment if they do not
+   * fit in it.
+   *
+   * @return The stored value, or null if the bytes do not fit in a segment or this store is closed
+   */
+  public synchronized StoredValue store(byte[] bytes) throws IOException {
+    if (this.closed || bytes.length > SEGMENT_SIZE) {
+      return null;
+    }
+    if (this.current == null || this.current.position + bytes.length > SEGMENT_SIZE) {
+      // Move on to another segment, values do not span segments
+      this.current = nextSegment();
+    }
+    Segment segment = this.current;
+    ByteBuffer buffer = segment.buffer.duplicate();
+    buffer.position(segment.position);
+    buffer.put(bytes);
+    StoredValue value = new StoredValue(this, segment, segment.position, bytes.length);
+    segment.position += bytes.length;
+    segment.liveValues++;
+    this.storedValues.add(value);
+    this.bytesStored += bytes.length;
+    if (this.stats != null) {
+      this.stats.incQueueBytesOnDisk(bytes.length);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the number of bytes of the values that have been stored and not released.
+   */
+  public synchronized long getBytesStored() {
+    return this.bytesStored;
+  }
+
+  /**
+   * Returns the number of segments the file is made up of.
+   */
+  public synchronized int getSegmentCount() {
+    return this.segments.size();
+  }
+
+  /**
+   * Returns the file of this store.
+   */
+  public File getFile() {
+    return this.file;
+  }
+
+  /**
+   * Closes and deletes the file. The values that have not been released are read back onto heap
+   * first, so they can still be read afterwards.
+   */
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    for (StoredValue value : this.storedValues) {
+      value.bytes = read(value);
+    }
+    this.closed = true;
+    if (this.stats != null) {
+      this.stats.incQueueBytesOnDisk(-this.bytesStored);
+    }
+    this.storedValues.clear();
+    this.bytesStored = 0;
+    this.segments.clear();
+    this.freeSegments.clear();
+    this.current = null;
+    try {
+      this.channel.close();
+      this.randomAccessFile.close();
+    } catch (IOException e) {
+      logger.debug("Exception closing durable queue store {}", this.file, e);
+    }
+    if (!this.file.delete() && this.file.exists()) {
+      logger.warn("Could not delete durable queue store {}", this.file);
+    }
+  }
+
+  /**
+   * Returns the lowest free segment, or a newly mapped segment at the end of the file if none is
+   * free.
+   */
+  private Segment nextSegment() throws IOException {
+    Integer free = this.freeSegments.pollFirst();
+    if (free != null) {
+      Segment segment = this.segments.get(free);
+      segment.position = 0;
+      return segment;
+    }
+    int index = this.segments.size();
+    Segment segment = new Segment(index, this.channel.map(FileChannel.MapMode.READ_WRITE,
+        (long) index * SEGMENT_SIZE, SEGMENT_SIZE));
+    this.segments.add(segment);
+    return segment;
+  }
+
+  private byte[] read(StoredValue value) {
+    byte[] bytes = new byte[value.length];
+    ByteBuffer buffer = value.segment.buffer.duplicate();
+    buffer.position(value.offset);
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private synchronized byte[] getBytes(StoredValue value) {
+    if (value.bytes != null || !this.storedValues.contains(value)) {
+      return value.bytes;
+    }
+    return read(value);
+  }
+
+  private synchronized void release(StoredValue value) {
+    if (!this.storedValues.remove(value)) {
+      return;
+    }
+    this.bytesStored -= value.length;
+    if (this.stats != null) {
+      this.stats.incQueueBytesOnDisk(-value.length);
+    }
+    Segment segment = value.segment;
+    if (--segment.liveValues > 0) {
+      return;
+    }
+    if (segment == this.current) {
+      // The current segment is written from its start again
+      segment.position = 0;
+    } else {
+      this.freeSegments.add(segment.index);
+      truncate();
+    }
+  }
+
+  /**
+   * Unmaps the free segments at the end of the file and cuts them off the file.
+   */
+  private void truncate() {
+    int count = this.segments.size();
+    while (count > 0 && this.freeSegments.remove(count - 1)) {
+      count--;
+    }
+    if (count == this.segments.size()) {
+      return;
+    }
+    // The mappings go away once their buffers are garbage collected
+    this.segments.subList(count, this.segments.size()).clear();
+    try {
+      this.channel.truncate((long) count * SEGMENT_SIZE);
+    } catch (IOException e) {
+      // Some platforms do not allow a file to be truncated while it is mapped
+      logger.debug("Exception truncating durable queue store {}", this.file, e);
+    }
+  }
+
+  /**
+   * A segment of the file.
+   */
+  private static class Segment {
+
+    private final int index;
+
+    private final MappedByteBuffer buffer;
+
+    /** The offset in this segment at which the next value is written */
+    private int position;
+
+    /** The number of values in this segment that have not been released */
+    private int liveValues;
+
+    private Segment(int index, MappedByteBuffer buffer) {
+      this.index = index;
+      this.buffer = buffer;
+    }
+  }
+
+  /**
+   * A value in a {@link DurableQueueStore}.
+   */
+  public static class StoredValue {
+
+    private final DurableQueueStore store;
+
+    private final Segment segment;
+
+    private final int offset;
+
+    private final int length;
+
+    /** The value read back onto heap when the store was closed */
+    private volatile byte[] bytes;
+
+    private StoredValue(DurableQueueStore store, Segment segment, int offset, int length) {
+      this.store = store;
+      this.segment = segment;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    /**
+     * Returns the stored bytes, or null if the value has been released.
+     */
+    public byte[] getBytes() {
+      byte[] result = this.bytes;
+      return result != null ? result : this.store.getBytes(this);
+    }
+
+    public int getLength() {
+      return this.length;
+    }
+
+    /**
+     * Frees the space of this value in the store. Its bytes cannot be read afterwards.
+     */
+    public void release() {
+      this.store.release(this);
+    }
+  }
+}
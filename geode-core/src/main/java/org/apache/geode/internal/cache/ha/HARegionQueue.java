@@ -16,6 +16,7 @@ package org.apache.geode.internal.cache.ha;
 
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -81,6 +82,8 @@ import org.apache.geode.internal.cache.HARegion;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.RegionQueue;
 import org.apache.geode.internal.cache.tier.sockets.CacheClientNotifier;
+import org.apache.geode.internal.cache.tier.sockets.CacheClientProxy;
+import org.apache.geode.internal.cache.tier.sockets.CacheClientProxyStats;
 import org.apache.geode.internal.cache.tier.sockets.ClientMarkerMessageImpl;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.internal.cache.tier.sockets.ClientUpdateMessage;
@@ -304,6 +307,16 @@ public class HARegionQueue implements RegionQueue {
    */
   public static int threadIdExpiryTime = DEFAULT_THREAD_ID_EXPIRY_TIME;
 
+  /**
+   * The directory in which the queues of disconnected durable clients store the values of their
+   * events in a {@link DurableQueueStore}, instead of keeping them on heap. If not set, the values
+   * are kept on heap.
+   *
+   * @since Geode 1.3
+   */
+  public static String DURABLE_QUEUE_STORE_DIRECTORY =
+      System.getProperty(DistributionConfig.GEMFIRE_PREFIX + "durableQueueStoreDirectory");
+
   /**
    * Used by durable queues to maintain acked events by client
    */
@@ -1346,24 +1359,9 @@ public class HARegionQueue implements RegionQueue {
       } catch (TimeoutException ignore) {
         throw new InterruptedException();
       }
-      object = (Conflatable) this.region.get(next);
+      object = peekEvent(next);
       if (object != null) {
-        // peeked a object, so add the correponding counter to thread-context
-        object = (object instanceof HAEventWrapper) ? (Conflatable) this.haContainer.get(object)
-            : object;
-
-        if (object != null) { // Is it possible for object to be null...when?
-          List peekedEvents;
-          if ((peekedEvents = (List) HARegionQueue.peekedEventsContext.get()) != null) {
-            peekedEvents.add(next);
-          } else {
-            peekedEvents = new LinkedList();
-            peekedEvents.add(next);
-            HARegionQueue.peekedEventsContext.set(peekedEvents);
-          }
-          this.storePeekedID(next);
-          break;
-        }
+        break;
       }
     }
     // since size is zero, return null
@@ -1373,6 +1371,58 @@ public class HARegionQueue implements RegionQueue {
     return object;
   }
 
+  /**
+   * Returns the event at the given position and adds the position to the thread-context, or
+   * returns null if the event is no longer in the queue.
+   */
+  protected Conflatable peekEvent(Long position) {
+    Conflatable object = (Conflatable) this.region.get(position);
+    if (object != null) {
+      // peeked a object, so add the correponding counter to thread-context
+      object = (object instanceof HAEventWrapper) ? (Conflatable) this.haContainer.get(object)
+          : object;
+
+      if (object != null) { // Is it possible for object to be null...when?
+        List peekedEvents;
+        if ((peekedEvents = (List) HARegionQueue.peekedEventsContext.get()) != null) {
+          peekedEvents.add(position);
+        } else {
+          peekedEvents = new LinkedList();
+          peekedEvents.add(position);
+          HARegionQueue.peekedEventsContext.set(peekedEvents);
+        }
+        this.storePeekedID(position);
+      }
+    }
+    return object;
+  }
+
+  /**
+   * Peeks the events at the head of the queue, up to batchSize of them, for a dispatcher that sends
+   * them together. A blocking queue waits for the first event like {@link #peek()} does, but the
+   * batch only includes the events that are available at that time. All the events peeked for the
+   * batch are removed by the next call to {@link #remove()}. Conflatable events need no conflation
+   * within the batch, since a put conflates the events that are available when it is made.
+   *
+   * @param batchSize The largest number of events to peek
+   * @return The events peeked, which may be fewer than were available if some were removed
+   *         concurrently
+   */
+  public List peekBatch(int batchSize) throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    List batch = doReturn(1, batchSize);
+    if (batch == null) {
+      batch = new ArrayList(1);
+      Object event = peek();
+      if (event != null) {
+        batch.add(event);
+      }
+    }
+    return batch;
+  }
+
   public List peek(int batchSize) throws InterruptedException {
     return peek(batchSize, -1);
   }
@@ -2324,6 +2374,24 @@ public class HARegionQueue implements RegionQueue {
     LinkedList unremovedElements = null;
     HashMap currDurableMap = null;
 
+    /**
+     * The statistics of the client of this queue, if the values of its events are stored in a
+     * {@link DurableQueueStore} while it is disconnected, otherwise null
+     */
+    private CacheClientProxyStats proxyStats;
+
+    /**
+     * The positions of the events queued while the client is disconnected whose values have not
+     * been stored yet, because other queues refer to them too. Guarded by itself.
+     */
+    private final LinkedList<Long> positionsToStore = new LinkedList<>();
+
+    /** Whether the client was disconnected when the last event was queued */
+    private boolean wasPaused;
+
+    /** Created when the first value is stored. Guarded by positionsToStore. */
+    private DurableQueueStore store;
+
     protected DurableHARegionQueue(String regionName, InternalCache cache,
         HARegionQueueAttributes hrqa, Map haContainer, ClientProxyMembershipID clientProxyId,
         final byte clientConflation, boolean isPrimary)
@@ -2335,6 +2403,141 @@ public class HARegionQueue implements RegionQueue {
       this.ackedEvents = new HashMap();
       this.initialized.set(true);
 
+      // The haContainer of a region already overflows the values to disk
+      if (DURABLE_QUEUE_STORE_DIRECTORY != null && haContainer instanceof HAContainerMap) {
+        CacheClientProxy proxy = ((HAContainerWrapper) haContainer).getProxy(this.region.getName());
+        if (proxy != null) {
+          this.proxyStats = proxy.getStatistics();
+        }
+      }
+    }
+
+    /**
+     * Once the event is put, stores the values of the events queued while the client is
+     * disconnected that no other queue refers to, in the order in which they were queued, so that
+     * they are read back sequentially when the client reconnects.
+     */
+    @Override
+    protected void putEventInHARegion(Conflatable event, Long position) {
+      super.putEventInHARegion(event, position);
+      if (this.proxyStats == null || !(event instanceof HAEventWrapper)) {
+        return;
+      }
+      HAEventWrapper wrapper = (HAEventWrapper) this.region.get(position);
+      if (wrapper != null) {
+        this.proxyStats.incQueueBytesOnHeap(getValueSizeOnHeap(this.haContainer.get(wrapper)));
+      }
+      CacheClientProxy proxy =
+          ((HAContainerWrapper) this.haContainer).getProxy(this.region.getName());
+      boolean paused = proxy != null && proxy.isPaused();
+      synchronized (this.positionsToStore) {
+        if (!paused) {
+          this.wasPaused = false;
+          this.positionsToStore.clear();
+          return;
+        }
+        if (!this.wasPaused) {
+          // Store the events queued before the client disconnected too. Their positions are taken
+          // from the region, as the caller holds the DACE lock and must not take the rwLock.
+          this.wasPaused = true;
+          List<Long> positions = new ArrayList<>();
+          for (Object key : this.region.keySet()) {
+            if (key instanceof Long && (Long) key <= position) {
+              positions.add((Long) key);
+            }
+          }
+          Collections.sort(positions);
+          this.positionsToStore.addAll(positions);
+        } else {
+          this.positionsToStore.add(position);
+        }
+        storeValues();
+      }
+    }
+
+    /**
+     * Stores the values of the events at the head of positionsToStore. The events that are still
+     * referred to by other queues are moved to its tail to be tried again later. Only a bounded
+     * number of them are tried each time.
+     *
+     * Caller must hold positionsToStore
+     */
+    private void storeValues() {
+      int attempts = 0;
+      while (!this.positionsToStore.isEmpty() && attempts < 64) {
+        Long position = this.positionsToStore.removeFirst();
+        Object object = this.region.get(position);
+        if (!(object instanceof HAEventWrapper)) {
+          // The event has been removed already
+          continue;
+        }
+        HAEventWrapper wrapper = (HAEventWrapper) object;
+        synchronized (wrapper) {
+          if (wrapper.getReferenceCount() != 1L || wrapper.getPutInProgress()) {
+            this.positionsToStore.addLast(position);
+            attempts++;
+            continue;
+          }
+          Object msg = this.haContainer.get(wrapper);
+          if (!(msg instanceof ClientUpdateMessageImpl)) {
+            continue;
+          }
+          try {
+            if (this.store == null) {
+              this.store = new DurableQueueStore(new File(DURABLE_QUEUE_STORE_DIRECTORY),
+                  this.region.getName(), this.proxyStats);
+            }
+            this.proxyStats.incQueueBytesOnHeap(
+                -((ClientUpdateMessageImpl) msg).storeValue(this.store));
+          } catch (IOException e) {
+            logger.warn(
+                "Could not store the values of durable queue {} in {}, keeping them on heap",
+                this.region.getName(), DURABLE_QUEUE_STORE_DIRECTORY, e);
+            this.proxyStats = null;
+            this.positionsToStore.clear();
+            return;
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the size of the value of the given message that is kept on heap.
+     */
+    private int getValueSizeOnHeap(Object msg) {
+      if (msg instanceof ClientUpdateMessageImpl) {
+        ClientUpdateMessageImpl message = (ClientUpdateMessageImpl) msg;
+        if (!message.isValueStored()) {
+          Object value = message.getValue();
+          if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+          }
+        }
+      }
+      return 0;
+    }
+
+    @Override
+    public void decAndRemoveFromHAContainer(HAEventWrapper wrapper) {
+      CacheClientProxyStats stats = this.proxyStats;
+      if (stats != null) {
+        stats.incQueueBytesOnHeap(-getValueSizeOnHeap(this.haContainer.get(wrapper)));
+      }
+      super.decAndRemoveFromHAContainer(wrapper);
+    }
+
+    @Override
+    public void destroy() throws CacheWriterException {
+      try {
+        super.destroy();
+      } finally {
+        synchronized (this.positionsToStore) {
+          this.positionsToStore.clear();
+          if (this.store != null) {
+            this.store.close();
+          }
+        }
+      }
     }
 
     @Override
@@ -2385,6 +2588,46 @@ public class HARegionQueue implements RegionQueue {
       return next;
     }
 
+    /**
+     * Peeks the first event like {@link #peek()} and then only the events that are available
+     * without waiting, removing their positions from idsAvailable as peek() does for durable
+     * queues.
+     */
+    @Override
+    public List peekBatch(int batchSize) throws InterruptedException {
+      List batch = new ArrayList(1);
+      Object event = peek();
+      if (event != null) {
+        batch.add(event);
+        while (batch.size() < batchSize) {
+          Long next = removeNextAvailableIDIfAny();
+          if (next == null) {
+            break;
+          }
+          event = peekEvent(next);
+          if (event != null) {
+            batch.add(event);
+          }
+        }
+      }
+      return batch;
+    }
+
+    private Long removeNextAvailableIDIfAny() {
+      acquireWriteLock();
+      try {
+        if (this.idsAvailable.isEmpty()) {
+          return null;
+        }
+        Iterator itr = this.idsAvailable.iterator();
+        Long next = (Long) itr.next();
+        itr.remove();
+        return next;
+      } finally {
+        releaseWriteLock();
+      }
+    }
+
     @Override
     protected void storePeekedID(Long id) {
       acquireWriteLock();
@@ -3584,6 +3827,10 @@ public class HARegionQueue implements RegionQueue {
       HAEventWrapper wrapper = (HAEventWrapper) conflatable;
       msg = (Conflatable) HARegionQueue.this.haContainer.get(wrapper);
       if (msg != null) {
+        if (msg instanceof ClientUpdateMessageImpl) {
+          // The value is released from its store when the entry is removed
+          ((ClientUpdateMessageImpl) msg).restoreValue();
+        }
         decAndRemoveFromHAContainer(wrapper);
       }
     } else {
@@ -3609,7 +3856,10 @@ public class HARegionQueue implements RegionQueue {
             logger.debug("Removing event from {}: {}", this.region.getFullPath(),
                 wrapper.getEventId());
           }
-          HARegionQueue.this.haContainer.remove(wrapper);
+          Object msg = HARegionQueue.this.haContainer.remove(wrapper);
+          if (msg instanceof ClientUpdateMessageImpl) {
+            ((ClientUpdateMessageImpl) msg).releaseStoredValue();
+          }
         }
       }
     }
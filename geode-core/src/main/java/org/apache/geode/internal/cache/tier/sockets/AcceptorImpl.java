@@ -35,6 +35,7 @@ import org.apache.geode.distributed.internal.ReplyProcessor21;
 import org.apache.geode.internal.SystemTimer;
 import org.apache.geode.internal.cache.BucketAdvisor;
 import org.apache.geode.internal.cache.BucketAdvisor.BucketProfile;
+import org.apache.geode.internal.cache.GemfireCacheHelper;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.partitioned.AllBucketProfilesUpdateMessage;
@@ -82,7 +83,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
@@ -114,6 +117,12 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
    */
   private final ThreadPoolExecutor hsPool;
 
+  /**
+   * A pool used by gateway receivers to apply the events of a batch concurrently. Created when it is
+   * first needed.
+   */
+  private ThreadPoolExecutor gatewayReceiverApplyPool;
+
   /**
    * The port on which this acceptor listens for client connections
    */
@@ -1638,6 +1647,11 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
       this.pool.shutdownNow();
     }
     this.hsPool.shutdownNow();
+    synchronized (this) {
+      if (this.gatewayReceiverApplyPool != null) {
+        this.gatewayReceiverApplyPool.shutdownNow();
+      }
+    }
   }
 
   private void shutdownSCs() {
@@ -1756,6 +1770,32 @@ public class AcceptorImpl extends Acceptor implements Runnable, CommBufferPool {
     return this.isGatewayReceiver;
   }
 
+  /**
+   * Returns the pool the server connections of this gateway receiver use to apply the events of a
+   * batch concurrently. The calling thread applies some of the events itself, so the pool has one
+   * thread less than the given number of apply threads. Its queue is bounded, and a task that does
+   * not fit in it, or that is submitted after the pool was shut down, is run by the thread
+   * submitting it.
+   */
+  public synchronized ExecutorService getGatewayReceiverApplyPool(int applyThreads) {
+    if (this.gatewayReceiverApplyPool == null) {
+      int threads = Math.max(1, applyThreads - 1);
+      ThreadGroup threadGroup = LoggingThreadGroup.createThreadGroup(
+          "GatewayReceiver Apply Threads " + this.localPort, logger);
+      ThreadFactory threadFactory = GemfireCacheHelper.CreateThreadFactory(threadGroup,
+          "GatewayReceiver Apply Thread " + this.localPort);
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+          new ArrayBlockingQueue<Runnable>(threads), threadFactory, new RejectedExecutionHandler() {
+            public void rejectedExecution(Runnable r, ThreadPoolExecutor pool) {
+              r.run();
+            }
+          });
+      executor.allowCoreThreadTimeOut(true);
+      this.gatewayReceiverApplyPool = executor;
+    }
+    return this.gatewayReceiverApplyPool;
+  }
+
   public List<GatewayTransportFilter> getGatewayTransportFilters() {
     return this.gatewayTransportFilters;
   }
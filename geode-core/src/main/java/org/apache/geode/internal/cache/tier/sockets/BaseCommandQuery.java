@@ -15,9 +15,10 @@
 package org.apache.geode.internal.cache.tier.sockets;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import org.apache.geode.cache.RegionDestroyedException;
@@ -179,11 +180,13 @@ public abstract class BaseCommandQuery extends BaseCommand {
           }
         }
 
-        int numberOfChunks = (int) Math.ceil(selectResults.size() * 1.0 / MAXIMUM_CHUNK_SIZE);
+        // the size of a merged result may only be known by iterating it, so it is taken once
+        int resultSize = selectResults.size();
+        int numberOfChunks = (int) Math.ceil(resultSize * 1.0 / MAXIMUM_CHUNK_SIZE);
 
         if (logger.isTraceEnabled()) {
           logger.trace("{}: Query results size: {}: Entries in chunk: {}: Number of chunks: {}",
-              servConn.getName(), selectResults.size(), MAXIMUM_CHUNK_SIZE, numberOfChunks);
+              servConn.getName(), resultSize, MAXIMUM_CHUNK_SIZE, numberOfChunks);
         }
 
         long oldStart = start;
@@ -211,8 +214,8 @@ public abstract class BaseCommandQuery extends BaseCommand {
           // from 7.0, if the object is in the form of serialized byte array,
           // send it as a part of ObjectPartList
           if (hasSerializedObjects) {
-            sendResultsAsObjectPartList(numberOfChunks, servConn, selectResults.asList(), isStructs,
-                collectionType, queryString, cqQuery, sendCqResultsWithKey, sendResults,
+            sendResultsAsObjectPartList(numberOfChunks, servConn, selectResults.iterator(),
+                isStructs, collectionType, queryString, cqQuery, sendCqResultsWithKey, sendResults,
                 securityService);
           } else {
             sendResultsAsObjectArray(selectResults, numberOfChunks, servConn, isStructs,
@@ -349,159 +352,179 @@ public abstract class BaseCommandQuery extends BaseCommand {
     }
   }
 
-  private void sendResultsAsObjectArray(SelectResults selectResults, int numberOfChunks,
+  /**
+   * Sends the results in chunks of at most MAXIMUM_CHUNK_SIZE entries while iterating them once, so
+   * that no copy of all the results is made and merged results are merged only once. The last chunk
+   * is the one that takes the last result, so a result count that is a multiple of
+   * MAXIMUM_CHUNK_SIZE is not followed by an empty chunk.
+   */
+  void sendResultsAsObjectArray(SelectResults selectResults, int numberOfChunks,
       ServerConnection servConn, boolean isStructs, CollectionType collectionType,
       String queryString, ServerCQ cqQuery, boolean sendCqResultsWithKey, boolean sendResults)
       throws IOException {
-    int resultIndex = 0;
-    // For CQ only as we dont want CQEntries which have null values.
-    int cqResultIndex = 0;
-    Object[] objs = selectResults.toArray();
-    for (int j = 0; j < numberOfChunks; j++) {
-      boolean incompleteArray = false;
+    Iterator objs = getResultsToSend(selectResults.iterator(), servConn, cqQuery,
+        sendCqResultsWithKey);
+    int chunk = 0;
+    do {
       if (logger.isTraceEnabled()) {
-        logger.trace("{}: Creating chunk: {}", servConn.getName(), j);
+        logger.trace("{}: Creating chunk: {}", servConn.getName(), chunk);
       }
       Object[] results = new Object[MAXIMUM_CHUNK_SIZE];
-      for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
-        if ((resultIndex) == selectResults.size()) {
-          incompleteArray = true;
-          break;
-        }
-        if (logger.isTraceEnabled()) {
-          logger.trace("{}: Adding entry [{}] to query results: {}", servConn.getName(),
-              resultIndex, objs[resultIndex]);
-        }
-        if (cqQuery != null) {
-          CqEntry e = (CqEntry) objs[resultIndex];
-          // The value may have become null because of entry invalidation.
-          if (e.getValue() == null) {
-            resultIndex++;
-            // i will get incremented anyway so we need to decrement it back so
-            // that results[i] is not null.
-            i--;
-            continue;
-          }
-          // Add the key into CQ results cache.
-          // For PR the Result caching is not yet supported.
-          // cqQuery.cqResultsCacheInitialized is added to take care
-          // of CQ execute requests that are re-sent. In that case no
-          // need to update the Results cache.
-          if (!cqQuery.isPR()) {
-            cqQuery.addToCqResultKeys(e.getKey());
-          }
-
-          // Add to the Results object array.
-          if (sendCqResultsWithKey) {
-            results[i] = e.getKeyValuePair();
-          } else {
-            results[i] = e.getValue();
-          }
+      int i = 0;
+      while (i < MAXIMUM_CHUNK_SIZE && objs.hasNext()) {
+        Object obj = objs.next();
+        // instance check added to fix bug 40516.
+        if (isStructs && (obj instanceof Struct)) {
+          results[i] = ((Struct) obj).getFieldValues();
         } else {
-          // instance check added to fix bug 40516.
-          if (isStructs && (objs[resultIndex] instanceof Struct)) {
-            results[i] = ((Struct) objs[resultIndex]).getFieldValues();
-          } else {
-            results[i] = objs[resultIndex];
-          }
+          results[i] = obj;
         }
-        resultIndex++;
-        cqResultIndex++;
+        i++;
       }
       // Shrink array if necessary. This will occur if the number
       // of entries in the chunk does not divide evenly into the
       // number of entries in the result set.
-      if (incompleteArray) {
-        Object[] newResults;
-        if (cqQuery != null) {
-          newResults = new Object[cqResultIndex % MAXIMUM_CHUNK_SIZE];
-        } else {
-          newResults = new Object[resultIndex % MAXIMUM_CHUNK_SIZE];
-        }
-        for (int i = 0; i < newResults.length; i++) {
-          newResults[i] = results[i];
-        }
-        results = newResults;
+      if (i < MAXIMUM_CHUNK_SIZE) {
+        results = Arrays.copyOf(results, i);
       }
 
       if (sendResults) {
-        writeQueryResponseChunk(results, collectionType, (resultIndex == selectResults.size()),
-            servConn);
+        writeQueryResponseChunk(results, collectionType, !objs.hasNext(), servConn);
 
         if (logger.isDebugEnabled()) {
           logger.debug("{}: Sent chunk ({} of {}) of query response for query: {}",
-              servConn.getName(), (j + 1), numberOfChunks, queryString);
+              servConn.getName(), (chunk + 1), numberOfChunks, queryString);
         }
       }
-      // If we have reached the last element of SelectResults then we should
-      // break out of loop here only.
-      if (resultIndex == selectResults.size()) {
-        break;
-      }
-    }
+      chunk++;
+    } while (objs.hasNext());
   }
 
-  private void sendResultsAsObjectPartList(int numberOfChunks, ServerConnection servConn, List objs,
-      boolean isStructs, CollectionType collectionType, String queryString, ServerCQ cqQuery,
-      boolean sendCqResultsWithKey, boolean sendResults, final SecurityService securityService)
-      throws IOException {
-    int resultIndex = 0;
-    Object result = null;
-    for (int j = 0; j < numberOfChunks; j++) {
+  /**
+   * Sends the results as ObjectPartLists, in the same chunks as sendResultsAsObjectArray.
+   */
+  void sendResultsAsObjectPartList(int numberOfChunks, ServerConnection servConn,
+      Iterator selectResults, boolean isStructs, CollectionType collectionType,
+      String queryString, ServerCQ cqQuery, boolean sendCqResultsWithKey, boolean sendResults,
+      final SecurityService securityService) throws IOException {
+    Iterator objs = getResultsToSend(selectResults, servConn, cqQuery, sendCqResultsWithKey);
+    int chunk = 0;
+    do {
       if (logger.isTraceEnabled()) {
-        logger.trace("{}: Creating chunk: {}", servConn.getName(), j);
+        logger.trace("{}: Creating chunk: {}", servConn.getName(), chunk);
       }
       ObjectPartList serializedObjs = new ObjectPartList(MAXIMUM_CHUNK_SIZE, false);
-      for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
-        if ((resultIndex) == objs.size()) {
-          break;
-        }
-        if (logger.isTraceEnabled()) {
-          logger.trace("{}: Adding entry [{}] to query results: {}", servConn.getName(),
-              resultIndex, objs.get(resultIndex));
-        }
-        if (cqQuery != null) {
-          CqEntry e = (CqEntry) objs.get(resultIndex);
-          // The value may have become null because of entry invalidation.
-          if (e.getValue() == null) {
-            resultIndex++;
-            continue;
-          }
-
-          // Add the key into CQ results cache.
-          // For PR the Result caching is not yet supported.
-          // cqQuery.cqResultsCacheInitialized is added to take care
-          // of CQ execute requests that are re-sent. In that case no
-          // need to update the Results cache.
-          if (!cqQuery.isPR()) {
-            cqQuery.addToCqResultKeys(e.getKey());
-          }
-
-          // Add to the Results object array.
-          if (sendCqResultsWithKey) {
-            result = e.getKeyValuePair();
-          } else {
-            result = e.getValue();
-          }
-        } else {
-          result = objs.get(resultIndex);
-        }
+      int i = 0;
+      while (i < MAXIMUM_CHUNK_SIZE && objs.hasNext()) {
+        Object result = objs.next();
         if (sendResults) {
           addToObjectPartList(serializedObjs, result, collectionType, false, servConn, isStructs,
               securityService);
         }
-        resultIndex++;
+        i++;
       }
 
       if (sendResults) {
-        writeQueryResponseChunk(serializedObjs, collectionType, ((j + 1) == numberOfChunks),
-            servConn);
+        writeQueryResponseChunk(serializedObjs, collectionType, !objs.hasNext(), servConn);
 
         if (logger.isDebugEnabled()) {
           logger.debug("{}: Sent chunk ({} of {}) of query response for query: {}",
-              servConn.getName(), (j + 1), numberOfChunks, queryString);
+              servConn.getName(), (chunk + 1), numberOfChunks, queryString);
+        }
+      }
+      chunk++;
+    } while (objs.hasNext());
+  }
+
+  /**
+   * Returns the results as they are sent to the client. For a CQ these are the values, or key value
+   * pairs, of the CQ entries whose values were not invalidated.
+   */
+  private Iterator getResultsToSend(Iterator objs, ServerConnection servConn, ServerCQ cqQuery,
+      boolean sendCqResultsWithKey) {
+    if (cqQuery == null) {
+      return new TracingIterator(objs, servConn);
+    }
+    return new CqResultsIterator(new TracingIterator(objs, servConn), cqQuery,
+        sendCqResultsWithKey);
+  }
+
+  /**
+   * Logs each result at trace level as it is taken from the query results.
+   */
+  private static class TracingIterator implements Iterator {
+    private final Iterator results;
+    private final ServerConnection servConn;
+    private int resultIndex = 0;
+
+    TracingIterator(Iterator results, ServerConnection servConn) {
+      this.results = results;
+      this.servConn = servConn;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.results.hasNext();
+    }
+
+    @Override
+    public Object next() {
+      Object obj = this.results.next();
+      if (logger.isTraceEnabled()) {
+        logger.trace("{}: Adding entry [{}] to query results: {}", this.servConn.getName(),
+            this.resultIndex, obj);
+      }
+      this.resultIndex++;
+      return obj;
+    }
+  }
+
+  /**
+   * Turns the CqEntries of a CQ's initial results into the values sent to the client. Entries
+   * whose value has become null are skipped ahead of time, so that hasNext() is false once the
+   * last value has been returned.
+   */
+  private static class CqResultsIterator implements Iterator {
+    private final Iterator entries;
+    private final ServerCQ cqQuery;
+    private final boolean sendCqResultsWithKey;
+    private Object next;
+
+    CqResultsIterator(Iterator entries, ServerCQ cqQuery, boolean sendCqResultsWithKey) {
+      this.entries = entries;
+      this.cqQuery = cqQuery;
+      this.sendCqResultsWithKey = sendCqResultsWithKey;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (this.next == null && this.entries.hasNext()) {
+        CqEntry e = (CqEntry) this.entries.next();
+        // The value may have become null because of entry invalidation.
+        if (e.getValue() == null) {
+          continue;
         }
+        // Add the key into CQ results cache.
+        // For PR the Result caching is not yet supported.
+        // cqQuery.cqResultsCacheInitialized is added to take care
+        // of CQ execute requests that are re-sent. In that case no
+        // need to update the Results cache.
+        if (!this.cqQuery.isPR()) {
+          this.cqQuery.addToCqResultKeys(e.getKey());
+        }
+        this.next = this.sendCqResultsWithKey ? e.getKeyValuePair() : e.getValue();
+      }
+      return this.next != null;
+    }
+
+    @Override
+    public Object next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
       }
+      Object result = this.next;
+      this.next = null;
+      return result;
     }
   }
 
@@ -193,6 +193,14 @@ public class CacheClientProxy implements ClientSession {
   protected static final int MAXIMUM_SHUTDOWN_PEEKS = Integer
       .getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAXIMUM_SHUTDOWN_PEEKS", 50).intValue();
 
+  /**
+   * The largest number of queued messages a dispatcher peeks at once and writes to its client
+   * together. With the default of one, messages are peeked and sent one at a time.
+   */
+  public static int DISPATCH_BATCH_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "CacheClientProxy.DISPATCH_BATCH_SIZE", 1)
+      .intValue();
+
   /**
    * The number of milliseconds to wait for an offering to the message queue
    */
@@ -2485,6 +2493,22 @@ public class CacheClientProxy implements ClientSession {
             }
             waitForResumption();
           }
+          if (DISPATCH_BATCH_SIZE > 1) {
+            List batch;
+            try {
+              batch = this._messageQueue.peekBatch(DISPATCH_BATCH_SIZE);
+            } catch (RegionDestroyedException skipped) {
+              break;
+            }
+            getStatistics().setQueueSize(this._messageQueue.size());
+            if (isStopped()) {
+              break;
+            }
+            if (dispatchBatch(batch)) {
+              this._messageQueue.remove();
+            }
+            continue;
+          }
           try {
             clientMessage = (ClientMessage) this._messageQueue.peek();
           } catch (RegionDestroyedException skipped) {
@@ -2704,37 +2728,7 @@ public class CacheClientProxy implements ClientSession {
      */
     protected boolean dispatchMessage(ClientMessage clientMessage) throws IOException {
       boolean isDispatched = false;
-      if (logger.isTraceEnabled(LogMarker.BRIDGE_SERVER)) {
-        logger.trace(LogMarker.BRIDGE_SERVER, "Dispatching {}", clientMessage);
-      }
-      Message message = null;
-
-      // byte[] latestValue =
-      // this._eventConflator.getLatestValue(clientMessage);
-
-      if (clientMessage instanceof ClientUpdateMessage) {
-        byte[] latestValue = (byte[]) ((ClientUpdateMessage) clientMessage).getValue();
-        if (logger.isTraceEnabled()) {
-          StringBuilder msg = new StringBuilder(100);
-          msg.append(this).append(": Using latest value: ").append(Arrays.toString(latestValue));
-          if (((ClientUpdateMessage) clientMessage).valueIsObject()) {
-            if (latestValue != null) {
-              msg.append(" (").append(deserialize(latestValue)).append(")");
-            }
-            msg.append(" for ").append(clientMessage);
-          }
-          logger.trace(msg.toString());
-        }
-
-        message = ((ClientUpdateMessageImpl) clientMessage).getMessage(getProxy(), latestValue);
-
-        if (AFTER_MESSAGE_CREATION_FLAG) {
-          ClientServerObserver bo = ClientServerObserverHolder.getInstance();
-          bo.afterMessageCreation(message);
-        }
-      } else {
-        message = clientMessage.getMessage(getProxy(), true /* notify */);
-      }
+      Message message = createMessage(clientMessage);
 
       // //////////////////////////////
       // TEST CODE BEGIN (Throws exception to test closing proxy)
@@ -2782,6 +2776,111 @@ public class CacheClientProxy implements ClientSession {
       return isDispatched;
     }
 
+    /**
+     * Sends a batch of messages to the client attached to this proxy. The messages are written to
+     * the comm buffer one after another while the socket is locked, so that they reach the socket
+     * with as few writes as the buffer size allows.
+     *
+     * @param batch The <code>ClientMessage</code>s to send to the client
+     * @return whether the batch was dispatched and can be removed from the queue
+     *
+     * @throws IOException
+     */
+    protected boolean dispatchBatch(List batch) throws IOException {
+      if (batch.isEmpty()) {
+        return true;
+      }
+      if (this._proxy.isPaused()) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Message Dispatcher of a Paused CCProxy is trying to dispatch a batch");
+        }
+        return false;
+      }
+      boolean markerDispatched = false;
+      Message lastMessage = null;
+      this.socketWriteLock.lock();
+      try {
+        ByteBuffer commBuffer = getCommBuffer();
+        if (commBuffer != null) {
+          commBuffer.clear();
+        }
+        for (Object clientMessage : batch) {
+          // each message is timed on its own, as it is when it is dispatched alone
+          long start = getStatistics().startTime();
+          Message message = createMessage((ClientMessage) clientMessage);
+          if (message == null) {
+            continue;
+          }
+          message.setComms(getSocket(), commBuffer, getStatistics());
+          try {
+            message.sendBuffered();
+          } catch (MessageTooLargeException e) {
+            logger.warn("Message too large to send to client: {}, {}", clientMessage,
+                e.getMessage());
+            continue;
+          }
+          lastMessage = message;
+          getStatistics().endMessage(start);
+          this._messageQueue.getStatistics().incEventsDispatched();
+          if (clientMessage instanceof ClientMarkerMessageImpl) {
+            markerDispatched = true;
+          }
+        }
+        if (lastMessage != null) {
+          lastMessage.flushBufferedMessages();
+          getProxy().resetPingCounter();
+        }
+      } finally {
+        this.socketWriteLock.unlock();
+      }
+      if (markerDispatched) {
+        getProxy().markerEnqueued = false;
+      }
+      if (logger.isTraceEnabled()) {
+        logger.trace("{}: Dispatched a batch of {} messages", this, batch.size());
+      }
+      return true;
+    }
+
+    /**
+     * Creates the message that sends the given <code>ClientMessage</code> to the client attached to
+     * this proxy.
+     */
+    private Message createMessage(ClientMessage clientMessage) throws IOException {
+      if (logger.isTraceEnabled(LogMarker.BRIDGE_SERVER)) {
+        logger.trace(LogMarker.BRIDGE_SERVER, "Dispatching {}", clientMessage);
+      }
+      Message message = null;
+
+      // byte[] latestValue =
+      // this._eventConflator.getLatestValue(clientMessage);
+
+      if (clientMessage instanceof ClientUpdateMessage) {
+        byte[] latestValue = (byte[]) ((ClientUpdateMessage) clientMessage).getValue();
+        if (logger.isTraceEnabled()) {
+          StringBuilder msg = new StringBuilder(100);
+          msg.append(this).append(": Using latest value: ").append(Arrays.toString(latestValue));
+          if (((ClientUpdateMessage) clientMessage).valueIsObject()) {
+            if (latestValue != null) {
+              msg.append(" (").append(deserialize(latestValue)).append(")");
+            }
+            msg.append(" for ").append(clientMessage);
+          }
+          logger.trace(msg.toString());
+        }
+
+        message = ((ClientUpdateMessageImpl) clientMessage).getMessage(getProxy(), latestValue);
+
+        if (AFTER_MESSAGE_CREATION_FLAG) {
+          ClientServerObserver bo = ClientServerObserverHolder.getInstance();
+          bo.afterMessageCreation(message);
+        }
+      } else {
+        message = clientMessage.getMessage(getProxy(), true /* notify */);
+      }
+      return message;
+    }
+
     private void sendMessage(Message message) throws IOException {
       if (message == null) {
         return;
@@ -58,6 +58,10 @@ public class CacheClientProxyStats implements MessageStats {
   private static final String DELTA_FULL_MESSAGES_SENT = "deltaFullMessagesSent";
   /** Name of the CQ count statistic */
   private static final String CQ_COUNT = "cqCount";
+  /** Name of the queue bytes on heap statistic */
+  private static final String QUEUE_BYTES_ON_HEAP = "queueBytesOnHeap";
+  /** Name of the queue bytes on disk statistic */
+  private static final String QUEUE_BYTES_ON_DISK = "queueBytesOnDisk";
 
   /** Id of the messages received statistic */
   private static final int _messagesReceivedId;
@@ -81,6 +85,10 @@ public class CacheClientProxyStats implements MessageStats {
   private static final int _deltaFullMessagesSentId;
   /** Id of the CQ count statistic */
   private static final int _cqCountId;
+  /** Id of the queue bytes on heap statistic */
+  private static final int _queueBytesOnHeapId;
+  /** Id of the queue bytes on disk statistic */
+  private static final int _queueBytesOnDiskId;
   private final static int _sentBytesId;
 
   /**
@@ -126,7 +134,15 @@ public class CacheClientProxyStats implements MessageStats {
             "operations"),
 
         f.createLongCounter(CQ_COUNT, "Number of CQs on the client.", "operations"),
-        f.createLongCounter("sentBytes", "Total number of bytes sent to client.", "bytes"),});
+        f.createLongCounter("sentBytes", "Total number of bytes sent to client.", "bytes"),
+
+        f.createLongGauge(QUEUE_BYTES_ON_HEAP,
+            "Number of bytes of the values of the events in a durable client's message queue that are held on heap.",
+            "bytes"),
+
+        f.createLongGauge(QUEUE_BYTES_ON_DISK,
+            "Number of bytes of the values of the events in a durable client's message queue that are held in its memory-mapped queue store.",
+            "bytes"),});
 
     // Initialize id fields
     _messagesReceivedId = _type.nameToId(MESSAGES_RECEIVED);
@@ -141,6 +157,8 @@ public class CacheClientProxyStats implements MessageStats {
     _deltaFullMessagesSentId = _type.nameToId(DELTA_FULL_MESSAGES_SENT);
     _cqCountId = _type.nameToId(CQ_COUNT);
     _sentBytesId = _type.nameToId("sentBytes");
+    _queueBytesOnHeapId = _type.nameToId(QUEUE_BYTES_ON_HEAP);
+    _queueBytesOnDiskId = _type.nameToId(QUEUE_BYTES_ON_DISK);
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -269,6 +287,24 @@ public class CacheClientProxyStats implements MessageStats {
     return this._stats.getInt(_cqCountId);
   }
 
+  /**
+   * Returns the current value of the "queueBytesOnHeap" stat.
+   * 
+   * @return the current value of the "queueBytesOnHeap" stat
+   */
+  public long getQueueBytesOnHeap() {
+    return this._stats.getLong(_queueBytesOnHeapId);
+  }
+
+  /**
+   * Returns the current value of the "queueBytesOnDisk" stat.
+   * 
+   * @return the current value of the "queueBytesOnDisk" stat
+   */
+  public long getQueueBytesOnDisk() {
+    return this._stats.getLong(_queueBytesOnDiskId);
+  }
+
   /**
    * Increments the "messagesReceived" stat.
    */
@@ -318,6 +354,20 @@ public class CacheClientProxyStats implements MessageStats {
     this._stats.incInt(_cqCountId, -1);
   }
 
+  /**
+   * Increments the "queueBytesOnHeap" stat by the given number of bytes.
+   */
+  public void incQueueBytesOnHeap(long bytes) {
+    this._stats.incLong(_queueBytesOnHeapId, bytes);
+  }
+
+  /**
+   * Increments the "queueBytesOnDisk" stat by the given number of bytes.
+   */
+  public void incQueueBytesOnDisk(long bytes) {
+    this._stats.incLong(_queueBytesOnDiskId, bytes);
+  }
+
   /**
    * Sets the "messageQueueSize" stat.
    * 
@@ -37,6 +37,7 @@ import org.apache.geode.cache.query.CqQuery;
 import org.apache.geode.cache.query.internal.cq.InternalCqQuery;
 import org.apache.geode.cache.util.ObjectSizer;
 import org.apache.geode.internal.DSCODE;
+import org.apache.geode.internal.HeapDataOutputStream;
 import org.apache.geode.internal.InternalDataSerializer;
 import org.apache.geode.internal.Sendable;
 import org.apache.geode.internal.Version;
@@ -50,12 +51,14 @@ import org.apache.geode.internal.cache.EnumListenerEvent;
 import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.WrappedCallbackArgument;
+import org.apache.geode.internal.cache.ha.DurableQueueStore;
 import org.apache.geode.internal.cache.ha.HAContainerRegion;
 import org.apache.geode.internal.cache.lru.Sizeable;
 import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.cache.versions.VersionTag;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.offheap.MemoryAllocatorImpl;
+import org.apache.geode.internal.util.BlobHelper;
 
 
 /**
@@ -86,9 +89,10 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
   private Object _keyOfInterest;
 
   /**
-   * The new value
+   * The new value. It is only changed while synchronized on this message, together with the
+   * {@link #storedValue}, and is volatile so that dispatchers can read it without the lock.
    */
-  private Object _value;
+  private volatile Object _value;
 
   /**
    * Whether the value is a serialized object or just a byte[]
@@ -152,6 +156,19 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
 
   private VersionTag versionTag;
 
+  /**
+   * The parts of the messages for this update that are the same for every client, serialized for
+   * the version of the first client they were needed for. The dispatchers of all the clients of
+   * that version add these bytes to their messages instead of serializing the parts again.
+   */
+  private transient volatile SharedParts sharedParts;
+
+  /**
+   * The value of this update, if it has been moved into the {@link DurableQueueStore} of a
+   * disconnected durable client's queue. The value field is null while it is stored.
+   */
+  private transient volatile DurableQueueStore.StoredValue storedValue;
+
   /* added up all constants and form single value */
   private static final int CONSTANT_MEMORY_OVERHEAD;
 
@@ -230,7 +247,95 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
   }
 
   public Object getValue() {
-    return this._value;
+    Object value = this._value;
+    if (value == null && this.storedValue != null) {
+      return getStoredValue();
+    }
+    return value;
+  }
+
+  /**
+   * Returns the value of this update while holding the lock, so that it is not restored, released
+   * or replaced between reading the value field and reading the stored value.
+   */
+  private synchronized Object getStoredValue() {
+    Object value = this._value;
+    if (value == null) {
+      DurableQueueStore.StoredValue stored = this.storedValue;
+      if (stored != null) {
+        return stored.getBytes();
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Moves the serialized value of this update into the given store, so that it no longer takes up
+   * heap. It is read back from the store when it is needed.
+   *
+   * @return The number of bytes moved, or 0 if the value was not stored
+   */
+  public synchronized int storeValue(DurableQueueStore store) throws IOException {
+    if (this.storedValue != null || !(this._value instanceof byte[])) {
+      return 0;
+    }
+    byte[] bytes = (byte[]) this._value;
+    DurableQueueStore.StoredValue stored = store.store(bytes);
+    if (stored == null) {
+      return 0;
+    }
+    this.storedValue = stored;
+    this._value = null;
+    return bytes.length;
+  }
+
+  /**
+   * Returns whether the value of this update has been moved into a {@link DurableQueueStore}.
+   */
+  public boolean isValueStored() {
+    return this.storedValue != null;
+  }
+
+  /**
+   * Reads the value of this update back onto heap if it is stored. Its space in the store is kept
+   * until the value is released.
+   */
+  public synchronized void restoreValue() {
+    DurableQueueStore.StoredValue stored = this.storedValue;
+    if (stored != null && this._value == null) {
+      this._value = stored.getBytes();
+    }
+  }
+
+  /**
+   * Frees the space of the value of this update in its {@link DurableQueueStore}, if it is stored.
+   * The value cannot be read afterwards.
+   */
+  public synchronized void releaseStoredValue() {
+    DurableQueueStore.StoredValue stored = this.storedValue;
+    if (stored != null) {
+      this.storedValue = null;
+      stored.release();
+    }
+  }
+
+  /**
+   * Frees the stored value of this update, if it is stored, and replaces it with the given value.
+   */
+  private synchronized void replaceValue(Object value) {
+    releaseStoredValue();
+    this._value = value;
+  }
+
+  /**
+   * Returns the value of this update serialized, serializing it if it is not already.
+   */
+  private byte[] getSerializedValue() throws IOException {
+    Object value = getValue();
+    if (!(value instanceof byte[])) {
+      value = this._value = CacheServerHelper.serialize(value);
+    }
+    return (byte[]) value;
   }
 
   public boolean valueIsObject() {
@@ -271,12 +376,12 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
   }
 
   public Object getValueToConflate() {
-    return this._value;
+    return getValue();
   }
 
   public void setLatestValue(Object value) {
     // does this also need to set _valueIsObject
-    this._value = value;
+    replaceValue(value);
   }
 
   /// End Conflatable interface methods ///
@@ -570,10 +675,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
             message.addObjPart(Boolean.FALSE);
             byte[] l = latestValue;
             if (l == null) {
-              if (!(this._value instanceof byte[])) {
-                this._value = CacheServerHelper.serialize(this._value);
-              }
-              l = (byte[]) this._value;
+              l = getSerializedValue();
             }
             // Add the value (which has already been serialized)
             message.addRawPart(l, (this._valueIsObject == 0x01));
@@ -727,10 +829,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
           } else {
             message.addObjPart(Boolean.FALSE);
             if (latestValue == null) {
-              if (!(this._value instanceof byte[])) {
-                this._value = CacheServerHelper.serialize(this._value);
-              }
-              latestValue = (byte[]) this._value;
+              latestValue = getSerializedValue();
             }
             // Add the value (which has already been serialized)
             message.addRawPart(latestValue, (this._valueIsObject == 0x01));
@@ -823,6 +922,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
     byte[] latestValue = p_latestValue;
     Message message = null;
     ClientProxyMembershipID proxyId = proxy.getProxyID();
+    SharedParts shared = getSharedParts(proxy, clientVersion);
     // Add CQ info.
     int cqMsgParts = 0;
     boolean clientHasCq = this._hasCqs && (this.getCqs(proxyId) != null);
@@ -842,21 +942,21 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         message = getMessage(7 + cqMsgParts, clientVersion);
         message.setMessageType(MessageType.LOCAL_INVALIDATE);
         message.addStringPart(this._regionName, true);
-        message.addStringOrObjPart(this._keyOfInterest);
+        shared.addKeyPart(message);
       } else {
         // Notify by subscription - send the value
         message = getMessage(9 + cqMsgParts, clientVersion);
         if (isCreate()) {
           message.setMessageType(MessageType.LOCAL_CREATE);
           message.addStringPart(this._regionName, true);
-          message.addStringOrObjPart(this._keyOfInterest);
+          shared.addKeyPart(message);
           message.addObjPart(Boolean.FALSE); // NO delta
           // Add the value (which has already been serialized)
           message.addRawPart(latestValue, (this._valueIsObject == 0x01));
         } else {
           message.setMessageType(MessageType.LOCAL_UPDATE);
           message.addStringPart(this._regionName, true);
-          message.addStringOrObjPart(this._keyOfInterest);
+          shared.addKeyPart(message);
 
           if (this.deltaBytes != null && !conflation && !proxy.isMarkerEnqueued()
               && !proxy.getRegionsWithEmptyDataPolicy().containsKey(_regionName)) {
@@ -866,10 +966,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
           } else {
             message.addObjPart(Boolean.FALSE);
             if (latestValue == null) {
-              if (!(this._value instanceof byte[])) {
-                this._value = CacheServerHelper.serialize(this._value);
-              }
-              latestValue = (byte[]) this._value;
+              latestValue = getSerializedValue();
             }
             // Add the value (which has already been serialized)
             message.addRawPart(latestValue, (this._valueIsObject == 0x01));
@@ -877,11 +974,8 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         }
       }
 
-      message.addObjPart(this._callbackArgument);
-      if (this.versionTag != null) {
-        this.versionTag.setCanonicalIDs(proxy.getCache().getDistributionManager());
-      }
-      message.addObjPart(this.versionTag);
+      shared.addCallbackArgumentPart(message);
+      shared.addVersionTagPart(message);
       message.addObjPart(Boolean.valueOf(isClientInterested(proxyId)));
       message.addObjPart(Boolean.valueOf(clientHasCq));
 
@@ -904,9 +998,9 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
         message.setMessageType(MessageType.LOCAL_INVALIDATE);
       }
       message.addStringPart(this._regionName, true);
-      message.addStringOrObjPart(this._keyOfInterest);
-      message.addObjPart(this._callbackArgument);
-      message.addObjPart(this.versionTag);
+      shared.addKeyPart(message);
+      shared.addCallbackArgumentPart(message);
+      shared.addVersionTagPart(message);
       message.addObjPart(Boolean.valueOf(isClientInterested(proxyId)));
       message.addObjPart(Boolean.valueOf(clientHasCq));
 
@@ -922,7 +1016,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.LOCAL_DESTROY_REGION);
       message.addStringPart(this._regionName, true);
-      message.addObjPart(this._callbackArgument);
+      shared.addCallbackArgumentPart(message);
       message.addObjPart(Boolean.valueOf(clientHasCq));
 
       if (clientHasCq) {
@@ -932,7 +1026,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.CLEAR_REGION);
       message.addStringPart(this._regionName, true);
-      message.addObjPart(this._callbackArgument);
+      shared.addCallbackArgumentPart(message);
       message.addObjPart(Boolean.valueOf(clientHasCq));
 
       if (clientHasCq) {
@@ -942,7 +1036,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       message = getMessage(4 + cqMsgParts, clientVersion);
       message.setMessageType(MessageType.INVALIDATE_REGION);
       message.addStringPart(this._regionName, true);
-      message.addObjPart(this._callbackArgument);
+      shared.addCallbackArgumentPart(message);
 
       // Add CQ status.
       message.addObjPart(Boolean.valueOf(clientHasCq));
@@ -957,10 +1051,31 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
     message.setTransactionId(0);
     // Add the EventId since 5.1 (used to prevent duplicate events
     // received on the client side after a failover)
-    message.addObjPart(this._eventIdentifier);
+    shared.addEventIdPart(message);
     return message;
   }
 
+  /**
+   * Returns the parts of the messages for this update that are the same for every client of the
+   * given version. They are kept for the version of the first client that needs them; clients of
+   * other versions get parts of their own.
+   */
+  private SharedParts getSharedParts(CacheClientProxy proxy, Version clientVersion)
+      throws IOException {
+    SharedParts parts = this.sharedParts;
+    if (parts != null && parts.version.equals(clientVersion)) {
+      return parts;
+    }
+    if (this.versionTag != null) {
+      this.versionTag.setCanonicalIDs(proxy.getCache().getDistributionManager());
+    }
+    parts = new SharedParts(this, clientVersion);
+    if (this.sharedParts == null) {
+      this.sharedParts = parts;
+    }
+    return parts;
+  }
+
   private static final ThreadLocal<Map<Integer, Message>> CACHED_MESSAGES =
       new ThreadLocal<Map<Integer, Message>>() {
         protected Map<Integer, Message> initialValue() {
@@ -1218,8 +1333,9 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
     buffer.append("ClientUpdateMessageImpl[").append("op=").append(this._operation)
         .append(";region=").append(this._regionName).append(";key=").append(this._keyOfInterest);
     if (logger.isTraceEnabled()) {
-      buffer.append(";value=").append(
-          (this._value instanceof byte[]) ? deserialize((byte[]) this._value) : this._value);
+      Object value = getValue();
+      buffer.append(";value=")
+          .append((value instanceof byte[]) ? deserialize((byte[]) value) : value);
     }
     buffer.append(";isObject=").append(_valueIsObject).append(";cbArg=")
         .append(this._callbackArgument).append(";memberId=").append(this._membershipId)
@@ -1239,10 +1355,11 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
     out.writeByte(_operation.getEventCode());
     DataSerializer.writeString(_regionName, out);
     DataSerializer.writeObject(_keyOfInterest, out);
-    if (_value instanceof byte[]) {
-      DataSerializer.writeByteArray((byte[]) _value, out);
+    Object value = getValue();
+    if (value instanceof byte[]) {
+      DataSerializer.writeByteArray((byte[]) value, out);
     } else {
-      DataSerializer.writeByteArray(CacheServerHelper.serialize(_value), out);
+      DataSerializer.writeByteArray(CacheServerHelper.serialize(value), out);
     }
     out.writeByte(_valueIsObject);
     DataSerializer.writeObject(_membershipId, out);
@@ -1423,6 +1540,66 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
   }
 
 
+  /**
+   * The key, callback argument, version tag and event id of an update, serialized for a client
+   * version the same way <code>Message</code> serializes them when they are added as objects. The
+   * byte arrays are never modified, so any number of messages can send them.
+   */
+  private static class SharedParts {
+    private final Version version;
+    private final byte[] key;
+    private final boolean keyIsObject;
+    private final byte[] callbackArgument;
+    private final boolean callbackArgumentIsObject;
+    private final byte[] versionTag;
+    private final byte[] eventId;
+
+    SharedParts(ClientUpdateMessageImpl update, Version version) throws IOException {
+      this.version = version;
+      Version serializationVersion = version.equals(Version.CURRENT) ? null : version;
+      Object keyOfInterest = update._keyOfInterest;
+      if (keyOfInterest instanceof String) {
+        try (HeapDataOutputStream hdos = new HeapDataOutputStream((String) keyOfInterest)) {
+          this.key = hdos.toByteArray();
+        }
+        this.keyIsObject = false;
+      } else {
+        this.key = serialize(keyOfInterest, serializationVersion);
+        this.keyIsObject = this.key != null;
+      }
+      Object callbackArg = update._callbackArgument;
+      if (callbackArg == null || callbackArg instanceof byte[]) {
+        this.callbackArgument = (byte[]) callbackArg;
+        this.callbackArgumentIsObject = false;
+      } else {
+        this.callbackArgument = serialize(callbackArg, serializationVersion);
+        this.callbackArgumentIsObject = true;
+      }
+      this.versionTag = serialize(update.versionTag, serializationVersion);
+      this.eventId = serialize(update._eventIdentifier, serializationVersion);
+    }
+
+    private static byte[] serialize(Object o, Version version) throws IOException {
+      return o == null ? null : BlobHelper.serializeToBlob(o, version);
+    }
+
+    void addKeyPart(Message message) {
+      message.addRawPart(this.key, this.keyIsObject);
+    }
+
+    void addCallbackArgumentPart(Message message) {
+      message.addRawPart(this.callbackArgument, this.callbackArgumentIsObject);
+    }
+
+    void addVersionTagPart(Message message) {
+      message.addRawPart(this.versionTag, this.versionTag != null);
+    }
+
+    void addEventIdPart(Message message) {
+      message.addRawPart(this.eventId, this.eventId != null);
+    }
+  }
+
   /**
    * Even though this class is just a ConcurrentHashMap I wanted it to be its own class so it could
    * be easily identified in heap dumps. The concurrency level on these should be 1 to keep their
@@ -1613,7 +1790,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       throw new IllegalStateException("Expected importNewBytes to be called.");
     }
     try {
-      this._value = CacheServerHelper.serialize(nv);
+      replaceValue(CacheServerHelper.serialize(nv));
     } catch (IOException e) {
       throw new GemFireIOException("Exception serializing entry value", e);
     }
@@ -1626,7 +1803,7 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
       // (not an object)
       this._valueIsObject = 0x00;
     }
-    this._value = nv;
+    replaceValue(nv);
   }
 
 }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.iq80.snappy.CorruptionException;
+import org.iq80.snappy.Snappy;
+
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.Version;
+
+/**
+ * Compresses all the parts of a message into the bytes of a single part, and restores them in the
+ * message that receives that part. Gateway senders use it to send the events of a batch as one
+ * snappy compressed part. The events of a batch repeat region paths, key prefixes and parts of
+ * their values, which snappy finds on its own, so no separate dictionary is sent.
+ *
+ * @since Geode 1.3
+ */
+public class CompressedMessageParts {
+
+  private CompressedMessageParts() {
+    // static methods only
+  }
+
+  /**
+   * Returns the type codes, lengths and contents of all the parts of the given message, compressed
+   * with snappy.
+   */
+  public static byte[] compress(Message message) throws IOException {
+    HeapDataOutputStream hdos = new HeapDataOutputStream(Version.CURRENT);
+    ByteBuffer buffer = ByteBuffer.allocate(1024);
+    int numberOfParts = message.getNumberOfParts();
+    hdos.writeInt(numberOfParts);
+    for (int i = 0; i < numberOfParts; i++) {
+      Part part = message.getPart(i);
+      hdos.writeByte(part.getTypeCode());
+      hdos.writeInt(part.getLength());
+      part.writeTo(hdos, buffer);
+    }
+    return Snappy.compress(hdos.toByteArray());
+  }
+
+  /**
+   * Replaces the part of the given message at the given index, which holds parts compressed by
+   * {@link #compress}, with those parts. The parts following it are discarded.
+   *
+   * @return the number of bytes the compressed parts take up when uncompressed
+   */
+  public static int decompress(Message message, int index) throws IOException {
+    byte[] compressed = message.getPart(index).getSerializedForm();
+    byte[] bytes;
+    try {
+      bytes = Snappy.uncompress(compressed, 0, compressed.length);
+    } catch (CorruptionException e) {
+      throw new IOException(e);
+    }
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    int numberOfParts = in.readInt();
+    message.setNumberOfParts(index + numberOfParts);
+    for (int i = 0; i < numberOfParts; i++) {
+      byte typeCode = in.readByte();
+      byte[] partBytes = new byte[in.readInt()];
+      in.readFully(partBytes);
+      message.getPart(index + i).init(partBytes, typeCode);
+    }
+    return bytes.length;
+  }
+}
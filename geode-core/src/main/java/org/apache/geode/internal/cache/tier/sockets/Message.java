@@ -390,16 +390,16 @@ public class Message {
       v = null;
     }
 
-    // do NOT close the HeapDataOutputStream
-    HeapDataOutputStream hdos = new HeapDataOutputStream(this.chunkSize, v);
+    // serialize with this thread's reusable buffer so that the part only holds the serialized bytes
+    byte[] serializedForm;
     try {
-      BlobHelper.serializeTo(o, hdos);
+      serializedForm = BlobHelper.serializeToBlob(o, v);
     } catch (IOException ex) {
       throw new SerializationException("failed serializing object", ex);
     }
     this.messageModified = true;
     Part part = this.partsList[this.currentPart];
-    part.setPartState(hdos, true);
+    part.setPartState(serializedForm, true);
     this.currentPart++;
   }
 
@@ -544,6 +544,15 @@ public class Message {
    * Sends this message out on its socket.
    */
   void sendBytes(boolean clearMessage) throws IOException {
+    sendBytes(clearMessage, true);
+  }
+
+  /**
+   * Sends this message out on its socket. If flush is false the message is written to the comm
+   * buffer behind what is already there, and the buffer is only written to the socket when it fills
+   * up.
+   */
+  private void sendBytes(boolean clearMessage, boolean flush) throws IOException {
     if (this.serverConnection != null) {
       // Keep track of the fact that we are making progress.
       this.serverConnection.updateProcessingMessage();
@@ -589,7 +598,11 @@ public class Message {
               + ") exceeds gemfire.client.max-message-size setting (" + this.maxMessageSize + ")");
         }
 
-        commBuffer.clear();
+        if (flush) {
+          commBuffer.clear();
+        } else if (commBuffer.remaining() < getHeaderLength()) {
+          flushBuffer();
+        }
         packHeaderInfoForSending(msgLen, securityPart != null);
         for (int i = 0; i < partsToTransmit; i++) {
           Part part = i == this.numberOfParts ? securityPart : this.partsList[i];
@@ -615,13 +628,10 @@ public class Message {
             }
           }
         }
-        if (commBuffer.position() != 0) {
-          flushBuffer();
+        if (flush) {
+          flushBufferedMessages();
         }
         this.messageModified = false;
-        if (this.socketChannel == null) {
-          this.outputStream.flush();
-        }
       }
     } finally {
       if (clearMessage) {
@@ -630,6 +640,19 @@ public class Message {
     }
   }
 
+  /**
+   * Writes what is left in the comm buffer to the socket after messages sent by
+   * {@link #sendBuffered()}, using the socket and buffer of this message.
+   */
+  public void flushBufferedMessages() throws IOException {
+    if (getCommBuffer().position() != 0) {
+      flushBuffer();
+    }
+    if (this.socketChannel == null) {
+      this.outputStream.flush();
+    }
+  }
+
   void flushBuffer() throws IOException {
     final ByteBuffer cb = getCommBuffer();
     if (this.socketChannel != null) {
@@ -1102,6 +1125,17 @@ public class Message {
     sendBytes(clearMessage);
   }
 
+  /**
+   * Writes this message to the comm buffer behind the messages written there before it by this
+   * method, so that a number of messages reach the socket with a few large writes. The buffer is
+   * written to the socket whenever it fills up; {@link #flushBufferedMessages()} must be called
+   * after the last of the messages. The caller is responsible for the buffer not being used by
+   * anything else in the meantime.
+   */
+  public void sendBuffered() throws IOException {
+    sendBytes(true, false);
+  }
+
   /**
    * Populates the stats of this {@code Message} with information received via its socket
    */
@@ -15,8 +15,17 @@
 package org.apache.geode.internal.cache.tier.sockets.command;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.geode.CancelException;
 import org.apache.geode.cache.CacheClosedException;
@@ -26,6 +35,7 @@ import org.apache.geode.cache.operations.DestroyOperationContext;
 import org.apache.geode.cache.operations.PutOperationContext;
 import org.apache.geode.cache.wan.GatewayReceiver;
 import org.apache.geode.distributed.DistributedSystem;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.DistributionStats;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.i18n.StringId;
@@ -35,10 +45,12 @@ import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.cache.EventIDHolder;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.ha.ThreadIdentifier;
 import org.apache.geode.internal.cache.tier.CachedRegionHelper;
 import org.apache.geode.internal.cache.tier.Command;
 import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.cache.tier.sockets.BaseCommand;
+import org.apache.geode.internal.cache.tier.sockets.CompressedMessageParts;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
@@ -59,6 +71,21 @@ import org.apache.geode.pdx.internal.PeerTypeRegistration;
 
 public class GatewayReceiverCommand extends BaseCommand {
 
+  /**
+   * The second byte of the removeOnException part of a batch whose events are compressed into a
+   * single part by {@link CompressedMessageParts}
+   */
+  public static final byte COMPRESSED_EVENTS = 0x01;
+
+  /**
+   * The number of threads that apply the events of a batch. When greater than one, the events of a
+   * batch are split into groups that are applied concurrently. Events for the same key, and events
+   * sent by the same thread of the originating member, are still applied in the order they were
+   * sent. Other events may be applied in a different order.
+   */
+  public static int APPLY_THREADS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "GatewayReceiver.APPLY_THREADS", 1);
+
   private final static GatewayReceiverCommand singleton = new GatewayReceiverCommand();
 
   public static Command getCommand() {
@@ -81,24 +108,15 @@ public class GatewayReceiverCommand extends BaseCommand {
   @Override
   public void cmdExecute(final Message clientMessage, final ServerConnection serverConnection,
       final SecurityService securityService, long start) throws IOException, InterruptedException {
-    Part regionNamePart = null, keyPart = null, valuePart = null, callbackArgPart = null;
-    String regionName = null;
-    Object callbackArg = null, key = null;
     int partNumber = 0;
-    CachedRegionHelper crHelper = serverConnection.getCachedRegionHelper();
     GatewayReceiverStats stats = (GatewayReceiverStats) serverConnection.getCacheServerStats();
-    EventID eventId = null;
-    LocalRegion region = null;
     List<BatchException70> exceptions = new ArrayList<BatchException70>();
-    Throwable fatalException = null;
     // requiresResponse = true;// let PROCESS_BATCH deal with this itself
     {
       long oldStart = start;
       start = DistributionStats.getStatTime();
       stats.incReadProcessBatchRequestTime(start - oldStart);
     }
-    Part callbackArgExistsPart;
-
     stats.incBatchSize(clientMessage.getPayloadLength());
 
     // Retrieve the number of events
@@ -164,14 +182,95 @@ public class GatewayReceiverCommand extends BaseCommand {
     partNumber = 2;
     int dsid = clientMessage.getPart(partNumber++).getInt();
 
-    boolean removeOnException =
-        clientMessage.getPart(partNumber++).getSerializedForm()[0] == 1 ? true : false;
+    byte[] batchFlags = clientMessage.getPart(partNumber++).getSerializedForm();
+    boolean removeOnException = batchFlags[0] == 1 ? true : false;
+
+    // Senders of Geode 1.3 or later may compress all the events of the batch into one part
+    if (batchFlags.length > 1 && batchFlags[1] == COMPRESSED_EVENTS) {
+      int uncompressedLength = CompressedMessageParts.decompress(clientMessage, partNumber);
+      stats.incCompressedBatchesReceived(uncompressedLength);
+    }
+
+    List<EventGroup> groups = null;
+    if (APPLY_THREADS > 1 && numberOfEvents > 1) {
+      groups = groupEvents(clientMessage, serverConnection, partNumber, numberOfEvents,
+          APPLY_THREADS);
+    }
+    List<AppliedEvents> results;
+    if (groups == null) {
+      AppliedEvents appliedEvents = new AppliedEvents();
+      applyEvents(clientMessage, serverConnection, stats, batchId, numberOfEvents, dsid,
+          removeOnException, partNumber, null, appliedEvents);
+      results = Collections.singletonList(appliedEvents);
+    } else {
+      results = applyEventGroups(clientMessage, serverConnection, stats, batchId, numberOfEvents,
+          dsid, removeOnException, groups);
+    }
+    Throwable fatalException = applyResults(serverConnection, results, exceptions);
+    if (fatalException instanceof CancelException) {
+      return;
+    }
+
+    {
+      long oldStart = start;
+      start = DistributionStats.getStatTime();
+      stats.incProcessBatchTime(start - oldStart);
+    }
+    if (fatalException != null) {
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+      writeFatalException(clientMessage, fatalException, serverConnection, batchId);
+      serverConnection.setAsTrue(RESPONDED);
+    } else if (!exceptions.isEmpty()) {
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+      writeBatchException(clientMessage, exceptions, serverConnection, batchId);
+      serverConnection.setAsTrue(RESPONDED);
+    } else {
+      // Increment the batch id unless the received batch id is -1 (a failover
+      // batch)
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+
+      writeReply(clientMessage, serverConnection, batchId, numberOfEvents);
+      serverConnection.setAsTrue(RESPONDED);
+      stats.incWriteProcessBatchResponseTime(DistributionStats.getStatTime() - start);
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{}: Sent process batch normal response for batch {} containing {} events ({} bytes) with {} acknowledgement on {}",
+            serverConnection.getName(), batchId, numberOfEvents, clientMessage.getPayloadLength(),
+            "normal", serverConnection.getSocketString());
+      }
+    }
+  }
+
+  /**
+   * Applies the events of a batch in the order they were sent, or only the events of the given
+   * group if it is not null. The server connection is not changed; what the events did to it is
+   * recorded in the given results, along with the exception that stopped the processing of the
+   * batch, if any.
+   */
+  private void applyEvents(Message clientMessage, ServerConnection serverConnection,
+      GatewayReceiverStats stats, int batchId, int numberOfEvents, int dsid,
+      boolean removeOnException, int partNumber, EventGroup group, AppliedEvents results)
+      throws IOException, InterruptedException {
+    Part regionNamePart = null, keyPart = null, valuePart = null, callbackArgPart = null;
+    String regionName = null;
+    Object callbackArg = null, key = null;
+    CachedRegionHelper crHelper = serverConnection.getCachedRegionHelper();
+    EventID eventId = null;
+    LocalRegion region = null;
+    Part callbackArgExistsPart;
 
     // event received in batch also have PDX events at the start of the batch,to
     // represent correct index on which the exception occurred, number of PDX
     // events need to be subtracted.
     int indexWithoutPDXEvent = -1; //
-    for (int i = 0; i < numberOfEvents; i++) {
+    int numberOfEventsToApply = group == null ? numberOfEvents : group.size();
+    for (int i = 0; i < numberOfEventsToApply; i++) {
+      int eventIndex = group == null ? i : group.getEventIndex(i);
+      if (group != null) {
+        // The events of a group start at the parts found when the batch was split into groups
+        partNumber = group.getPartNumber(i);
+        indexWithoutPDXEvent = group.getIndexWithoutPDXEvent(i) - 1;
+      }
       boolean retry = true;
       boolean isPdxEvent = false;
       indexWithoutPDXEvent++;
@@ -361,7 +460,7 @@ public class GatewayReceiverCommand extends BaseCommand {
                   }
 
                   if (result || clientEvent.isConcurrencyConflict()) {
-                    serverConnection.setModificationInfo(true, regionName, key);
+                    results.addModification(eventIndex, regionName, key);
                     stats.incCreateRequest();
                     retry = false;
                   } else {
@@ -476,7 +575,7 @@ public class GatewayReceiverCommand extends BaseCommand {
                         serverConnection.getProxyID(), false, clientEvent);
                   }
                   if (result || clientEvent.isConcurrencyConflict()) {
-                    serverConnection.setModificationInfo(true, regionName, key);
+                    results.addModification(eventIndex, regionName, key);
                     stats.incUpdateRequest();
                     retry = false;
                   } else {
@@ -572,7 +671,7 @@ public class GatewayReceiverCommand extends BaseCommand {
                   try {
                     region.basicBridgeDestroy(key, callbackArg, serverConnection.getProxyID(),
                         false, clientEvent);
-                    serverConnection.setModificationInfo(true, regionName, key);
+                    results.addModification(eventIndex, regionName, key);
                   } catch (EntryNotFoundException e) {
                     logger.info(LocalizedMessage.create(
                         LocalizedStrings.ProcessBatch_0_DURING_BATCH_DESTROY_NO_ENTRY_WAS_FOUND_FOR_KEY_1,
@@ -690,8 +789,7 @@ public class GatewayReceiverCommand extends BaseCommand {
               serverConnection.getName(), MessageType.getString(clientMessage.getMessageType()),
               serverConnection.getProxyID());
         }
-        serverConnection.setFlagProcessMessagesAsFalse();
-        serverConnection.setClientDisconnectedException(e);
+        results.fatalException = e;
         return;
       } catch (Exception e) {
         // If an interrupted exception is thrown , rethrow it
@@ -699,10 +797,10 @@ public class GatewayReceiverCommand extends BaseCommand {
 
         // If we have an issue with the PDX registry, stop processing more data
         if (e.getCause() instanceof PdxRegistryMismatchException) {
-          fatalException = e.getCause();
           logger.fatal(LocalizedMessage.create(LocalizedStrings.GatewayReceiver_PDX_CONFIGURATION,
               new Object[] {serverConnection.getMembershipID()}), e.getCause());
-          break;
+          results.fatalException = e.getCause();
+          return;
         }
 
         // Increment the batch id unless the received batch id is -1 (a
@@ -714,7 +812,7 @@ public class GatewayReceiverCommand extends BaseCommand {
                 ds.getDistributedMember()});
         BatchException70 be =
             new BatchException70(exceptionMessage, e, indexWithoutPDXEvent, batchId);
-        exceptions.add(be);
+        results.exceptions.add(be);
       } finally {
         // Increment the partNumber
         if (actionType == 0 /* create */ || actionType == 1 /* update */) {
@@ -738,35 +836,254 @@ public class GatewayReceiverCommand extends BaseCommand {
         }
       }
     }
+  }
 
-    {
-      long oldStart = start;
-      start = DistributionStats.getStatTime();
-      stats.incProcessBatchTime(start - oldStart);
+  /**
+   * Splits the events of a batch into PDX events, which are the first group, followed by the given
+   * number of groups of other events. Events for the same key of the same region, and events sent
+   * by the same thread of the originating member, are always put in the same group. The receiving
+   * region's event tracker drops an event whose sequence number is lower than one already applied
+   * from the same thread, so those events must be applied in the order they were sent. For
+   * parallel senders the thread identifies the bucket of the event.
+   *
+   * @return the groups, or null if the batch could not be split, in which case its events are
+   *         applied in order so that any problem is reported as it always has been
+   */
+  private List<EventGroup> groupEvents(Message clientMessage, ServerConnection serverConnection,
+      int partNumber, int numberOfEvents, int numberOfGroups) {
+    // the part number, index without PDX events and event index of each event, and for the
+    // events that are not PDX events the event that represents the events applied together
+    int[][] events = new int[numberOfEvents][];
+    int[] parents = new int[numberOfEvents];
+    Map<String, Map<ByteBuffer, Integer>> keyEvents = new HashMap<>();
+    Map<ThreadIdentifier, Integer> threadEvents = new HashMap<>();
+    int numberOfPDXEvents = 0;
+    try {
+      for (int i = 0; i < numberOfEvents; i++) {
+        int actionType = clientMessage.getPart(partNumber).getInt();
+        String regionName = clientMessage.getPart(partNumber + 2).getString();
+        byte[] key = clientMessage.getPart(partNumber + 4).getSerializedForm();
+        int callbackArgExistsIndex;
+        if (actionType == 0 /* create */ || actionType == 1 /* update */) {
+          callbackArgExistsIndex = partNumber + 6;
+        } else if (actionType == 2 /* destroy */ || actionType == 3 /* update-version */) {
+          callbackArgExistsIndex = partNumber + 5;
+        } else {
+          return null;
+        }
+        if (regionName == null) {
+          return null;
+        }
+        int indexWithoutPDXEvent = i - numberOfPDXEvents;
+        events[i] = new int[] {partNumber, indexWithoutPDXEvent, i};
+        if (regionName.equals(PeerTypeRegistration.REGION_FULL_PATH)) {
+          parents[i] = -1;
+          numberOfPDXEvents++;
+        } else {
+          parents[i] = i;
+          Part eventIdPart = clientMessage.getPart(partNumber + 3);
+          eventIdPart.setVersion(serverConnection.getClientVersion());
+          EventID eventId = (EventID) eventIdPart.getObject();
+          Map<ByteBuffer, Integer> regionKeyEvents = keyEvents.get(regionName);
+          if (regionKeyEvents == null) {
+            regionKeyEvents = new HashMap<>();
+            keyEvents.put(regionName, regionKeyEvents);
+          }
+          union(parents, i, regionKeyEvents.putIfAbsent(ByteBuffer.wrap(key), i));
+          union(parents, i, threadEvents.putIfAbsent(
+              new ThreadIdentifier(eventId.getMembershipID(), eventId.getThreadID()), i));
+        }
+
+        boolean callbackArgExists =
+            clientMessage.getPart(callbackArgExistsIndex).getSerializedForm()[0] == 0x01;
+        // skip the callback arg exists part, the callback arg and the version time stamp
+        partNumber = callbackArgExistsIndex + (callbackArgExists ? 3 : 2);
+      }
+    } catch (Exception e) {
+      return null;
     }
-    if (fatalException != null) {
-      serverConnection.incrementLatestBatchIdReplied(batchId);
-      writeFatalException(clientMessage, fatalException, serverConnection, batchId);
-      serverConnection.setAsTrue(RESPONDED);
-    } else if (!exceptions.isEmpty()) {
-      serverConnection.incrementLatestBatchIdReplied(batchId);
-      writeBatchException(clientMessage, exceptions, serverConnection, batchId);
-      serverConnection.setAsTrue(RESPONDED);
-    } else {
-      // Increment the batch id unless the received batch id is -1 (a failover
-      // batch)
-      serverConnection.incrementLatestBatchIdReplied(batchId);
 
-      writeReply(clientMessage, serverConnection, batchId, numberOfEvents);
-      serverConnection.setAsTrue(RESPONDED);
-      stats.incWriteProcessBatchResponseTime(DistributionStats.getStatTime() - start);
-      if (logger.isDebugEnabled()) {
-        logger.debug(
-            "{}: Sent process batch normal response for batch {} containing {} events ({} bytes) with {} acknowledgement on {}",
-            serverConnection.getName(), batchId, numberOfEvents, clientMessage.getPayloadLength(),
-            "normal", serverConnection.getSocketString());
+    int[] sizes = new int[numberOfEvents];
+    for (int i = 0; i < numberOfEvents; i++) {
+      if (parents[i] != -1) {
+        sizes[find(parents, i)]++;
+      }
+    }
+    List<EventGroup> groups = new ArrayList<EventGroup>(numberOfGroups + 1);
+    for (int i = 0; i <= numberOfGroups; i++) {
+      groups.add(new EventGroup());
+    }
+    // each set of events that must be applied together goes to the group with the fewest events
+    int[] groupSizes = new int[numberOfGroups];
+    int[] groupOfRoot = new int[numberOfEvents];
+    for (int i = 0; i < numberOfEvents; i++) {
+      int group;
+      if (parents[i] == -1) {
+        group = 0;
+      } else {
+        int root = find(parents, i);
+        if (root == i) {
+          int smallest = 0;
+          for (int g = 1; g < numberOfGroups; g++) {
+            if (groupSizes[g] < groupSizes[smallest]) {
+              smallest = g;
+            }
+          }
+          groupSizes[smallest] += sizes[root];
+          groupOfRoot[root] = 1 + smallest;
+        }
+        group = groupOfRoot[root];
+      }
+      groups.get(group).add(events[i][0], events[i][1], events[i][2]);
+    }
+    return groups;
+  }
+
+  /**
+   * Joins the set of events of the given event with the set of the other event, if there is one.
+   * The lowest event of a set represents it, so a set is assigned a group at its first event.
+   */
+  private static void union(int[] parents, int event, Integer other) {
+    if (other == null) {
+      return;
+    }
+    int root = find(parents, event);
+    int otherRoot = find(parents, other);
+    if (root < otherRoot) {
+      parents[otherRoot] = root;
+    } else if (otherRoot < root) {
+      parents[root] = otherRoot;
+    }
+  }
+
+  private static int find(int[] parents, int event) {
+    int root = event;
+    while (parents[root] != root) {
+      root = parents[root];
+    }
+    while (parents[event] != root) {
+      int next = parents[event];
+      parents[event] = root;
+      event = next;
+    }
+    return root;
+  }
+
+  /**
+   * Applies the PDX events of a batch, then applies the other groups of events concurrently on the
+   * gateway receiver's apply pool and the calling thread.
+   *
+   * @return the results of the groups, the PDX events first
+   */
+  private List<AppliedEvents> applyEventGroups(final Message clientMessage,
+      final ServerConnection serverConnection, final GatewayReceiverStats stats, final int batchId,
+      final int numberOfEvents, final int dsid, final boolean removeOnException,
+      List<EventGroup> groups) throws IOException, InterruptedException {
+    List<AppliedEvents> results = new ArrayList<AppliedEvents>(groups.size());
+    // PDX types are registered before the events that may use them are applied
+    AppliedEvents pdxResults = new AppliedEvents();
+    results.add(pdxResults);
+    applyEvents(clientMessage, serverConnection, stats, batchId, numberOfEvents, dsid,
+        removeOnException, 0, groups.get(0), pdxResults);
+    if (pdxResults.fatalException != null) {
+      return results;
+    }
+    ExecutorService executor =
+        serverConnection.getAcceptor().getGatewayReceiverApplyPool(APPLY_THREADS);
+    List<Future<AppliedEvents>> futures = new ArrayList<Future<AppliedEvents>>();
+    EventGroup callerGroup = null;
+    for (final EventGroup group : groups.subList(1, groups.size())) {
+      if (group.size() == 0) {
+        continue;
+      }
+      if (callerGroup == null) {
+        // the server connection thread applies one of the groups itself
+        callerGroup = group;
+        continue;
+      }
+      futures.add(executor.submit(new Callable<AppliedEvents>() {
+        @Override
+        public AppliedEvents call() throws Exception {
+          AppliedEvents groupResults = new AppliedEvents();
+          applyEvents(clientMessage, serverConnection, stats, batchId, numberOfEvents, dsid,
+              removeOnException, 0, group, groupResults);
+          return groupResults;
+        }
+      }));
+    }
+    Exception failure = null;
+    try {
+      if (callerGroup != null) {
+        AppliedEvents callerResults = new AppliedEvents();
+        results.add(callerResults);
+        applyEvents(clientMessage, serverConnection, stats, batchId, numberOfEvents, dsid,
+            removeOnException, 0, callerGroup, callerResults);
       }
+    } catch (IOException | InterruptedException | RuntimeException e) {
+      failure = e;
     }
+    // the parts of the message are only valid until this command returns
+    for (Future<AppliedEvents> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (ExecutionException e) {
+        if (failure == null && e.getCause() instanceof Exception) {
+          failure = (Exception) e.getCause();
+        } else if (e.getCause() instanceof Error) {
+          throw (Error) e.getCause();
+        }
+      }
+    }
+    if (failure instanceof IOException) {
+      throw (IOException) failure;
+    } else if (failure instanceof InterruptedException) {
+      throw (InterruptedException) failure;
+    } else if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+    return results;
+  }
+
+  /**
+   * Applies what the events of a batch did to the server connection, in the order the events were
+   * sent, and collects their exceptions in that order.
+   *
+   * @return the exception that stopped the processing of the batch, either a CancelException or a
+   *         PDX registry mismatch, or null if all the events were processed
+   */
+  private static Throwable applyResults(ServerConnection serverConnection,
+      List<AppliedEvents> results, List<BatchException70> exceptions) {
+    List<Modification> modifications = new ArrayList<Modification>();
+    Throwable fatalException = null;
+    for (AppliedEvents appliedEvents : results) {
+      modifications.addAll(appliedEvents.modifications);
+      exceptions.addAll(appliedEvents.exceptions);
+      if (fatalException == null) {
+        fatalException = appliedEvents.fatalException;
+      }
+    }
+    if (results.size() > 1) {
+      Collections.sort(modifications, new Comparator<Modification>() {
+        @Override
+        public int compare(Modification m1, Modification m2) {
+          return Integer.compare(m1.eventIndex, m2.eventIndex);
+        }
+      });
+      Collections.sort(exceptions, new Comparator<BatchException70>() {
+        @Override
+        public int compare(BatchException70 e1, BatchException70 e2) {
+          return Integer.compare(e1.getIndex(), e2.getIndex());
+        }
+      });
+    }
+    for (Modification modification : modifications) {
+      serverConnection.setModificationInfo(true, modification.regionName, modification.key);
+    }
+    if (fatalException instanceof CancelException) {
+      serverConnection.setFlagProcessMessagesAsFalse();
+      serverConnection.setClientDisconnectedException(fatalException);
+    }
+    return fatalException;
   }
 
   private boolean addPdxType(CachedRegionHelper crHelper, Object key, Object value)
@@ -872,4 +1189,66 @@ public class GatewayReceiverCommand extends BaseCommand {
     logger.warn(LocalizedMessage.create(LocalizedStrings.ProcessBatch_0_WROTE_BATCH_EXCEPTION,
         servConn.getName()), exception);
   }
+
+  /**
+   * The part numbers and indexes of the events of a batch that are applied together, in the order
+   * they were sent
+   */
+  private static class EventGroup {
+    private final List<int[]> events = new ArrayList<int[]>();
+
+    void add(int partNumber, int indexWithoutPDXEvent, int eventIndex) {
+      this.events.add(new int[] {partNumber, indexWithoutPDXEvent, eventIndex});
+    }
+
+    int size() {
+      return this.events.size();
+    }
+
+    int getPartNumber(int i) {
+      return this.events.get(i)[0];
+    }
+
+    int getIndexWithoutPDXEvent(int i) {
+      return this.events.get(i)[1];
+    }
+
+    int getEventIndex(int i) {
+      return this.events.get(i)[2];
+    }
+  }
+
+  /**
+   * What applying some of the events of a batch did, kept so that only the thread processing the
+   * batch changes the state of its server connection
+   */
+  private static class AppliedEvents {
+    private final List<Modification> modifications = new ArrayList<Modification>();
+
+    private final List<BatchException70> exceptions = new ArrayList<BatchException70>();
+
+    /** The exception that stopped the processing of the batch */
+    private Throwable fatalException;
+
+    void addModification(int eventIndex, String regionName, Object key) {
+      this.modifications.add(new Modification(eventIndex, regionName, key));
+    }
+  }
+
+  /**
+   * An entry modified by an event of a batch
+   */
+  private static class Modification {
+    private final int eventIndex;
+
+    private final String regionName;
+
+    private final Object key;
+
+    Modification(int eventIndex, String regionName, Object key) {
+      this.eventIndex = eventIndex;
+      this.regionName = regionName;
+      this.key = key;
+    }
+  }
 }
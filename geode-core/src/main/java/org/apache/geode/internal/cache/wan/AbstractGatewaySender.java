@@ -187,6 +187,40 @@ public abstract class AbstractGatewaySender implements GatewaySender, Distributi
   public static final int QUEUE_SIZE_THRESHOLD =
       Integer.getInteger("GatewaySender.QUEUE_SIZE_THRESHOLD", 5000).intValue();
 
+  /**
+   * The maximum number of batches a dispatcher sends to a receiver before it waits for the oldest
+   * of them to be acknowledged. Zero or less does not limit the number of batches in flight.
+   */
+  public static int MAXIMUM_BATCHES_IN_FLIGHT =
+      Integer.getInteger("GatewaySender.MAXIMUM_BATCHES_IN_FLIGHT", 0).intValue();
+
+  /**
+   * Whether the events of each batch are compressed into a single part before they are sent to a
+   * receiver that can decompress them, which is a receiver of Geode 1.3 or later.
+   */
+  public static boolean COMPRESS_BATCHES = Boolean.getBoolean("GatewaySender.COMPRESS_BATCHES");
+
+  /**
+   * Whether dispatchers choose the size of each batch from the load on their queue instead of
+   * always peeking the configured batch size. The configured batch time interval remains the
+   * longest time a dispatcher waits to fill a batch.
+   */
+  public static boolean ADAPTIVE_BATCHING = Boolean.getBoolean("GatewaySender.ADAPTIVE_BATCHING");
+
+  /**
+   * The largest number of bytes of events a dispatcher puts in one batch when adaptive batching is
+   * enabled.
+   */
+  public static int ADAPTIVE_BATCH_BYTES =
+      Integer.getInteger("GatewaySender.ADAPTIVE_BATCH_BYTES", 1024 * 1024).intValue();
+
+  /**
+   * If true, the serialized values of events queued by senders on members that have off-heap
+   * memory are stored off-heap until the events are removed from the queue.
+   */
+  public static boolean OFF_HEAP_EVENT_VALUES =
+      Boolean.getBoolean("GatewaySender.OFF_HEAP_EVENT_VALUES");
+
   public static int TOKEN_TIMEOUT =
       Integer.getInteger("GatewaySender.TOKEN_TIMEOUT", 120000).intValue();
 
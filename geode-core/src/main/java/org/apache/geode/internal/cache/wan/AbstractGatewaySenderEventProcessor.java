@@ -124,6 +124,11 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
       Collections.synchronizedMap(new HashMap<Integer, List<GatewaySenderEventImpl>[]>());
   private Map<Integer, List<GatewaySenderEventImpl>> batchIdToPDXEventsMap =
       Collections.synchronizedMap(new HashMap<Integer, List<GatewaySenderEventImpl>>());
+  /*
+   * The time at which each batch in the batchIdToEventsMap was dispatched.
+   */
+  private Map<Integer, Long> batchIdToDispatchTimeMap =
+      Collections.synchronizedMap(new HashMap<Integer, Long>());
 
   private List<GatewaySenderEventImpl> pdxSenderEventsList =
       new ArrayList<GatewaySenderEventImpl>();
@@ -142,6 +147,14 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
    */
   private int batchSize;
 
+  /**
+   * The batch size chosen for the next batch when adaptive batching is enabled. It is never more
+   * than MAXIMUM_ADAPTIVE_BATCH_SIZE_FACTOR times the batch size.
+   */
+  private int adaptiveBatchSize;
+
+  protected static final int MAXIMUM_ADAPTIVE_BATCH_SIZE_FACTOR = 10;
+
   /**
    * @param createThreadGroup
    * @param string
@@ -151,6 +164,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
     super(createThreadGroup, string);
     this.sender = (AbstractGatewaySender) sender;
     this.batchSize = sender.getBatchSize();
+    this.adaptiveBatchSize = this.batchSize;
   }
 
   abstract protected void initializeMessageQueue(String id);
@@ -229,6 +243,64 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
     }
   }
 
+  protected int getAdaptiveBatchSize() {
+    return this.adaptiveBatchSize;
+  }
+
+  /**
+   * Chooses the size of the next batch from the batch that was just peeked. Batches grow while the
+   * queue holds at least another full batch behind the events that have been peeked and not yet
+   * acknowledged, shrink when a batch could not be filled within the batch time interval, and never
+   * hold more than ADAPTIVE_BATCH_BYTES bytes of events.
+   *
+   * @param events the events that were just peeked
+   * @param peekedBatchSize the number of events that were asked for
+   */
+  protected void adjustAdaptiveBatchSize(List<GatewaySenderEventImpl> events, int peekedBatchSize,
+      GatewaySenderStats statistics) {
+    int nextBatchSize = this.adaptiveBatchSize;
+    if (events.size() < peekedBatchSize) {
+      nextBatchSize = nextBatchSize / 2;
+    } else if (getUnpeekedEventCount(events.size()) >= peekedBatchSize) {
+      nextBatchSize = nextBatchSize * 2;
+    }
+    long bytes = 0;
+    for (GatewaySenderEventImpl event : events) {
+      bytes += event.getSizeInBytes();
+    }
+    if (bytes > AbstractGatewaySender.ADAPTIVE_BATCH_BYTES) {
+      nextBatchSize = Math.min(nextBatchSize,
+          (int) (events.size() * (long) AbstractGatewaySender.ADAPTIVE_BATCH_BYTES / bytes));
+    }
+    nextBatchSize = Math.min(nextBatchSize, this.batchSize * MAXIMUM_ADAPTIVE_BATCH_SIZE_FACTOR);
+    this.adaptiveBatchSize = Math.max(nextBatchSize, 1);
+    statistics.setAdaptiveBatchSize(this.adaptiveBatchSize);
+  }
+
+  /**
+   * Returns the number of events in this processor's part of the queue that have not been peeked.
+   * Peeked events stay in the queue until their batch is acknowledged, so the events of the batches
+   * in flight and of the batch that was just peeked are not counted.
+   *
+   * @param peekedEvents the number of events in the batch that was just peeked
+   */
+  private int getUnpeekedEventCount(int peekedEvents) {
+    int size;
+    if (this.queue instanceof ParallelGatewaySenderQueue) {
+      // size() is the size of the queue region across all members
+      size = ((ParallelGatewaySenderQueue) this.queue).localSizeForProcessor();
+    } else {
+      size = this.queue.size();
+    }
+    int inFlight = 0;
+    synchronized (this.batchIdToEventsMap) {
+      for (List<GatewaySenderEventImpl>[] eventsArr : this.batchIdToEventsMap.values()) {
+        inFlight += eventsArr[0].size();
+      }
+    }
+    return size - inFlight - peekedEvents;
+  }
+
   /**
    * Returns the current batch id to be used to identify the next batch.
    * 
@@ -447,6 +519,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
           // sleep a little bit, look for events
           boolean interrupted = Thread.interrupted();
           try {
+            waitForBatchesInFlight();
             if (resetLastPeekedEvents) {
               resetLastPeekedEvents();
               resetLastPeekedEvents = false;
@@ -475,7 +548,15 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
                * Thread.currentThread().interrupt(); } } }
                */
             }
-            events = this.queue.peek(this.batchSize, batchTimeInterval);
+            int batchSizeToPeek = this.batchSize;
+            if (AbstractGatewaySender.ADAPTIVE_BATCHING) {
+              batchSizeToPeek = Math.min(this.adaptiveBatchSize,
+                  this.batchSize * MAXIMUM_ADAPTIVE_BATCH_SIZE_FACTOR);
+            }
+            events = this.queue.peek(batchSizeToPeek, batchTimeInterval);
+            if (AbstractGatewaySender.ADAPTIVE_BATCHING) {
+              adjustAdaptiveBatchSize(events, batchSizeToPeek, statistics);
+            }
           } catch (InterruptedException e) {
             interrupted = true;
             this.sender.getCancelCriterion().checkCancelInProgress(e);
@@ -488,6 +569,12 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
           if (events.isEmpty()) {
             continue; // nothing to do!
           }
+          long now = System.currentTimeMillis();
+          long queueTime = 0;
+          for (GatewaySenderEventImpl event : events) {
+            queueTime += now - event.getCreationTime();
+          }
+          statistics.incEventsPeeked(events.size(), queueTime);
 
           // this list is access by ack reader thread so create new every time. #50220
           filteredList = new ArrayList<GatewaySenderEventImpl>();
@@ -583,7 +670,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
             List<GatewaySenderEventImpl>[] eventsArr = (List<GatewaySenderEventImpl>[]) new List[2];
             eventsArr[0] = events;
             eventsArr[1] = filteredList;
-            this.batchIdToEventsMap.put(getBatchId(), eventsArr);
+            addBatchInFlight(getBatchId(), eventsArr, statistics);
             // find out PDX event and append it in front of the list
             pdxEventsToBeDispatched = addPDXEvent();
             eventsToBeDispatched.addAll(pdxEventsToBeDispatched);
@@ -865,8 +952,62 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
     }
   }
 
+  /**
+   * Waits while {@link AbstractGatewaySender#MAXIMUM_BATCHES_IN_FLIGHT} batches have been dispatched
+   * and not acknowledged yet. The acknowledgements are read by another thread, so batches are sent
+   * without waiting for the previous ones to be acknowledged; this only bounds how far ahead of the
+   * receiver the dispatcher gets.
+   */
+  private void waitForBatchesInFlight() throws InterruptedException {
+    int maximum = AbstractGatewaySender.MAXIMUM_BATCHES_IN_FLIGHT;
+    if (maximum <= 0 || this.dispatcher instanceof GatewaySenderEventCallbackDispatcher) {
+      return;
+    }
+    synchronized (this.batchIdToEventsMap) {
+      while (this.batchIdToEventsMap.size() >= maximum && !stopped() && !this.isPaused
+          && !this.resetLastPeekedEvents) {
+        this.batchIdToEventsMap.wait(100);
+      }
+    }
+  }
+
+  protected void addBatchInFlight(int batchId, List<GatewaySenderEventImpl>[] eventsArr,
+      GatewaySenderStats statistics) {
+    synchronized (this.batchIdToEventsMap) {
+      this.batchIdToDispatchTimeMap.put(batchId, statistics.startTime());
+      if (this.batchIdToEventsMap.put(batchId, eventsArr) == null) {
+        statistics.incBatchesInFlight(1);
+      }
+    }
+  }
+
+  private List<GatewaySenderEventImpl>[] removeBatchInFlight(int batchId) {
+    GatewaySenderStats statistics = this.sender.getStatistics();
+    synchronized (this.batchIdToEventsMap) {
+      Long dispatchTime = this.batchIdToDispatchTimeMap.remove(batchId);
+      List<GatewaySenderEventImpl>[] eventsArr = this.batchIdToEventsMap.remove(batchId);
+      if (eventsArr != null) {
+        statistics.incBatchesInFlight(-1);
+        if (dispatchTime != null) {
+          statistics.endBatchAck(dispatchTime);
+        }
+        this.batchIdToEventsMap.notifyAll();
+      }
+      return eventsArr;
+    }
+  }
+
+  private void clearBatchesInFlight() {
+    synchronized (this.batchIdToEventsMap) {
+      this.sender.getStatistics().incBatchesInFlight(-this.batchIdToEventsMap.size());
+      this.batchIdToEventsMap.clear();
+      this.batchIdToDispatchTimeMap.clear();
+      this.batchIdToEventsMap.notifyAll();
+    }
+  }
+
   private void resetLastPeekedEvents() {
-    this.batchIdToEventsMap.clear();
+    clearBatchesInFlight();
     // make sure that when there is problem while receiving ack, pdx gateway
     // sender events isDispatched is set to false so that same events will be
     // dispatched in next batch
@@ -973,7 +1114,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
       }
     }
 
-    List<GatewaySenderEventImpl>[] eventsArr = this.batchIdToEventsMap.remove(batchId);
+    List<GatewaySenderEventImpl>[] eventsArr = removeBatchInFlight(batchId);
     if (eventsArr != null) {
       List<GatewaySenderEventImpl> filteredEvents = eventsArr[1];
       for (GatewayEventFilter filter : sender.getGatewayEventFilters()) {
@@ -1163,7 +1304,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
           // the connections later
           // try to stop it again
           dispatcher.stop();
-          this.batchIdToEventsMap.clear();
+          clearBatchesInFlight();
         }
       } catch (InterruptedException ex) {
         Thread.currentThread().interrupt();
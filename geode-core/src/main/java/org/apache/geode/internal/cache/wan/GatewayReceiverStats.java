@@ -59,6 +59,12 @@ public class GatewayReceiverStats extends CacheServerStats {
   /** Name of the events retried */
   private static final String EVENTS_RETRIED = "eventsRetried";
 
+  /** Name of the compressed batches received statistic */
+  private static final String COMPRESSED_BATCHES_RECEIVED = "compressedBatchesReceived";
+
+  /** Name of the decompressed batch bytes statistic */
+  private static final String DECOMPRESSED_BATCH_BYTES = "decompressedBatchBytes";
+
   // /** Id of the events queued statistic */
   // private int failoverBatchesReceivedId;
 
@@ -92,6 +98,12 @@ public class GatewayReceiverStats extends CacheServerStats {
   /** Id of the events retried statistic */
   private int eventsRetriedId;
 
+  /** Id of the compressed batches received statistic */
+  private int compressedBatchesReceivedId;
+
+  /** Id of the decompressed batch bytes statistic */
+  private int decompressedBatchBytesId;
+
   // ///////////////////// Constructors ///////////////////////
 
   public static GatewayReceiverStats createGatewayReceiverStats(String ownerName) {
@@ -118,7 +130,13 @@ public class GatewayReceiverStats extends CacheServerStats {
         f.createIntCounter(EXCEPTIONS_OCCURRED,
             "number of exceptions occurred while porcessing the batches", "operations"),
         f.createIntCounter(EVENTS_RETRIED,
-            "total number events retried by this GatewayReceiver due to exceptions", "operations")};
+            "total number events retried by this GatewayReceiver due to exceptions", "operations"),
+        f.createIntCounter(COMPRESSED_BATCHES_RECEIVED,
+            "number of batches with compressed events received by this GatewayReceiver",
+            "operations"),
+        f.createLongCounter(DECOMPRESSED_BATCH_BYTES,
+            "total size of the events of compressed batches after they were decompressed",
+            "bytes")};
     return new GatewayReceiverStats(f, ownerName, typeName, descriptors);
 
   }
@@ -138,6 +156,8 @@ public class GatewayReceiverStats extends CacheServerStats {
     unknowsOperationsReceivedId = statType.nameToId(UNKNOWN_OPERATIONS_RECEIVED);
     exceptionsOccurredId = statType.nameToId(EXCEPTIONS_OCCURRED);
     eventsRetriedId = statType.nameToId(EVENTS_RETRIED);
+    compressedBatchesReceivedId = statType.nameToId(COMPRESSED_BATCHES_RECEIVED);
+    decompressedBatchBytesId = statType.nameToId(DECOMPRESSED_BATCH_BYTES);
   }
 
   // /////////////////// Instance Methods /////////////////////
@@ -175,6 +195,19 @@ public class GatewayReceiverStats extends CacheServerStats {
     return this.stats.getInt(outoforderBatchesReceivedId);
   }
 
+  /**
+   * Increments the number of compressed batches received by 1 and the decompressed batch bytes by
+   * the given size.
+   */
+  public void incCompressedBatchesReceived(int decompressedBytes) {
+    this.stats.incInt(compressedBatchesReceivedId, 1);
+    this.stats.incLong(decompressedBatchBytesId, decompressedBytes);
+  }
+
+  public int getCompressedBatchesReceived() {
+    return this.stats.getInt(compressedBatchesReceivedId);
+  }
+
   /**
    * Increments the number of early acks by 1.
    */
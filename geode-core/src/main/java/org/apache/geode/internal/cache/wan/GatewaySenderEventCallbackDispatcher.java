@@ -17,12 +17,16 @@ package org.apache.geode.internal.cache.wan;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.CancelException;
+import org.apache.geode.cache.asyncqueue.AsyncEvent;
 import org.apache.geode.cache.asyncqueue.AsyncEventListener;
+import org.apache.geode.cache.asyncqueue.BucketAsyncEventListener;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
@@ -149,9 +153,21 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
     }
     int batchId = this.eventProcessor.getBatchId();
     boolean successAll = true;
+    Map<Integer, List<AsyncEvent>> eventsByBucket = null;
     try {
       for (AsyncEventListener listener : this.eventListeners) {
-        boolean successOne = listener.processEvents(events);
+        boolean successOne;
+        if (listener instanceof BucketAsyncEventListener) {
+          if (eventsByBucket == null) {
+            eventsByBucket =
+                groupEventsByBucket(events, this.eventProcessor.sender.isParallel());
+          }
+          this.eventProcessor.sender.getStatistics()
+              .incBucketBatchesDistributed(eventsByBucket.size());
+          successOne = ((BucketAsyncEventListener) listener).processBucketEvents(eventsByBucket);
+        } else {
+          successOne = listener.processEvents(events);
+        }
         if (!successOne) {
           successAll = false;
         }
@@ -168,6 +184,26 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
     return successAll;
   }
 
+  /**
+   * Groups the given events by the bucket they were made on, keeping the order in which they were
+   * queued. The events of a serial queue do not have a bucket, so they are all grouped under
+   * {@link BucketAsyncEventListener#NO_BUCKET}.
+   */
+  static Map<Integer, List<AsyncEvent>> groupEventsByBucket(List events, boolean isParallel) {
+    Map<Integer, List<AsyncEvent>> eventsByBucket = new LinkedHashMap<Integer, List<AsyncEvent>>();
+    for (Object event : events) {
+      int bucketId = isParallel ? ((GatewaySenderEventImpl) event).getBucketId()
+          : BucketAsyncEventListener.NO_BUCKET;
+      List<AsyncEvent> bucketEvents = eventsByBucket.get(bucketId);
+      if (bucketEvents == null) {
+        bucketEvents = new ArrayList<AsyncEvent>();
+        eventsByBucket.put(bucketId, bucketEvents);
+      }
+      bucketEvents.add((AsyncEvent) event);
+    }
+    return eventsByBucket;
+  }
+
   @Override
   public boolean isRemoteDispatcher() {
     return false;
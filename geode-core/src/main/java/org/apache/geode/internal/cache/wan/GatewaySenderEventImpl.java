@@ -48,6 +48,7 @@ import org.apache.geode.internal.cache.WrappedCallbackArgument;
 import org.apache.geode.internal.cache.lru.Sizeable;
 import org.apache.geode.internal.cache.tier.sockets.CacheServerHelper;
 import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.offheap.MemoryAllocator;
 import org.apache.geode.internal.offheap.OffHeapHelper;
 import org.apache.geode.internal.offheap.ReferenceCountHelper;
 import org.apache.geode.internal.offheap.Releasable;
@@ -56,6 +57,7 @@ import org.apache.geode.internal.offheap.annotations.OffHeapIdentifier;
 import org.apache.geode.internal.offheap.annotations.Released;
 import org.apache.geode.internal.offheap.annotations.Retained;
 import org.apache.geode.internal.offheap.annotations.Unretained;
+import org.apache.geode.pdx.internal.PeerTypeRegistration;
 
 /**
  * Class <code>GatewaySenderEventImpl</code> represents an event sent between
@@ -73,6 +75,11 @@ public class GatewaySenderEventImpl
 
   protected static final short VERSION = 0x11;
 
+  /**
+   * The percentage of off-heap memory that is kept free when values of events are moved off-heap
+   */
+  private static final int OFF_HEAP_RESERVE_PERCENTAGE = 10;
+
   protected EnumListenerEvent operation;
 
   protected Object substituteValue;
@@ -970,6 +977,48 @@ public class GatewaySenderEventImpl
         this.valueIsObject = 0x01;
       }
     }
+    if (this.value != null && AbstractGatewaySender.OFF_HEAP_EVENT_VALUES
+        && mayMoveValueOffHeap(event)) {
+      moveValueOffHeap();
+    }
+  }
+
+  /**
+   * Returns true if the value of this event may be moved off-heap. The PDX type events that the
+   * event processors build for the PDX registry are kept in their own list rather than a queue, and
+   * dropped without being released, so their values always stay on the heap.
+   */
+  private boolean mayMoveValueOffHeap(EntryEventImpl event) {
+    return event.isOffHeapOk()
+        && !PeerTypeRegistration.REGION_FULL_PATH.equals(this.regionPath);
+  }
+
+  /**
+   * Moves the serialized value of this event into off-heap memory, so that a queue that backs up
+   * holds only the metadata of its events on the heap. The value is released with the rest of the
+   * event when it is removed from the queue. The value stays on the heap if the cache has no
+   * off-heap memory, or if storing it would leave less than {@link #OFF_HEAP_RESERVE_PERCENTAGE}
+   * of that memory free for the regions that use it.
+   */
+  @Retained(OffHeapIdentifier.GATEWAY_SENDER_EVENT_IMPL_VALUE)
+  private void moveValueOffHeap() {
+    MemoryAllocator allocator = this.region.getCache().getOffHeapStore();
+    if (allocator == null) {
+      return;
+    }
+    long reserve = allocator.getTotalMemory() / 100 * OFF_HEAP_RESERVE_PERCENTAGE;
+    if (allocator.getFreeMemory() - this.value.length < reserve) {
+      return;
+    }
+    @Retained(OffHeapIdentifier.GATEWAY_SENDER_EVENT_IMPL_VALUE)
+    StoredObject so = null;
+    {
+      ReferenceCountHelper.setReferenceCountOwner(this);
+      so = allocator.allocateAndInitialize(this.value, this.valueIsObject == 0x01, false);
+      ReferenceCountHelper.setReferenceCountOwner(null);
+    }
+    this.valueObj = so;
+    this.value = null;
   }
 
   protected boolean shouldApplyDelta() {
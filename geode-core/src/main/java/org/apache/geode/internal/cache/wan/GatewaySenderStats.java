@@ -92,6 +92,25 @@ public class GatewaySenderStats {
   protected static final String SYNCHRONIZATION_EVENTS_ENQUEUED = "synchronizationEventsEnqueued";
   protected static final String SYNCHRONIZATION_EVENTS_PROVIDED = "synchronizationEventsProvided";
 
+  /** Name of the batches in flight statistic */
+  protected static final String BATCHES_IN_FLIGHT = "batchesInFlight";
+  /** Name of the batches acknowledged statistic */
+  protected static final String BATCHES_ACKNOWLEDGED = "batchesAcknowledged";
+  /** Name of the batch acknowledgement time statistic */
+  protected static final String BATCH_ACKNOWLEDGEMENT_TIME = "batchAcknowledgementTime";
+  /** Name of the uncompressed batch bytes statistic */
+  protected static final String UNCOMPRESSED_BATCH_BYTES = "uncompressedBatchBytes";
+  /** Name of the compressed batch bytes statistic */
+  protected static final String COMPRESSED_BATCH_BYTES = "compressedBatchBytes";
+  /** Name of the bucket batches distributed statistic */
+  protected static final String BUCKET_BATCHES_DISTRIBUTED = "bucketBatchesDistributed";
+  /** Name of the adaptive batch size statistic */
+  protected static final String ADAPTIVE_BATCH_SIZE = "adaptiveBatchSize";
+  /** Name of the events peeked statistic */
+  protected static final String EVENTS_PEEKED = "eventsPeeked";
+  /** Name of the events peeked queue time statistic */
+  protected static final String EVENTS_PEEKED_QUEUE_TIME = "eventsPeekedQueueTime";
+
   /** Id of the events queued statistic */
   protected static int eventsReceivedId;
   /** Id of the events queued statistic */
@@ -147,6 +166,24 @@ public class GatewaySenderStats {
   protected static int synchronizationEventsEnqueuedId;
   /** Id of synchronization events provided */
   protected static int synchronizationEventsProvidedId;
+  /** Id of the batches in flight statistic */
+  protected static int batchesInFlightId;
+  /** Id of the batches acknowledged statistic */
+  protected static int batchesAcknowledgedId;
+  /** Id of the batch acknowledgement time statistic */
+  protected static int batchAcknowledgementTimeId;
+  /** Id of the uncompressed batch bytes statistic */
+  protected static int uncompressedBatchBytesId;
+  /** Id of the compressed batch bytes statistic */
+  protected static int compressedBatchBytesId;
+  /** Id of the bucket batches distributed statistic */
+  protected static int bucketBatchesDistributedId;
+  /** Id of the adaptive batch size statistic */
+  protected static int adaptiveBatchSizeId;
+  /** Id of the events peeked statistic */
+  protected static int eventsPeekedId;
+  /** Id of the events peeked queue time statistic */
+  protected static int eventsPeekedQueueTimeId;
 
   /**
    * Static initializer to create and initialize the <code>StatisticsType</code>
@@ -224,7 +261,30 @@ public class GatewaySenderStats {
             f.createIntCounter(SYNCHRONIZATION_EVENTS_ENQUEUED,
                 "Number of synchronization events added to the event queue.", "operations"),
             f.createIntCounter(SYNCHRONIZATION_EVENTS_PROVIDED,
-                "Number of synchronization events provided to other members.", "operations"),});
+                "Number of synchronization events provided to other members.", "operations"),
+            f.createIntGauge(BATCHES_IN_FLIGHT,
+                "Number of batches sent to receivers and not acknowledged yet.", "operations"),
+            f.createIntCounter(BATCHES_ACKNOWLEDGED,
+                "Number of batches acknowledged by receivers.", "operations"),
+            f.createLongCounter(BATCH_ACKNOWLEDGEMENT_TIME,
+                "Total time between sending batches and receiving their acknowledgements.",
+                "nanoseconds", false),
+            f.createLongCounter(UNCOMPRESSED_BATCH_BYTES,
+                "Total size of the events of compressed batches before they were compressed.",
+                "bytes"),
+            f.createLongCounter(COMPRESSED_BATCH_BYTES,
+                "Total size of the events of compressed batches after they were compressed.",
+                "bytes"),
+            f.createIntCounter(BUCKET_BATCHES_DISTRIBUTED,
+                "Number of groups of events of the same bucket delivered to listeners.",
+                "operations"),
+            f.createIntGauge(ADAPTIVE_BATCH_SIZE,
+                "Number of events chosen by adaptive batching for the next batch.", "operations"),
+            f.createIntCounter(EVENTS_PEEKED, "Number of events peeked from the event queue.",
+                "operations"),
+            f.createLongCounter(EVENTS_PEEKED_QUEUE_TIME,
+                "Total time peeked events spent in the event queue before they were peeked.",
+                "milliseconds"),});
 
     // Initialize id fields
     eventsReceivedId = type.nameToId(EVENTS_RECEIVED);
@@ -256,6 +316,15 @@ public class GatewaySenderStats {
     loadBalanceTimeId = type.nameToId(LOAD_BALANCE_TIME);
     synchronizationEventsEnqueuedId = type.nameToId(SYNCHRONIZATION_EVENTS_ENQUEUED);
     synchronizationEventsProvidedId = type.nameToId(SYNCHRONIZATION_EVENTS_PROVIDED);
+    batchesInFlightId = type.nameToId(BATCHES_IN_FLIGHT);
+    batchesAcknowledgedId = type.nameToId(BATCHES_ACKNOWLEDGED);
+    batchAcknowledgementTimeId = type.nameToId(BATCH_ACKNOWLEDGEMENT_TIME);
+    uncompressedBatchBytesId = type.nameToId(UNCOMPRESSED_BATCH_BYTES);
+    compressedBatchBytesId = type.nameToId(COMPRESSED_BATCH_BYTES);
+    bucketBatchesDistributedId = type.nameToId(BUCKET_BATCHES_DISTRIBUTED);
+    adaptiveBatchSizeId = type.nameToId(ADAPTIVE_BATCH_SIZE);
+    eventsPeekedId = type.nameToId(EVENTS_PEEKED);
+    eventsPeekedQueueTimeId = type.nameToId(EVENTS_PEEKED_QUEUE_TIME);
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -768,6 +837,101 @@ public class GatewaySenderStats {
     this.stats.incInt(synchronizationEventsProvidedId, 1);
   }
 
+  /**
+   * Increments the "batchesInFlight" stat by the given delta.
+   */
+  public void incBatchesInFlight(int delta) {
+    this.stats.incInt(batchesInFlightId, delta);
+  }
+
+  /**
+   * Returns the current value of the "batchesInFlight" stat.
+   */
+  public int getBatchesInFlight() {
+    return this.stats.getInt(batchesInFlightId);
+  }
+
+  /**
+   * Increments the "batchesAcknowledged" and "batchAcknowledgementTime" stats.
+   *
+   * @param start The time at which the acknowledged batch was sent
+   */
+  public void endBatchAck(long start) {
+    this.stats.incInt(batchesAcknowledgedId, 1);
+    this.stats.incLong(batchAcknowledgementTimeId, DistributionStats.getStatTime() - start);
+  }
+
+  /**
+   * Returns the current value of the "batchesAcknowledged" stat.
+   */
+  public int getBatchesAcknowledged() {
+    return this.stats.getInt(batchesAcknowledgedId);
+  }
+
+  /**
+   * Increments the "uncompressedBatchBytes" and "compressedBatchBytes" stats.
+   *
+   * @param uncompressedBytes The size of the events of a batch before they were compressed
+   * @param compressedBytes The size of the events of a batch after they were compressed
+   */
+  public void incCompressedBatchBytes(long uncompressedBytes, long compressedBytes) {
+    this.stats.incLong(uncompressedBatchBytesId, uncompressedBytes);
+    this.stats.incLong(compressedBatchBytesId, compressedBytes);
+  }
+
+  /**
+   * Returns the current value of the "compressedBatchBytes" stat.
+   */
+  public long getCompressedBatchBytes() {
+    return this.stats.getLong(compressedBatchBytesId);
+  }
+
+  /**
+   * Increments the "bucketBatchesDistributed" stat by the given number of buckets.
+   */
+  public void incBucketBatchesDistributed(int numBuckets) {
+    this.stats.incInt(bucketBatchesDistributedId, numBuckets);
+  }
+
+  /**
+   * Returns the current value of the "bucketBatchesDistributed" stat.
+   */
+  public int getBucketBatchesDistributed() {
+    return this.stats.getInt(bucketBatchesDistributedId);
+  }
+
+  /**
+   * Sets the "adaptiveBatchSize" stat.
+   */
+  public void setAdaptiveBatchSize(int batchSize) {
+    this.stats.setInt(adaptiveBatchSizeId, batchSize);
+  }
+
+  /**
+   * Returns the current value of the "adaptiveBatchSize" stat.
+   */
+  public int getAdaptiveBatchSize() {
+    return this.stats.getInt(adaptiveBatchSizeId);
+  }
+
+  /**
+   * Increments the "eventsPeeked" and "eventsPeekedQueueTime" stats.
+   *
+   * @param numberOfEvents The number of events peeked
+   * @param queueTime The total milliseconds the events spent in the queue before they were peeked
+   */
+  public void incEventsPeeked(int numberOfEvents, long queueTime) {
+    this.stats.incInt(eventsPeekedId, numberOfEvents);
+    this.stats.incLong(eventsPeekedQueueTimeId, queueTime);
+  }
+
+  /**
+   * Returns the current value of the "eventsPeeked" stat.
+   */
+  public int getEventsPeeked() {
+    return this.stats.getInt(eventsPeekedId);
+  }
+
   public Statistics getStats() {
     return stats;
   }
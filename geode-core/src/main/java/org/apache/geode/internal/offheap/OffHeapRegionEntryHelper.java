@@ -14,17 +14,23 @@
  */
 package org.apache.geode.internal.offheap;
 
+import org.apache.geode.CancelException;
+import org.apache.geode.SerializationException;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.DSCODE;
+import org.apache.geode.internal.cache.CachedDeserializable;
 import org.apache.geode.internal.cache.CachedDeserializableFactory;
 import org.apache.geode.internal.cache.DiskEntry;
 import org.apache.geode.internal.cache.DiskId;
 import org.apache.geode.internal.cache.EntryEventImpl;
+import org.apache.geode.internal.cache.OffHeapKeyRegionEntry;
 import org.apache.geode.internal.cache.OffHeapRegionEntry;
 import org.apache.geode.internal.cache.RegionEntryContext;
 import org.apache.geode.internal.cache.Token;
 import org.apache.geode.internal.offheap.annotations.Released;
 import org.apache.geode.internal.offheap.annotations.Retained;
 import org.apache.geode.internal.offheap.annotations.Unretained;
+import org.apache.geode.pdx.PdxInstance;
 
 /**
  * The class just has static methods that operate on instances of {@link OffHeapRegionEntry}. It
@@ -46,6 +52,18 @@ public class OffHeapRegionEntryHelper {
   protected static final long TOMBSTONE_ADDRESS = 8L << 1;
   public static final int MAX_LENGTH_FOR_DATA_AS_ADDRESS = 8;
 
+  /**
+   * If this system property is set to true then the keys of off-heap entries that are not inlined
+   * into the entry are stored off heap as long as the entry has an off-heap value.
+   */
+  public static final String OFF_HEAP_KEYS_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_KEYS";
+
+  /**
+   * Not final so that tests can change it.
+   */
+  public static boolean STORE_KEYS_OFF_HEAP = Boolean.getBoolean(OFF_HEAP_KEYS_PROPERTY);
+
   private static final Token[] addrToObj =
       new Token[] {null, Token.INVALID, Token.LOCAL_INVALID, Token.DESTROYED, Token.REMOVED_PHASE1,
           Token.REMOVED_PHASE2, Token.END_OF_STREAM, Token.NOT_AVAILABLE, Token.TOMBSTONE,};
@@ -193,6 +211,9 @@ public class OffHeapRegionEntryHelper {
     final long newAddress = objectToAddress(Token.REMOVED_PHASE2);
     if (re.setAddress(oldAddress, newAddress) || re.getAddress() != newAddress) {
       releaseAddress(oldAddress);
+    }
+    if (re instanceof OffHeapKeyRegionEntry) {
+      moveKeyToHeap((OffHeapKeyRegionEntry) re);
     } /*
        * else { if (!calledSetValue || re.getAddress() != newAddress) { expectedValue.release(); } }
        */
@@ -341,6 +362,134 @@ public class OffHeapRegionEntryHelper {
     ReferenceCountHelper.setReferenceCountOwner(re);
     releaseAddress(oldAddress);
     ReferenceCountHelper.setReferenceCountOwner(null);
+    if (re instanceof OffHeapKeyRegionEntry) {
+      if (newAddress == REMOVED_PHASE2_ADDRESS) {
+        moveKeyToHeap((OffHeapKeyRegionEntry) re);
+      } else if (isOffHeap(newAddress)) {
+        storeKeyOffHeapIfNeeded((OffHeapKeyRegionEntry) re);
+      }
+    }
+  }
+
+  /**
+   * Moves the key of 're' into off-heap memory if keys are being stored off heap and 're'
+   * currently has an off-heap value. The off-heap key is freed by {@link #moveKeyToHeap} when the
+   * entry is removed or released, which is also when its off-heap value goes away. Keys that
+   * serialize to just a few bytes, or that can not be serialized, stay on the heap.
+   */
+  public static void storeKeyOffHeapIfNeeded(@Unretained OffHeapKeyRegionEntry re) {
+    if (!STORE_KEYS_OFF_HEAP || !isOffHeap(re.getAddress())) {
+      return;
+    }
+    Object key = re.getKeyField();
+    if (key == null || key instanceof StoredObject) {
+      return;
+    }
+    byte[] serializedKey;
+    try {
+      serializedKey = EntryEventImpl.serialize(key);
+    } catch (SerializationException ignore) {
+      return;
+    }
+    if (serializedKey.length < MAX_LENGTH_FOR_DATA_AS_ADDRESS) {
+      return;
+    }
+    @Retained
+    StoredObject offHeapKey =
+        MemoryAllocatorImpl.getAllocator().allocateAndInitialize(serializedKey, true, false);
+    if (!re.setKeyField(key, offHeapKey)) {
+      offHeapKey.release();
+    }
+  }
+
+  /**
+   * Puts the key of 're' back on the heap, if it was stored off heap, and frees its off-heap
+   * memory.
+   */
+  private static void moveKeyToHeap(@Unretained OffHeapKeyRegionEntry re) {
+    Object key = re.getKeyField();
+    while (key instanceof StoredObject) {
+      StoredObject offHeapKey = (StoredObject) key;
+      Object heapKey;
+      try {
+        heapKey = deserializeKey(offHeapKey);
+      } catch (CancelException ignore) {
+        // The entry is being released because the cache is closing and the key can no longer be
+        // deserialized, e.g. a PDX key. Keep its serialized form on the heap instead.
+        heapKey = CachedDeserializableFactory.create(offHeapKey.getSerializedValue());
+      }
+      if (re.setKeyField(offHeapKey, heapKey)) {
+        offHeapKey.release();
+        return;
+      }
+      key = re.getKeyField();
+    }
+  }
+
+  /**
+   * Returns the key of 're', deserializing it if it is stored off heap. A reader that races with
+   * {@link #moveKeyToHeap} retains the off-heap key before reading it so that it never reads freed
+   * memory.
+   */
+  public static Object getKey(@Unretained OffHeapKeyRegionEntry re) {
+    Object key = re.getKeyField();
+    while (key instanceof StoredObject) {
+      StoredObject offHeapKey = (StoredObject) key;
+      if (offHeapKey.retain()) {
+        try {
+          if (re.getKeyField() == offHeapKey) {
+            return deserializeKey(offHeapKey);
+          }
+        } finally {
+          offHeapKey.release();
+        }
+      }
+      key = re.getKeyField();
+    }
+    if (key instanceof CachedDeserializable) {
+      return ((CachedDeserializable) key).getDeserializedForReading();
+    }
+    return key;
+  }
+
+  /**
+   * Returns true if the key of 're' equals 'k'. The map has already compared the hash codes, which
+   * it keeps in the entry. A String is compared with the off-heap key in its serialized form,
+   * since Strings always serialize to the same bytes, so it does not deserialize the key. Other
+   * keys are deserialized and compared with equals.
+   */
+  public static boolean isKeyEqual(@Unretained OffHeapKeyRegionEntry re, Object k) {
+    Object key = re.getKeyField();
+    if (k instanceof String && key instanceof StoredObject) {
+      byte[] serializedKey = EntryEventImpl.serialize(k);
+      while (key instanceof StoredObject) {
+        StoredObject offHeapKey = (StoredObject) key;
+        if (offHeapKey.retain()) {
+          try {
+            if (re.getKeyField() == offHeapKey) {
+              return offHeapKey.checkDataEquals(serializedKey);
+            }
+          } finally {
+            offHeapKey.release();
+          }
+        }
+        key = re.getKeyField();
+      }
+    }
+    return k.equals(getKey(re));
+  }
+
+  /**
+   * Deserializes an off-heap key. A key read back as a PdxInstance, because the cache has
+   * pdx-read-serialized set, is deserialized into its domain object so that it still equals, and
+   * hashes like, the key that was put.
+   */
+  private static Object deserializeKey(@Unretained StoredObject offHeapKey) {
+    Object key = offHeapKey.getDeserializedForReading();
+    if (key instanceof PdxInstance) {
+      key = ((PdxInstance) key).getObject();
+    }
+    return key;
   }
 
   public static Token getValueAsToken(@Unretained OffHeapRegionEntry re) {
@@ -45,6 +45,7 @@ import org.apache.geode.internal.InternalDataSerializer;
 import org.apache.geode.internal.SystemTimer;
 import org.apache.geode.internal.SystemTimer.SystemTimerTask;
 import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.DistributedCacheOperation.CacheOperationMessage;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.LoggingThreadGroup;
@@ -81,6 +82,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -154,6 +156,17 @@ public class Connection implements Runnable {
     isReaderThread.set(v);
   }
 
+  private final static ThreadLocal<Boolean> isSelectedReaderThread = new ThreadLocal<>();
+
+  /**
+   * Returns true if this thread is one of the pooled threads of a {@link ReaderSelector}. Messages
+   * received on these threads are not processed inline, because a few messages that block would
+   * hold every thread of the pool and stop all the shared connections from being read.
+   */
+  public static boolean isSelectedReaderThread() {
+    return isSelectedReaderThread.get() == Boolean.TRUE;
+  }
+
   // return true if this thread is a reader thread
   public static boolean isReaderThread() {
     Object o = isReaderThread.get();
@@ -290,6 +303,33 @@ public class Connection implements Runnable {
    */
   private long queuedBytes = 0;
 
+  /**
+   * If true then threads writing to a connection whose async queue holds more than its
+   * FlowControlWindow wait for the queue to drain instead of queuing until the receiver has to be
+   * disconnected.
+   */
+  private static final boolean ADAPTIVE_FLOW_CONTROL =
+      Boolean.getBoolean("p2p.adaptiveFlowControl");
+
+  /**
+   * The number of milliseconds of data, at the rate the receiver drains its async queue, that may
+   * be queued before writers are made to wait.
+   */
+  private static final int FLOW_CONTROL_TARGET_DELAY =
+      Integer.getInteger("p2p.flowControlTargetDelay", 100).intValue();
+
+  /** the smallest flow control window, in bytes */
+  private static final int MIN_FLOW_CONTROL_WINDOW = 64 * 1024;
+
+  /**
+   * The flow control window of the async queue, created when queuing first starts if
+   * p2p.adaptiveFlowControl is set. Guarded by outgoingQueue.
+   */
+  private volatile FlowControlWindow flowControlWindow;
+
+  /** the number of threads waiting for the async queue to drain; guarded by outgoingQueue */
+  private int throttledWriters;
+
   /** used for async writes */
   Thread pusherThread;
 
@@ -319,6 +359,12 @@ public class Connection implements Runnable {
   /** message reader thread */
   private volatile Thread readerThread;
 
+  /**
+   * true once the reader thread has handed this connection to the ConnectionTable's
+   * ReaderSelector
+   */
+  private volatile boolean readBySelector;
+
   /** whether the reader thread is, or should be, running */
   volatile boolean stopped = true;
 
@@ -854,6 +900,9 @@ public class Connection implements Runnable {
   }
 
   private void prepareForAsyncClose() {
+    if (this.readBySelector) {
+      this.owner.getReaderSelector().cancel(this);
+    }
     synchronized (stateLock) {
       if (readerThread != null && isRunning && !readerShuttingDown
           && (connectionState == STATE_READING || connectionState == STATE_READING_ACK)) {
@@ -1172,7 +1221,7 @@ public class Connection implements Runnable {
           LocalizedStrings.Connection_CONNECTION_FAILED_CONSTRUCTION_FOR_PEER_0
               .toLocalizedString(remoteAddr));
     }
-    if (preserveOrder && BATCH_SENDS) {
+    if (preserveOrder && sharedResource && BATCH_SENDS) {
       conn.createBatchSendBuffer();
     }
     conn.finishedConnecting = true;
@@ -1297,10 +1346,12 @@ public class Connection implements Runnable {
   }
 
   /**
-   * Batch sends currently should not be turned on because: 1. They will be used for all sends
-   * (instead of just no-ack) and thus will break messages that wait for a response (or kill perf).
-   * 2. The buffer is not properly flushed and closed on shutdown. The code attempts to do this but
-   * must not be doing it correctly.
+   * If true then shared ordered sender connections coalesce the messages written to them into a
+   * batch buffer that a flusher thread writes to the socket with a single write. The buffer is
+   * written once it is half full, once p2p.batchFlushTime milliseconds have passed, or as soon as
+   * a message other than a cache operation distributed without an ack is added, so only those
+   * fire-and-forget messages wait for the rest of the batch. The receiving side needs no changes
+   * because it already reads every message that has arrived in its buffer.
    */
   private static final boolean BATCH_SENDS = Boolean.getBoolean("p2p.batchSends");
   private static final int BATCH_BUFFER_SIZE =
@@ -1309,6 +1360,8 @@ public class Connection implements Runnable {
   private Object batchLock;
   private ByteBuffer fillBatchBuffer;
   private ByteBuffer sendBatchBuffer;
+  /** the number of messages in fillBatchBuffer; protected by batchLock */
+  private int fillBatchBufferMessages;
   private BatchBufferFlusher batchFlusher;
 
   private void createBatchSendBuffer() {
@@ -1347,6 +1400,17 @@ public class Connection implements Runnable {
       this.stats = owner.getConduit().getStats();
     }
 
+    /**
+     * Called when a message writer wants the current fillBatchBuffer flushed as soon as possible
+     * but does not need to wait for it.
+     */
+    public void requestFlush() {
+      synchronized (this) {
+        this.flushNeeded = true;
+        this.notify();
+      }
+    }
+
     /**
      * Called when a message writer needs the current fillBatchBuffer flushed
      */
@@ -1385,12 +1449,23 @@ public class Connection implements Runnable {
       }
     }
 
+    /**
+     * Stops the flusher after it has written whatever is in the batch buffer. Waits up to
+     * BATCH_FLUSH_MS for that final write unless called by the flusher itself.
+     */
     public void close() {
       synchronized (this) {
         this.timeToStop = true;
         this.flushNeeded = true;
         this.notify();
       }
+      if (Thread.currentThread() != this) {
+        try {
+          join(BATCH_FLUSH_MS);
+        } catch (InterruptedException ignore) {
+          Thread.currentThread().interrupt();
+        }
+      }
     }
 
     @Override
@@ -1403,6 +1478,7 @@ public class Connection implements Runnable {
             }
             if (this.flushNeeded || fillBatchBuffer.position() > (BATCH_BUFFER_SIZE / 2)) {
               final long start = DistributionStats.getStatTime();
+              final int batchedMessages;
               synchronized (batchLock) {
                 // This is the only block of code that will swap
                 // the buffer references
@@ -1410,6 +1486,8 @@ public class Connection implements Runnable {
                 ByteBuffer tmp = fillBatchBuffer;
                 fillBatchBuffer = sendBatchBuffer;
                 sendBatchBuffer = tmp;
+                batchedMessages = fillBatchBufferMessages;
+                fillBatchBufferMessages = 0;
                 batchLock.notifyAll();
               }
               // We now own the sendBatchBuffer
@@ -1421,12 +1499,20 @@ public class Connection implements Runnable {
                   SocketChannel channel = getSocket().getChannel();
                   nioWriteFully(channel, sendBatchBuffer, false, null);
                   sendBatchBuffer.clear();
+                  this.stats.incBatchWrites(batchedMessages);
                 } catch (IOException | ConnectionException ex) {
-                  logger.fatal(LocalizedMessage.create(
-                      LocalizedStrings.Connection_EXCEPTION_FLUSHING_BATCH_SEND_BUFFER_0, ex));
-                  readerShuttingDown = true;
-                  requestClose(LocalizedStrings.Connection_EXCEPTION_FLUSHING_BATCH_SEND_BUFFER_0
-                      .toLocalizedString(ex));
+                  if (timeToStop) {
+                    // the connection is being closed so the peer will not see this batch
+                    logger.debug("Exception flushing batch send buffer while closing {}",
+                        Connection.this, ex);
+                  } else {
+                    logger.fatal(LocalizedMessage.create(
+                        LocalizedStrings.Connection_EXCEPTION_FLUSHING_BATCH_SEND_BUFFER_0, ex));
+                    readerShuttingDown = true;
+                    requestClose(
+                        LocalizedStrings.Connection_EXCEPTION_FLUSHING_BATCH_SEND_BUFFER_0
+                            .toLocalizedString(ex));
+                  }
                 } finally {
                   accessed();
                   socketInUse = origSocketInUse;
@@ -1449,13 +1535,29 @@ public class Connection implements Runnable {
     }
   }
 
+  /**
+   * Returns true unless msg is one of the fire-and-forget messages that may wait in the batch
+   * buffer until the next timed flush. Only cache operations distributed without an ack, i.e.
+   * without a reply processor or a direct reply processor, are batched. Every other message is
+   * flushed right away, because many messages that expect a reply do not report it through
+   * getProcessorId. A null msg is part of a chunked message which we also flush right away.
+   */
+  static boolean needsPromptFlush(DistributionMessage msg) {
+    if (!(msg instanceof CacheOperationMessage)) {
+      return true;
+    }
+    CacheOperationMessage cacheOperationMessage = (CacheOperationMessage) msg;
+    return cacheOperationMessage.getProcessorId() != 0
+        || cacheOperationMessage.getDirectReplyProcessor() != null;
+  }
+
   /**
    * use to test message prep overhead (no socket write). WARNING: turning this on completely
    * disables distribution of batched sends
    */
   private static final boolean SOCKET_WRITE_DISABLED = Boolean.getBoolean("p2p.disableSocketWrite");
 
-  private void batchSend(ByteBuffer src) throws IOException {
+  private void batchSend(ByteBuffer src, DistributionMessage msg) throws IOException {
     if (SOCKET_WRITE_DISABLED) {
       return;
     }
@@ -1470,7 +1572,11 @@ public class Connection implements Runnable {
           if (src.remaining() <= dst.remaining()) {
             final long copyStart = DistributionStats.getStatTime();
             dst.put(src);
+            this.fillBatchBufferMessages++;
             this.owner.getConduit().getStats().incBatchCopyTime(copyStart);
+            if (needsPromptFlush(msg)) {
+              this.batchFlusher.requestFlush();
+            }
             return;
           }
         }
@@ -1522,6 +1628,8 @@ public class Connection implements Runnable {
       return;
     }
     if (!onlyCleanup) {
+      // write out any batched messages before the socket is closed
+      closeBatchBuffer();
       synchronized (this) {
         this.stopped = true;
         if (this.connected) {
@@ -1615,7 +1723,6 @@ public class Connection implements Runnable {
         }
       }
 
-      closeBatchBuffer();
       closeAllMsgDestreamers();
     }
     if (cleanupEndpoint) {
@@ -1692,27 +1799,17 @@ public class Connection implements Runnable {
       }
     } finally {
       // bug36060: do the socket close within a finally block
-      if (logger.isDebugEnabled()) {
-        logger.debug("Stopping {} for {}", p2pReaderName(), remoteAddr);
-      }
-      initiateSuspicionIfSharedUnordered();
-      if (this.isReceiver) {
-        if (!this.sharedResource) {
-          this.conduit.getStats().incThreadOwnedReceivers(-1L, dominoCount.get());
+      if (this.readBySelector) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("{} handed reading of {} to the reader selector", p2pReaderName(),
+              remoteAddr);
         }
-        asyncClose(false);
-        this.owner.removeAndCloseThreadOwnedSockets();
-      }
-      ByteBuffer tmp = this.nioInputBuffer;
-      if (tmp != null) {
-        this.nioInputBuffer = null;
-        final DMStats stats = this.owner.getConduit().getStats();
-        Buffers.releaseReceiveBuffer(tmp, stats);
+      } else {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Stopping {} for {}", p2pReaderName(), remoteAddr);
+        }
+        readerStopped();
       }
-      // make sure that if the reader thread exits we notify a thread waiting
-      // for the handshake.
-      // see bug 37524 for an example of listeners hung in waitForHandshake
-      notifyHandshakeWaiter(false);
       this.readerThread.setName("unused p2p reader");
       synchronized (this.stateLock) {
         this.isRunning = false;
@@ -1721,6 +1818,36 @@ public class Connection implements Runnable {
     } // finally
   }
 
+  /**
+   * Cleans up after this connection's reader, or its ReaderSelector, stops reading.
+   */
+  private void readerStopped() {
+    initiateSuspicionIfSharedUnordered();
+    if (this.isReceiver) {
+      if (!this.sharedResource) {
+        this.conduit.getStats().incThreadOwnedReceivers(-1L, dominoCount.get());
+      }
+      asyncClose(false);
+      if (!this.readBySelector) {
+        this.owner.removeAndCloseThreadOwnedSockets();
+      }
+    }
+    releaseInputBuffer();
+    // make sure that if the reader thread exits we notify a thread waiting
+    // for the handshake.
+    // see bug 37524 for an example of listeners hung in waitForHandshake
+    notifyHandshakeWaiter(false);
+  }
+
+  private void releaseInputBuffer() {
+    ByteBuffer tmp = this.nioInputBuffer;
+    if (tmp != null) {
+      this.nioInputBuffer = null;
+      final DMStats stats = this.owner.getConduit().getStats();
+      Buffers.releaseReceiveBuffer(tmp, stats);
+    }
+  }
+
   private String p2pReaderName() {
     StringBuilder sb = new StringBuilder(64);
     if (this.isReceiver) {
@@ -1801,99 +1928,28 @@ public class Connection implements Runnable {
           break;
         }
 
-        try {
-          ByteBuffer buff = getNIOBuffer();
-          synchronized (stateLock) {
-            connectionState = STATE_READING;
-          }
-          int amt = channel.read(buff);
-          synchronized (stateLock) {
-            connectionState = STATE_IDLE;
-          }
-          if (amt == 0) {
-            continue;
-          }
-          if (amt < 0) {
-            this.readerShuttingDown = true;
-            try {
-              requestClose("SocketChannel.read returned EOF");
-              requestClose(
-                  LocalizedStrings.Connection_SOCKETCHANNEL_READ_RETURNED_EOF.toLocalizedString());
-            } catch (Exception e) {
-              // ignore - shutting down
-            }
-            return;
-          }
-
-          processNIOBuffer();
-          if (!this.isReceiver && (this.handshakeRead || this.handshakeCancelled)) {
-            if (logger.isDebugEnabled()) {
-              if (this.handshakeRead) {
-                logger.debug("{} handshake has been read {}", p2pReaderName(), this);
-              } else {
-                logger.debug("{} handshake has been cancelled {}", p2pReaderName(), this);
-              }
-            }
-            isHandShakeReader = true;
-            // Once we have read the handshake the reader can go away
-            break;
-          }
-        } catch (CancelException e) {
-          if (logger.isDebugEnabled()) {
-            logger.debug("{} Terminated <{}> due to cancellation", p2pReaderName(), this, e);
-          }
-          this.readerShuttingDown = true;
-          try {
-            requestClose(
-                LocalizedStrings.Connection_CACHECLOSED_IN_CHANNEL_READ_0.toLocalizedString(e));
-          } catch (Exception ex) {
-          }
+        int amt = readAndProcess(channel);
+        if (amt < 0) {
           return;
-        } catch (ClosedChannelException e) {
-          this.readerShuttingDown = true;
-          try {
-            requestClose(LocalizedStrings.Connection_CLOSEDCHANNELEXCEPTION_IN_CHANNEL_READ_0
-                .toLocalizedString(e));
-          } catch (Exception ex) {
-          }
-          return;
-        } catch (IOException e) {
-          if (!isSocketClosed() && !"Socket closed".equalsIgnoreCase(e.getMessage()) // needed for
-                                                                                     // Solaris jdk
-                                                                                     // 1.4.2_08
-          ) {
-            if (logger.isDebugEnabled() && !isIgnorableIOException(e)) {
-              logger.debug("{} io exception for {}", p2pReaderName(), this, e);
-            }
-            if (e.getMessage().contains("interrupted by a call to WSACancelBlockingCall")) {
-              if (logger.isDebugEnabled()) {
-                logger.debug(
-                    "{} received unexpected WSACancelBlockingCall exception, which may result in a hang",
-                    p2pReaderName());
-              }
+        }
+        if (amt == 0) {
+          continue;
+        }
+        if (!this.isReceiver && (this.handshakeRead || this.handshakeCancelled)) {
+          if (logger.isDebugEnabled()) {
+            if (this.handshakeRead) {
+              logger.debug("{} handshake has been read {}", p2pReaderName(), this);
+            } else {
+              logger.debug("{} handshake has been cancelled {}", p2pReaderName(), this);
             }
           }
-          this.readerShuttingDown = true;
-          try {
-            requestClose(
-                LocalizedStrings.Connection_IOEXCEPTION_IN_CHANNEL_READ_0.toLocalizedString(e));
-          } catch (Exception ex) {
-          }
-          return;
-
-        } catch (Exception e) {
-          this.owner.getConduit().getCancelCriterion().checkCancelInProgress(null); // bug 37101
-          if (!stopped && !isSocketClosed()) {
-            logger.fatal(LocalizedMessage.create(
-                LocalizedStrings.Connection_0_EXCEPTION_IN_CHANNEL_READ, p2pReaderName()), e);
-          }
-          this.readerShuttingDown = true;
-          try {
-            requestClose(
-                LocalizedStrings.Connection_0_EXCEPTION_IN_CHANNEL_READ.toLocalizedString(e));
-          } catch (Exception ex) {
-          }
-          return;
+          isHandShakeReader = true;
+          // Once we have read the handshake the reader can go away
+          break;
+        }
+        if (handOffToSelector()) {
+          // The selector reads this connection from now on
+          break;
         }
       } // for
     } finally {
@@ -1909,6 +1965,161 @@ public class Connection implements Runnable {
     }
   }
 
+  /**
+   * Reads whatever is available from the channel and processes the complete messages that have
+   * been read.
+   *
+   * @return the number of bytes read, or -1 if this connection is being closed and reading must
+   *         stop
+   */
+  private int readAndProcess(SocketChannel channel) {
+    try {
+      ByteBuffer buff = getNIOBuffer();
+      synchronized (stateLock) {
+        connectionState = STATE_READING;
+      }
+      int amt = channel.read(buff);
+      synchronized (stateLock) {
+        connectionState = STATE_IDLE;
+      }
+      if (amt == 0) {
+        return 0;
+      }
+      if (amt < 0) {
+        this.readerShuttingDown = true;
+        try {
+          requestClose("SocketChannel.read returned EOF");
+          requestClose(
+              LocalizedStrings.Connection_SOCKETCHANNEL_READ_RETURNED_EOF.toLocalizedString());
+        } catch (Exception e) {
+          // ignore - shutting down
+        }
+        return -1;
+      }
+
+      processNIOBuffer();
+      return amt;
+    } catch (CancelException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("{} Terminated <{}> due to cancellation", p2pReaderName(), this, e);
+      }
+      this.readerShuttingDown = true;
+      try {
+        requestClose(
+            LocalizedStrings.Connection_CACHECLOSED_IN_CHANNEL_READ_0.toLocalizedString(e));
+      } catch (Exception ex) {
+      }
+      return -1;
+    } catch (ClosedChannelException e) {
+      this.readerShuttingDown = true;
+      try {
+        requestClose(LocalizedStrings.Connection_CLOSEDCHANNELEXCEPTION_IN_CHANNEL_READ_0
+            .toLocalizedString(e));
+      } catch (Exception ex) {
+      }
+      return -1;
+    } catch (IOException e) {
+      if (!isSocketClosed() && !"Socket closed".equalsIgnoreCase(e.getMessage()) // needed for
+                                                                                 // Solaris jdk
+                                                                                 // 1.4.2_08
+      ) {
+        if (logger.isDebugEnabled() && !isIgnorableIOException(e)) {
+          logger.debug("{} io exception for {}", p2pReaderName(), this, e);
+        }
+        if (e.getMessage().contains("interrupted by a call to WSACancelBlockingCall")) {
+          if (logger.isDebugEnabled()) {
+            logger.debug(
+                "{} received unexpected WSACancelBlockingCall exception, which may result in a hang",
+                p2pReaderName());
+          }
+        }
+      }
+      this.readerShuttingDown = true;
+      try {
+        requestClose(
+            LocalizedStrings.Connection_IOEXCEPTION_IN_CHANNEL_READ_0.toLocalizedString(e));
+      } catch (Exception ex) {
+      }
+      return -1;
+
+    } catch (Exception e) {
+      this.owner.getConduit().getCancelCriterion().checkCancelInProgress(null); // bug 37101
+      if (!stopped && !isSocketClosed()) {
+        logger.fatal(LocalizedMessage.create(
+            LocalizedStrings.Connection_0_EXCEPTION_IN_CHANNEL_READ, p2pReaderName()), e);
+      }
+      this.readerShuttingDown = true;
+      try {
+        requestClose(
+            LocalizedStrings.Connection_0_EXCEPTION_IN_CHANNEL_READ.toLocalizedString(e));
+      } catch (Exception ex) {
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * Hands a shared receiver whose handshake has been read to the ConnectionTable's ReaderSelector,
+   * if it has one.
+   *
+   * @return true if the selector reads this connection from now on and the reader thread can exit
+   */
+  private boolean handOffToSelector() {
+    ReaderSelector selector = this.owner.getReaderSelector();
+    if (selector == null || !this.isReceiver || !this.sharedResource || !this.handshakeRead) {
+      return false;
+    }
+    this.readBySelector = true;
+    try {
+      selector.register(this);
+      return true;
+    } catch (IOException e) {
+      this.readBySelector = false;
+      if (logger.isDebugEnabled()) {
+        logger.debug("{} unable to hand {} to the reader selector", p2pReaderName(), this, e);
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Called by a ReaderSelector thread when data has arrived on this connection. Reads and
+   * processes all of the data that is available without blocking.
+   *
+   * @return false if this connection is being closed and should no longer be selected
+   */
+  boolean readSelected() {
+    makeReaderThread(true);
+    isSelectedReaderThread.set(Boolean.TRUE);
+    ConnectionTable.threadWantsSharedResources();
+    boolean keepReading = false;
+    try {
+      SocketChannel channel = getSocketChannel();
+      while (!stopped && !this.owner.getConduit().getCancelCriterion().isCancelInProgress()) {
+        int amt = readAndProcess(channel);
+        if (amt < 0) {
+          break;
+        }
+        if (amt == 0) {
+          keepReading = true;
+          if (!nioLengthSet && nioInputBuffer.position() == 0) {
+            // nothing is left over so let another connection use the buffer until data arrives
+            releaseInputBuffer();
+          }
+          break;
+        }
+      }
+    } finally {
+      if (!keepReading) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Reader selector stopped reading {}", this);
+        }
+        readerStopped();
+      }
+    }
+    return keepReading;
+  }
+
   /**
    * initiate suspect processing if a shared/ordered connection is lost and we're not shutting down
    */
@@ -2534,7 +2745,7 @@ public class Connection implements Runnable {
           LocalizedStrings.Connection_NOT_CONNECTED_TO_0.toLocalizedString(this.remoteAddr));
     }
     if (this.batchFlusher != null) {
-      batchSend(buffer);
+      batchSend(buffer, msg);
       return;
     }
     final boolean origSocketInUse = this.socketInUse;
@@ -2865,6 +3076,9 @@ public class Connection implements Runnable {
         }
       }
       this.asyncQueuingInProgress = true;
+      if (ADAPTIVE_FLOW_CONTROL && this.asyncMaxQueueSize > 0) {
+        startFlowControl();
+      }
       ThreadGroup group = LoggingThreadGroup.createThreadGroup("P2P Writer Threads", logger);
       this.pusherThread = new Thread(group, new Runnable() {
         public void run() {
@@ -3023,11 +3237,13 @@ public class Connection implements Runnable {
                 }
                 return;
               }
+              final int bytes = bb.remaining();
               nioWriteFully(channel, bb, true, null);
               // We should not add messagesSent here according to Bruce.
               // The counts are increased elsewhere.
               // messagesSent++;
               accessed();
+              flowControlDrained(bytes, stats);
             } finally {
               stats.endAsyncQueueFlush(flushStart);
             }
@@ -3077,6 +3293,7 @@ public class Connection implements Runnable {
       } finally {
         stats.incAsyncQueueSize(-this.queuedBytes);
         this.queuedBytes = 0;
+        stopFlowControl(stats);
         stats.endAsyncThread(threadStart);
         stats.incAsyncThreads(-1);
         stats.incAsyncQueues(-1);
@@ -3093,6 +3310,127 @@ public class Connection implements Runnable {
     }
   }
 
+  /**
+   * Creates or resumes the flow control window of the async queue when queuing starts.
+   */
+  private void startFlowControl() {
+    final long now = System.nanoTime();
+    synchronized (this.outgoingQueue) {
+      FlowControlWindow window = this.flowControlWindow;
+      if (window == null) {
+        window = createFlowControlWindow(this.asyncMaxQueueSize, now);
+        if (window == null) {
+          return;
+        }
+        this.flowControlWindow = window;
+      } else {
+        window.resume(now);
+      }
+      this.owner.getConduit().getStats().incAsyncQueueWindow(window.getWindow());
+    }
+  }
+
+  /**
+   * Returns the flow control window of an async queue limited to the given number of bytes, or null
+   * if the queue has no limit. Without a limit there is no disconnect to hold writers back from,
+   * and a window of zero bytes would make every write wait.
+   */
+  static FlowControlWindow createFlowControlWindow(long asyncMaxQueueSize, long now) {
+    // leave room below asyncMaxQueueSize so writers wait before the receiver is disconnected
+    long maxWindow = asyncMaxQueueSize / 2;
+    if (maxWindow <= 0) {
+      return null;
+    }
+    return new FlowControlWindow(MIN_FLOW_CONTROL_WINDOW, maxWindow,
+        TimeUnit.MILLISECONDS.toNanos(FLOW_CONTROL_TARGET_DELAY), now);
+  }
+
+  /**
+   * Returns true if the calling thread may wait for the flow control window before sending the
+   * given message. Reader threads and replies never wait: the receiver may be waiting for them, so
+   * holding them back behind its queue could deadlock.
+   */
+  static boolean mayWaitForFlowControl(DistributionMessage msg) {
+    return !isReaderThread() && !(msg instanceof ReplyMessage);
+  }
+
+  /**
+   * Called by the pusher thread after it has written bytes from the async queue. Adjusts the flow
+   * control window and wakes up the writers waiting for the queue to drain.
+   */
+  private void flowControlDrained(int bytes, DMStats stats) {
+    FlowControlWindow window = this.flowControlWindow;
+    if (window == null) {
+      return;
+    }
+    synchronized (this.outgoingQueue) {
+      long oldWindow = window.getWindow();
+      if (window.drained(bytes, System.nanoTime())) {
+        stats.incAsyncQueueWindow(window.getWindow() - oldWindow);
+        if (logger.isDebugEnabled()) {
+          logger.debug("Flow control window to {} is {} bytes; drain rate is {} bytes/sec",
+              this.remoteAddr, window.getWindow(), window.getDrainRate());
+        }
+      }
+      if (this.throttledWriters > 0 && this.queuedBytes <= window.getWindow()) {
+        this.outgoingQueue.notifyAll();
+      }
+    }
+  }
+
+  private void stopFlowControl(DMStats stats) {
+    FlowControlWindow window = this.flowControlWindow;
+    if (window == null) {
+      return;
+    }
+    synchronized (this.outgoingQueue) {
+      stats.incAsyncQueueWindow(-window.getWindow());
+      this.outgoingQueue.notifyAll();
+    }
+  }
+
+  /**
+   * Makes the calling thread wait while the async queue holds more than its flow control window.
+   * Only threads writing to this connection are slowed down. The wait is bounded by
+   * async-queue-timeout, after which the queue limits decide whether the receiver is too slow.
+   */
+  private void waitForFlowControlWindow(DistributionMessage msg, DMStats stats) {
+    FlowControlWindow window = this.flowControlWindow;
+    if (window == null || this.asyncQueueTimeout <= 0 || !mayWaitForFlowControl(msg)) {
+      return;
+    }
+    synchronized (this.outgoingQueue) {
+      if (!this.asyncQueuingInProgress || this.queuedBytes <= window.getWindow()) {
+        return;
+      }
+      final long start = System.nanoTime();
+      final long timeout = TimeUnit.MILLISECONDS.toNanos(this.asyncQueueTimeout);
+      boolean interrupted = false;
+      this.throttledWriters++;
+      try {
+        long remaining = timeout;
+        while (remaining > 0 && this.asyncQueuingInProgress && !this.disconnectRequested
+            && this.queuedBytes > window.getWindow()) {
+          this.owner.getConduit().getCancelCriterion().checkCancelInProgress(null);
+          try {
+            TimeUnit.NANOSECONDS.timedWait(this.outgoingQueue, remaining);
+          } catch (InterruptedException ie) {
+            interrupted = true;
+            this.owner.getConduit().getCancelCriterion().checkCancelInProgress(ie);
+            break;
+          }
+          remaining = timeout - (System.nanoTime() - start);
+        }
+      } finally {
+        this.throttledWriters--;
+        stats.incAsyncThrottledWrites(System.nanoTime() - start);
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
   /**
    * Return false if socket writes to be done async/nonblocking Return true if socket writes to be
    * done sync/blocking
@@ -3299,6 +3637,7 @@ public class Connection implements Runnable {
     }
     if (useSyncWrites(forceAsync)) {
       if (this.asyncQueuingInProgress) {
+        waitForFlowControlWindow(msg, stats);
         if (addToQueue(buffer, msg, false)) {
           return;
         }
@@ -3986,6 +4325,13 @@ public class Connection implements Runnable {
     return result;
   }
 
+  /**
+   * Returns the channel of this connection's socket, or null if it does not use NIO.
+   */
+  SocketChannel getSocketChannel() {
+    return this.socket.getChannel();
+  }
+
   public boolean isSocketClosed() {
     return this.socket.isClosed() || !this.socket.isConnected();
   }
@@ -137,6 +137,11 @@ public class ConnectionTable {
    * Executor used by p2p reader and p2p handshaker threads.
    */
   private final Executor p2pReaderThreadPool;
+
+  /**
+   * Reads the shared receiver connections if p2p.useSelector is set; otherwise null.
+   */
+  private final ReaderSelector readerSelector;
   /**
    * Number of seconds to wait before timing out an unused p2p reader thread. Default is 120 (2
    * minutes).
@@ -210,6 +215,10 @@ public class ConnectionTable {
     this.threadConnMaps = new ArrayList();
     this.threadConnectionMap = new ConcurrentHashMap();
     this.p2pReaderThreadPool = createThreadPoolForIO(conduit.getDM().getSystem().isShareSockets());
+    this.readerSelector = ReaderSelector.USE_SELECTOR
+        ? new ReaderSelector(LoggingThreadGroup.createThreadGroup("P2P Reader Threads", logger),
+            ReaderSelector.READER_THREADS, READER_POOL_KEEP_ALIVE_TIME)
+        : null;
     this.socketCloser = new SocketCloser();
   }
 
@@ -753,6 +762,9 @@ public class ConnectionTable {
         m.clear();
       }
     }
+    if (this.readerSelector != null) {
+      this.readerSelector.close();
+    }
     this.socketCloser.close();
   }
 
@@ -940,6 +952,14 @@ public class ConnectionTable {
     return this.socketCloser;
   }
 
+  /**
+   * Returns the selector that reads shared receiver connections, or null if each connection has
+   * its own reader thread.
+   */
+  ReaderSelector getReaderSelector() {
+    return this.readerSelector;
+  }
+
   /** check to see if there are still any receiver threads for the given end-point */
   protected boolean hasReceiversFor(DistributedMember endPoint) {
     synchronized (this.receivers) {
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+/**
+ * Sizes the async queue of a {@link Connection} from the rate at which its receiver drains it. The
+ * window is the number of bytes the receiver is observed to drain in the target delay, bounded by
+ * a minimum and a maximum. Threads that write to the connection while more than a window's worth
+ * of bytes is queued are made to wait, so a slow receiver slows down only the threads that send
+ * to it instead of filling its queue until it is disconnected.
+ * <p>
+ * The drain rate is sampled by the connection's pusher thread and smoothed with an exponential
+ * moving average. Until the first sample is taken the window is the maximum. Instances are not
+ * thread safe; the connection synchronizes on its outgoing queue.
+ *
+ * @since Geode 1.3
+ */
+class FlowControlWindow {
+
+  /** the shortest interval, in nanoseconds, over which the drain rate is sampled */
+  static final long SAMPLE_INTERVAL_NANOS = 10_000_000L;
+
+  /** the weight of a new drain rate sample */
+  private static final double SAMPLE_WEIGHT = 0.25;
+
+  private final long minWindow;
+  private final long maxWindow;
+  private final long targetDelayNanos;
+
+  /** the smoothed drain rate in bytes per nanosecond, or -1 if it has not been sampled yet */
+  private double drainRate = -1;
+
+  private long sampleStart;
+  private long sampleBytes;
+
+  private long window;
+
+  FlowControlWindow(long minWindow, long maxWindow, long targetDelayNanos, long now) {
+    if (maxWindow <= 0) {
+      throw new IllegalArgumentException("maxWindow must be positive but was " + maxWindow);
+    }
+    this.minWindow = Math.min(minWindow, maxWindow);
+    this.maxWindow = maxWindow;
+    this.targetDelayNanos = targetDelayNanos;
+    this.sampleStart = now;
+    this.window = maxWindow;
+  }
+
+  /**
+   * Starts a new drain rate sample. Called when queuing starts again so that the time the queue was
+   * empty is not counted.
+   */
+  void resume(long now) {
+    this.sampleStart = now;
+    this.sampleBytes = 0;
+  }
+
+  /**
+   * Records that the receiver has taken the given number of queued bytes.
+   *
+   * @return true if the window changed
+   */
+  boolean drained(long bytes, long now) {
+    this.sampleBytes += bytes;
+    long elapsed = now - this.sampleStart;
+    if (elapsed < SAMPLE_INTERVAL_NANOS) {
+      return false;
+    }
+    double sample = (double) this.sampleBytes / elapsed;
+    if (this.drainRate < 0) {
+      this.drainRate = sample;
+    } else {
+      this.drainRate += SAMPLE_WEIGHT * (sample - this.drainRate);
+    }
+    this.sampleStart = now;
+    this.sampleBytes = 0;
+    long newWindow = (long) (this.drainRate * this.targetDelayNanos);
+    newWindow = Math.max(this.minWindow, Math.min(this.maxWindow, newWindow));
+    if (newWindow == this.window) {
+      return false;
+    }
+    this.window = newWindow;
+    return true;
+  }
+
+  /**
+   * Returns the number of bytes that may be queued before writers have to wait.
+   */
+  long getWindow() {
+    return this.window;
+  }
+
+  /**
+   * Returns the smoothed drain rate in bytes per second, or -1 if it has not been sampled yet.
+   */
+  long getDrainRate() {
+    return this.drainRate < 0 ? -1 : (long) (this.drainRate * 1_000_000_000L);
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Reads the shared receiver connections of a {@link ConnectionTable} without giving each of them
+ * its own reader thread. Once the handshake of a shared receiver has been read its reader thread
+ * hands the connection to this class and exits. A single selector thread then waits until any of
+ * these connections has data and hands that connection to a pooled thread, which reads and
+ * processes the data that has arrived and then gives the connection back to the selector. A
+ * connection is never read by more than one thread at a time, so messages are still processed in
+ * the order they were sent, and idle connections use neither a thread nor a receive buffer.
+ * <p>
+ * The connections that have data are read by a small, fixed number of threads. If they are all
+ * busy, the connection waits for the next free thread. So that a few messages that block, for
+ * example while waiting for a reply or a lock, can not hold every thread and stop the connections
+ * carrying their replies from being read, these threads never process serial messages inline. They
+ * hand them to the serial executor, which processes them in the order they were received, as it
+ * does when DistributionManager.INLINE_PROCESS is off. Only messages that are always processed
+ * inline, such as replies, are processed on these threads.
+ * <p>
+ * Thread-owned receivers (conserve-sockets=false) keep their dedicated reader threads. They are out
+ * of scope for three reasons:
+ * <ul>
+ * <li>They process each message inline on the reader thread, for as long as the message takes.
+ * This includes waiting for replies that arrive on other connections. On a small shared pool, a
+ * few such messages would hold every thread. A chain of thread-owned connections between members
+ * (a domino chain) could then deadlock.</li>
+ * <li>Their domino count is a thread local of the reader thread.</li>
+ * <li>The thread-owned connections they send replies and forwarded messages on belong to the
+ * reader thread.</li>
+ * </ul>
+ * Moving them onto pooled threads would need all of that state to be carried per connection.
+ *
+ * @since Geode 1.3
+ */
+class ReaderSelector implements Runnable {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * If true then the shared receiver connections are read using a selector instead of a reader
+   * thread per connection.
+   */
+  static final boolean USE_SELECTOR = Boolean.getBoolean("p2p.useSelector");
+
+  /**
+   * The number of threads that read the connections that have data.
+   */
+  static final int READER_THREADS = Integer.getInteger("p2p.selectorReaderThreads",
+      Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors())));
+
+  private final Selector selector;
+
+  /** the threads that read and process the connections that have data */
+  private final ThreadPoolExecutor readerPool;
+
+  /** connections that need to be registered or registered again with the selector */
+  private final Queue<Connection> pending = new ConcurrentLinkedQueue<>();
+
+  private final Thread selectorThread;
+
+  private volatile boolean closed;
+
+  ReaderSelector(ThreadGroup group, int readerThreads, long keepAliveSeconds)
+      throws IOException {
+    this.selector = Selector.open();
+    // A connection is queued at most once, because it is not selected again until it has been
+    // read, so the queue is bounded by the number of connections
+    this.readerPool = new ThreadPoolExecutor(readerThreads, readerThreads, keepAliveSeconds,
+        TimeUnit.SECONDS, new LinkedBlockingQueue<>(), command -> {
+          Thread thread = new Thread(group, command, "P2P selected message reader");
+          thread.setDaemon(true);
+          return thread;
+        });
+    this.readerPool.allowCoreThreadTimeOut(true);
+    this.selectorThread = new Thread(group, this, "P2P reader selector");
+    this.selectorThread.setDaemon(true);
+    this.selectorThread.start();
+  }
+
+  /**
+   * Starts reading the given connection with this selector. Must be called by the connection's
+   * reader thread, which must not read from the connection afterwards.
+   */
+  void register(Connection connection) throws IOException {
+    connection.getSocketChannel().configureBlocking(false);
+    this.pending.add(connection);
+    this.selector.wakeup();
+  }
+
+  /**
+   * Stops selecting the given connection. Called when the connection is being closed.
+   */
+  void cancel(Connection connection) {
+    SocketChannel channel = connection.getSocketChannel();
+    if (channel != null) {
+      SelectionKey key = channel.keyFor(this.selector);
+      if (key != null) {
+        key.cancel();
+        // wake up the selector so that it deregisters the channel and lets it close
+        this.selector.wakeup();
+      }
+    }
+  }
+
+  void close() {
+    this.closed = true;
+    this.selector.wakeup();
+    this.readerPool.shutdown();
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (!this.closed) {
+        registerPending();
+        this.selector.select();
+        Iterator<SelectionKey> it = this.selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+          SelectionKey key = it.next();
+          it.remove();
+          try {
+            // the connection is not selected again until its reader is done with it
+            key.interestOps(0);
+          } catch (CancelledKeyException ignore) {
+            continue;
+          }
+          read(key, (Connection) key.attachment());
+        }
+      }
+    } catch (IOException | ClosedSelectorException e) {
+      if (!this.closed) {
+        logger.fatal("P2P reader selector failed", e);
+      }
+    } finally {
+      try {
+        this.selector.close();
+      } catch (IOException ignore) {
+      }
+    }
+  }
+
+  private void registerPending() {
+    Connection connection;
+    while ((connection = this.pending.poll()) != null) {
+      SocketChannel channel = connection.getSocketChannel();
+      try {
+        SelectionKey key = channel.keyFor(this.selector);
+        if (key == null) {
+          channel.register(this.selector, SelectionKey.OP_READ, connection);
+        } else {
+          key.interestOps(SelectionKey.OP_READ);
+        }
+      } catch (ClosedChannelException | CancelledKeyException ignore) {
+        // the connection was closed while it was being read
+      }
+    }
+  }
+
+  private void read(SelectionKey key, Connection connection) {
+    try {
+      this.readerPool.execute(() -> {
+        if (connection.readSelected()) {
+          this.pending.add(connection);
+          this.selector.wakeup();
+        } else {
+          key.cancel();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      if (!this.closed) {
+        throw e;
+      }
+    }
+  }
+}
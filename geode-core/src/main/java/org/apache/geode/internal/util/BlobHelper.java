@@ -15,9 +15,11 @@
 package org.apache.geode.internal.util;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.apache.geode.DataSerializer;
 import org.apache.geode.distributed.internal.DMStats;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.internal.ByteArrayDataInput;
 import org.apache.geode.internal.DSCODE;
@@ -35,6 +37,18 @@ import org.apache.geode.pdx.internal.PdxInputStream;
  */
 public class BlobHelper {
 
+  /**
+   * The largest buffer a thread keeps for serializing blobs. Blobs that are larger are still
+   * serialized with the thread's buffer but the buffer does not grow to their size.
+   */
+  private static final int MAX_REUSED_BUFFER_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "BlobHelper.MAX_REUSED_BUFFER_SIZE", 16384);
+
+  private static final int INITIAL_REUSED_BUFFER_SIZE = 1024;
+
+  private static final ThreadLocal<ReusableBuffer> reusableBuffer =
+      ThreadLocal.withInitial(ReusableBuffer::new);
+
   /**
    * A blob is a serialized Object. This method serializes the object into a blob and returns the
    * byte array that contains the blob.
@@ -49,9 +63,16 @@ public class BlobHelper {
    */
   public static byte[] serializeToBlob(Object obj, Version version) throws IOException {
     final long start = startSerialization();
-    HeapDataOutputStream hdos = new HeapDataOutputStream(version);
-    DataSerializer.writeObject(obj, hdos);
-    byte[] result = hdos.toByteArray();
+    ReusableBuffer buffer = reusableBuffer.get();
+    byte[] result;
+    if (buffer.inUse) {
+      // obj is being serialized as part of another blob
+      HeapDataOutputStream hdos = new HeapDataOutputStream(version);
+      DataSerializer.writeObject(obj, hdos);
+      result = hdos.toByteArray();
+    } else {
+      result = buffer.serialize(obj, version);
+    }
     endSerialization(start, result.length);
     return result;
   }
@@ -162,4 +183,42 @@ public class BlobHelper {
     }
   }
 
+  /**
+   * A buffer kept by a thread so that serializing a blob only allocates the returned byte array
+   * instead of a new stream buffer, the chunks it grows by, and a copy of the right size. The buffer
+   * grows to the size of the blobs the thread serializes, up to MAX_REUSED_BUFFER_SIZE. A larger
+   * blob spills into chunks, which the stream consolidates into the array that is returned.
+   */
+  private static class ReusableBuffer {
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_REUSED_BUFFER_SIZE);
+    private boolean inUse;
+
+    byte[] serialize(Object obj, Version version) throws IOException {
+      this.inUse = true;
+      try {
+        this.buffer.clear();
+        HeapDataOutputStream hdos = new HeapDataOutputStream(this.buffer, version, false);
+        DataSerializer.writeObject(obj, hdos);
+        ByteBuffer bb = hdos.toByteBuffer();
+        byte[] result;
+        if (bb.hasArray() && bb.array() == this.buffer.array()) {
+          result = new byte[bb.remaining()];
+          bb.get(result);
+        } else {
+          // The blob did not fit in this buffer, so the stream has already copied it into an array
+          // of its own, which is returned as is
+          result = hdos.toByteArray();
+        }
+        int capacity = this.buffer.capacity();
+        if (result.length > capacity && capacity < MAX_REUSED_BUFFER_SIZE) {
+          int newCapacity = Math.max(result.length, capacity * 2);
+          this.buffer = ByteBuffer.allocate(Math.min(newCapacity, MAX_REUSED_BUFFER_SIZE));
+        }
+        return result;
+      } finally {
+        this.inUse = false;
+      }
+    }
+  }
+
 }
@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.pdx.FieldType;
+import org.apache.geode.pdx.PdxSerializationException;
+import org.apache.geode.pdx.internal.AutoSerializableManager.AutoClassInfo;
+import org.apache.geode.pdx.internal.AutoSerializableManager.PdxFieldWrapper;
+
+/**
+ * Writes and reads the fields of an auto-serialized class with method handles generated for the
+ * class when it is first serialized. Each field gets a handle that reads the field and passes it to
+ * the PdxWriterImpl method for its type, and one that takes the value from the PdxReaderImpl method
+ * for its type and sets the field. The JVM compiles these into direct field accesses and calls, so
+ * the fields are no longer reached through a PdxFieldWrapper per field and a field accessor per
+ * value.
+ * <p>
+ * The handles are only used when the fields are written or read in the order of the class's PDX
+ * type. Classes with a field whose value is transformed by the auto-serializer, and classes whose
+ * handles can not be generated, for example because a field's declared type does not match the PDX
+ * type it was given, are serialized by AutoSerializableManager as before. Serializers are created
+ * by and cached in the {@link TypeRegistry}. Setting gemfire.autopdx.disableGeneratedSerializers
+ * turns them off.
+ *
+ * @since Geode 1.3
+ */
+class AutoClassSerializer {
+
+  /**
+   * If true then auto-serialized classes are always serialized through their PdxFieldWrappers.
+   */
+  static final boolean DISABLED =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "autopdx.disableGeneratedSerializers");
+
+  private static final MethodType WRITE_TYPE =
+      MethodType.methodType(void.class, PdxWriterImpl.class, Object.class);
+
+  private static final MethodType READ_TYPE =
+      MethodType.methodType(void.class, PdxReaderImpl.class, Object.class);
+
+  private static final MethodHandle WRITE_FAILED;
+  private static final MethodHandle READ_FAILED;
+  private static final MethodHandle WRITE_OBJECT;
+  private static final MethodHandle WRITE_OBJECT_ARRAY;
+
+  static {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      WRITE_FAILED = lookup.findStatic(AutoClassSerializer.class, "writeFailed",
+          MethodType.methodType(void.class, String.class, Exception.class, PdxWriterImpl.class,
+              Object.class));
+      READ_FAILED = lookup.findStatic(AutoClassSerializer.class, "readFailed",
+          MethodType.methodType(void.class, String.class, Exception.class, PdxReaderImpl.class,
+              Object.class));
+      WRITE_OBJECT = lookup.findStatic(AutoClassSerializer.class, "writeObject",
+          MethodType.methodType(void.class, PdxFieldWrapper.class, PdxWriterImpl.class,
+              Object.class));
+      WRITE_OBJECT_ARRAY = lookup.findStatic(AutoClassSerializer.class, "writeObjectArray",
+          MethodType.methodType(void.class, PdxFieldWrapper.class, PdxWriterImpl.class,
+              Object[].class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final AutoClassInfo classInfo;
+
+  /**
+   * (PdxWriterImpl, Object)void for each field, in the order of the class's PDX type, or null if
+   * the class is serialized through its PdxFieldWrappers
+   */
+  private final MethodHandle[] writers;
+
+  /**
+   * (PdxReaderImpl, Object)void for each field, in the order of the class's PDX type, or null if
+   * the class is serialized through its PdxFieldWrappers
+   */
+  private final MethodHandle[] readers;
+
+  private AutoClassSerializer(AutoClassInfo classInfo, MethodHandle[] writers,
+      MethodHandle[] readers) {
+    this.classInfo = classInfo;
+    this.writers = writers;
+    this.readers = readers;
+  }
+
+  /**
+   * Returns a serializer for the class described by the given info. If its handles can not be
+   * generated then {@link #isGenerated()} is false and the class has to be serialized through its
+   * PdxFieldWrappers.
+   */
+  static AutoClassSerializer create(AutoClassInfo classInfo) {
+    AutoClassSerializer notGenerated = new AutoClassSerializer(classInfo, null, null);
+    if (DISABLED) {
+      return notGenerated;
+    }
+    List<PdxFieldWrapper> fields = classInfo.getFields();
+    MethodHandle[] writers = new MethodHandle[fields.size()];
+    MethodHandle[] readers = new MethodHandle[fields.size()];
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      for (int i = 0; i < writers.length; i++) {
+        PdxFieldWrapper field = fields.get(i);
+        FieldType fieldType = field.getFieldType();
+        if (field.transform() || fieldType == null) {
+          return notGenerated;
+        }
+        writers[i] = createWriter(lookup, field, fieldType);
+        readers[i] = createReader(lookup, field, fieldType);
+      }
+    } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+      return notGenerated;
+    }
+    return new AutoClassSerializer(classInfo, writers, readers);
+  }
+
+  private static MethodHandle createWriter(MethodHandles.Lookup lookup, PdxFieldWrapper field,
+      FieldType fieldType) throws NoSuchMethodException, IllegalAccessException {
+    Class<?> valueType = getValueType(fieldType);
+    Field f = field.getField();
+    // (Object)valueType
+    MethodHandle getter =
+        lookup.unreflectGetter(f).asType(MethodType.methodType(valueType, Object.class));
+    // (PdxWriterImpl, valueType)void
+    MethodHandle write;
+    if (fieldType == FieldType.OBJECT) {
+      write = MethodHandles.insertArguments(WRITE_OBJECT, 0, field);
+    } else if (fieldType == FieldType.OBJECT_ARRAY) {
+      write = MethodHandles.insertArguments(WRITE_OBJECT_ARRAY, 0, field);
+    } else {
+      write = lookup.findVirtual(PdxWriterImpl.class, "write" + getMethodSuffix(fieldType),
+          MethodType.methodType(void.class, valueType));
+    }
+    write = MethodHandles.filterArguments(write, 1, getter).asType(WRITE_TYPE);
+    return MethodHandles.catchException(write, Exception.class,
+        MethodHandles.insertArguments(WRITE_FAILED, 0, field.getName()));
+  }
+
+  private static MethodHandle createReader(MethodHandles.Lookup lookup, PdxFieldWrapper field,
+      FieldType fieldType) throws NoSuchMethodException, IllegalAccessException {
+    Class<?> valueType = getValueType(fieldType);
+    Field f = field.getField();
+    // (Object, valueType)void
+    MethodHandle setter = lookup.unreflectSetter(f)
+        .asType(MethodType.methodType(void.class, Object.class, valueType));
+    // (PdxReaderImpl)valueType
+    MethodHandle read = lookup.findVirtual(PdxReaderImpl.class, "read" + getMethodSuffix(fieldType),
+        MethodType.methodType(valueType));
+    // (Object, PdxReaderImpl)void
+    MethodHandle readAndSet = MethodHandles.filterArguments(setter, 1, read);
+    readAndSet = MethodHandles.permuteArguments(readAndSet, READ_TYPE, 1, 0);
+    return MethodHandles.catchException(readAndSet, Exception.class,
+        MethodHandles.insertArguments(READ_FAILED, 0, field.getName()));
+  }
+
+  /**
+   * Returns the type of the value the PdxWriterImpl and PdxReaderImpl methods for the given field
+   * type take and return.
+   */
+  private static Class<?> getValueType(FieldType fieldType) {
+    switch (fieldType) {
+      case BOOLEAN:
+        return boolean.class;
+      case BYTE:
+        return byte.class;
+      case CHAR:
+        return char.class;
+      case SHORT:
+        return short.class;
+      case INT:
+        return int.class;
+      case LONG:
+        return long.class;
+      case FLOAT:
+        return float.class;
+      case DOUBLE:
+        return double.class;
+      case DATE:
+        return Date.class;
+      case STRING:
+        return String.class;
+      case OBJECT:
+        return Object.class;
+      case BOOLEAN_ARRAY:
+        return boolean[].class;
+      case CHAR_ARRAY:
+        return char[].class;
+      case BYTE_ARRAY:
+        return byte[].class;
+      case SHORT_ARRAY:
+        return short[].class;
+      case INT_ARRAY:
+        return int[].class;
+      case LONG_ARRAY:
+        return long[].class;
+      case FLOAT_ARRAY:
+        return float[].class;
+      case DOUBLE_ARRAY:
+        return double[].class;
+      case STRING_ARRAY:
+        return String[].class;
+      case OBJECT_ARRAY:
+        return Object[].class;
+      case ARRAY_OF_BYTE_ARRAYS:
+        return byte[][].class;
+      default:
+        throw new IllegalStateException("unhandled field type " + fieldType);
+    }
+  }
+
+  /**
+   * Returns the end of the names of the PdxWriterImpl and PdxReaderImpl methods for the given field
+   * type, for example "IntArray" for writeIntArray and readIntArray.
+   */
+  private static String getMethodSuffix(FieldType fieldType) {
+    if (fieldType == FieldType.ARRAY_OF_BYTE_ARRAYS) {
+      return "ArrayOfByteArrays";
+    }
+    StringBuilder suffix = new StringBuilder();
+    for (String word : fieldType.name().split("_")) {
+      suffix.append(word.charAt(0)).append(word.substring(1).toLowerCase());
+    }
+    return suffix.toString();
+  }
+
+  private static void writeObject(PdxFieldWrapper field, PdxWriterImpl writer, Object value) {
+    writer.writeObject(value, field.getCheckPortability());
+  }
+
+  private static void writeObjectArray(PdxFieldWrapper field, PdxWriterImpl writer,
+      Object[] value) {
+    writer.writeObjectArray(value, field.getCheckPortability());
+  }
+
+  private static void writeFailed(String fieldName, Exception ex, PdxWriterImpl writer,
+      Object obj) {
+    AutoSerializableManager.handleException(ex, true, fieldName, obj);
+  }
+
+  private static void readFailed(String fieldName, Exception ex, PdxReaderImpl reader,
+      Object obj) {
+    AutoSerializableManager.handleException(ex, false, fieldName, obj);
+  }
+
+  /**
+   * Returns the class info this serializer was generated from. It is out of date once the
+   * auto-serializer has created a new info for the class.
+   */
+  AutoClassInfo getClassInfo() {
+    return this.classInfo;
+  }
+
+  /**
+   * Returns true if the fields of the class can be written and read by this serializer.
+   */
+  boolean isGenerated() {
+    return this.writers != null;
+  }
+
+  /**
+   * Writes the fields of the given object in the order of its class's PDX type.
+   */
+  void writeFields(PdxWriterImpl writer, Object obj) {
+    try {
+      for (MethodHandle field : this.writers) {
+        field.invokeExact(writer, obj);
+      }
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new PdxSerializationException(t.toString(), t);
+    }
+  }
+
+  /**
+   * Reads the fields of the given object in the order of its class's PDX type.
+   */
+  void readFields(PdxReaderImpl reader, Object obj) {
+    try {
+      for (MethodHandle field : this.readers) {
+        field.invokeExact(reader, obj);
+      }
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new PdxSerializationException(t.toString(), t);
+    }
+  }
+}
@@ -18,6 +18,7 @@ import org.apache.geode.CancelException;
 import org.apache.geode.cache.RegionService;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.CopyOnWriteHashSet;
+import org.apache.geode.internal.NoArgConstructors;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.util.concurrent.CopyOnWriteWeakHashMap;
@@ -651,6 +652,8 @@ public class AutoSerializableManager {
     private final boolean transformValue;
     private final AutoSerializableManager owner;
     private final boolean isIdentityField;
+    /** the type this field was created for by {@link #create}, or null */
+    private FieldType fieldType;
 
     protected PdxFieldWrapper(AutoSerializableManager owner, Field f, String name,
         boolean transformValue, boolean isIdentityField) {
@@ -669,6 +672,13 @@ public class AutoSerializableManager {
 
     public static PdxFieldWrapper create(AutoSerializableManager owner, Field f, FieldType ft,
         String name, boolean transformValue, boolean isIdentityField) {
+      PdxFieldWrapper result = createForType(owner, f, ft, name, transformValue, isIdentityField);
+      result.fieldType = ft;
+      return result;
+    }
+
+    private static PdxFieldWrapper createForType(AutoSerializableManager owner, Field f,
+        FieldType ft, String name, boolean transformValue, boolean isIdentityField) {
       switch (ft) {
         case INT:
           return new IntField(owner, f, name, transformValue, isIdentityField);
@@ -731,6 +741,13 @@ public class AutoSerializableManager {
       return this.fieldName;
     }
 
+    /**
+     * Returns the PDX type of this field, or null if it was not created by {@link #create}.
+     */
+    public FieldType getFieldType() {
+      return this.fieldType;
+    }
+
     public boolean transform() {
       return this.transformValue;
     }
@@ -1962,7 +1979,7 @@ public class AutoSerializableManager {
     return false;
   }
 
-  private static void handleException(Exception ex, boolean serialization, String fieldName,
+  static void handleException(Exception ex, boolean serialization, String fieldName,
       Object obj) {
     if (ex instanceof CancelException) {
       // fix for bug 43936
@@ -1993,6 +2010,24 @@ public class AutoSerializableManager {
         optimizeFieldWrites = true;
       }
     }
+    if (optimizeFieldWrites) {
+      AutoClassSerializer serializer = w.getTypeRegistry().getAutoClassSerializer(autoClassInfo);
+      if (serializer != null && serializer.isGenerated()) {
+        serializer.writeFields(w, obj);
+        if (w.definingNewPdxType()) {
+          for (PdxFieldWrapper f : autoClassInfo.getFields()) {
+            if (f.isIdentityField()) {
+              try {
+                w.markIdentityField(f.getName());
+              } catch (Exception ex) {
+                handleException(ex, true, f.getName(), obj);
+              }
+            }
+          }
+        }
+        return;
+      }
+    }
     for (PdxFieldWrapper f : autoClassInfo.getFields()) {
       // System.out.println("DEBUG writing field=" + f.getField().getName() + " offset=" +
       // ((PdxWriterImpl)writer).position());
@@ -2170,7 +2205,7 @@ public class AutoSerializableManager {
         if (unsafe != null && !USE_CONSTRUCTOR) {
           result = unsafe.allocateInstance(clazz);
         } else {
-          result = clazz.newInstance();
+          result = NoArgConstructors.newInstance(clazz);
         }
       } catch (Exception ex) {
         throw new PdxSerializationException(
@@ -503,93 +503,17 @@ public class PdxInstanceImpl extends PdxReaderImpl
     return this;
   }
 
-  // All PdxReaderImpl methods that might change the ByteBuffer position
-  // need to be synchronized so that they are done atomically.
-  // This fixes bug 43178.
-
-  // primitive read methods all use absolute read methods so they do not set position
-  // so no sync is needed. Fixed width fields all use absolute read methods.
-
-  @Override
-  public synchronized String readString(String fieldName) {
-    return super.readString(fieldName);
-  }
-
-  @Override
-  public synchronized Object readObject(String fieldName) {
-    return super.readObject(fieldName);
-  }
-
-  @Override
-  public synchronized Object readObject(PdxField ft) {
-    return super.readObject(ft);
-  }
-
-  @Override
-  public synchronized char[] readCharArray(String fieldName) {
-    return super.readCharArray(fieldName);
-  }
-
-  @Override
-  public synchronized boolean[] readBooleanArray(String fieldName) {
-    return super.readBooleanArray(fieldName);
-  }
-
-  @Override
-  public synchronized byte[] readByteArray(String fieldName) {
-    return super.readByteArray(fieldName);
-  }
-
-  @Override
-  public synchronized short[] readShortArray(String fieldName) {
-    return super.readShortArray(fieldName);
-  }
-
-  @Override
-  public synchronized int[] readIntArray(String fieldName) {
-    return super.readIntArray(fieldName);
-  }
-
-  @Override
-  public synchronized long[] readLongArray(String fieldName) {
-    return super.readLongArray(fieldName);
-  }
-
-  @Override
-  public synchronized float[] readFloatArray(String fieldName) {
-    return super.readFloatArray(fieldName);
-  }
-
-  @Override
-  public synchronized double[] readDoubleArray(String fieldName) {
-    return super.readDoubleArray(fieldName);
-  }
-
-  @Override
-  public synchronized String[] readStringArray(String fieldName) {
-    return super.readStringArray(fieldName);
-  }
-
-  @Override
-  public synchronized Object[] readObjectArray(String fieldName) {
-    return super.readObjectArray(fieldName);
-  }
-
-  @Override
-  public synchronized Object[] readObjectArray(PdxField ft) {
-    return super.readObjectArray(ft);
-  }
-
-  @Override
-  public synchronized byte[][] readArrayOfByteArrays(String fieldName) {
-    return super.readArrayOfByteArrays(fieldName);
-  }
-
+  /**
+   * Gives each read of a variable length field its own position in the serialized bytes so that
+   * threads can read fields of the same instance concurrently without locking it. The copy shares
+   * the bytes; only its position is separate. Fixed width fields are read with absolute reads.
+   */
   @Override
-  public synchronized Object readField(String fieldName) {
-    return super.readField(fieldName);
+  protected PdxInputStream getFieldStream() {
+    return new PdxInputStream(super.getFieldStream());
   }
 
+  // synchronized because readUnreadFields() records its result on this instance
   @Override
   protected synchronized Object basicGetObject() {
     DMStats stats = InternalDataSerializer.getDMStats(null);
@@ -601,22 +525,6 @@ public class PdxInstanceImpl extends PdxReaderImpl
     }
   }
 
-  // override getRaw to fix bug 43569
-  @Override
-  protected synchronized ByteSource getRaw(PdxField ft) {
-    return super.getRaw(ft);
-  }
-
-  @Override
-  protected synchronized void basicSendTo(DataOutput out) throws IOException {
-    super.basicSendTo(out);
-  }
-
-  @Override
-  protected synchronized void basicSendTo(ByteBuffer bb) {
-    super.basicSendTo(bb);
-  }
-
   public String getClassName() {
     return getPdxType().getClassName();
   }
@@ -23,6 +23,7 @@ import java.util.Date;
 import org.apache.geode.InternalGemFireException;
 import org.apache.geode.internal.DSCODE;
 import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.internal.NoArgConstructors;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.i18n.LocalizedStrings;
@@ -94,6 +95,14 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     this.dis = bbis;
   }
 
+  /**
+   * Returns the stream that variable length fields are read from. Reading such a field changes
+   * the position of this stream; fixed width fields are read with absolute reads and do not.
+   */
+  protected PdxInputStream getFieldStream() {
+    return this.dis;
+  }
+
   public static final int MAX_UNSIGNED_BYTE = 255;
   public static final int MAX_UNSIGNED_SHORT = 65535;
 
@@ -307,7 +316,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public String readString(PdxField ft) {
-    return this.dis.readString(getPositionForField(ft));
+    return getFieldStream().readString(getPositionForField(ft));
   }
 
   public String readString() {
@@ -330,7 +339,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     if (ft instanceof DefaultPdxField) {
       return null; // default object value
     }
-    return this.dis.readObject(getPositionForField(ft));
+    return getFieldStream().readObject(getPositionForField(ft));
   }
 
   public Object readObject() {
@@ -350,7 +359,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public char[] readCharArray(PdxField ft) {
-    return this.dis.readCharArray(getPositionForField(ft));
+    return getFieldStream().readCharArray(getPositionForField(ft));
   }
 
   public char[] readCharArray() {
@@ -370,7 +379,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public boolean[] readBooleanArray(PdxField ft) {
-    return this.dis.readBooleanArray(getPositionForField(ft));
+    return getFieldStream().readBooleanArray(getPositionForField(ft));
   }
 
   public boolean[] readBooleanArray() {
@@ -390,7 +399,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public byte[] readByteArray(PdxField ft) {
-    return this.dis.readByteArray(getPositionForField(ft));
+    return getFieldStream().readByteArray(getPositionForField(ft));
   }
 
   public byte[] readByteArray() {
@@ -410,7 +419,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public short[] readShortArray(PdxField ft) {
-    return this.dis.readShortArray(getPositionForField(ft));
+    return getFieldStream().readShortArray(getPositionForField(ft));
   }
 
   public short[] readShortArray() {
@@ -430,7 +439,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public int[] readIntArray(PdxField ft) {
-    return this.dis.readIntArray(getPositionForField(ft));
+    return getFieldStream().readIntArray(getPositionForField(ft));
   }
 
   public int[] readIntArray() {
@@ -450,7 +459,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public long[] readLongArray(PdxField ft) {
-    return this.dis.readLongArray(getPositionForField(ft));
+    return getFieldStream().readLongArray(getPositionForField(ft));
   }
 
   public long[] readLongArray() {
@@ -470,7 +479,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public float[] readFloatArray(PdxField ft) {
-    return this.dis.readFloatArray(getPositionForField(ft));
+    return getFieldStream().readFloatArray(getPositionForField(ft));
   }
 
   public float[] readFloatArray() {
@@ -490,7 +499,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public double[] readDoubleArray(PdxField ft) {
-    return this.dis.readDoubleArray(getPositionForField(ft));
+    return getFieldStream().readDoubleArray(getPositionForField(ft));
   }
 
   public double[] readDoubleArray() {
@@ -510,7 +519,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public String[] readStringArray(PdxField ft) {
-    return this.dis.readStringArray(getPositionForField(ft));
+    return getFieldStream().readStringArray(getPositionForField(ft));
   }
 
   public String[] readStringArray() {
@@ -533,7 +542,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     if (ft instanceof DefaultPdxField) {
       return null; // default array value
     }
-    return this.dis.readObjectArray(getPositionForField(ft));
+    return getFieldStream().readObjectArray(getPositionForField(ft));
   }
 
   public Object[] readObjectArray() {
@@ -553,7 +562,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   public byte[][] readArrayOfByteArrays(PdxField ft) {
-    return this.dis.readArrayOfByteArrays(getPositionForField(ft));
+    return getFieldStream().readArrayOfByteArrays(getPositionForField(ft));
   }
 
   public byte[][] readArrayOfByteArrays() {
@@ -726,7 +735,7 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     Object result;
     if (PdxSerializable.class.isAssignableFrom(pdxClass)) {
       try {
-        result = pdxClass.newInstance();
+        result = NoArgConstructors.newInstance(pdxClass);
       } catch (Exception e) {
         PdxSerializationException ex = new PdxSerializationException(
             LocalizedStrings.DataSerializer_COULD_NOT_CREATE_AN_INSTANCE_OF_A_CLASS_0
@@ -818,11 +827,11 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   protected void basicSendTo(DataOutput out) throws IOException {
-    this.dis.sendTo(out);
+    getFieldStream().sendTo(out);
   }
 
   protected void basicSendTo(ByteBuffer bb) {
-    this.dis.sendTo(bb);
+    getFieldStream().sendTo(bb);
   }
 
   protected int basicSize() {
@@ -842,6 +851,13 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
    */
   public void orderedDeserialize(Object obj, AutoClassInfo ci) {
     PdxReaderImpl reader = prepForOrderedReading();
+    AutoClassSerializer serializer = GemFireCacheImpl
+        .getForPdx("PDX registry is unavailable because the Cache has been closed.")
+        .getPdxRegistry().getAutoClassSerializer(ci);
+    if (serializer != null && serializer.isGenerated()) {
+      serializer.readFields(reader, obj);
+      return;
+    }
     for (PdxFieldWrapper f : ci.getFields()) {
       f.orderedDeserialize(reader, obj);
     }
@@ -843,6 +843,10 @@ public class PdxWriterImpl implements PdxWriter {
     this.lu = this.os.reserveLong(); // dummy length and type id
   }
 
+  TypeRegistry getTypeRegistry() {
+    return this.tr;
+  }
+
   public boolean definingNewPdxType() {
     return this.newType != null;
   }
@@ -36,6 +36,7 @@ import org.apache.geode.internal.util.concurrent.CopyOnWriteWeakHashMap;
 import org.apache.geode.pdx.PdxSerializationException;
 import org.apache.geode.pdx.PdxSerializer;
 import org.apache.geode.pdx.ReflectionBasedAutoSerializer;
+import org.apache.geode.pdx.internal.AutoSerializableManager.AutoClassInfo;
 
 public class TypeRegistry {
   private static final Logger logger = LogService.getLogger();
@@ -55,6 +56,9 @@ public class TypeRegistry {
   private final WeakConcurrentIdentityHashMap<Object, PdxUnreadData> unreadDataMap =
       WeakConcurrentIdentityHashMap.make();
 
+  private final Map<Class<?>, AutoClassSerializer> autoClassSerializers =
+      new CopyOnWriteWeakHashMap<>();
+
   private final Map<Integer, EnumInfo> idToEnum = new CopyOnWriteHashMap<>();
 
   private final Map<EnumInfo, Integer> enumInfoToId = new CopyOnWriteHashMap<>();
@@ -289,6 +293,23 @@ public class TypeRegistry {
     this.localTypeIds.remove(o.getClass());
   }
 
+  /**
+   * Returns the serializer generated for the auto-serialized class described by the given info,
+   * creating it the first time the class is serialized or after its info has changed.
+   */
+  AutoClassSerializer getAutoClassSerializer(AutoClassInfo classInfo) {
+    Class<?> clazz = classInfo.getInfoClass();
+    if (clazz == null) {
+      return null;
+    }
+    AutoClassSerializer serializer = this.autoClassSerializers.get(clazz);
+    if (serializer == null || serializer.getClassInfo() != classInfo) {
+      serializer = AutoClassSerializer.create(classInfo);
+      this.autoClassSerializers.put(clazz, serializer);
+    }
+    return serializer;
+  }
+
   PdxUnreadData getUnreadData(Object o) {
     return this.unreadDataMap.get(o);
   }
@@ -458,6 +479,7 @@ public class TypeRegistry {
       this.idToEnum.clear();
       this.enumInfoToId.clear();
       this.localEnumIds.clear();
+      this.autoClassSerializers.clear();
       AutoSerializableManager autoSerializer = getAutoSerializableManager();
       if (autoSerializer != null) {
         autoSerializer.resetCachedTypes();
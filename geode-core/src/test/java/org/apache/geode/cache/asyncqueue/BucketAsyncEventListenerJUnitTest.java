@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.asyncqueue;
+
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.PartitionAttributesFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.asyncqueue.internal.AsyncEventQueueImpl;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+@Category(IntegrationTest.class)
+public class BucketAsyncEventListenerJUnitTest {
+
+  private static final int TOTAL_NUM_BUCKETS = 10;
+
+  private Cache cache;
+
+  @Before
+  public void setUp() {
+    cache = new CacheFactory().set(MCAST_PORT, "0").create();
+  }
+
+  @After
+  public void tearDown() {
+    if (cache != null && !cache.isClosed()) {
+      cache.close();
+    }
+  }
+
+  @Test
+  public void eventsAreDeliveredGroupedByBucket() {
+    RecordingListener listener = new RecordingListener();
+    List<Map<Integer, List<AsyncEvent>>> batches = listener.batches;
+    AtomicInteger numberOfEvents = listener.numberOfEvents;
+    AsyncEventQueue queue = cache.createAsyncEventQueueFactory().setParallel(true)
+        .setDispatcherThreads(1).setBatchSize(100).setBatchTimeInterval(1000)
+        .create("queue", listener);
+    Region<Integer, String> region = cache
+        .<Integer, String>createRegionFactory(RegionShortcut.PARTITION).setPartitionAttributes(
+            new PartitionAttributesFactory().setTotalNumBuckets(TOTAL_NUM_BUCKETS).create())
+        .addAsyncEventQueueId(queue.getId()).create("region");
+
+    for (int i = 0; i < 100; i++) {
+      region.put(i, "value-" + i);
+    }
+
+    Awaitility.await().atMost(60, TimeUnit.SECONDS)
+        .until(() -> assertEquals(100, numberOfEvents.get()));
+    int numberOfBuckets = 0;
+    synchronized (batches) {
+      for (Map<Integer, List<AsyncEvent>> eventsByBucket : batches) {
+        for (Map.Entry<Integer, List<AsyncEvent>> bucket : eventsByBucket.entrySet()) {
+          numberOfBuckets++;
+          Integer previousKey = null;
+          for (AsyncEvent event : bucket.getValue()) {
+            Integer key = (Integer) event.getKey();
+            assertEquals(bucket.getKey().intValue(), key % TOTAL_NUM_BUCKETS);
+            assertEquals("value-" + key, event.getDeserializedValue());
+            if (previousKey != null) {
+              assertTrue(previousKey < key);
+            }
+            previousKey = key;
+          }
+        }
+      }
+    }
+    AbstractGatewaySender sender =
+        (AbstractGatewaySender) ((AsyncEventQueueImpl) queue).getSender();
+    assertEquals(numberOfBuckets, sender.getStatistics().getBucketBatchesDistributed());
+  }
+
+  @Test
+  public void eventsOfASerialQueueAreDeliveredWithoutABucket() {
+    RecordingListener listener = new RecordingListener();
+    AsyncEventQueue queue = cache.createAsyncEventQueueFactory().setParallel(false)
+        .setDispatcherThreads(1).setBatchSize(100).setBatchTimeInterval(1000)
+        .create("queue", listener);
+    Region<Integer, String> region = cache
+        .<Integer, String>createRegionFactory(RegionShortcut.PARTITION).setPartitionAttributes(
+            new PartitionAttributesFactory().setTotalNumBuckets(TOTAL_NUM_BUCKETS).create())
+        .addAsyncEventQueueId(queue.getId()).create("region");
+
+    for (int i = 0; i < 100; i++) {
+      region.put(i, "value-" + i);
+    }
+
+    Awaitility.await().atMost(60, TimeUnit.SECONDS)
+        .until(() -> assertEquals(100, listener.numberOfEvents.get()));
+    int nextKey = 0;
+    synchronized (listener.batches) {
+      for (Map<Integer, List<AsyncEvent>> eventsByBucket : listener.batches) {
+        assertEquals(Collections.singleton(BucketAsyncEventListener.NO_BUCKET),
+            eventsByBucket.keySet());
+        for (AsyncEvent event : eventsByBucket.get(BucketAsyncEventListener.NO_BUCKET)) {
+          assertEquals(nextKey++, event.getKey());
+        }
+      }
+    }
+  }
+
+  private static class RecordingListener implements BucketAsyncEventListener {
+    private final List<Map<Integer, List<AsyncEvent>>> batches = new ArrayList<>();
+
+    private final AtomicInteger numberOfEvents = new AtomicInteger();
+
+    @Override
+    public boolean processBucketEvents(Map<Integer, List<AsyncEvent>> eventsByBucket) {
+      synchronized (batches) {
+        batches.add(eventsByBucket);
+      }
+      for (List<AsyncEvent> events : eventsByBucket.values()) {
+        numberOfEvents.addAndGet(events.size());
+      }
+      return true;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
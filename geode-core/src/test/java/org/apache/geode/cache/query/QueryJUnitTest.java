@@ -27,12 +27,16 @@ import static org.junit.Assert.*;
 import static org.junit.runners.MethodSorters.*;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.geode.cache.Scope;
@@ -51,6 +55,7 @@ import org.apache.geode.cache.RegionFactory;
 import org.apache.geode.cache.RegionShortcut;
 import org.apache.geode.cache.query.data.Portfolio;
 import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.internal.cache.CachePerfStats;
 import org.apache.geode.test.junit.categories.IntegrationTest;
 
 /**
@@ -281,6 +286,81 @@ public class QueryJUnitTest {
     assertEquals("Incorrect result size ", 2, sr.size());
   }
 
+  @Test
+  public void queriesWithTheSameQueryStringShareTheParsedQuery() throws Exception {
+    Region region = CacheUtils.createRegion("Portfolios", Portfolio.class);
+    for (int i = 0; i < 10; i++) {
+      region.put("key-" + i, new Portfolio(i));
+    }
+    String queryStr = "select * from " + region.getFullPath() + " p where p.ID > 4 order by p.ID";
+    CachePerfStats stats = CacheUtils.getCache().getCachePerfStats();
+    int compilations = stats.getQueryCompilations();
+    int hits = stats.getQueryCompilationCacheHits();
+
+    DefaultQuery q1 = (DefaultQuery) CacheUtils.getQueryService().newQuery(queryStr);
+    DefaultQuery q2 = (DefaultQuery) CacheUtils.getQueryService().newQuery(queryStr);
+
+    assertNotSame(q1.getSimpleSelect(), q2.getSimpleSelect());
+    assertEquals(compilations + 1, stats.getQueryCompilations());
+    assertEquals(hits + 1, stats.getQueryCompilationCacheHits());
+    assertEquals(5, ((SelectResults) q1.execute()).size());
+    assertEquals(5, ((SelectResults) q2.execute()).size());
+  }
+
+  @Test
+  public void parsedQueryIsCompiledAgainstARecreatedRegion() throws Exception {
+    Region region = CacheUtils.createRegion("Portfolios", Portfolio.class);
+    String queryStr = "select * from " + region.getFullPath() + " p order by p.ID";
+    CacheUtils.getQueryService().newQuery(queryStr).execute();
+
+    region.destroyRegion();
+    region = CacheUtils.createRegion("Portfolios", Portfolio.class);
+    region.put("key-1", new Portfolio(1));
+
+    assertEquals(1,
+        ((SelectResults) CacheUtils.getQueryService().newQuery(queryStr).execute()).size());
+  }
+
+  @Test
+  public void queriesWithTheSameQueryStringCanBeExecutedConcurrently() throws Exception {
+    Region region = CacheUtils.createRegion("Portfolios", Portfolio.class);
+    for (int i = 0; i < 100; i++) {
+      region.put("key-" + i, new Portfolio(i));
+    }
+    String orderBy = "select distinct p.ID, p.status from " + region.getFullPath()
+        + " p where p.ID >= 50 order by p.ID desc";
+    String distinct = "select distinct p.status from " + region.getFullPath() + " p";
+    int threads = 8;
+    CyclicBarrier barrier = new CyclicBarrier(threads);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          barrier.await();
+          for (int i = 0; i < 50; i++) {
+            List<Struct> ordered = ((SelectResults<Struct>) CacheUtils.getQueryService()
+                .newQuery(orderBy).execute()).asList();
+            assertEquals(50, ordered.size());
+            for (int j = 0; j < ordered.size(); j++) {
+              assertEquals(99 - j, ordered.get(j).get("ID"));
+            }
+            SelectResults statuses =
+                (SelectResults) CacheUtils.getQueryService().newQuery(distinct).execute();
+            assertEquals(new HashSet<>(Arrays.asList("active", "inactive")),
+                new HashSet<>(statuses.asList()));
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testThreadSafetyOfCompiledSelectScopeId() throws Exception {
     try {
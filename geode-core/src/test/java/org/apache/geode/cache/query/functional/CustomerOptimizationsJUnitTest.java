@@ -36,6 +36,7 @@ import org.apache.geode.cache.query.QueryException;
 import org.apache.geode.cache.query.QueryService;
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.cache.query.data.Portfolio;
+import org.apache.geode.cache.query.internal.CompiledComparison;
 import org.apache.geode.cache.query.internal.QueryObserverAdapter;
 import org.apache.geode.cache.query.internal.QueryObserverHolder;
 import org.apache.geode.cache.query.internal.types.ObjectTypeImpl;
@@ -1308,6 +1309,96 @@ public class CustomerOptimizationsJUnitTest {
     CacheUtils.compareResultsOfWithAndWithoutIndex(sr, this);
   }
 
+  @Test
+  public void testEqualityIsPreferredOverRangeByDefault() throws Exception {
+    assertEquals("Status",
+        getIndexUsedForLowCardinalityEquality(
+            "select distinct * from /pos p where p.ID < 200 AND p.status = 'active'", 100));
+  }
+
+  @Test
+  public void testRangeIsPreferredOverLowCardinalityEquality() throws Exception {
+    int ratio = CompiledComparison.rangePreferenceRatio;
+    CompiledComparison.rangePreferenceRatio = 10;
+    try {
+      assertEquals("PortFolioID",
+          getIndexUsedForLowCardinalityEquality(
+              "select distinct * from /pos p where p.ID < 200 AND p.status = 'active'", 100));
+    } finally {
+      CompiledComparison.rangePreferenceRatio = ratio;
+    }
+  }
+
+  @Test
+  public void testRangeJunctionIsPreferredOverLowCardinalityEquality() throws Exception {
+    int ratio = CompiledComparison.rangePreferenceRatio;
+    CompiledComparison.rangePreferenceRatio = 10;
+    try {
+      assertEquals("PortFolioID", getIndexUsedForLowCardinalityEquality(
+          "select distinct * from /pos p where p.ID > 4800 AND p.ID < 4900 AND p.status = 'active'",
+          49));
+    } finally {
+      CompiledComparison.rangePreferenceRatio = ratio;
+    }
+  }
+
+  @Test
+  public void testEqualityIsPreferredOverLessSelectiveRangeJunction() throws Exception {
+    int ratio = CompiledComparison.rangePreferenceRatio;
+    CompiledComparison.rangePreferenceRatio = 10;
+    try {
+      assertEquals("Status", getIndexUsedForLowCardinalityEquality(
+          "select distinct * from /pos p where p.ID > 0 AND p.ID < 4900 AND p.status = 'active'",
+          2449));
+    } finally {
+      CompiledComparison.rangePreferenceRatio = ratio;
+    }
+  }
+
+  /**
+   * Runs the given query, an AND of a condition on the ID index and an equality on the low
+   * cardinality status index, on 4900 portfolios and returns the one index it was looked up in.
+   */
+  private String getIndexUsedForLowCardinalityEquality(String queryString, int expectedSize)
+      throws Exception {
+    QueryService qs = CacheUtils.getQueryService();
+    Region rgn = CacheUtils.getRegion("/pos");
+    for (int i = 100; i < 5000; ++i) {
+      rgn.put("" + i, new Portfolio(i));
+    }
+    SelectResults withoutIndex = (SelectResults) qs.newQuery(queryString).execute();
+
+    qs.createIndex("PortFolioID", IndexType.FUNCTIONAL, "ID", "/pos");
+    qs.createIndex("Status", IndexType.FUNCTIONAL, "status", "/pos");
+    final List indexUsed = new ArrayList();
+    final boolean[] intersected = new boolean[] {false};
+    QueryObserverHolder.setInstance(new QueryObserverAdapter() {
+      public void invokedQueryUtilsIntersection(SelectResults r1, SelectResults r2) {
+        intersected[0] = true;
+      }
+
+      public void beforeIndexLookup(Index index, int oper, Object key) {
+        indexUsed.add(index.getName());
+      }
+
+      public void beforeIndexLookup(Index index, int lowerBoundOperator, Object lowerBoundKey,
+          int upperBoundOperator, Object upperBoundKey, Set NotEqualKeys) {
+        indexUsed.add(index.getName());
+      }
+    });
+    try {
+      SelectResults withIndex = (SelectResults) qs.newQuery(queryString).execute();
+
+      assertEquals(expectedSize, withIndex.size());
+      assertEquals(withoutIndex.asSet(), withIndex.asSet());
+      assertEquals(false, intersected[0]);
+      assertEquals(1, indexUsed.size());
+      return (String) indexUsed.get(0);
+    } finally {
+      QueryObserverHolder.reset();
+    }
+  }
+
   @Before
   public void setUp() throws Exception {
     CacheUtils.startCache();
@@ -44,6 +44,7 @@ import org.apache.geode.cache.query.internal.QueryObserverHolder;
 import org.apache.geode.cache.query.internal.index.CompactRangeIndex;
 import org.apache.geode.cache.query.internal.index.HashIndex;
 import org.apache.geode.cache.query.internal.index.PrimaryKeyIndex;
+import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.test.junit.categories.IntegrationTest;
 
 @Category(IntegrationTest.class)
@@ -300,6 +301,42 @@ public class MultiIndexCreationJUnitTest {
 
   }
 
+  @Test
+  public void testIndexCreationOnPartitionedRegionBucketsInParallel() throws Exception {
+    int oldThreads = PartitionedRegion.INDEX_CREATION_THREADS;
+    PartitionedRegion.INDEX_CREATION_THREADS = 4;
+    try {
+      Region pr =
+          CacheUtils.getCache().createRegionFactory(RegionShortcut.PARTITION).create(prRegionName);
+      for (int i = 0; i < 1000; i++) {
+        pr.put("" + i, new Portfolio(i));
+      }
+
+      QueryService qs = CacheUtils.getQueryService();
+      qs.defineIndex("IDIndex", "ID", pr.getFullPath());
+      qs.defineIndex("statusIndex", "status", pr.getFullPath());
+      assertEquals(2, qs.createDefinedIndexes().size());
+      qs.createIndex("pkidIndex", "pkid", pr.getFullPath());
+
+      Index ind = qs.getIndex(pr, "IDIndex");
+      assertEquals(1000, ind.getStatistics().getNumberOfKeys());
+      assertEquals(1000, ind.getStatistics().getNumberOfValues());
+
+      ind = qs.getIndex(pr, "statusIndex");
+      assertEquals(1000, ind.getStatistics().getNumberOfValues());
+
+      ind = qs.getIndex(pr, "pkidIndex");
+      assertEquals(1000, ind.getStatistics().getNumberOfValues());
+
+      SelectResults sr = (SelectResults) qs
+          .newQuery("select * from " + pr.getFullPath() + " where ID > 899 and status = 'active'")
+          .execute();
+      assertEquals(50, sr.size());
+    } finally {
+      PartitionedRegion.INDEX_CREATION_THREADS = oldThreads;
+    }
+  }
+
   @Test
   public void testIndexCreationOnMultipleRegionsBeforePuts() throws Exception {
     Region pr =
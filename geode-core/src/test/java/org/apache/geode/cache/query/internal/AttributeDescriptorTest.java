@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.lang.reflect.Method;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.query.NameNotFoundException;
+import org.apache.geode.cache.query.QueryInvocationTargetException;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class AttributeDescriptorTest {
+
+  private MethodInvocationAuthorizer authorizer;
+
+  @Before
+  public void setUp() {
+    authorizer = mock(MethodInvocationAuthorizer.class);
+  }
+
+  @Test
+  public void readsPublicField() throws Exception {
+    assertThat(new AttributeDescriptor(authorizer, "field").read(new TestObject())).isEqualTo(1);
+  }
+
+  @Test
+  public void readsGetterAndAuthorizesEachInvocation() throws Exception {
+    TestObject target = new TestObject();
+    AttributeDescriptor descriptor = new AttributeDescriptor(authorizer, "value");
+
+    assertThat(descriptor.read(target)).isEqualTo("value");
+    assertThat(descriptor.read(target)).isEqualTo("value");
+
+    Method getter = TestObject.class.getMethod("getValue");
+    verify(authorizer, times(2)).authorizeMethodInvocation(getter, target);
+  }
+
+  @Test
+  public void readsMethodNamedLikeAttribute() throws Exception {
+    assertThat(new AttributeDescriptor(authorizer, "size").read(new TestObject())).isEqualTo(3);
+  }
+
+  @Test
+  public void readsPublicGetterOfNonPublicClass() throws Exception {
+    assertThat(new AttributeDescriptor(authorizer, "value").read(new NonPublicObject()))
+        .isEqualTo("hidden");
+  }
+
+  @Test
+  public void readOfNullIsUndefined() throws Exception {
+    assertThat(new AttributeDescriptor(authorizer, "value").read(null))
+        .isSameAs(QueryService.UNDEFINED);
+  }
+
+  @Test
+  public void getReadMemberReturnsSameMemberEachTime() throws Exception {
+    assertThat(new AttributeDescriptor(authorizer, "value").getReadMember(TestObject.class))
+        .isSameAs(new AttributeDescriptor(authorizer, "value").getReadMember(TestObject.class));
+  }
+
+  @Test
+  public void missingAttributeThrowsNameNotFoundExceptionEachTime() {
+    AttributeDescriptor descriptor = new AttributeDescriptor(authorizer, "missing");
+
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> descriptor.read(new TestObject()))
+          .isInstanceOf(NameNotFoundException.class);
+    }
+    assertThat(descriptor.validateReadType(TestObject.class)).isFalse();
+  }
+
+  @Test
+  public void exceptionFromGetterIsWrapped() {
+    assertThatThrownBy(() -> new AttributeDescriptor(authorizer, "failure").read(new TestObject()))
+        .isInstanceOf(QueryInvocationTargetException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  public static class TestObject {
+    public int field = 1;
+
+    public String getValue() {
+      return "value";
+    }
+
+    public int size() {
+      return 3;
+    }
+
+    public Object getFailure() {
+      throw new IllegalStateException();
+    }
+  }
+
+  static class NonPublicObject {
+    public String getValue() {
+      return "hidden";
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.query.internal.parse.GemFireAST;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CompiledQueryCacheTest {
+
+  @Test
+  public void getReturnsEntryPutForQueryString() {
+    CompiledQueryCache cache = new CompiledQueryCache(2);
+    GemFireAST entry = newEntry();
+
+    cache.put("select * from /r", entry);
+
+    assertThat(cache.get("select * from /r")).isSameAs(entry);
+    assertThat(cache.get("select * from /s")).isNull();
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedEntryWhenFull() {
+    CompiledQueryCache cache = new CompiledQueryCache(2);
+    cache.put("a", newEntry());
+    cache.put("b", newEntry());
+    cache.get("a");
+
+    cache.put("c", newEntry());
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("a")).isNotNull();
+    assertThat(cache.get("b")).isNull();
+    assertThat(cache.get("c")).isNotNull();
+  }
+
+  @Test
+  public void clearRemovesAllEntries() {
+    CompiledQueryCache cache = new CompiledQueryCache(2);
+    cache.put("a", newEntry());
+
+    cache.clear();
+
+    assertThat(cache.size()).isZero();
+    assertThat(cache.get("a")).isNull();
+  }
+
+  private GemFireAST newEntry() {
+    return mock(GemFireAST.class);
+  }
+}
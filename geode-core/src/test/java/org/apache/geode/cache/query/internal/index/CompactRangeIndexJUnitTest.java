@@ -66,7 +66,7 @@ public class CompactRangeIndexJUnitTest {
     putValues(9);
     isUsingIndexElemArray("type1");
     putValues(10);
-    isUsingConcurrentHashSet("type1");
+    isUsingOpenHashSet("type1");
     utils.removeIndex("type", "/exampleRegion");
     executeQueryWithAndWithoutIndex(4);
     putOffsetValues(2);
@@ -457,12 +457,12 @@ public class CompactRangeIndexJUnitTest {
     }
   }
 
-  private void isUsingConcurrentHashSet(String key) {
+  private void isUsingOpenHashSet(String key) {
     if (index instanceof CompactRangeIndex) {
       assertEquals(
-          "Expected concurrent hash set but instanceForKey is "
+          "Expected open hash set but instanceForKey is "
               + getValuesFromMap(key).getClass().getName(),
-          getValuesFromMap(key) instanceof IndexConcurrentHashSet, true);
+          getValuesFromMap(key) instanceof IndexOpenHashSet, true);
     } else {
       fail("Should have used CompactRangeIndex");
     }
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.query.MultithreadedTester;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class IndexOpenHashSetJUnitTest {
+
+  private IndexOpenHashSet set;
+
+  @Before
+  public void setUp() throws Exception {
+    set = new IndexOpenHashSet(0);
+  }
+
+  @Test
+  public void addedEntriesAreContainedUntilRemoved() throws Exception {
+    assertThat(set.add("a")).isTrue();
+    assertThat(set.add("b")).isTrue();
+    assertThat(set.add("a")).isFalse();
+
+    assertThat(set).hasSize(2).containsOnly("a", "b");
+
+    assertThat(set.remove("a")).isTrue();
+    assertThat(set.remove("a")).isFalse();
+
+    assertThat(set).hasSize(1).containsOnly("b");
+    assertThat(set.contains("a")).isFalse();
+  }
+
+  @Test
+  public void removedSlotIsReused() throws Exception {
+    insert(10);
+    int capacity = set.getCapacity();
+
+    for (int i = 0; i < 1000; i++) {
+      set.remove(i % 10);
+      set.add(i % 10);
+    }
+
+    assertThat(set).hasSize(10);
+    assertThat(set.getCapacity()).isEqualTo(capacity);
+  }
+
+  /**
+   * A set holds between one and a third and two and two thirds array slots per entry, where a
+   * concurrent hash set holds a node object per entry on top of its table.
+   */
+  @Test
+  public void arrayGrowsWithTheEntriesAndShrinksWhenTheyAreRemoved() throws Exception {
+    insert(90000);
+
+    assertThat(set).hasSize(90000);
+    assertThat(set.getCapacity()).isEqualTo(1 << 17);
+
+    for (int i = 0; i < 89990; i++) {
+      set.remove(i);
+    }
+
+    assertThat(set).hasSize(10).containsOnly(89990, 89991, 89992, 89993, 89994, 89995, 89996,
+        89997, 89998, 89999);
+    assertThat(set.getCapacity()).isLessThanOrEqualTo(32);
+  }
+
+  @Test
+  public void iteratorKeepsReturningTheEntriesThatAreNotRemoved() throws Exception {
+    insert(100);
+    Iterator iterator = set.iterator();
+    for (int i = 0; i < 100; i += 2) {
+      set.remove(i);
+    }
+
+    List<Object> entries = new ArrayList<>();
+    iterator.forEachRemaining(entries::add);
+
+    for (int i = 1; i < 100; i += 2) {
+      assertThat(entries).contains(i);
+    }
+  }
+
+  @Test
+  public void iteratorRemoveRemovesTheCurrentEntry() throws Exception {
+    insert(10);
+
+    Iterator iterator = set.iterator();
+    while (iterator.hasNext()) {
+      if ((Integer) iterator.next() % 2 == 0) {
+        iterator.remove();
+      }
+    }
+
+    assertThat(set).hasSize(5).containsOnly(1, 3, 5, 7, 9);
+  }
+
+  @Test
+  public void clearRemovesAllEntries() throws Exception {
+    insert(1000);
+
+    set.clear();
+
+    assertThat(set).isEmpty();
+    assertThat(set.iterator().hasNext()).isFalse();
+    assertThat(set.getCapacity()).isLessThanOrEqualTo(32);
+  }
+
+  @Test
+  public void concurrentUpdatesAndIterationDoNotFail() throws Exception {
+    Collection<Callable> callables = new ConcurrentLinkedQueue<>();
+    IntStream.range(0, 1000).parallel().forEach(i -> {
+      callables.add(() -> {
+        Integer entry = new Random().nextInt(100);
+        if (i % 3 == 0) {
+          set.add(entry);
+        } else if (i % 3 == 1) {
+          set.remove(entry);
+        } else {
+          set.forEach(e -> assertThat(e).isInstanceOf(Integer.class));
+        }
+        return entry;
+      });
+    });
+
+    Collection<Object> results = MultithreadedTester.runMultithreaded(callables);
+
+    results.forEach(result -> assertThat(result).isInstanceOf(Integer.class));
+  }
+
+  private void insert(int num) {
+    for (int i = 0; i < num; i++) {
+      set.add(i);
+    }
+  }
+}
@@ -26,6 +26,7 @@ import org.apache.geode.LogWriter;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.query.Query;
 import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.Struct;
 import org.apache.geode.cache.query.data.PortfolioData;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.cache.PRQueryProcessor;
@@ -137,6 +138,42 @@ public class PRQueryNumThreadsJUnitTest {
     }
   }
 
+  @Test
+  public void testAggregateQueries() throws Exception {
+    Region region = PartitionedRegionTestHelper.createPartitionedRegion(regionName, "100", 0);
+    PortfolioData[] portfolios = new PortfolioData[100];
+    for (int j = 0; j < 100; j++) {
+      portfolios[j] = new PortfolioData(j);
+    }
+    PRQueryProcessor.TEST_NUM_THREADS = 4;
+    try {
+      populateData(region, portfolios);
+
+      String queryString = "select count(*) from /" + region.getName() + " p where p.ID >= 10";
+      SelectResults sr = (SelectResults) region.getCache().getQueryService()
+          .newQuery(queryString).execute();
+      Assert.assertTrue(sr.asList().get(0).equals(90));
+
+      queryString = "select sum(p.ID), max(p.ID), avg(p.ID) from /" + region.getName() + " p";
+      sr = (SelectResults) region.getCache().getQueryService().newQuery(queryString).execute();
+      Struct struct = (Struct) sr.asList().get(0);
+      Assert.assertTrue(((Number) struct.getFieldValues()[0]).intValue() == 4950);
+      Assert.assertTrue(((Number) struct.getFieldValues()[1]).intValue() == 99);
+      Assert.assertTrue(((Number) struct.getFieldValues()[2]).intValue() == 49);
+
+      queryString = "select p.status, count(*) from /" + region.getName()
+          + " p group by p.status order by p.status";
+      sr = (SelectResults) region.getCache().getQueryService().newQuery(queryString).execute();
+      Assert.assertTrue(sr.size() == 2);
+      for (Object row : sr) {
+        Assert.assertTrue(((Struct) row).getFieldValues()[1].equals(50));
+      }
+    } finally {
+      PRQueryProcessor.TEST_NUM_THREADS = 0;
+      region.close();
+    }
+  }
+
   /**
    * Populates the region with the Objects stores in the data Object array.
    * 
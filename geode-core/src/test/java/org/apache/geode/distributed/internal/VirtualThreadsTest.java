@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.distributed.internal;
+
+import static org.apache.geode.distributed.internal.VirtualThreads.FUNCTION_EXECUTION_EXECUTOR;
+import static org.apache.geode.distributed.internal.VirtualThreads.WAITING_EXECUTOR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class VirtualThreadsTest {
+
+  private final ThreadGroup group = new ThreadGroup("VirtualThreadsTest");
+
+  @Test
+  public void createsDaemonThreadInGroupWhenDisabled() {
+    VirtualThreads virtualThreads = new VirtualThreads(false, FUNCTION_EXECUTION_EXECUTOR, 24);
+
+    Thread thread = virtualThreads.createThread(FUNCTION_EXECUTION_EXECUTOR, group, () -> {
+    }, "processor");
+
+    assertThat(virtualThreads.isEnabledFor(FUNCTION_EXECUTION_EXECUTOR)).isFalse();
+    assertPlatformThread(thread);
+  }
+
+  @Test
+  public void onlyNamedExecutorsGetVirtualThreadsWhenEnabled() {
+    VirtualThreads virtualThreads = new VirtualThreads(true, FUNCTION_EXECUTION_EXECUTOR, 21);
+
+    assertThat(virtualThreads.isEnabledFor(FUNCTION_EXECUTION_EXECUTOR))
+        .isEqualTo(VirtualThreads.isSupported());
+    assertThat(virtualThreads.isEnabledFor(WAITING_EXECUTOR)).isFalse();
+    assertPlatformThread(virtualThreads.createThread(WAITING_EXECUTOR, group, () -> {
+    }, "processor"));
+  }
+
+  @Test
+  public void noExecutorGetsVirtualThreadsByDefaultWhereMonitorsPin() {
+    VirtualThreads virtualThreads = new VirtualThreads(true, null, 21);
+
+    assertThat(virtualThreads.isEnabledFor(FUNCTION_EXECUTION_EXECUTOR)).isFalse();
+    assertThat(virtualThreads.isEnabledFor(WAITING_EXECUTOR)).isFalse();
+  }
+
+  @Test
+  public void waitingAndFunctionExecutionGetVirtualThreadsByDefaultWhereMonitorsDoNotPin() {
+    VirtualThreads virtualThreads = new VirtualThreads(true, null, 24);
+
+    assertThat(virtualThreads.isEnabledFor(FUNCTION_EXECUTION_EXECUTOR))
+        .isEqualTo(VirtualThreads.isSupported());
+    assertThat(virtualThreads.isEnabledFor(WAITING_EXECUTOR))
+        .isEqualTo(VirtualThreads.isSupported());
+  }
+
+  @Test
+  public void createsVirtualThreadThatRunsTaskWhenEnabled() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    VirtualThreads virtualThreads = new VirtualThreads(true, FUNCTION_EXECUTION_EXECUTOR, 21);
+    CountDownLatch ran = new CountDownLatch(1);
+
+    Thread thread =
+        virtualThreads.createThread(FUNCTION_EXECUTION_EXECUTOR, group, ran::countDown, "fe");
+    assertThat(thread.getUncaughtExceptionHandler()).isSameAs(group);
+    thread.start();
+
+    assertThat(ran.await(30, TimeUnit.SECONDS)).isTrue();
+    assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+    assertThat(thread.getName()).isEqualTo("fe");
+    assertThat(thread.isDaemon()).isTrue();
+  }
+
+  private void assertPlatformThread(Thread thread) {
+    assertThat(thread.isDaemon()).isTrue();
+    assertThat(thread.getThreadGroup()).isSameAs(group);
+    assertThat(thread.getName()).isEqualTo("processor");
+    assertThat(thread.getState()).isEqualTo(Thread.State.NEW);
+  }
+}
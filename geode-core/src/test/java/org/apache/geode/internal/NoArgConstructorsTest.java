@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class NoArgConstructorsTest {
+
+  @Test
+  public void createsNewInstanceEachTime() throws Exception {
+    Object first = NoArgConstructors.newInstance(PublicConstructor.class);
+    Object second = NoArgConstructors.newInstance(PublicConstructor.class);
+
+    assertThat(first).isInstanceOf(PublicConstructor.class);
+    assertThat(second).isInstanceOf(PublicConstructor.class).isNotSameAs(first);
+  }
+
+  @Test
+  public void invokesPublicConstructorOfNonPublicClass() throws Exception {
+    assertThat(NoArgConstructors.newInstance(PackagePrivateClass.class))
+        .isInstanceOf(PackagePrivateClass.class);
+  }
+
+  @Test
+  public void throwsNoSuchMethodExceptionWithoutPublicConstructor() {
+    assertThatThrownBy(() -> NoArgConstructors.newInstance(PrivateConstructor.class))
+        .isInstanceOf(NoSuchMethodException.class);
+  }
+
+  @Test
+  public void throwsInstantiationExceptionForAbstractClass() {
+    assertThatThrownBy(() -> NoArgConstructors.newInstance(AbstractClass.class))
+        .isInstanceOf(InstantiationException.class);
+  }
+
+  @Test
+  public void wrapsExceptionThrownByConstructor() {
+    assertThatThrownBy(() -> NoArgConstructors.newInstance(ThrowingConstructor.class))
+        .isInstanceOf(InvocationTargetException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  public static class PublicConstructor {
+  }
+
+  static class PackagePrivateClass {
+    public PackagePrivateClass() {}
+  }
+
+  public static class PrivateConstructor {
+    private PrivateConstructor() {}
+  }
+
+  public abstract static class AbstractClass {
+    public AbstractClass() {}
+  }
+
+  public static class ThrowingConstructor {
+    public ThrowingConstructor() {
+      throw new IllegalStateException();
+    }
+  }
+}
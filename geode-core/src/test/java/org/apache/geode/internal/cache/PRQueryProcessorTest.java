@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class PRQueryProcessorTest {
+
+  @Test
+  public void splitBucketsIntoSlicesOfNearlyEqualSize() {
+    List<List<Integer>> slices =
+        PRQueryProcessor.splitBuckets(Arrays.asList(1, 2, 3, 4, 5, 6, 7), 3);
+
+    assertThat(slices).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4),
+        Arrays.asList(5, 6, 7));
+  }
+
+  @Test
+  public void splitBucketsCreatesNoMoreSlicesThanBuckets() {
+    List<List<Integer>> slices = PRQueryProcessor.splitBuckets(Arrays.asList(1, 2), 4);
+
+    assertThat(slices).containsExactly(Arrays.asList(1), Arrays.asList(2));
+  }
+}
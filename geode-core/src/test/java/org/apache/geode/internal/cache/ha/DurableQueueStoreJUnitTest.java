@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.ha;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.internal.cache.EnumListenerEvent;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.ha.DurableQueueStore.StoredValue;
+import org.apache.geode.internal.cache.tier.sockets.CacheClientProxyStats;
+import org.apache.geode.internal.cache.tier.sockets.ClientUpdateMessageImpl;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class DurableQueueStoreJUnitTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private CacheClientProxyStats stats;
+
+  private DurableQueueStore store;
+
+  @Before
+  public void setUp() throws Exception {
+    stats = mock(CacheClientProxyStats.class);
+    store = new DurableQueueStore(temporaryFolder.getRoot(), "queue/name", stats);
+  }
+
+  @After
+  public void tearDown() {
+    store.close();
+  }
+
+  @Test
+  public void storedValuesAreReadBackUntilReleased() throws Exception {
+    StoredValue first = store.store(new byte[] {1, 2, 3});
+    StoredValue second = store.store(new byte[] {4, 5});
+
+    assertThat(first.getBytes()).containsExactly(1, 2, 3);
+    assertThat(second.getBytes()).containsExactly(4, 5);
+    assertThat(store.getBytesStored()).isEqualTo(5);
+    verify(stats).incQueueBytesOnDisk(3);
+    verify(stats).incQueueBytesOnDisk(2);
+
+    first.release();
+
+    assertThat(first.getBytes()).isNull();
+    assertThat(second.getBytes()).containsExactly(4, 5);
+    assertThat(store.getBytesStored()).isEqualTo(2);
+    verify(stats).incQueueBytesOnDisk(-3);
+  }
+
+  @Test
+  public void fileIsWrittenFromItsStartOnceEveryValueIsReleased() throws Exception {
+    store.store(new byte[] {1, 2, 3}).release();
+
+    StoredValue value = store.store(new byte[] {4, 5});
+    StoredValue next = store.store(new byte[] {6});
+
+    assertThat(value.getBytes()).containsExactly(4, 5);
+    assertThat(next.getBytes()).containsExactly(6);
+  }
+
+  @Test
+  public void valueThatDoesNotFitInTheCurrentSegmentGoesToTheLowestFreeSegment() throws Exception {
+    byte[] halfSegment = new byte[DurableQueueStore.SEGMENT_SIZE / 2 + 1];
+    store.store(halfSegment);
+    StoredValue second = store.store(halfSegment);
+    store.store(halfSegment);
+    assertThat(store.getSegmentCount()).isEqualTo(3);
+
+    second.release();
+    StoredValue fourth = store.store(new byte[] {7});
+    StoredValue fifth = store.store(halfSegment);
+
+    assertThat(fourth.getBytes()).containsExactly(7);
+    assertThat(fifth.getLength()).isEqualTo(halfSegment.length);
+    assertThat(store.getSegmentCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void freeSegmentsAtTheEndOfTheFileAreCutOff() throws Exception {
+    byte[] halfSegment = new byte[DurableQueueStore.SEGMENT_SIZE / 2 + 1];
+    StoredValue first = store.store(halfSegment);
+    StoredValue second = store.store(halfSegment);
+    StoredValue third = store.store(halfSegment);
+    assertThat(store.getFile().length()).isEqualTo(3L * DurableQueueStore.SEGMENT_SIZE);
+
+    first.release();
+    StoredValue fourth = store.store(halfSegment);
+    third.release();
+
+    assertThat(store.getSegmentCount()).isEqualTo(2);
+    assertThat(store.getFile().length()).isEqualTo(2L * DurableQueueStore.SEGMENT_SIZE);
+
+    second.release();
+
+    assertThat(store.getSegmentCount()).isEqualTo(1);
+    assertThat(store.getFile().length()).isEqualTo(DurableQueueStore.SEGMENT_SIZE);
+    assertThat(fourth.getBytes()).hasSize(halfSegment.length);
+    assertThat(store.getBytesStored()).isEqualTo(halfSegment.length);
+  }
+
+  @Test
+  public void valuesLargerThanASegmentAreNotStored() throws Exception {
+    assertThat(store.store(new byte[DurableQueueStore.SEGMENT_SIZE + 1])).isNull();
+    assertThat(store.getBytesStored()).isZero();
+  }
+
+  @Test
+  public void closeKeepsValuesThatWereNotReleasedAndDeletesTheFile() throws Exception {
+    StoredValue value = store.store(new byte[] {1, 2, 3});
+    assertThat(store.getFile()).exists();
+
+    store.close();
+
+    assertThat(store.getFile()).doesNotExist();
+    assertThat(value.getBytes()).containsExactly(1, 2, 3);
+    assertThat(store.store(new byte[] {4})).isNull();
+    verify(stats).incQueueBytesOnDisk(-3);
+  }
+
+  @Test
+  public void updateMessageValueIsReadFromTheStoreUntilReleased() throws Exception {
+    LocalRegion region = mock(LocalRegion.class);
+    when(region.getFullPath()).thenReturn("/region");
+    ClientUpdateMessageImpl message = new ClientUpdateMessageImpl(EnumListenerEvent.AFTER_UPDATE,
+        region, "key", new byte[] {1, 2, 3}, (byte) 0x01, null, null,
+        new EventID(new byte[] {1}, 1, 1));
+
+    assertThat(message.storeValue(store)).isEqualTo(3);
+    assertThat(message.storeValue(store)).isZero();
+    assertThat(message.isValueStored()).isTrue();
+    assertThat((byte[]) message.getValue()).containsExactly(1, 2, 3);
+
+    message.releaseStoredValue();
+
+    assertThat(message.isValueStored()).isFalse();
+    assertThat(store.getBytesStored()).isZero();
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.ha;
+
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.internal.cache.EnumListenerEvent;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.tier.sockets.CacheClientProxy;
+import org.apache.geode.internal.cache.tier.sockets.CacheClientProxyStats;
+import org.apache.geode.internal.cache.tier.sockets.ClientUpdateMessageImpl;
+import org.apache.geode.internal.cache.tier.sockets.HAEventWrapper;
+import org.apache.geode.internal.cache.tier.sockets.HandShake;
+import org.apache.geode.test.junit.categories.ClientSubscriptionTest;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests that a durable HARegionQueue moves the values of its events into a
+ * {@link DurableQueueStore} while its client is disconnected, and reads them back and releases
+ * them as the events leave the queue.
+ */
+@Category({IntegrationTest.class, ClientSubscriptionTest.class})
+public class HARegionQueueDurableStoreJUnitTest {
+
+  private static final String QUEUE_NAME = "durableQueue";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private String storeDirectory;
+
+  private InternalCache cache;
+
+  private CacheClientProxy proxy;
+
+  private CacheClientProxyStats stats;
+
+  private LocalRegion dataRegion;
+
+  private HARegionQueue queue;
+
+  @Before
+  public void setUp() throws Exception {
+    this.storeDirectory = HARegionQueue.DURABLE_QUEUE_STORE_DIRECTORY;
+    HARegionQueue.DURABLE_QUEUE_STORE_DIRECTORY = this.temporaryFolder.getRoot().getPath();
+    this.cache = (InternalCache) new CacheFactory().set(MCAST_PORT, "0").create();
+    this.stats = mock(CacheClientProxyStats.class);
+    this.proxy = mock(CacheClientProxy.class);
+    when(this.proxy.getStatistics()).thenReturn(this.stats);
+    this.dataRegion = mock(LocalRegion.class);
+    when(this.dataRegion.getFullPath()).thenReturn("/region");
+
+    HAContainerMap haContainer = new HAContainerMap(new ConcurrentHashMap());
+    haContainer.putProxy(HARegionQueue.createRegionName(QUEUE_NAME), this.proxy);
+    this.queue = HARegionQueue.getHARegionQueueInstance(QUEUE_NAME, this.cache,
+        HARegionQueueAttributes.DEFAULT_HARQ_ATTRIBUTES, HARegionQueue.BLOCKING_HA_QUEUE, true,
+        haContainer, null, HandShake.CONFLATION_DEFAULT, true, false);
+  }
+
+  @After
+  public void tearDown() {
+    HARegionQueue.DURABLE_QUEUE_STORE_DIRECTORY = this.storeDirectory;
+    if (this.cache != null) {
+      this.cache.close();
+    }
+  }
+
+  @Test
+  public void valuesAreStoredWhileTheClientIsPaused() throws Exception {
+    when(this.proxy.isPaused()).thenReturn(true);
+
+    ClientUpdateMessageImpl first = put(1, new byte[] {1, 2, 3});
+    ClientUpdateMessageImpl second = put(2, new byte[] {4, 5});
+
+    assertThat(first.isValueStored()).isTrue();
+    assertThat(second.isValueStored()).isTrue();
+    assertThat((byte[]) first.getValue()).containsExactly(1, 2, 3);
+    assertThat(this.temporaryFolder.getRoot().list()).hasSize(1);
+    verify(this.stats).incQueueBytesOnDisk(3);
+    verify(this.stats).incQueueBytesOnDisk(2);
+  }
+
+  @Test
+  public void valuesQueuedBeforeTheClientPausedAreStoredOnceItPauses() throws Exception {
+    ClientUpdateMessageImpl first = put(1, new byte[] {1, 2, 3});
+    assertThat(first.isValueStored()).isFalse();
+    assertThat(this.temporaryFolder.getRoot().list()).isEmpty();
+
+    when(this.proxy.isPaused()).thenReturn(true);
+    ClientUpdateMessageImpl second = put(2, new byte[] {4, 5});
+
+    assertThat(first.isValueStored()).isTrue();
+    assertThat(second.isValueStored()).isTrue();
+    verify(this.stats).incQueueBytesOnDisk(3);
+  }
+
+  @Test
+  public void takeRestoresTheValueAndReleasesItFromTheStore() throws Exception {
+    when(this.proxy.isPaused()).thenReturn(true);
+    put(1, new byte[] {1, 2, 3});
+    when(this.proxy.isPaused()).thenReturn(false);
+
+    ClientUpdateMessageImpl taken = (ClientUpdateMessageImpl) this.queue.take();
+
+    assertThat(taken.isValueStored()).isFalse();
+    assertThat((byte[]) taken.getValue()).containsExactly(1, 2, 3);
+    verify(this.stats).incQueueBytesOnDisk(-3);
+  }
+
+  @Test
+  public void peekReadsTheValueFromTheStoreAndRemoveReleasesIt() throws Exception {
+    when(this.proxy.isPaused()).thenReturn(true);
+    put(1, new byte[] {1, 2, 3});
+    when(this.proxy.isPaused()).thenReturn(false);
+
+    ClientUpdateMessageImpl peeked = (ClientUpdateMessageImpl) this.queue.peek();
+
+    assertThat(peeked.isValueStored()).isTrue();
+    assertThat((byte[]) peeked.getValue()).containsExactly(1, 2, 3);
+    verify(this.stats, never()).incQueueBytesOnDisk(-3);
+
+    // A durable queue only removes the events its client has acknowledged
+    this.queue.createAckedEventsMap();
+    this.queue.addDispatchedMessage(new ThreadIdentifier(new byte[] {1}, 1), 1);
+    this.queue.setAckedEvents();
+    this.queue.remove();
+
+    assertThat(peeked.isValueStored()).isFalse();
+    verify(this.stats).incQueueBytesOnDisk(-3);
+  }
+
+  /**
+   * Durable queues have no entry expiry. Their events go away when the durable client times out
+   * and its queue is destroyed.
+   */
+  @Test
+  public void destroyingTheQueueReleasesTheValuesAndDeletesTheStore() throws Exception {
+    when(this.proxy.isPaused()).thenReturn(true);
+    ClientUpdateMessageImpl message = put(1, new byte[] {1, 2, 3});
+    assertThat(this.temporaryFolder.getRoot().list()).hasSize(1);
+
+    this.queue.destroy();
+
+    assertThat(message.isValueStored()).isFalse();
+    assertThat(this.temporaryFolder.getRoot().list()).isEmpty();
+    verify(this.stats).incQueueBytesOnDisk(-3);
+  }
+
+  private ClientUpdateMessageImpl put(long sequenceId, byte[] value) throws Exception {
+    ClientUpdateMessageImpl message = new ClientUpdateMessageImpl(EnumListenerEvent.AFTER_UPDATE,
+        this.dataRegion, "key-" + sequenceId, value, (byte) 0x01, null, null,
+        new EventID(new byte[] {1}, 1, sequenceId));
+    this.queue.put(new HAEventWrapper(message));
+    return message;
+  }
+}
@@ -1291,6 +1291,58 @@ public class HARegionQueueJUnitTest {
     testBatchPeekWithRemove(true);
   }
 
+  /**
+   * Tests that peekBatch peeks the available events up to the batch size, and that remove removes
+   * all of them
+   */
+  @Test
+  public void testPeekBatchWithRemoveForBlockingQueue() throws Exception {
+    HARegionQueue regionQueue = createHARegionQueue(true);
+    for (int i = 0; i < 10; ++i) {
+      EventID ev1 = new EventID(new byte[] {1}, 1, i);
+      regionQueue.put(
+          new ConflatableObject("key" + i, "value", ev1, false, this.testName.getMethodName()));
+    }
+
+    List objs = regionQueue.peekBatch(4);
+    assertThat(objs.size(), is(4));
+    for (int j = 0; j < 4; j++) {
+      assertThat(((Conflatable) objs.get(j)).getEventId().getSequenceID(), is((long) j));
+    }
+    regionQueue.remove();
+    assertThat(regionQueue.size(), is(6));
+
+    objs = regionQueue.peekBatch(10);
+    assertThat(objs.size(), is(6));
+    assertThat(((Conflatable) objs.get(0)).getEventId().getSequenceID(), is(4L));
+    regionQueue.remove();
+    assertThat(regionQueue.size(), is(0));
+  }
+
+  /**
+   * Tests that peekBatch on an empty blocking queue waits for an event to be put
+   */
+  @Test
+  public void testPeekBatchWaitsForEventOnEmptyBlockingQueue() throws Exception {
+    HARegionQueue regionQueue = createHARegionQueue(true);
+    Thread putter = new Thread(() -> {
+      try {
+        Thread.sleep(1000);
+        regionQueue.put(new ConflatableObject("key", "value", new EventID(new byte[] {1}, 1, 1),
+            false, this.testName.getMethodName()));
+      } catch (Exception e) {
+        errorCollector.addError(e);
+      }
+    });
+    putter.start();
+
+    List objs = regionQueue.peekBatch(10);
+    ThreadUtils.join(putter, 60 * 1000);
+    assertThat(objs.size(), is(1));
+    regionQueue.remove();
+    assertThat(regionQueue.size(), is(0));
+  }
+
   private void testBatchPeekWithRemove(boolean createBlockingQueue)
       throws InterruptedException, IOException, ClassNotFoundException {
     HARegionQueue regionQueue = createHARegionQueue(createBlockingQueue);
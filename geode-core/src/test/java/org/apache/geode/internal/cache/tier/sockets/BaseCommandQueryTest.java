@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.apache.geode.internal.cache.tier.sockets.BaseCommand.MAXIMUM_CHUNK_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.query.SelectResults;
+import org.apache.geode.cache.query.internal.CqEntry;
+import org.apache.geode.cache.query.internal.StructImpl;
+import org.apache.geode.cache.query.internal.cq.ServerCQ;
+import org.apache.geode.cache.query.internal.types.StructTypeImpl;
+import org.apache.geode.cache.query.types.CollectionType;
+import org.apache.geode.internal.security.SecurityService;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class BaseCommandQueryTest {
+
+  private BaseCommandQuery command;
+
+  private ServerConnection serverConnection;
+
+  private ChunkedMessage queryResponseMessage;
+
+  private CollectionType collectionType;
+
+  private SecurityService securityService;
+
+  @Before
+  public void setUp() {
+    this.command = new BaseCommandQuery() {
+      @Override
+      public void cmdExecute(Message clientMessage, ServerConnection serverConnection,
+          SecurityService securityService, long start) {}
+    };
+    this.queryResponseMessage = mock(ChunkedMessage.class);
+    this.serverConnection = mock(ServerConnection.class);
+    when(this.serverConnection.getQueryResponseMessage()).thenReturn(this.queryResponseMessage);
+    this.collectionType = mock(CollectionType.class);
+    this.securityService = mock(SecurityService.class);
+    when(this.securityService.postProcess(any(), any(), any(), anyBoolean()))
+        .thenAnswer(invocation -> invocation.getArgument(2));
+  }
+
+  @Test
+  public void resultCountThatIsAMultipleOfTheChunkSizeFlagsTheLastFullChunk() throws Exception {
+    List<Object> results = numbers(2 * MAXIMUM_CHUNK_SIZE);
+
+    sendAsObjectArray(results, false, null, false);
+
+    List<Object[]> chunks = getObjectArrayChunks(2);
+    assertThat(chunks.get(0)).hasSize(MAXIMUM_CHUNK_SIZE);
+    assertThat(chunks.get(1)).hasSize(MAXIMUM_CHUNK_SIZE);
+    assertThat(getLastChunkFlags()).containsExactly(false, true);
+    assertThat(flatten(chunks)).isEqualTo(results);
+  }
+
+  @Test
+  public void resultCountThatIsAMultipleOfTheChunkSizeFlagsTheLastFullPartList() throws Exception {
+    List<Object> results = numbers(2 * MAXIMUM_CHUNK_SIZE);
+
+    sendAsObjectPartList(results, false, null, false);
+
+    List<ObjectPartList> chunks = getObjectPartListChunks(2);
+    assertThat(chunks.get(0).size()).isEqualTo(MAXIMUM_CHUNK_SIZE);
+    assertThat(chunks.get(1).size()).isEqualTo(MAXIMUM_CHUNK_SIZE);
+    assertThat(getLastChunkFlags()).containsExactly(false, true);
+  }
+
+  @Test
+  public void resultsAreSentInChunksOfAtMostTheChunkSize() throws Exception {
+    List<Object> results = numbers(MAXIMUM_CHUNK_SIZE + 1);
+
+    sendAsObjectArray(results, false, null, false);
+
+    List<Object[]> chunks = getObjectArrayChunks(2);
+    assertThat(chunks.get(0)).hasSize(MAXIMUM_CHUNK_SIZE);
+    assertThat(chunks.get(1)).hasSize(1);
+    assertThat(getLastChunkFlags()).containsExactly(false, true);
+    assertThat(flatten(chunks)).isEqualTo(results);
+  }
+
+  @Test
+  public void cqEntriesWithoutValuesAreSkippedWithoutSendingAnEmptyChunk() throws Exception {
+    ServerCQ cq = mock(ServerCQ.class);
+    List<Object> entries = new ArrayList<>();
+    for (int i = 0; i < MAXIMUM_CHUNK_SIZE; i++) {
+      entries.add(new CqEntry("key-" + i, "value-" + i));
+    }
+    // invalidated entries at the end of the results
+    entries.add(new CqEntry("invalid-1", null));
+    entries.add(new CqEntry("invalid-2", null));
+
+    sendAsObjectArray(entries, false, cq, false);
+
+    List<Object[]> chunks = getObjectArrayChunks(1);
+    assertThat(chunks.get(0)).hasSize(MAXIMUM_CHUNK_SIZE).contains("value-0")
+        .doesNotContainNull();
+    assertThat(getLastChunkFlags()).containsExactly(true);
+    verify(cq).addToCqResultKeys("key-0");
+    verify(cq, never()).addToCqResultKeys("invalid-1");
+  }
+
+  @Test
+  public void cqEntriesWithoutValuesAreSkippedInPartLists() throws Exception {
+    ServerCQ cq = mock(ServerCQ.class);
+    when(cq.isPR()).thenReturn(true);
+    List<Object> entries = Arrays.asList(new CqEntry("key-1", "value-1"),
+        new CqEntry("invalid", null), new CqEntry("key-2", "value-2"));
+
+    sendAsObjectPartList(entries, false, cq, true);
+
+    ObjectPartList chunk = getObjectPartListChunks(1).get(0);
+    assertThat(chunk.size()).isEqualTo(2);
+    ObjectPartList first = (ObjectPartList) chunk.getObjects().get(0);
+    assertThat(first.getObjects()).containsExactly("key-1", "value-1");
+    assertThat(getLastChunkFlags()).containsExactly(true);
+    verify(cq, never()).addToCqResultKeys(any());
+  }
+
+  @Test
+  public void cqResultsWithOnlyInvalidatedEntriesSendOneEmptyLastChunk() throws Exception {
+    ServerCQ cq = mock(ServerCQ.class);
+
+    sendAsObjectArray(Arrays.asList(new CqEntry("invalid", null)), false, cq, false);
+
+    assertThat(getObjectArrayChunks(1).get(0)).isEmpty();
+    assertThat(getLastChunkFlags()).containsExactly(true);
+  }
+
+  @Test
+  public void structsAreSentAsTheirFieldValues() throws Exception {
+    StructTypeImpl type = new StructTypeImpl(new String[] {"id", "name"});
+    List<Object> structs = Arrays.asList(new StructImpl(type, new Object[] {1, "one"}),
+        new StructImpl(type, new Object[] {2, "two"}));
+
+    sendAsObjectArray(structs, true, null, false);
+
+    Object[] chunk = getObjectArrayChunks(1).get(0);
+    assertThat(chunk).containsExactly(new Object[] {1, "one"}, new Object[] {2, "two"});
+  }
+
+  @Test
+  public void structsAreSentAsPartListsOfTheirFieldValues() throws Exception {
+    StructTypeImpl type = new StructTypeImpl(new String[] {"id", "name"});
+    List<Object> structs = Arrays.asList(new StructImpl(type, new Object[] {1, "one"}),
+        new StructImpl(type, new Object[] {2, "two"}));
+
+    sendAsObjectPartList(structs, true, null, false);
+
+    ObjectPartList chunk = getObjectPartListChunks(1).get(0);
+    assertThat(((ObjectPartList) chunk.getObjects().get(0)).getObjects()).containsExactly(1,
+        "one");
+    assertThat(((ObjectPartList) chunk.getObjects().get(1)).getObjects()).containsExactly(2,
+        "two");
+  }
+
+  private void sendAsObjectArray(List<Object> results, boolean isStructs, ServerCQ cq,
+      boolean sendCqResultsWithKey) throws Exception {
+    SelectResults selectResults = mock(SelectResults.class);
+    when(selectResults.iterator()).thenReturn(results.iterator());
+    this.command.sendResultsAsObjectArray(selectResults, 0, this.serverConnection, isStructs,
+        this.collectionType, "query", cq, sendCqResultsWithKey, true);
+  }
+
+  private void sendAsObjectPartList(List<Object> results, boolean isStructs, ServerCQ cq,
+      boolean sendCqResultsWithKey) throws Exception {
+    this.command.sendResultsAsObjectPartList(0, this.serverConnection, results.iterator(),
+        isStructs, this.collectionType, "query", cq, sendCqResultsWithKey, true,
+        this.securityService);
+  }
+
+  private List<Object> getChunks(int count) {
+    ArgumentCaptor<Object> parts = ArgumentCaptor.forClass(Object.class);
+    verify(this.queryResponseMessage, atLeastOnce()).addObjPart(parts.capture(), eq(false));
+    // each chunk is the collection type followed by the results
+    List<Object> chunks = new ArrayList<>();
+    for (int i = 0; i < parts.getAllValues().size(); i += 2) {
+      assertThat(parts.getAllValues().get(i)).isSameAs(this.collectionType);
+      chunks.add(parts.getAllValues().get(i + 1));
+    }
+    assertThat(chunks).hasSize(count);
+    return chunks;
+  }
+
+  private List<Object[]> getObjectArrayChunks(int count) {
+    List<Object[]> chunks = new ArrayList<>();
+    for (Object chunk : getChunks(count)) {
+      chunks.add((Object[]) chunk);
+    }
+    return chunks;
+  }
+
+  private List<ObjectPartList> getObjectPartListChunks(int count) {
+    List<ObjectPartList> chunks = new ArrayList<>();
+    for (Object chunk : getChunks(count)) {
+      chunks.add((ObjectPartList) chunk);
+    }
+    return chunks;
+  }
+
+  private List<Boolean> getLastChunkFlags() {
+    ArgumentCaptor<Boolean> flags = ArgumentCaptor.forClass(Boolean.class);
+    verify(this.queryResponseMessage, atLeastOnce()).setLastChunk(flags.capture());
+    return flags.getAllValues();
+  }
+
+  private static List<Object> numbers(int count) {
+    List<Object> numbers = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      numbers.add(i);
+    }
+    return numbers;
+  }
+
+  private static List<Object> flatten(List<Object[]> chunks) {
+    List<Object> results = new ArrayList<>();
+    for (Object[] chunk : chunks) {
+      results.addAll(Arrays.asList(chunk));
+    }
+    return results;
+  }
+}
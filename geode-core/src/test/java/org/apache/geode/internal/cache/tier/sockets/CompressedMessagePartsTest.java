@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.Version;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CompressedMessagePartsTest {
+
+  @Test
+  public void decompressRestoresCompressedParts() throws Exception {
+    Message parts = new Message(300, Version.CURRENT);
+    for (int i = 0; i < 100; i++) {
+      parts.addIntPart(i);
+      parts.addStringPart("/region/key-" + i);
+      parts.addRawPart(new byte[] {1, 2, 3}, true);
+    }
+    byte[] compressed = CompressedMessageParts.compress(parts);
+
+    Message message = new Message(2, Version.CURRENT);
+    message.addIntPart(100);
+    message.addBytesPart(compressed);
+    int uncompressedLength = CompressedMessageParts.decompress(message, 1);
+
+    assertThat(uncompressedLength).isGreaterThan(compressed.length);
+    assertThat(message.getNumberOfParts()).isEqualTo(301);
+    assertThat(message.getPart(0).getInt()).isEqualTo(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(message.getPart(1 + i * 3).getInt()).isEqualTo(i);
+      assertThat(message.getPart(2 + i * 3).getString()).isEqualTo("/region/key-" + i);
+      assertThat(message.getPart(3 + i * 3).isObject()).isTrue();
+      assertThat(message.getPart(3 + i * 3).getSerializedForm()).containsExactly(1, 2, 3);
+    }
+  }
+}
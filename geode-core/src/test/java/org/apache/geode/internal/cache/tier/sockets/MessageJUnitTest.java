@@ -17,6 +17,8 @@ package org.apache.geode.internal.cache.tier.sockets;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.net.Socket;
 import java.nio.ByteBuffer;
 
@@ -26,6 +28,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.test.junit.categories.UnitTest;
 
 @Category({UnitTest.class, ClientServerTest.class})
@@ -97,6 +100,39 @@ public class MessageJUnitTest {
     }
   }
 
+  @Test
+  public void bufferedMessagesAreWrittenTogether() throws Exception {
+    Socket mockSocket = mock(Socket.class);
+    ByteArrayOutputStream out = spy(new ByteArrayOutputStream());
+    ByteBuffer buffer = ByteBuffer.allocate(1000);
+    for (int i = 0; i < 3; i++) {
+      Message message = new Message(2, Version.CURRENT);
+      message.setMessageType(MessageType.LOCAL_UPDATE);
+      message.setTransactionId(i);
+      message.addIntPart(i);
+      message.addStringPart("key-" + i);
+      message.setComms(mockSocket, null, out, buffer, mock(MessageStats.class));
+      message.sendBuffered();
+      if (i == 2) {
+        message.flushBufferedMessages();
+      }
+    }
+    verify(out, times(1)).write(any(byte[].class), anyInt(), anyInt());
+
+    ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+    for (int i = 0; i < 3; i++) {
+      Message message = new Message(2, Version.CURRENT);
+      message.setComms(mockSocket, in, null, ByteBuffer.allocate(1000),
+          mock(MessageStats.class));
+      message.recv();
+      assertEquals(MessageType.LOCAL_UPDATE, message.getMessageType());
+      assertEquals(i, message.getTransactionId());
+      assertEquals(i, message.getPart(0).getInt());
+      assertEquals("key-" + i, message.getPart(1).getString());
+    }
+    assertEquals(0, in.available());
+  }
+
   /**
    * geode-1468: Message should clear the chunks in its Parts when performing cleanup.
    */
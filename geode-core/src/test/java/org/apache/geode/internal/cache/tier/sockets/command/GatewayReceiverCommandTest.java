@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.CacheClosedException;
+import org.apache.geode.distributed.internal.DM;
+import org.apache.geode.distributed.internal.InternalDistributedSystem;
+import org.apache.geode.internal.cache.EntryEventImpl;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.tier.Command;
+import org.apache.geode.internal.cache.tier.CachedRegionHelper;
+import org.apache.geode.internal.cache.tier.sockets.AcceptorImpl;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.Part;
+import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.internal.cache.wan.BatchException70;
+import org.apache.geode.internal.cache.wan.GatewayReceiverStats;
+import org.apache.geode.internal.security.SecurityService;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class GatewayReceiverCommandTest {
+
+  private static final String REGION_NAME = "/region";
+
+  private static final int BATCH_ID = 5;
+
+  private static final int KEYS = 8;
+
+  private static final int EVENTS_PER_KEY = 10;
+
+  private int originalApplyThreads;
+
+  private ExecutorService applyPool;
+
+  private Message message;
+
+  private ServerConnection serverConnection;
+
+  private LocalRegion region;
+
+  private Message replyMessage;
+
+  private Message errorResponseMessage;
+
+  /** the keys of the destroyed entries, in the order they were destroyed */
+  private List<Object> destroyedKeys;
+
+  /** the sequence ids of the destroy events, in the order they were applied */
+  private List<Long> destroyedSequenceIds;
+
+  /**
+   * the highest sequence id applied for each originating thread, like the event tracker of the
+   * receiving region, which drops events with a lower sequence id as duplicates
+   */
+  private Map<Long, Long> lastSequenceIds;
+
+  /** the keys of the events dropped as duplicates */
+  private List<Object> droppedKeys;
+
+  /** the threads that changed the state of the server connection */
+  private List<Thread> connectionWriters;
+
+  @Before
+  public void setUp() throws Exception {
+    this.originalApplyThreads = GatewayReceiverCommand.APPLY_THREADS;
+    GatewayReceiverCommand.APPLY_THREADS = 4;
+    this.applyPool = Executors.newFixedThreadPool(3);
+
+    this.message = mock(Message.class);
+    this.serverConnection = mock(ServerConnection.class);
+    this.region = mock(LocalRegion.class);
+    this.replyMessage = mock(Message.class);
+    this.errorResponseMessage = mock(Message.class);
+    this.destroyedKeys = new ArrayList<>();
+    this.destroyedSequenceIds = new ArrayList<>();
+    this.lastSequenceIds = new HashMap<>();
+    this.droppedKeys = new ArrayList<>();
+    this.connectionWriters = Collections.synchronizedList(new ArrayList<Thread>());
+
+    AcceptorImpl acceptor = mock(AcceptorImpl.class);
+    when(acceptor.getGatewayReceiverApplyPool(anyInt())).thenReturn(this.applyPool);
+    InternalDistributedSystem system = mock(InternalDistributedSystem.class);
+    when(system.getDistributionManager()).thenReturn(mock(DM.class));
+    InternalCache cache = mock(InternalCache.class);
+    when(cache.getDistributedSystem()).thenReturn(system);
+    CachedRegionHelper crHelper = mock(CachedRegionHelper.class);
+    when(crHelper.getCache()).thenReturn(cache);
+    when(crHelper.getRegion(REGION_NAME)).thenReturn(this.region);
+
+    when(this.serverConnection.getAcceptor()).thenReturn(acceptor);
+    when(this.serverConnection.getCachedRegionHelper()).thenReturn(crHelper);
+    when(this.serverConnection.getCacheServerStats()).thenReturn(mock(GatewayReceiverStats.class));
+    when(this.serverConnection.getLatestBatchIdReplied()).thenReturn(BATCH_ID - 1);
+    when(this.serverConnection.getResponseMessage()).thenReturn(this.replyMessage);
+    when(this.serverConnection.getErrorResponseMessage()).thenReturn(this.errorResponseMessage);
+    doAnswer(invocation -> this.connectionWriters.add(Thread.currentThread()))
+        .when(this.serverConnection).setModificationInfo(anyBoolean(), any(), any());
+    doAnswer(invocation -> this.connectionWriters.add(Thread.currentThread()))
+        .when(this.serverConnection).setFlagProcessMessagesAsFalse();
+    doAnswer(invocation -> this.connectionWriters.add(Thread.currentThread()))
+        .when(this.serverConnection).setClientDisconnectedException(any());
+
+    doAnswer(invocation -> {
+      Object key = invocation.getArgument(0);
+      if (key.toString().startsWith("fail")) {
+        throw new IllegalStateException("failed to destroy " + key);
+      } else if (key.toString().startsWith("cancel")) {
+        throw new CacheClosedException("closing");
+      }
+      EntryEventImpl event = invocation.getArgument(4);
+      synchronized (this.destroyedKeys) {
+        EventID eventId = event.getEventId();
+        Long last = this.lastSequenceIds.get(eventId.getThreadID());
+        if (last != null && last >= eventId.getSequenceID()) {
+          this.droppedKeys.add(key);
+          return null;
+        }
+        this.lastSequenceIds.put(eventId.getThreadID(), eventId.getSequenceID());
+        this.destroyedKeys.add(key);
+        this.destroyedSequenceIds.add(event.getEventId().getSequenceID());
+      }
+      return null;
+    }).when(this.region).basicBridgeDestroy(any(), any(), any(), anyBoolean(),
+        any(EntryEventImpl.class));
+  }
+
+  @After
+  public void tearDown() {
+    GatewayReceiverCommand.APPLY_THREADS = this.originalApplyThreads;
+    this.applyPool.shutdownNow();
+  }
+
+  @Test
+  public void eventsForTheSameKeyAreAppliedInOrder() throws Exception {
+    List<Object> keys = new ArrayList<>();
+    List<Long> threadIds = new ArrayList<>();
+    for (int i = 0; i < EVENTS_PER_KEY; i++) {
+      for (int k = 0; k < KEYS; k++) {
+        keys.add("key-" + k);
+        // each event comes from its own thread, so only the key keeps them in order
+        threadIds.add((long) keys.size());
+      }
+    }
+    setUpDestroyBatch(keys, threadIds);
+
+    execute();
+
+    assertThat(this.destroyedKeys).hasSize(keys.size());
+    for (int k = 0; k < KEYS; k++) {
+      List<Long> sequenceIds = new ArrayList<>();
+      for (int i = 0; i < keys.size(); i++) {
+        if (this.destroyedKeys.get(i).equals("key-" + k)) {
+          sequenceIds.add(this.destroyedSequenceIds.get(i));
+        }
+      }
+      assertThat(sequenceIds).hasSize(EVENTS_PER_KEY).isSorted();
+    }
+  }
+
+  @Test
+  public void eventsFromTheSameThreadForDifferentKeysAreAllApplied() throws Exception {
+    List<Object> keys = new ArrayList<>();
+    List<Long> threadIds = new ArrayList<>();
+    for (int i = 0; i < KEYS * EVENTS_PER_KEY; i++) {
+      keys.add("key-" + i);
+      // every other event comes from one thread, the others each from their own thread
+      threadIds.add(i % 2 == 0 ? 1L : 100L + i);
+    }
+    setUpDestroyBatch(keys, threadIds);
+
+    execute();
+
+    assertThat(this.droppedKeys).isEmpty();
+    assertThat(this.destroyedKeys).hasSameElementsAs(keys);
+    List<Long> sequenceIds = new ArrayList<>();
+    for (int i = 0; i < this.destroyedKeys.size(); i++) {
+      int index = keys.indexOf(this.destroyedKeys.get(i));
+      if (index % 2 == 0) {
+        sequenceIds.add(this.destroyedSequenceIds.get(i));
+      }
+    }
+    assertThat(sequenceIds).hasSize(keys.size() / 2).isSorted();
+    verify(this.replyMessage).send(this.serverConnection);
+  }
+
+  @Test
+  public void batchIsAcknowledgedFromTheCallingThread() throws Exception {
+    List<Object> keys = new ArrayList<>();
+    for (int i = 0; i < KEYS * EVENTS_PER_KEY; i++) {
+      keys.add("key-" + i);
+    }
+    setUpDestroyBatch(keys);
+
+    execute();
+
+    verify(this.replyMessage).addIntPart(BATCH_ID);
+    verify(this.replyMessage).addIntPart(keys.size());
+    verify(this.replyMessage).send(this.serverConnection);
+    verify(this.serverConnection).incrementLatestBatchIdReplied(BATCH_ID);
+    verify(this.serverConnection, atLeastOnce()).setAsTrue(Command.RESPONDED);
+    verify(this.errorResponseMessage, never()).send(any(ServerConnection.class));
+    // the last event of the batch is the last modification
+    verify(this.serverConnection).setModificationInfo(true, REGION_NAME, keys.get(keys.size() - 1));
+    assertThat(this.connectionWriters).hasSize(keys.size()).containsOnly(Thread.currentThread());
+  }
+
+  @Test
+  public void exceptionsAreReportedInTheOrderOfTheirEvents() throws Exception {
+    List<Object> keys = new ArrayList<>();
+    for (int i = 0; i < KEYS * EVENTS_PER_KEY; i++) {
+      keys.add(i == 3 || i == 17 || i == 42 ? "fail-" + i : "key-" + i);
+    }
+    setUpDestroyBatch(keys);
+
+    execute();
+
+    ArgumentCaptor<Object> exceptions = ArgumentCaptor.forClass(Object.class);
+    verify(this.errorResponseMessage).addObjPart(exceptions.capture());
+    List<Integer> indexes = new ArrayList<>();
+    for (Object exception : (List<?>) exceptions.getValue()) {
+      indexes.add(((BatchException70) exception).getIndex());
+    }
+    assertThat(indexes).containsExactly(3, 17, 42);
+    verify(this.serverConnection).incrementLatestBatchIdReplied(BATCH_ID);
+    verify(this.replyMessage, never()).send(any(ServerConnection.class));
+    assertThat(this.destroyedKeys).hasSize(keys.size() - 3);
+    assertThat(this.connectionWriters).containsOnly(Thread.currentThread());
+  }
+
+  @Test
+  public void cancelledBatchClosesTheConnectionFromTheCallingThread() throws Exception {
+    List<Object> keys = new ArrayList<>();
+    for (int i = 0; i < KEYS * EVENTS_PER_KEY; i++) {
+      keys.add(i == 21 ? "cancel-" + i : "key-" + i);
+    }
+    setUpDestroyBatch(keys);
+
+    execute();
+
+    verify(this.serverConnection).setFlagProcessMessagesAsFalse();
+    verify(this.serverConnection).setClientDisconnectedException(any(CacheClosedException.class));
+    verify(this.serverConnection, never()).incrementLatestBatchIdReplied(anyInt());
+    verify(this.replyMessage, never()).send(any(ServerConnection.class));
+    verify(this.errorResponseMessage, never()).send(any(ServerConnection.class));
+    assertThat(this.connectionWriters).containsOnly(Thread.currentThread());
+  }
+
+  private void execute() throws Exception {
+    GatewayReceiverCommand command = (GatewayReceiverCommand) GatewayReceiverCommand.getCommand();
+    command.cmdExecute(this.message, this.serverConnection, mock(SecurityService.class), 0);
+  }
+
+  /**
+   * Sets up the message for a batch of destroys of the given keys, each sent by its own thread.
+   */
+  private void setUpDestroyBatch(List<Object> keys) throws Exception {
+    List<Long> threadIds = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i++) {
+      threadIds.add((long) i);
+    }
+    setUpDestroyBatch(keys, threadIds);
+  }
+
+  /**
+   * Sets up the message for a batch of destroys of the given keys without callback arguments, whose
+   * failed events are not retried, each sent by the thread at the same index of the given ids.
+   */
+  private void setUpDestroyBatch(List<Object> keys, List<Long> threadIds) throws Exception {
+    int partNumber = 0;
+    Part numberOfEvents = intPart(keys.size());
+    when(this.message.getPart(partNumber++)).thenReturn(numberOfEvents);
+    Part batchId = intPart(BATCH_ID);
+    when(this.message.getPart(partNumber++)).thenReturn(batchId);
+    Part dsid = intPart(1);
+    when(this.message.getPart(partNumber++)).thenReturn(dsid);
+    Part batchFlags = bytesPart(new byte[] {1});
+    when(this.message.getPart(partNumber++)).thenReturn(batchFlags);
+    int sequence = 0;
+    for (int i = 0; i < keys.size(); i++) {
+      Object key = keys.get(i);
+      Part actionType = intPart(2);
+      when(this.message.getPart(partNumber++)).thenReturn(actionType);
+      Part possibleDuplicate = bytesPart(new byte[] {0});
+      when(this.message.getPart(partNumber++)).thenReturn(possibleDuplicate);
+      Part regionName = mock(Part.class);
+      when(regionName.getString()).thenReturn(REGION_NAME);
+      when(this.message.getPart(partNumber++)).thenReturn(regionName);
+      Part eventId = mock(Part.class);
+      when(eventId.getObject()).thenReturn(new EventID(new byte[] {1}, threadIds.get(i), sequence++));
+      when(this.message.getPart(partNumber++)).thenReturn(eventId);
+      Part keyPart = mock(Part.class);
+      when(keyPart.getStringOrObject()).thenReturn(key);
+      when(keyPart.getSerializedForm()).thenReturn(key.toString().getBytes("UTF-8"));
+      when(this.message.getPart(partNumber++)).thenReturn(keyPart);
+      Part callbackArgExists = bytesPart(new byte[] {0});
+      when(this.message.getPart(partNumber++)).thenReturn(callbackArgExists);
+      Part versionTimeStamp = mock(Part.class);
+      when(versionTimeStamp.getLong()).thenReturn(0L);
+      when(this.message.getPart(partNumber++)).thenReturn(versionTimeStamp);
+    }
+  }
+
+  private static Part intPart(int value) throws Exception {
+    Part part = mock(Part.class);
+    when(part.getInt()).thenReturn(value);
+    return part;
+  }
+
+  private static Part bytesPart(byte[] value) throws Exception {
+    Part part = mock(Part.class);
+    when(part.getObject()).thenReturn(value);
+    when(part.getSerializedForm()).thenReturn(value);
+    return part;
+  }
+}
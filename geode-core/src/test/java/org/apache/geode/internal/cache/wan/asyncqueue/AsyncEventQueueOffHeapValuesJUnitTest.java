@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan.asyncqueue;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.distributed.ConfigurationProperties.OFF_HEAP_MEMORY_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.asyncqueue.AsyncEvent;
+import org.apache.geode.cache.asyncqueue.AsyncEventListener;
+import org.apache.geode.cache.asyncqueue.AsyncEventQueue;
+import org.apache.geode.internal.cache.EntryEventImpl;
+import org.apache.geode.internal.cache.EnumListenerEvent;
+import org.apache.geode.internal.cache.EventID;
+import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.offheap.MemoryAllocator;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+@Category(IntegrationTest.class)
+public class AsyncEventQueueOffHeapValuesJUnitTest {
+
+  private static final int NUMBER_OF_EVENTS = 100;
+
+  private GemFireCacheImpl cache;
+
+  @Before
+  public void setUp() {
+    AbstractGatewaySender.OFF_HEAP_EVENT_VALUES = true;
+    Properties props = new Properties();
+    props.setProperty(LOCATORS, "");
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(OFF_HEAP_MEMORY_SIZE, "10m");
+    cache = (GemFireCacheImpl) new CacheFactory(props).create();
+  }
+
+  @After
+  public void tearDown() {
+    AbstractGatewaySender.OFF_HEAP_EVENT_VALUES =
+        Boolean.getBoolean("GatewaySender.OFF_HEAP_EVENT_VALUES");
+    cache.close();
+  }
+
+  @Test
+  public void valuesOfQueuedEventsAreStoredOffHeapAndFreedWhenDispatched() throws Exception {
+    CountDownLatch dispatch = new CountDownLatch(1);
+    AtomicInteger numberOfEvents = new AtomicInteger();
+    AsyncEventListener listener = new AsyncEventListener() {
+      @Override
+      public boolean processEvents(List<AsyncEvent> events) {
+        try {
+          dispatch.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+        for (AsyncEvent event : events) {
+          assertThat(event.getDeserializedValue()).isEqualTo(valueOf(event.getKey()));
+        }
+        numberOfEvents.addAndGet(events.size());
+        return true;
+      }
+
+      @Override
+      public void close() {}
+    };
+    AsyncEventQueue queue = cache.createAsyncEventQueueFactory().setParallel(true)
+        .setBatchSize(NUMBER_OF_EVENTS).create("queue", listener);
+    Region<Integer, String> region = cache.<Integer, String>createRegionFactory(
+        RegionShortcut.PARTITION).addAsyncEventQueueId(queue.getId()).create("region");
+    MemoryAllocator allocator = cache.getOffHeapStore();
+
+    for (int i = 0; i < NUMBER_OF_EVENTS; i++) {
+      region.put(i, valueOf(i));
+    }
+    assertThat(allocator.getStats().getObjects()).isEqualTo(NUMBER_OF_EVENTS);
+    assertThat(allocator.getUsedMemory()).isGreaterThan(0);
+
+    dispatch.countDown();
+    Awaitility.await().atMost(60, TimeUnit.SECONDS).until(() -> {
+      assertThat(numberOfEvents.get()).isEqualTo(NUMBER_OF_EVENTS);
+      assertThat(allocator.getStats().getObjects()).isEqualTo(0);
+    });
+  }
+
+  @Test
+  public void valuesOfEventsThatDisallowOffHeapValuesStayOnTheHeap() throws Exception {
+    LocalRegion region = (LocalRegion) cache.createRegionFactory(RegionShortcut.REPLICATE)
+        .create("region");
+    MemoryAllocator allocator = cache.getOffHeapStore();
+    EntryEventImpl event = EntryEventImpl.create(region, Operation.UPDATE, 1, valueOf(1), null,
+        false, cache.getMyId());
+    event.disallowOffHeapValues();
+    event.setEventId(new EventID(cache.getInternalDistributedSystem()));
+
+    GatewaySenderEventImpl senderEvent =
+        new GatewaySenderEventImpl(EnumListenerEvent.AFTER_UPDATE, event, null);
+
+    assertThat(allocator.getStats().getObjects()).isEqualTo(0);
+    assertThat(senderEvent.getDeserializedValue()).isEqualTo(valueOf(1));
+  }
+
+  private static String valueOf(Object key) {
+    return "a value that is stored off-heap while its event is queued " + key;
+  }
+}
@@ -15,11 +15,17 @@
 package org.apache.geode.internal.cache.wan.serial;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -28,6 +34,7 @@ import org.apache.geode.cache.Operation;
 import org.apache.geode.internal.cache.EntryEventImpl;
 import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.RegionQueue;
 import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.internal.cache.wan.GatewaySenderStats;
@@ -75,6 +82,91 @@ public class SerialGatewaySenderEventProcessorJUnitTest {
     assertEquals(0, this.processor.getUnprocessedTokensSize());
   }
 
+  @Test
+  public void validateBatchAckRemovesBatchInFlight() throws Exception {
+    GatewaySenderStats gss = mock(GatewaySenderStats.class);
+    when(sender.getStatistics()).thenReturn(gss);
+    when(sender.getGatewayEventFilters()).thenReturn(Collections.emptyList());
+
+    List<GatewaySenderEventImpl> events =
+        Arrays.asList(mock(GatewaySenderEventImpl.class), mock(GatewaySenderEventImpl.class));
+    this.processor.addBatchInFlight(0, events);
+    verify(gss).incBatchesInFlight(1);
+    assertEquals(1, this.processor.getBatchIdToEventsMap().size());
+
+    this.processor.handleSuccessBatchAck(0);
+    verify(gss).incBatchesInFlight(-1);
+    verify(gss).endBatchAck(anyLong());
+    assertEquals(0, this.processor.getBatchIdToEventsMap().size());
+    assertEquals(2, this.processor.eventsRemoved);
+
+    // A second acknowledgement of the same batch removes nothing
+    this.processor.handleSuccessBatchAck(0);
+    verify(gss, times(1)).incBatchesInFlight(-1);
+    assertEquals(2, this.processor.eventsRemoved);
+  }
+
+  @Test
+  public void validateAdaptiveBatchSizeFollowsQueueLoadAndBytes() throws Exception {
+    GatewaySenderStats gss = mock(GatewaySenderStats.class);
+    when(sender.getStatistics()).thenReturn(gss);
+    when(sender.getBatchSize()).thenReturn(100);
+    this.processor = new TestSerialGatewaySenderEventProcessor(this.sender, "ny");
+    RegionQueue queue = mock(RegionQueue.class);
+    this.processor.setQueue(queue);
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getSizeInBytes()).thenReturn(100);
+
+    // The batch size doubles while the queue holds another full batch, up to 10 times its size
+    when(queue.size()).thenReturn(10000);
+    this.processor.adjustAdaptiveBatchSize(Collections.nCopies(100, event), 100, gss);
+    assertEquals(200, this.processor.getAdaptiveBatchSize());
+    for (int i = 0; i < 5; i++) {
+      this.processor.adjustAdaptiveBatchSize(
+          Collections.nCopies(this.processor.getAdaptiveBatchSize(), event),
+          this.processor.getAdaptiveBatchSize(), gss);
+    }
+    assertEquals(1000, this.processor.getAdaptiveBatchSize());
+    verify(gss).setAdaptiveBatchSize(200);
+
+    // The batch size halves when a batch is not filled
+    this.processor.adjustAdaptiveBatchSize(Collections.nCopies(10, event), 1000, gss);
+    assertEquals(500, this.processor.getAdaptiveBatchSize());
+
+    // Batches do not hold more than the adaptive batch bytes
+    when(event.getSizeInBytes()).thenReturn(AbstractGatewaySender.ADAPTIVE_BATCH_BYTES / 100);
+    this.processor.adjustAdaptiveBatchSize(Collections.nCopies(500, event), 500, gss);
+    assertEquals(100, this.processor.getAdaptiveBatchSize());
+  }
+
+  @Test
+  public void validateAdaptiveBatchSizeDoesNotGrowWithoutABacklog() throws Exception {
+    GatewaySenderStats gss = mock(GatewaySenderStats.class);
+    when(sender.getStatistics()).thenReturn(gss);
+    when(sender.getBatchSize()).thenReturn(100);
+    this.processor = new TestSerialGatewaySenderEventProcessor(this.sender, "ny");
+    RegionQueue queue = mock(RegionQueue.class);
+    this.processor.setQueue(queue);
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getSizeInBytes()).thenReturn(100);
+
+    // The queue holds only the batch that was just peeked
+    when(queue.size()).thenReturn(100);
+    this.processor.adjustAdaptiveBatchSize(Collections.nCopies(100, event), 100, gss);
+    assertEquals(100, this.processor.getAdaptiveBatchSize());
+
+    // The queue also holds a batch that has not been acknowledged yet
+    this.processor.addBatchInFlight(1, Collections.nCopies(100, event));
+    when(queue.size()).thenReturn(200);
+    this.processor.adjustAdaptiveBatchSize(Collections.nCopies(100, event), 100, gss);
+    assertEquals(100, this.processor.getAdaptiveBatchSize());
+
+    // Another full batch is queued behind them
+    when(queue.size()).thenReturn(300);
+    this.processor.adjustAdaptiveBatchSize(Collections.nCopies(100, event), 100, gss);
+    assertEquals(200, this.processor.getAdaptiveBatchSize());
+  }
+
   @Test
   public void validateUnprocessedTokensMapReaping() throws Exception {
     // Set the token timeout low
@@ -14,10 +14,17 @@
  */
 package org.apache.geode.internal.cache.wan.serial;
 
+import java.util.List;
+
+import org.apache.geode.internal.cache.RegionQueue;
 import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
+import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.cache.wan.GatewaySenderStats;
 
 public class TestSerialGatewaySenderEventProcessor extends SerialGatewaySenderEventProcessor {
 
+  protected int eventsRemoved;
+
   public TestSerialGatewaySenderEventProcessor(AbstractGatewaySender sender, String id) {
     super(sender, id);
   }
@@ -26,7 +33,32 @@ public class TestSerialGatewaySenderEventProcessor extends SerialGatewaySenderEv
     // Overridden to not create the RegionQueue in the constructor.
   }
 
+  protected void setQueue(RegionQueue queue) {
+    this.queue = queue;
+  }
+
   protected int getUnprocessedTokensSize() {
     return this.unprocessedTokens.size();
   }
+
+  protected void addBatchInFlight(int batchId, List<GatewaySenderEventImpl> events) {
+    List<GatewaySenderEventImpl>[] eventsArr = new List[] {events, events};
+    addBatchInFlight(batchId, eventsArr, this.sender.getStatistics());
+  }
+
+  @Override
+  protected void adjustAdaptiveBatchSize(List<GatewaySenderEventImpl> events, int peekedBatchSize,
+      GatewaySenderStats statistics) {
+    super.adjustAdaptiveBatchSize(events, peekedBatchSize, statistics);
+  }
+
+  @Override
+  protected int getAdaptiveBatchSize() {
+    return super.getAdaptiveBatchSize();
+  }
+
+  @Override
+  protected void eventQueueRemove(int size) {
+    this.eventsRemoved += size;
+  }
 }
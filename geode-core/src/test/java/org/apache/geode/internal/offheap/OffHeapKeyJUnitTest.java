@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.distributed.ConfigurationProperties.OFF_HEAP_MEMORY_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.internal.cache.AbstractRegionEntry;
+import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.OffHeapKeyRegionEntry;
+import org.apache.geode.pdx.PdxReader;
+import org.apache.geode.pdx.PdxSerializable;
+import org.apache.geode.pdx.PdxWriter;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+@Category(IntegrationTest.class)
+public class OffHeapKeyJUnitTest {
+
+  private static final String KEY = "a key that is much too long to be inlined into the entry";
+
+  private GemFireCacheImpl cache;
+  private Region<Object, Object> region;
+
+  @Before
+  public void setUp() {
+    OffHeapRegionEntryHelper.STORE_KEYS_OFF_HEAP = true;
+    createCache(false);
+  }
+
+  private void createCache(boolean pdxReadSerialized) {
+    Properties props = new Properties();
+    props.setProperty(LOCATORS, "");
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(OFF_HEAP_MEMORY_SIZE, "1m");
+    cache = (GemFireCacheImpl) new CacheFactory(props).setPdxReadSerialized(pdxReadSerialized)
+        .create();
+    region = cache.createRegionFactory(RegionShortcut.LOCAL).setConcurrencyChecksEnabled(false)
+        .setOffHeap(true).create("offHeapKeyRegion");
+  }
+
+  @After
+  public void tearDown() {
+    OffHeapRegionEntryHelper.STORE_KEYS_OFF_HEAP =
+        Boolean.getBoolean(OffHeapRegionEntryHelper.OFF_HEAP_KEYS_PROPERTY);
+    cache.close();
+  }
+
+  @Test
+  public void keyIsStoredOffHeapWhileEntryHasOffHeapValue() {
+    region.put(KEY, "value");
+
+    OffHeapKeyRegionEntry entry = getEntry(KEY);
+    assertThat(entry.getKeyField()).isInstanceOf(StoredObject.class);
+    assertThat(entry.getKey()).isEqualTo(KEY);
+    assertThat(region.get(KEY)).isEqualTo("value");
+    assertThat(region.containsKey(KEY)).isTrue();
+  }
+
+  @Test
+  public void keyIsMovedBackToHeapAndFreedWhenEntryIsDestroyed() {
+    region.put(KEY, "value");
+    OffHeapKeyRegionEntry entry = getEntry(KEY);
+
+    region.destroy(KEY);
+
+    assertThat(entry.getKeyField()).isEqualTo(KEY);
+    assertThat(entry.getKey()).isEqualTo(KEY);
+    assertThat(MemoryAllocatorImpl.getAllocator().getUsedMemory()).isZero();
+  }
+
+  @Test
+  public void stringKeyIsComparedWithTheOffHeapKey() {
+    region.put(KEY, "value");
+    OffHeapKeyRegionEntry entry = getEntry(KEY);
+
+    assertThat(isKeyEqual(entry, new String(KEY))).isTrue();
+    assertThat(isKeyEqual(entry, KEY + "!")).isFalse();
+    assertThat(isKeyEqual(entry, 1L)).isFalse();
+  }
+
+  @Test
+  public void pdxKeyIsDeserializedWhenPdxReadSerializedIsSet() {
+    cache.close();
+    createCache(true);
+    PdxKey key = new PdxKey(KEY);
+    region.put(key, "value");
+
+    OffHeapKeyRegionEntry entry = getEntry(key);
+    assertThat(entry.getKeyField()).isInstanceOf(StoredObject.class);
+    assertThat(entry.getKey()).isInstanceOf(PdxKey.class).isEqualTo(key);
+    assertThat(isKeyEqual(entry, new PdxKey(KEY))).isTrue();
+    assertThat(region.get(new PdxKey(KEY))).isEqualTo("value");
+  }
+
+  @Test
+  public void shortKeysStayOnHeap() {
+    Object key = Character.valueOf('k');
+    region.put(key, "value");
+
+    OffHeapKeyRegionEntry entry = getEntry(key);
+    assertThat(entry.getKeyField()).isSameAs(key);
+  }
+
+  private OffHeapKeyRegionEntry getEntry(Object key) {
+    return (OffHeapKeyRegionEntry) ((LocalRegion) region).getRegionEntry(key);
+  }
+
+  private boolean isKeyEqual(OffHeapKeyRegionEntry entry, Object key) {
+    return ((AbstractRegionEntry) entry).isKeyEqual(key);
+  }
+
+  public static class PdxKey implements PdxSerializable {
+
+    private String id;
+
+    public PdxKey() {}
+
+    PdxKey(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public void toData(PdxWriter writer) {
+      writer.writeString("id", this.id);
+    }
+
+    @Override
+    public void fromData(PdxReader reader) {
+      this.id = reader.readString("id");
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof PdxKey && this.id.equals(((PdxKey) other).id);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.id.hashCode();
+    }
+  }
+}
@@ -18,13 +18,18 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
+import org.apache.geode.distributed.internal.DirectReplyProcessor;
 import org.apache.geode.distributed.internal.DistributionMessage;
+import org.apache.geode.distributed.internal.ReplyMessage;
+import org.apache.geode.internal.cache.AddCacheServerProfileMessage;
+import org.apache.geode.internal.cache.UpdateOperation.UpdateMessage;
 import org.apache.geode.test.junit.categories.UnitTest;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Category(UnitTest.class)
 public class ConnectionTest {
@@ -42,4 +47,63 @@ public class ConnectionTest {
     verify(mockConnection, times(1)).nioWriteFully(channel, buffer, forceAsync,
         mockDistributionMessage);
   }
+
+  @Test
+  public void noAckCacheOperationsWaitForTheBatchToBeFlushed() throws Exception {
+    assertThat(Connection.needsPromptFlush(new UpdateMessage())).isFalse();
+  }
+
+  @Test
+  public void cacheOperationsAwaitingReplyAreFlushedPromptly() throws Exception {
+    UpdateMessage replyMessage = mock(UpdateMessage.class);
+    when(replyMessage.getProcessorId()).thenReturn(42);
+    UpdateMessage directReplyMessage = new UpdateMessage();
+    directReplyMessage.processor = mock(DirectReplyProcessor.class);
+
+    assertThat(Connection.needsPromptFlush(replyMessage)).isTrue();
+    assertThat(Connection.needsPromptFlush(directReplyMessage)).isTrue();
+  }
+
+  @Test
+  public void messagesAwaitingReplyWithoutAProcessorIdAreFlushedPromptly() throws Exception {
+    // AddCacheServerProfileMessage expects a reply but does not override getProcessorId
+    AddCacheServerProfileMessage message = new AddCacheServerProfileMessage();
+
+    assertThat(message.getProcessorId()).isZero();
+    assertThat(Connection.needsPromptFlush(message)).isTrue();
+    assertThat(Connection.needsPromptFlush(mock(DistributionMessage.class))).isTrue();
+    assertThat(Connection.needsPromptFlush(null)).isTrue();
+  }
+
+  @Test
+  public void asyncQueueWithoutALimitHasNoFlowControlWindow() throws Exception {
+    assertThat(Connection.createFlowControlWindow(0, 0)).isNull();
+    assertThat(Connection.createFlowControlWindow(1, 0)).isNull();
+  }
+
+  @Test
+  public void flowControlWindowIsAtMostHalfOfTheAsyncQueueLimit() throws Exception {
+    FlowControlWindow window = Connection.createFlowControlWindow(10_000_000, 0);
+
+    assertThat(window.getWindow()).isEqualTo(5_000_000);
+  }
+
+  @Test
+  public void repliesDoNotWaitForFlowControl() throws Exception {
+    assertThat(Connection.mayWaitForFlowControl(new UpdateMessage())).isTrue();
+    assertThat(Connection.mayWaitForFlowControl(new ReplyMessage())).isFalse();
+  }
+
+  @Test
+  public void readerThreadsDoNotWaitForFlowControl() throws Exception {
+    AtomicBoolean mayWait = new AtomicBoolean(true);
+    Thread reader = new Thread(() -> {
+      Connection.makeReaderThread();
+      mayWait.set(Connection.mayWaitForFlowControl(new UpdateMessage()));
+    });
+    reader.start();
+    reader.join();
+
+    assertThat(mayWait.get()).isFalse();
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class FlowControlWindowTest {
+
+  private static final long MIN = 1000;
+  private static final long MAX = 1_000_000;
+  private static final long TARGET_DELAY = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long INTERVAL = FlowControlWindow.SAMPLE_INTERVAL_NANOS;
+
+  @Test
+  public void windowIsMaximumUntilDrainRateIsSampled() {
+    FlowControlWindow window = new FlowControlWindow(MIN, MAX, TARGET_DELAY, 0);
+
+    assertThat(window.drained(100, INTERVAL / 2)).isFalse();
+    assertThat(window.getWindow()).isEqualTo(MAX);
+    assertThat(window.getDrainRate()).isEqualTo(-1);
+  }
+
+  @Test
+  public void windowIsWhatReceiverDrainsInTargetDelay() {
+    FlowControlWindow window = new FlowControlWindow(MIN, MAX, TARGET_DELAY, 0);
+
+    // 1000 bytes per 10ms is 100,000 bytes per second, or 10,000 bytes per 100ms
+    assertThat(window.drained(1000, INTERVAL)).isTrue();
+
+    assertThat(window.getDrainRate()).isEqualTo(100_000);
+    assertThat(window.getWindow()).isEqualTo(10_000);
+  }
+
+  @Test
+  public void windowIsBoundedByMinimumAndMaximum() {
+    FlowControlWindow slow = new FlowControlWindow(MIN, MAX, TARGET_DELAY, 0);
+    slow.drained(1, INTERVAL);
+    assertThat(slow.getWindow()).isEqualTo(MIN);
+
+    FlowControlWindow fast = new FlowControlWindow(MIN, MAX, TARGET_DELAY, 0);
+    fast.drained(MAX, INTERVAL);
+    assertThat(fast.getWindow()).isEqualTo(MAX);
+  }
+
+  @Test
+  public void drainRateIsSmoothed() {
+    FlowControlWindow window = new FlowControlWindow(MIN, MAX, TARGET_DELAY, 0);
+    window.drained(1000, INTERVAL);
+
+    window.drained(5000, 2 * INTERVAL);
+
+    // a quarter of the way from 100,000 to 500,000 bytes per second
+    assertThat(window.getDrainRate()).isEqualTo(200_000);
+    assertThat(window.getWindow()).isEqualTo(20_000);
+  }
+
+  @Test
+  public void resumeDoesNotCountIdleTime() {
+    FlowControlWindow window = new FlowControlWindow(MIN, MAX, TARGET_DELAY, 0);
+    window.drained(1000, INTERVAL);
+
+    window.resume(100 * INTERVAL);
+    window.drained(1000, 101 * INTERVAL);
+
+    assertThat(window.getDrainRate()).isEqualTo(100_000);
+  }
+
+  @Test
+  public void windowMustHaveAPositiveMaximum() {
+    assertThatThrownBy(() -> new FlowControlWindow(MIN, 0, TARGET_DELAY, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
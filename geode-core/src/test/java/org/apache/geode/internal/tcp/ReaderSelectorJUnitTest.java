@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.tcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+@Category(IntegrationTest.class)
+public class ReaderSelectorJUnitTest {
+
+  private ServerSocketChannel serverChannel;
+  private SocketChannel clientChannel;
+  private SocketChannel acceptedChannel;
+  private ReaderSelector readerSelector;
+
+  @Before
+  public void setUp() throws IOException {
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+    acceptedChannel = serverChannel.accept();
+    readerSelector = new ReaderSelector(Thread.currentThread().getThreadGroup(), 1, 1);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    readerSelector.close();
+    clientChannel.close();
+    acceptedChannel.close();
+    serverChannel.close();
+  }
+
+  @Test
+  public void connectionIsReadEachTimeDataArrives() throws Exception {
+    BlockingQueue<Byte> received = new LinkedBlockingQueue<>();
+    Connection connection = mock(Connection.class);
+    when(connection.getSocketChannel()).thenReturn(acceptedChannel);
+    when(connection.readSelected()).then(invocation -> {
+      ByteBuffer buffer = ByteBuffer.allocate(16);
+      while (acceptedChannel.read(buffer) > 0) {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          received.add(buffer.get());
+        }
+        buffer.clear();
+      }
+      return true;
+    });
+
+    readerSelector.register(connection);
+    assertThat(acceptedChannel.isBlocking()).isFalse();
+
+    for (byte b = 0; b < 3; b++) {
+      clientChannel.write(ByteBuffer.wrap(new byte[] {b}));
+      assertThat(received.poll(30, TimeUnit.SECONDS)).isEqualTo(b);
+    }
+  }
+
+  @Test
+  public void connectionIsNoLongerSelectedOnceReadSelectedReturnsFalse() throws Exception {
+    BlockingQueue<Boolean> reads = new LinkedBlockingQueue<>();
+    Connection connection = mock(Connection.class);
+    when(connection.getSocketChannel()).thenReturn(acceptedChannel);
+    when(connection.readSelected()).then(invocation -> {
+      acceptedChannel.read(ByteBuffer.allocate(16));
+      reads.add(Boolean.TRUE);
+      return false;
+    });
+
+    readerSelector.register(connection);
+    clientChannel.write(ByteBuffer.wrap(new byte[] {1}));
+    assertThat(reads.poll(30, TimeUnit.SECONDS)).isTrue();
+
+    clientChannel.write(ByteBuffer.wrap(new byte[] {2}));
+    assertThat(reads.poll(1, TimeUnit.SECONDS)).isNull();
+  }
+
+  @Test
+  public void connectionWaitsForAReaderThreadWhenAllAreBusy() throws Exception {
+    SocketChannel otherClientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+    SocketChannel otherAcceptedChannel = serverChannel.accept();
+    try {
+      CountDownLatch firstReadStarted = new CountDownLatch(1);
+      CountDownLatch releaseFirstRead = new CountDownLatch(1);
+      BlockingQueue<Thread> readerThreads = new LinkedBlockingQueue<>();
+
+      Connection first = mock(Connection.class);
+      when(first.getSocketChannel()).thenReturn(acceptedChannel);
+      when(first.readSelected()).then(invocation -> {
+        acceptedChannel.read(ByteBuffer.allocate(16));
+        firstReadStarted.countDown();
+        releaseFirstRead.await();
+        readerThreads.add(Thread.currentThread());
+        return false;
+      });
+      Connection second = mock(Connection.class);
+      when(second.getSocketChannel()).thenReturn(otherAcceptedChannel);
+      when(second.readSelected()).then(invocation -> {
+        otherAcceptedChannel.read(ByteBuffer.allocate(16));
+        readerThreads.add(Thread.currentThread());
+        return false;
+      });
+
+      readerSelector.register(first);
+      readerSelector.register(second);
+      clientChannel.write(ByteBuffer.wrap(new byte[] {1}));
+      assertThat(firstReadStarted.await(30, TimeUnit.SECONDS)).isTrue();
+
+      otherClientChannel.write(ByteBuffer.wrap(new byte[] {2}));
+      assertThat(readerThreads.poll(1, TimeUnit.SECONDS)).isNull();
+
+      releaseFirstRead.countDown();
+      Thread firstThread = readerThreads.poll(30, TimeUnit.SECONDS);
+      Thread secondThread = readerThreads.poll(30, TimeUnit.SECONDS);
+      assertThat(firstThread).isNotNull();
+      assertThat(secondThread).isSameAs(firstThread);
+    } finally {
+      otherClientChannel.close();
+      otherAcceptedChannel.close();
+    }
+  }
+}
@@ -17,10 +17,14 @@ package org.apache.geode.internal.util;
 import static org.apache.geode.internal.util.BlobHelper.*;
 import static org.assertj.core.api.Assertions.*;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.EOFException;
+import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,6 +32,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import org.apache.geode.DataSerializable;
 import org.apache.geode.DataSerializer;
 import org.apache.geode.internal.ByteArrayDataInput;
 import org.apache.geode.internal.HeapDataOutputStream;
@@ -135,6 +140,57 @@ public class BlobHelperTest {
     assertThat(bytes).isNotNull().isEqualTo(this.bytesOfMap);
   }
 
+  @Test
+  public void serializeToBlobAfterLargerBlobReturnsOnlyBytesOfSmallerBlob() throws Exception {
+    byte[] large = serializeToBlob(new byte[100000]);
+    byte[] bytes = serializeToBlob(this.mapWithTwoEntries);
+
+    assertThat(large.length).isGreaterThan(100000);
+    assertThat(bytes).isEqualTo(this.bytesOfMap);
+  }
+
+  @Test
+  public void serializeToBlobLargerThanReusedBufferReturnsBytesOfBlob() throws Exception {
+    byte[] value = new byte[100000];
+    Arrays.fill(value, (byte) 7);
+    HeapDataOutputStream hdos = createHeapDataOutputStream();
+    DataSerializer.writeObject(value, hdos);
+
+    byte[] bytes = serializeToBlob(value);
+
+    assertThat(bytes).isEqualTo(hdos.toByteArray());
+    assertThat(serializeToBlob(this.mapWithTwoEntries)).isEqualTo(this.bytesOfMap);
+  }
+
+  @Test
+  public void serializeToBlobDoesNotShareReturnedBytes() throws Exception {
+    byte[] first = serializeToBlob(this.mapWithTwoEntries);
+    byte[] second = serializeToBlob("other");
+
+    assertThat(first).isEqualTo(this.bytesOfMap);
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  public void serializeToBlobWhileSerializingBlobReturnsBytesOfBoth() throws Exception {
+    HeapDataOutputStream hdos = createHeapDataOutputStream();
+    DataSerializer.writeObject(new NestedBlob(this.mapWithTwoEntries), hdos);
+    NestedBlob nested = new NestedBlob(this.mapWithTwoEntries);
+
+    byte[] bytes = serializeToBlob(nested);
+
+    assertThat(nested.nestedBytes).isEqualTo(this.bytesOfMap);
+    assertThat(bytes).isEqualTo(hdos.toByteArray());
+  }
+
+  @Test
+  public void serializeToBlobAfterFailureReturnsBytes() throws Exception {
+    assertThatThrownBy(() -> serializeToBlob(new Object()))
+        .isExactlyInstanceOf(NotSerializableException.class);
+
+    assertThat(serializeToBlob(this.mapWithTwoEntries)).isEqualTo(this.bytesOfMap);
+  }
+
   @Test
   public void serializeToBlobUnserializableThrowsNotSerializableException() throws Exception {
     assertThatThrownBy(() -> serializeToBlob(new Object()))
@@ -172,6 +228,26 @@ public class BlobHelperTest {
     return new HeapDataOutputStream(HDOS_ALLOC_SIZE, null, true);
   }
 
+  private static class NestedBlob implements DataSerializable {
+    private final Object nested;
+    private byte[] nestedBytes;
+
+    NestedBlob(Object nested) {
+      this.nested = nested;
+    }
+
+    @Override
+    public void toData(DataOutput out) throws IOException {
+      this.nestedBytes = serializeToBlob(this.nested);
+      DataSerializer.writeByteArray(this.nestedBytes, out);
+    }
+
+    @Override
+    public void fromData(DataInput in) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
   private static class ClassNotFoundSerialization implements Serializable {
     private void readObject(final ObjectInputStream in) throws ClassNotFoundException {
       throw new ClassNotFoundException(CLASS_NOT_FOUND_MESSAGE);
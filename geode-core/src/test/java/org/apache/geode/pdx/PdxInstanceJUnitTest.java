@@ -304,6 +304,41 @@ public class PdxInstanceJUnitTest {
     assertTrue(instance1.isIdentityField("field2"));
   }
 
+  @Test
+  public void testConcurrentVariableLengthFieldReads() throws Exception {
+    final PdxInstance instance = getPdx(new TestPdx() {
+      public void toData(PdxWriter out) {
+        out.writeString("field1", "hello");
+        out.writeIntArray("field2", new int[] {1, 2, 3});
+        out.writeString("field3", "world");
+        out.writeObject("field4", "object");
+      }
+    });
+
+    final int threadCount = 4;
+    final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+    Thread[] threads = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t++) {
+      threads[t] = new Thread(() -> {
+        try {
+          for (int i = 0; i < 10000; i++) {
+            assertEquals("hello", instance.getField("field1"));
+            assertArrayEquals(new int[] {1, 2, 3}, (int[]) instance.getField("field2"));
+            assertEquals("world", instance.getField("field3"));
+            assertEquals("object", instance.getField("field4"));
+          }
+        } catch (Throwable e) {
+          failures.add(e);
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(Collections.emptyList(), failures);
+  }
+
   // This is hack to make sure the classnames are the same
   // for every call to this method, even if the toDatas are different.
   private PdxSerializable getPdxSerializable(final TestPdx toData) {
@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.lang.reflect.Field;
+import java.util.Date;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.ToDataException;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.PdxSerializerObject;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.pdx.NonPortableClassException;
+import org.apache.geode.pdx.PdxSerializationException;
+import org.apache.geode.pdx.ReflectionBasedAutoSerializer;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+import org.apache.geode.test.junit.categories.SerializationTest;
+
+@Category({IntegrationTest.class, SerializationTest.class})
+public class AutoClassSerializerJUnitTest {
+
+  private static final String CLASSES = ".*AutoClassSerializerJUnitTest\\$.*";
+
+  private InternalCache cache;
+
+  private AutoSerializableManager manager;
+
+  private void createCache(ReflectionBasedAutoSerializer serializer) {
+    this.manager = (AutoSerializableManager) serializer.getManager();
+    this.cache = (InternalCache) new CacheFactory().set(MCAST_PORT, "0")
+        .setPdxReadSerialized(false).setPdxSerializer(serializer).create();
+  }
+
+  @After
+  public void tearDown() {
+    if (this.cache != null) {
+      this.cache.close();
+    }
+  }
+
+  @Test
+  public void generatedSerializerWritesTheSameBytesAsTheFieldWrappers() throws Exception {
+    createCache(new ReflectionBasedAutoSerializer(CLASSES));
+    AllFieldTypes value = new AllFieldTypes(7);
+
+    // the first serialization defines the PDX type through the field wrappers
+    byte[] first = serialize(value);
+    byte[] second = serialize(value);
+
+    assertThat(getSerializer(AllFieldTypes.class).isGenerated()).isTrue();
+    assertThat(second).isEqualTo(first);
+  }
+
+  @Test
+  public void generatedSerializerReadsEveryFieldType() throws Exception {
+    createCache(new ReflectionBasedAutoSerializer(CLASSES));
+    AllFieldTypes value = new AllFieldTypes(7);
+    serialize(value);
+
+    AllFieldTypes copy = (AllFieldTypes) deserialize(serialize(value));
+
+    assertThat(getSerializer(AllFieldTypes.class).isGenerated()).isTrue();
+    copy.assertSameAs(value);
+  }
+
+  @Test
+  public void generatedSerializerIsRecreatedWhenTheClassInfoChanges() throws Exception {
+    createCache(new ReflectionBasedAutoSerializer(CLASSES));
+    serialize(new AllFieldTypes(1));
+    serialize(new AllFieldTypes(1));
+    AutoClassSerializer first = getSerializer(AllFieldTypes.class);
+
+    this.manager.resetCaches();
+    serialize(new AllFieldTypes(2));
+
+    AutoClassSerializer second = getSerializer(AllFieldTypes.class);
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getClassInfo())
+        .isSameAs(this.manager.getExistingClassInfo(AllFieldTypes.class));
+  }
+
+  @Test
+  public void classWithTransformedFieldIsSerializedThroughFieldWrappers() throws Exception {
+    createCache(new TransformingAutoSerializer(CLASSES));
+    AllFieldTypes value = new AllFieldTypes(3);
+    serialize(value);
+
+    AllFieldTypes copy = (AllFieldTypes) deserialize(serialize(value));
+
+    assertThat(getSerializer(AllFieldTypes.class).isGenerated()).isFalse();
+    assertThat(copy.aString).isEqualTo(value.aString + "!");
+  }
+
+  @Test
+  public void generatedSerializerReportsTheFieldThatFailed() throws Exception {
+    createCache(new ReflectionBasedAutoSerializer(CLASSES));
+    serialize(new ObjectHolder(null));
+
+    assertThatThrownBy(() -> serialize(new ObjectHolder(new NotSerializable())))
+        .isInstanceOf(ToDataException.class).hasCauseInstanceOf(PdxSerializationException.class)
+        .satisfies(thrown -> assertThat(thrown.getCause())
+            .hasMessageContaining("field value for class " + ObjectHolder.class.getName()));
+    assertThat(getSerializer(ObjectHolder.class).isGenerated()).isTrue();
+  }
+
+  @Test
+  public void generatedSerializerChecksPortability() throws Exception {
+    createCache(new ReflectionBasedAutoSerializer(true, CLASSES));
+    serialize(new ObjectHolder(null));
+
+    assertThatThrownBy(() -> serialize(new ObjectHolder(new NotSerializable())))
+        .isInstanceOf(NonPortableClassException.class);
+    assertThat(getSerializer(ObjectHolder.class).isGenerated()).isTrue();
+  }
+
+  private AutoClassSerializer getSerializer(Class<?> clazz) {
+    return this.cache.getPdxRegistry()
+        .getAutoClassSerializer(this.manager.getExistingClassInfo(clazz));
+  }
+
+  private static byte[] serialize(Object value) throws Exception {
+    HeapDataOutputStream out = new HeapDataOutputStream(Version.CURRENT);
+    DataSerializer.writeObject(value, out);
+    return out.toByteArray();
+  }
+
+  private static Object deserialize(byte[] bytes) throws Exception {
+    return DataSerializer.readObject(new DataInputStream(new ByteArrayInputStream(bytes)));
+  }
+
+  public static class TransformingAutoSerializer extends ReflectionBasedAutoSerializer {
+    public TransformingAutoSerializer(String... classes) {
+      super(classes);
+    }
+
+    @Override
+    public boolean isClassAutoSerialized(Class<?> clazz) {
+      return clazz == AllFieldTypes.class;
+    }
+
+    @Override
+    public boolean transformFieldValue(Field f, Class<?> clazz) {
+      return f.getName().equals("aString");
+    }
+
+    @Override
+    public Object writeTransform(Field f, Class<?> clazz, Object originalValue) {
+      return originalValue + "!";
+    }
+  }
+
+  public static class NotSerializable {
+  }
+
+  public static class ObjectHolder implements PdxSerializerObject {
+    private Object value;
+
+    public ObjectHolder() {}
+
+    ObjectHolder(Object value) {
+      this.value = value;
+    }
+  }
+
+  public static class AllFieldTypes implements PdxSerializerObject {
+    private boolean aBoolean;
+    private byte aByte;
+    private char aChar;
+    private short aShort;
+    private int anInt;
+    private long aLong;
+    private float aFloat;
+    private double aDouble;
+    private Date aDate;
+    String aString;
+    private Object anObject;
+    private boolean[] booleans;
+    private char[] chars;
+    private byte[] bytes;
+    private short[] shorts;
+    private int[] ints;
+    private long[] longs;
+    private float[] floats;
+    private double[] doubles;
+    private String[] strings;
+    private Object[] objects;
+    private byte[][] arrayOfBytes;
+
+    public AllFieldTypes() {}
+
+    AllFieldTypes(int seed) {
+      this.aBoolean = true;
+      this.aByte = (byte) seed;
+      this.aChar = (char) ('a' + seed);
+      this.aShort = (short) (seed * 2);
+      this.anInt = seed * 3;
+      this.aLong = seed * 4L;
+      this.aFloat = seed * 5.5f;
+      this.aDouble = seed * 6.5d;
+      this.aDate = new Date(seed * 1000L);
+      this.aString = "string" + seed;
+      this.anObject = Integer.valueOf(seed);
+      this.booleans = new boolean[] {true, false};
+      this.chars = new char[] {'x', 'y'};
+      this.bytes = new byte[] {1, (byte) seed};
+      this.shorts = new short[] {2, (short) seed};
+      this.ints = new int[] {3, seed};
+      this.longs = new long[] {4, seed};
+      this.floats = new float[] {5, seed};
+      this.doubles = new double[] {6, seed};
+      this.strings = new String[] {"a", null, "b"};
+      this.objects = new Object[] {"c", Long.valueOf(seed)};
+      this.arrayOfBytes = new byte[][] {{1}, {2, 3}};
+    }
+
+    void assertSameAs(AllFieldTypes other) {
+      assertThat(this.aBoolean).isEqualTo(other.aBoolean);
+      assertThat(this.aByte).isEqualTo(other.aByte);
+      assertThat(this.aChar).isEqualTo(other.aChar);
+      assertThat(this.aShort).isEqualTo(other.aShort);
+      assertThat(this.anInt).isEqualTo(other.anInt);
+      assertThat(this.aLong).isEqualTo(other.aLong);
+      assertThat(this.aFloat).isEqualTo(other.aFloat);
+      assertThat(this.aDouble).isEqualTo(other.aDouble);
+      assertThat(this.aDate).isEqualTo(other.aDate);
+      assertThat(this.aString).isEqualTo(other.aString);
+      assertThat(this.anObject).isEqualTo(other.anObject);
+      assertThat(this.booleans).isEqualTo(other.booleans);
+      assertThat(this.chars).isEqualTo(other.chars);
+      assertThat(this.bytes).isEqualTo(other.bytes);
+      assertThat(this.shorts).isEqualTo(other.shorts);
+      assertThat(this.ints).isEqualTo(other.ints);
+      assertThat(this.longs).isEqualTo(other.longs);
+      assertThat(this.floats).isEqualTo(other.floats);
+      assertThat(this.doubles).isEqualTo(other.doubles);
+      assertThat(this.strings).isEqualTo(other.strings);
+      assertThat(this.objects).isEqualTo(other.objects);
+      assertThat(this.arrayOfBytes).isEqualTo(other.arrayOfBytes);
+    }
+  }
+}
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.cq;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.geode.cache.query.internal.CompiledComparison;
+import org.apache.geode.cache.query.internal.CompiledID;
+import org.apache.geode.cache.query.internal.CompiledIteratorDef;
+import org.apache.geode.cache.query.internal.CompiledJunction;
+import org.apache.geode.cache.query.internal.CompiledLiteral;
+import org.apache.geode.cache.query.internal.CompiledPath;
+import org.apache.geode.cache.query.internal.CompiledSelect;
+import org.apache.geode.cache.query.internal.CompiledValue;
+import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.cache.query.internal.ExecutionContext;
+import org.apache.geode.cache.query.internal.PathUtils;
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+
+/**
+ * An index of the WHERE clauses of the CQs registered in a filter profile. For each CQ whose WHERE
+ * clause requires an attribute of the region value to be equal to, or in a range bounded by, a
+ * string or integer literal, the CQ is indexed by that literal in a hash map (equality) or a sorted
+ * map (ranges) of the attribute. The attribute is then read once per event value, and only the CQs
+ * whose condition holds for it are candidates for evaluating their query. The CQs that cannot be
+ * indexed are always candidates.
+ * <p>
+ * The index only rules out CQs whose query would have evaluated to false: if the attribute of the
+ * value is not a string or an integer, or cannot be read, every CQ on that attribute is a
+ * candidate.
+ *
+ * @since Geode 1.3
+ */
+class CqPredicateIndex {
+
+  /** The CQs that are in one of the attribute indexes */
+  private final Set<ServerCQ> indexedCqs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /** The attribute indexes keyed by the path of the attribute from the region value */
+  private final Map<List<String>, AttributeIndex> attributeIndexes = new HashMap<>();
+
+  /** The CQs this index was built from */
+  private final Set<ServerCQ> cqs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  CqPredicateIndex(Collection<ServerCQ> cqs) {
+    for (ServerCQ cq : cqs) {
+      this.cqs.add(cq);
+      addCq(cq);
+    }
+  }
+
+  /**
+   * Returns the number of CQs this index was built from.
+   */
+  int getNumberOfCqs() {
+    return this.cqs.size();
+  }
+
+  /**
+   * Returns true if this index was built from the given CQ.
+   */
+  boolean contains(ServerCQ cq) {
+    return this.cqs.contains(cq);
+  }
+
+  /**
+   * Returns true if the index has no indexed CQs to rule out.
+   */
+  boolean isEmpty() {
+    return this.indexedCqs.isEmpty();
+  }
+
+  /**
+   * Returns the indexed CQs whose indexed condition holds for the given region value, or null if
+   * none of the indexed CQs can be ruled out for it.
+   */
+  Set<ServerCQ> getCandidates(Object value, ExecutionContext context) {
+    if (value == null || this.indexedCqs.isEmpty()) {
+      return null;
+    }
+    Set<ServerCQ> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Map.Entry<List<String>, AttributeIndex> entry : this.attributeIndexes.entrySet()) {
+      Object attribute = value;
+      try {
+        for (String name : entry.getKey()) {
+          attribute = PathUtils.evaluateAttribute(context, attribute, name);
+          if (attribute == null) {
+            break;
+          }
+        }
+      } catch (Exception e) {
+        // The query evaluation reports the exception
+        attribute = null;
+      }
+      entry.getValue().addCandidates(normalize(attribute), candidates);
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns true if the given CQ has to be evaluated for a value with the given candidates.
+   */
+  boolean mayMatch(ServerCQ cq, Set<ServerCQ> candidates) {
+    return candidates == null || candidates.contains(cq) || !this.indexedCqs.contains(cq);
+  }
+
+  private void addCq(ServerCQ cq) {
+    if (!(cq.getQuery() instanceof DefaultQuery)) {
+      return;
+    }
+    CompiledSelect select = ((DefaultQuery) cq.getQuery()).getSelect();
+    if (select == null || select.getWhereClause() == null || select.getIterators().size() != 1) {
+      return;
+    }
+    String iteratorName = ((CompiledIteratorDef) select.getIterators().get(0)).getName();
+    List<CompiledComparison> conditions = new ArrayList<>();
+    addConditions(select.getWhereClause(), conditions);
+
+    // Prefer an equality condition, which rules out the most CQs
+    List<String> indexedPath = null;
+    Object indexedLiteral = null;
+    int indexedOperator = 0;
+    for (CompiledComparison condition : conditions) {
+      int operator = condition.getOperator();
+      List<String> path = getPath(condition._left, iteratorName);
+      Object literal = getLiteral(condition._right);
+      if (path == null || literal == null) {
+        path = getPath(condition._right, iteratorName);
+        literal = getLiteral(condition._left);
+        operator = reverse(operator);
+      }
+      if (path == null || literal == null || !isIndexable(operator)) {
+        continue;
+      }
+      if (indexedPath == null || operator == OQLLexerTokenTypes.TOK_EQ) {
+        indexedPath = path;
+        indexedLiteral = literal;
+        indexedOperator = operator;
+        if (operator == OQLLexerTokenTypes.TOK_EQ) {
+          break;
+        }
+      }
+    }
+    if (indexedPath == null) {
+      return;
+    }
+    AttributeIndex attributeIndex = this.attributeIndexes.get(indexedPath);
+    if (attributeIndex == null) {
+      attributeIndex = new AttributeIndex();
+      this.attributeIndexes.put(indexedPath, attributeIndex);
+    }
+    attributeIndex.add(indexedOperator, indexedLiteral, cq);
+    this.indexedCqs.add(cq);
+  }
+
+  /**
+   * Adds the comparisons that the given condition requires to be true.
+   */
+  private static void addConditions(CompiledValue condition, List<CompiledComparison> conditions) {
+    if (condition instanceof CompiledComparison) {
+      conditions.add((CompiledComparison) condition);
+    } else if (condition instanceof CompiledJunction
+        && ((CompiledJunction) condition).getOperator() == OQLLexerTokenTypes.LITERAL_and) {
+      for (Object operand : condition.getChildren()) {
+        addConditions((CompiledValue) operand, conditions);
+      }
+    }
+  }
+
+  /**
+   * Returns the attribute names leading from the iterator to the given value, or null if it is not
+   * a path of attributes of the iterator.
+   */
+  private static List<String> getPath(CompiledValue value, String iteratorName) {
+    LinkedList<String> path = new LinkedList<>();
+    while (value instanceof CompiledPath) {
+      path.addFirst(((CompiledPath) value).getTailID());
+      value = ((CompiledPath) value).getReceiver();
+    }
+    if (!(value instanceof CompiledID)) {
+      return null;
+    }
+    String id = ((CompiledID) value).getId();
+    if (!id.equals(iteratorName)) {
+      // An implicit attribute of the iterator
+      path.addFirst(id);
+    }
+    return path;
+  }
+
+  /**
+   * Returns the given value as an indexable literal, or null if it is not one.
+   */
+  private static Object getLiteral(CompiledValue value) {
+    if (!(value instanceof CompiledLiteral)) {
+      return null;
+    }
+    try {
+      return normalize(value.evaluate(null));
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the given string or integer as it is kept in the index, or null if it is neither.
+   */
+  private static Object normalize(Object value) {
+    if (value instanceof String) {
+      return value;
+    }
+    if (value instanceof Long || value instanceof Integer || value instanceof Short
+        || value instanceof Byte) {
+      return ((Number) value).longValue();
+    }
+    return null;
+  }
+
+  private static boolean isIndexable(int operator) {
+    return operator == OQLLexerTokenTypes.TOK_EQ || operator == OQLLexerTokenTypes.TOK_LT
+        || operator == OQLLexerTokenTypes.TOK_LE || operator == OQLLexerTokenTypes.TOK_GT
+        || operator == OQLLexerTokenTypes.TOK_GE;
+  }
+
+  /**
+   * Returns the operator that compares the operands in the reverse order.
+   */
+  private static int reverse(int operator) {
+    switch (operator) {
+      case OQLLexerTokenTypes.TOK_LT:
+        return OQLLexerTokenTypes.TOK_GT;
+      case OQLLexerTokenTypes.TOK_LE:
+        return OQLLexerTokenTypes.TOK_GE;
+      case OQLLexerTokenTypes.TOK_GT:
+        return OQLLexerTokenTypes.TOK_LT;
+      case OQLLexerTokenTypes.TOK_GE:
+        return OQLLexerTokenTypes.TOK_LE;
+      default:
+        return operator;
+    }
+  }
+
+  /**
+   * The CQs indexed on one attribute, kept apart for string and integer literals since only values
+   * of the same kind can be compared with them.
+   */
+  private static class AttributeIndex {
+
+    private final Conditions strings = new Conditions();
+
+    private final Conditions numbers = new Conditions();
+
+    void add(int operator, Object literal, ServerCQ cq) {
+      (literal instanceof String ? this.strings : this.numbers).add(operator, literal, cq);
+    }
+
+    void addCandidates(Object attribute, Set<ServerCQ> candidates) {
+      if (attribute instanceof String) {
+        this.strings.addMatches(attribute, candidates);
+        this.numbers.addAll(candidates);
+      } else if (attribute != null) {
+        this.numbers.addMatches(attribute, candidates);
+        this.strings.addAll(candidates);
+      } else {
+        this.strings.addAll(candidates);
+        this.numbers.addAll(candidates);
+      }
+    }
+  }
+
+  /**
+   * The CQs indexed on an attribute by literals of one kind, keyed by the literal each CQ compares
+   * the attribute with.
+   */
+  private static class Conditions {
+
+    private final Map<Object, List<ServerCQ>> equalTo = new HashMap<>();
+
+    /** CQs requiring the attribute to be less than the key */
+    private final NavigableMap<Object, List<ServerCQ>> lessThan = new TreeMap<>();
+
+    /** CQs requiring the attribute to be less than or equal to the key */
+    private final NavigableMap<Object, List<ServerCQ>> lessThanOrEqualTo = new TreeMap<>();
+
+    /** CQs requiring the attribute to be greater than the key */
+    private final NavigableMap<Object, List<ServerCQ>> greaterThan = new TreeMap<>();
+
+    /** CQs requiring the attribute to be greater than or equal to the key */
+    private final NavigableMap<Object, List<ServerCQ>> greaterThanOrEqualTo = new TreeMap<>();
+
+    private final List<ServerCQ> all = new ArrayList<>();
+
+    void add(int operator, Object literal, ServerCQ cq) {
+      Map<Object, List<ServerCQ>> map;
+      switch (operator) {
+        case OQLLexerTokenTypes.TOK_EQ:
+          map = this.equalTo;
+          break;
+        case OQLLexerTokenTypes.TOK_LT:
+          map = this.lessThan;
+          break;
+        case OQLLexerTokenTypes.TOK_LE:
+          map = this.lessThanOrEqualTo;
+          break;
+        case OQLLexerTokenTypes.TOK_GT:
+          map = this.greaterThan;
+          break;
+        default:
+          map = this.greaterThanOrEqualTo;
+          break;
+      }
+      List<ServerCQ> cqs = map.get(literal);
+      if (cqs == null) {
+        cqs = new ArrayList<>();
+        map.put(literal, cqs);
+      }
+      cqs.add(cq);
+      this.all.add(cq);
+    }
+
+    void addMatches(Object attribute, Set<ServerCQ> candidates) {
+      List<ServerCQ> cqs = this.equalTo.get(attribute);
+      if (cqs != null) {
+        candidates.addAll(cqs);
+      }
+      addAll(this.lessThan.tailMap(attribute, false), candidates);
+      addAll(this.lessThanOrEqualTo.tailMap(attribute, true), candidates);
+      addAll(this.greaterThan.headMap(attribute, false), candidates);
+      addAll(this.greaterThanOrEqualTo.headMap(attribute, true), candidates);
+    }
+
+    void addAll(Set<ServerCQ> candidates) {
+      candidates.addAll(this.all);
+    }
+
+    private static void addAll(Map<Object, List<ServerCQ>> cqs, Set<ServerCQ> candidates) {
+      for (List<ServerCQ> list : cqs.values()) {
+        candidates.addAll(list);
+      }
+    }
+  }
+}
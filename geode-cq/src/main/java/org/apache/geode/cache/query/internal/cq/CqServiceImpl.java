@@ -100,6 +100,13 @@ public class CqServiceImpl implements CqService {
   public static boolean EXECUTE_QUERY_DURING_INIT = Boolean.valueOf(System
       .getProperty(DistributionConfig.GEMFIRE_PREFIX + "cq.EXECUTE_QUERY_DURING_INIT", "true"));
 
+  /**
+   * System property to index the WHERE clauses of the CQs registered on a region, so that the
+   * query of a CQ is only applied to the events that satisfy its indexed condition.
+   */
+  public static boolean INDEX_CQ_PREDICATES =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "cq.INDEX_CQ_PREDICATES");
+
   private static final String CQ_NAME_PREFIX = "GfCq";
 
   private final InternalCache cache;
@@ -1306,6 +1313,22 @@ public class CqServiceImpl implements CqService {
         }
       }
 
+      // Get the CQs the new value may match. The CQs the old value may match are only looked up
+      // if the old value needs to be queried.
+      CqPredicateIndex cqPredicateIndex = null;
+      Set<ServerCQ> newValueCandidates = null;
+      Set<ServerCQ> oldValueCandidates = null;
+      boolean oldValueCandidatesInitialized = false;
+      if (INDEX_CQ_PREDICATES) {
+        cqPredicateIndex = getCqPredicateIndex(pf);
+        if (cqPredicateIndex.isEmpty()) {
+          cqPredicateIndex = null;
+        } else if (!cqUnfilteredEventsSet_newValue.isEmpty()) {
+          newValueCandidates = cqPredicateIndex.getCandidates(
+              cqUnfilteredEventsSet_newValue.iterator().next(), new ExecutionContext(null, cache));
+        }
+      }
+
       HashMap<Long, Integer> cqInfo = new HashMap<>();
       Iterator cqIter = cqs.entrySet().iterator();
 
@@ -1325,6 +1348,11 @@ public class CqServiceImpl implements CqService {
           logger.debug("Processing CQ : {} Key: {}", cqName, eventKey);
         }
 
+        if (cqPredicateIndex != null && !cqPredicateIndex.contains(cQuery)) {
+          // Rebuild the index with this CQ for the next event
+          pf.setCqPredicateIndex(null);
+        }
+
         Integer cqEvent = null;
         if (matchedCqs.containsKey(cqName)) {
           cqEvent = matchedCqs.get(cqName);
@@ -1348,11 +1376,16 @@ public class CqServiceImpl implements CqService {
               synchronized (cQuery) {
                 // Apply query on new value.
                 if (!cqUnfilteredEventsSet_newValue.isEmpty()) {
-                  executionStartTime = this.stats.startCqQueryExecution();
-
-                  b_cqResults_newValue =
-                      evaluateQuery(cQuery, new Object[] {cqUnfilteredEventsSet_newValue});
-                  this.stats.endCqQueryExecution(executionStartTime);
+                  if (cqPredicateIndex == null
+                      || cqPredicateIndex.mayMatch(cQuery, newValueCandidates)) {
+                    executionStartTime = this.stats.startCqQueryExecution();
+
+                    b_cqResults_newValue =
+                        evaluateQuery(cQuery, new Object[] {cqUnfilteredEventsSet_newValue});
+                    this.stats.endCqQueryExecution(executionStartTime);
+                  } else {
+                    this.stats.incCqQueryExecutionsAvoided();
+                  }
                 }
               }
 
@@ -1387,14 +1420,27 @@ public class CqServiceImpl implements CqService {
                       cqUnfilteredEventsSet_oldValue.add(oldValue);
                     }
                   }
+                  if (cqPredicateIndex != null && !oldValueCandidatesInitialized
+                      && !cqUnfilteredEventsSet_oldValue.isEmpty()) {
+                    oldValueCandidates = cqPredicateIndex.getCandidates(
+                        cqUnfilteredEventsSet_oldValue.iterator().next(),
+                        new ExecutionContext(null, cache));
+                    oldValueCandidatesInitialized = true;
+                  }
 
                   synchronized (cQuery) {
                     // Apply query on old value.
                     if (!cqUnfilteredEventsSet_oldValue.isEmpty()) {
-                      executionStartTime = this.stats.startCqQueryExecution();
-                      b_cqResults_oldValue =
-                          evaluateQuery(cQuery, new Object[] {cqUnfilteredEventsSet_oldValue});
-                      this.stats.endCqQueryExecution(executionStartTime);
+                      if (cqPredicateIndex == null
+                          || cqPredicateIndex.mayMatch(cQuery, oldValueCandidates)) {
+                        executionStartTime = this.stats.startCqQueryExecution();
+                        b_cqResults_oldValue =
+                            evaluateQuery(cQuery, new Object[] {cqUnfilteredEventsSet_oldValue});
+                        this.stats.endCqQueryExecution(executionStartTime);
+                      } else {
+                        b_cqResults_oldValue = false;
+                        this.stats.incCqQueryExecutionsAvoided();
+                      }
                     } else {
                       if (isDebugEnabled) {
                         logger.debug(
@@ -1593,6 +1639,20 @@ public class CqServiceImpl implements CqService {
     return matchingCqMap;
   }
 
+  /**
+   * Returns the CQ predicate index of the given filter profile, building it if its CQs have
+   * changed. The index is kept on the profile, as each profile has its own CQs.
+   */
+  CqPredicateIndex getCqPredicateIndex(FilterProfile pf) {
+    Map<String, ServerCQ> cqs = pf.getCqMap();
+    CqPredicateIndex index = (CqPredicateIndex) pf.getCqPredicateIndex();
+    if (index == null || index.getNumberOfCqs() != cqs.size()) {
+      index = new CqPredicateIndex(cqs.values());
+      pf.setCqPredicateIndex(index);
+    }
+    return index;
+  }
+
   /**
    * Applies the query on the event. This method takes care of the performance related changed done
    * to improve the CQ-query performance. When CQ-query is executed first time, it saves the query
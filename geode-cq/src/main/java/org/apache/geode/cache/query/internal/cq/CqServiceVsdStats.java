@@ -73,6 +73,9 @@ public class CqServiceVsdStats {
   /** Unique CQs, number of different CQ queries */
   private static final String UNIQUE_CQ_QUERY = "numUniqueCqQuery";
 
+  /** CQ query executions ruled out by the CQ predicate index */
+  private static final String CQ_QUERY_EXECUTIONS_AVOIDED = "cqQueryExecutionsAvoided";
+
   /** Id of the CQs created statistic */
   private static final int _numCqsCreatedId;
 
@@ -103,6 +106,9 @@ public class CqServiceVsdStats {
   /** Id for unique CQs, difference in CQ queries */
   private static final int _numUniqueCqQuery;
 
+  /** Id for CQ query executions ruled out by the CQ predicate index */
+  private static final int _cqQueryExecutionsAvoidedId;
+
   /*
    * Static initializer to create and initialize the <code>StatisticsType</code>
    */
@@ -125,6 +131,9 @@ public class CqServiceVsdStats {
             f.createIntGauge(CQ_QUERY_EXECUTION_IN_PROGRESS, "CQ Query Execution In Progress.",
                 "operations"),
             f.createIntGauge(UNIQUE_CQ_QUERY, "Number of Unique CQ Querys.", "Queries"),
+            f.createLongCounter(CQ_QUERY_EXECUTIONS_AVOIDED,
+                "Number of CQ Query Executions ruled out by the CQ predicate index.",
+                "operations"),
 
         });
 
@@ -139,6 +148,7 @@ public class CqServiceVsdStats {
     _cqQueryExecutionsCompletedId = _type.nameToId(CQ_QUERY_EXECUTIONS_COMPLETED);
     _cqQueryExecutionInProgressId = _type.nameToId(CQ_QUERY_EXECUTION_IN_PROGRESS);
     _numUniqueCqQuery = _type.nameToId(UNIQUE_CQ_QUERY);
+    _cqQueryExecutionsAvoidedId = _type.nameToId(CQ_QUERY_EXECUTIONS_AVOIDED);
   }
 
   /** The <code>Statistics</code> instance to which most behavior is delegated */
@@ -314,6 +324,22 @@ public class CqServiceVsdStats {
     return this._stats.getLong(_cqQueryExecutionTimeId);
   }
 
+  /**
+   * Returns the number of CQ Query Executions ruled out by the CQ predicate index.
+   * 
+   * @return long number of executions avoided.
+   */
+  public long getCqQueryExecutionsAvoided() {
+    return this._stats.getLong(_cqQueryExecutionsAvoidedId);
+  }
+
+  /**
+   * Increments the number of CQ Query Executions ruled out by the CQ predicate index.
+   */
+  void incCqQueryExecutionsAvoided() {
+    this._stats.incLong(_cqQueryExecutionsAvoidedId, 1);
+  }
+
   /**
    * Increments number of Unique queries.
    */
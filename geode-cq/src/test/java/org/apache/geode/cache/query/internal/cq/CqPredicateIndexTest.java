@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.cq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.cache.query.internal.ExecutionContext;
+import org.apache.geode.cache.query.internal.InternalQueryService;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CqPredicateIndexTest {
+
+  private ExecutionContext context;
+
+  @Before
+  public void setUp() {
+    InternalQueryService queryService = mock(InternalQueryService.class);
+    when(queryService.getMethodInvocationAuthorizer()).thenReturn((method, target) -> {
+    });
+    InternalCache cache = mock(InternalCache.class);
+    when(cache.getQueryService()).thenReturn(queryService);
+    context = new ExecutionContext(null, cache);
+  }
+
+  @Test
+  public void equalityConditionsOnlyMatchValuesWithThatAttribute() {
+    ServerCQ symbolA = cq("SELECT * FROM /trades t WHERE t.symbol = 'A'");
+    ServerCQ symbolB = cq("SELECT * FROM /trades t WHERE 'B' = t.symbol AND t.quantity > 0");
+    ServerCQ implicitSymbolA = cq("SELECT * FROM /trades WHERE symbol = 'A'");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(symbolA, symbolB, implicitSymbolA));
+
+    Set<ServerCQ> candidates = index.getCandidates(new Trade("A", 1), context);
+
+    assertThat(index.mayMatch(symbolA, candidates)).isTrue();
+    assertThat(index.mayMatch(symbolB, candidates)).isFalse();
+    assertThat(index.mayMatch(implicitSymbolA, candidates)).isTrue();
+  }
+
+  @Test
+  public void rangeConditionsOnlyMatchValuesInTheirRange() {
+    ServerCQ greaterThan10 = cq("SELECT * FROM /trades t WHERE t.quantity > 10");
+    ServerCQ atLeast10 = cq("SELECT * FROM /trades t WHERE 10 <= t.quantity");
+    ServerCQ lessThan5 = cq("SELECT * FROM /trades t WHERE t.quantity < 5L");
+    ServerCQ atMost5 = cq("SELECT * FROM /trades t WHERE 5 >= t.quantity");
+    CqPredicateIndex index =
+        new CqPredicateIndex(Arrays.asList(greaterThan10, atLeast10, lessThan5, atMost5));
+
+    Set<ServerCQ> candidates = index.getCandidates(new Trade("A", 10), context);
+    assertThat(index.mayMatch(greaterThan10, candidates)).isFalse();
+    assertThat(index.mayMatch(atLeast10, candidates)).isTrue();
+    assertThat(index.mayMatch(lessThan5, candidates)).isFalse();
+    assertThat(index.mayMatch(atMost5, candidates)).isFalse();
+
+    candidates = index.getCandidates(new Trade("A", 5), context);
+    assertThat(index.mayMatch(greaterThan10, candidates)).isFalse();
+    assertThat(index.mayMatch(atLeast10, candidates)).isFalse();
+    assertThat(index.mayMatch(lessThan5, candidates)).isFalse();
+    assertThat(index.mayMatch(atMost5, candidates)).isTrue();
+  }
+
+  @Test
+  public void conditionsThatCannotBeIndexedAlwaysMatch() {
+    ServerCQ or = cq("SELECT * FROM /trades t WHERE t.symbol = 'A' OR t.quantity > 10");
+    ServerCQ notEqual = cq("SELECT * FROM /trades t WHERE t.symbol <> 'A'");
+    ServerCQ noWhereClause = cq("SELECT * FROM /trades t");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(or, notEqual, noWhereClause));
+
+    Set<ServerCQ> candidates = index.getCandidates(new Trade("B", 1), context);
+
+    assertThat(index.isEmpty()).isTrue();
+    assertThat(index.mayMatch(or, candidates)).isTrue();
+    assertThat(index.mayMatch(notEqual, candidates)).isTrue();
+    assertThat(index.mayMatch(noWhereClause, candidates)).isTrue();
+  }
+
+  @Test
+  public void valuesWhoseAttributeIsNotIndexableMatchEveryCondition() {
+    ServerCQ symbolA = cq("SELECT * FROM /trades t WHERE t.symbol = 'A'");
+    ServerCQ symbol1 = cq("SELECT * FROM /trades t WHERE t.symbol = 1");
+    CqPredicateIndex index = new CqPredicateIndex(Arrays.asList(symbolA, symbol1));
+
+    Set<ServerCQ> candidates = index.getCandidates(new Trade(null, 1), context);
+    assertThat(index.mayMatch(symbolA, candidates)).isTrue();
+    assertThat(index.mayMatch(symbol1, candidates)).isTrue();
+
+    candidates = index.getCandidates(new Trade("B", 1), context);
+    assertThat(index.mayMatch(symbolA, candidates)).isFalse();
+    assertThat(index.mayMatch(symbol1, candidates)).isTrue();
+
+    candidates = index.getCandidates("not a trade", context);
+    assertThat(index.mayMatch(symbolA, candidates)).isTrue();
+    assertThat(index.mayMatch(symbol1, candidates)).isTrue();
+  }
+
+  private static ServerCQ cq(String queryString) {
+    ServerCQ cq = mock(ServerCQ.class);
+    when(cq.getQuery()).thenReturn(new DefaultQuery(queryString, null, false));
+    return cq;
+  }
+
+  public static class Trade {
+
+    private final String symbol;
+
+    private final int quantity;
+
+    Trade(String symbol, int quantity) {
+      this.symbol = symbol;
+      this.quantity = quantity;
+    }
+
+    public String getSymbol() {
+      return this.symbol;
+    }
+
+    public int getQuantity() {
+      return this.quantity;
+    }
+  }
+}
@@ -16,7 +16,15 @@ package org.apache.geode.cache.query.internal.cq;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.internal.cache.FilterProfile;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.test.fake.Fakes;
 import org.apache.geode.test.junit.categories.UnitTest;
@@ -48,5 +56,47 @@ public class CqServiceUnitTest {
     assertEquals(name1, name2);
   }
 
+  @Test
+  public void filterProfilesOfTheSameMemberHaveTheirOwnCqPredicateIndex() {
+    CqServiceImpl cqService = new CqServiceImpl(Fakes.cache());
+    // the profiles of two regions of the same member
+    FilterProfile tradesProfile = new FilterProfile();
+    FilterProfile ordersProfile = new FilterProfile();
+    ServerCQ tradesCq = cq("SELECT * FROM /trades t WHERE t.symbol = 'A'");
+    ServerCQ ordersCq = cq("SELECT * FROM /orders o WHERE o.quantity > 10");
+    tradesProfile.getCqMap().put("tradesCq", tradesCq);
+    ordersProfile.getCqMap().put("ordersCq", ordersCq);
+
+    CqPredicateIndex tradesIndex = cqService.getCqPredicateIndex(tradesProfile);
+    CqPredicateIndex ordersIndex = cqService.getCqPredicateIndex(ordersProfile);
+
+    assertNotSame(tradesIndex, ordersIndex);
+    assertTrue(tradesIndex.contains(tradesCq));
+    assertFalse(tradesIndex.contains(ordersCq));
+    assertTrue(ordersIndex.contains(ordersCq));
+    assertFalse(ordersIndex.contains(tradesCq));
+    assertSame(tradesIndex, cqService.getCqPredicateIndex(tradesProfile));
+    assertSame(ordersIndex, cqService.getCqPredicateIndex(ordersProfile));
+  }
+
+  @Test
+  public void cqPredicateIndexIsRebuiltWhenTheCqsOfItsProfileChange() {
+    CqServiceImpl cqService = new CqServiceImpl(Fakes.cache());
+    FilterProfile profile = new FilterProfile();
+    profile.getCqMap().put("cq1", cq("SELECT * FROM /trades t WHERE t.symbol = 'A'"));
+    CqPredicateIndex index = cqService.getCqPredicateIndex(profile);
+
+    ServerCQ added = cq("SELECT * FROM /trades t WHERE t.symbol = 'B'");
+    profile.getCqMap().put("cq2", added);
 
+    CqPredicateIndex rebuilt = cqService.getCqPredicateIndex(profile);
+    assertNotSame(index, rebuilt);
+    assertTrue(rebuilt.contains(added));
+  }
+
+  private static ServerCQ cq(String queryString) {
+    ServerCQ cq = mock(ServerCQ.class);
+    when(cq.getQuery()).thenReturn(new DefaultQuery(queryString, null, false));
+    return cq;
+  }
 }
@@ -15,20 +15,26 @@
 package org.apache.geode.cache.client.internal;
 
 import org.apache.geode.InternalGemFireError;
+import org.apache.geode.SerializationException;
 import org.apache.geode.cache.client.ServerOperationException;
 import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.cache.tier.sockets.ChunkedMessage;
+import org.apache.geode.internal.cache.tier.sockets.CompressedMessageParts;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.Part;
+import org.apache.geode.internal.cache.tier.sockets.command.GatewayReceiverCommand;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
 import org.apache.geode.internal.cache.wan.BatchException70;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventRemoteDispatcher;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventRemoteDispatcher.GatewayAck;
+import org.apache.geode.internal.cache.wan.GatewaySenderStats;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
 
+import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.util.Iterator;
 import java.util.List;
@@ -50,9 +56,10 @@ public class GatewaySenderBatchOp {
    * @param batchId the ID of this batch
    * @param removeFromQueueOnException true if the events should be processed even after some
    *        exception
+   * @param statistics the statistics of the sender, which record the sizes of compressed batches
    */
   public static void executeOn(Connection con, ExecutablePool pool, List events, int batchId,
-      boolean removeFromQueueOnException, boolean isRetry) {
+      boolean removeFromQueueOnException, boolean isRetry, GatewaySenderStats statistics) {
     AbstractOp op = null;
     // System.out.println("Version: "+con.getWanSiteVersion());
     // Is this check even needed anymore? It looks like we just create the same exact op impl with
@@ -60,6 +67,11 @@ public class GatewaySenderBatchOp {
     if (Version.GFE_651.compareTo(con.getWanSiteVersion()) >= 0) {
       op = new GatewaySenderGFEBatchOpImpl(events, batchId, removeFromQueueOnException,
           con.getDistributedSystemId(), isRetry);
+    } else if (AbstractGatewaySender.COMPRESS_BATCHES
+        && Version.GEODE_130.compareTo(con.getWanSiteVersion()) <= 0) {
+      // Receivers of this version or later decompress the events of a batch
+      op = new GatewaySenderGFEBatchOpImpl(events, batchId, removeFromQueueOnException,
+          con.getDistributedSystemId(), isRetry, statistics);
     } else {
       // Default should create a batch of server version (ACCEPTOR.VERSION)
       op = new GatewaySenderGFEBatchOpImpl(events, batchId, removeFromQueueOnException,
@@ -93,15 +105,55 @@ public class GatewaySenderBatchOp {
       getMessage().addIntPart(batchId);
       getMessage().addIntPart(dsId);
       getMessage().addBytesPart(new byte[] {removeFromQueueOnException ? (byte) 1 : (byte) 0});
+      addEventParts(getMessage(), events);
+    }
+
+    /**
+     * Creates a batch whose events are compressed into a single part. The second byte of the
+     * removeFromQueueOnException part tells the receiver that the events are compressed.
+     *
+     * @throws org.apache.geode.SerializationException if serialization fails
+     */
+    public GatewaySenderGFEBatchOpImpl(List events, int batchId, boolean removeFromQueueOnException,
+        int dsId, boolean isRetry, GatewaySenderStats statistics) {
+      super(MessageType.GATEWAY_RECEIVER_COMMAND, 5);
+      if (isRetry) {
+        getMessage().setIsRetry();
+      }
+      getMessage().addIntPart(events.size());
+      getMessage().addIntPart(batchId);
+      getMessage().addIntPart(dsId);
+      getMessage().addBytesPart(
+          new byte[] {removeFromQueueOnException ? (byte) 1 : (byte) 0,
+              GatewayReceiverCommand.COMPRESSED_EVENTS});
+      Message eventsMessage = new Message(calcPartCount(events) - 4, Version.CURRENT);
+      addEventParts(eventsMessage, events);
+      int uncompressedLength = 0;
+      for (int i = 0; i < eventsMessage.getNumberOfParts(); i++) {
+        uncompressedLength += eventsMessage.getPart(i).getLength();
+      }
+      byte[] compressedEvents;
+      try {
+        compressedEvents = CompressedMessageParts.compress(eventsMessage);
+      } catch (IOException e) {
+        throw new SerializationException(e.getMessage(), e);
+      } finally {
+        eventsMessage.clearParts();
+      }
+      getMessage().addBytesPart(compressedEvents);
+      statistics.incCompressedBatchBytes(uncompressedLength, compressedEvents.length);
+    }
+
+    private static void addEventParts(Message message, List events) {
       // Add each event
       for (Iterator i = events.iterator(); i.hasNext();) {
         GatewaySenderEventImpl event = (GatewaySenderEventImpl) i.next();
         // Add action
         int action = event.getAction();
-        getMessage().addIntPart(action);
+        message.addIntPart(action);
         { // Add posDup flag
           byte posDupByte = (byte) (event.getPossibleDuplicate() ? 0x01 : 0x00);
-          getMessage().addBytesPart(new byte[] {posDupByte});
+          message.addBytesPart(new byte[] {posDupByte});
         }
         if (action >= 0 && action <= 3) {
           // 0 = create
@@ -113,25 +165,25 @@ public class GatewaySenderBatchOp {
           Object callbackArg = event.getSenderCallbackArgument();
 
           // Add region name
-          getMessage().addStringPart(regionName);
+          message.addStringPart(regionName);
           // Add event id
-          getMessage().addObjPart(eventId);
+          message.addObjPart(eventId);
           // Add key
-          getMessage().addStringOrObjPart(key);
+          message.addStringOrObjPart(key);
           if (action < 2 /* it is 0 or 1 */) {
             byte[] value = event.getSerializedValue();
             byte valueIsObject = event.getValueIsObject();;
             // Add value (which is already a serialized byte[])
-            getMessage().addRawPart(value, (valueIsObject == 0x01));
+            message.addRawPart(value, (valueIsObject == 0x01));
           }
           // Add callback arg if necessary
           if (callbackArg == null) {
-            getMessage().addBytesPart(new byte[] {0x00});
+            message.addBytesPart(new byte[] {0x00});
           } else {
-            getMessage().addBytesPart(new byte[] {0x01});
-            getMessage().addObjPart(callbackArg);
+            message.addBytesPart(new byte[] {0x01});
+            message.addObjPart(callbackArg);
           }
-          getMessage().addLongPart(event.getVersionTimeStamp());
+          message.addLongPart(event.getVersionTimeStamp());
         }
       }
     }
@@ -18,6 +18,7 @@ import java.util.List;
 
 import org.apache.geode.cache.query.SelectResults;
 import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.wan.GatewaySenderStats;
 
 /**
  * Used to send operations from a sender to a receiver.
@@ -30,9 +31,9 @@ public class SenderProxy extends ServerProxy {
   }
 
   public void dispatchBatch_NewWAN(Connection con, List events, int batchId,
-      boolean removeFromQueueOnException, boolean isRetry) {
+      boolean removeFromQueueOnException, boolean isRetry, GatewaySenderStats statistics) {
     GatewaySenderBatchOp.executeOn(con, this.pool, events, batchId, removeFromQueueOnException,
-        isRetry);
+        isRetry, statistics);
   }
 
   public Object receiveAckFromReceiver(Connection con) {